@@ -0,0 +1,69 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.ExhaustedPoolException;
+import com.linbit.linstor.numberpool.BitmapPool;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation of minor numbers / TCP ports from a partially filled BitmapPool
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitmapPoolBenchmark
+{
+    private static final long SEED = 42;
+
+    @Param({"65536", "1048576"})
+    public int poolSize;
+
+    @Param({"0.5", "0.99"})
+    public double fillRatio;
+
+    private BitmapPool pool;
+
+    @Setup
+    public void setUp()
+    {
+        pool = new BitmapPool(poolSize);
+        Random random = new Random(SEED);
+        for (int nr = 0; nr < poolSize; ++nr)
+        {
+            if (random.nextDouble() < fillRatio)
+            {
+                pool.allocate(nr);
+            }
+        }
+    }
+
+    @Benchmark
+    public int autoAllocateAndFree() throws ExhaustedPoolException
+    {
+        int nr = pool.autoAllocate(0, poolSize - 1);
+        pool.deallocate(nr);
+        return nr;
+    }
+
+    @Benchmark
+    public int findUnallocated() throws ExhaustedPoolException
+    {
+        return pool.findUnallocated(0, poolSize - 1);
+    }
+}
@@ -0,0 +1,344 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.prop.WhitelistProps;
+import com.linbit.linstor.core.identifier.NetInterfaceName;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceGroupName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.core.objects.NetInterface;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.ResourceGroup;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.core.objects.Volume;
+import com.linbit.linstor.core.objects.VolumeDefinition;
+import com.linbit.linstor.core.objects.VolumeGroup;
+import com.linbit.linstor.core.types.LsIpAddress;
+import com.linbit.linstor.core.types.NodeId;
+import com.linbit.linstor.dbdrivers.SatelliteDrbdLayerDriver;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.dbdrivers.SatelliteStorageLayerDriver;
+import com.linbit.linstor.dbdrivers.interfaces.DrbdLayerDatabaseDriver;
+import com.linbit.linstor.dbdrivers.interfaces.StorageLayerDatabaseDriver;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.linstor.numberpool.DynamicNumberPool;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.stateflags.StateFlags;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscDfnData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmDfnData;
+import com.linbit.linstor.storage.data.provider.StorageRscData;
+import com.linbit.linstor.storage.data.provider.lvm.LvmData;
+import com.linbit.linstor.storage.interfaces.categories.resource.AbsRscLayerObject;
+import com.linbit.linstor.storage.interfaces.categories.resource.VlmProviderObject;
+import com.linbit.linstor.storage.layer.adapter.drbd.utils.ConfFileBuilder;
+import com.linbit.linstor.transaction.TransactionObjectFactory;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import javax.inject.Provider;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.linbit.linstor.benchmark.MockedCluster.stub;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of the DRBD resource file on the satellite for a resource with the given number of peers and volumes
+ *
+ * The resources are Mockito stubs as in the ConfFileBuilderTest, with real properties and real DRBD and storage
+ * layer data. The stubs do not record their invocations, see {@link MockedCluster}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfFileBuilderBenchmark
+{
+    private static final DrbdLayerDatabaseDriver DRBD_LAYER_NO_OP_DRIVER = new SatelliteDrbdLayerDriver();
+    private static final StorageLayerDatabaseDriver STORAGE_LAYER_NO_OP_DRIVER = new SatelliteStorageLayerDriver();
+
+    private static final int TCP_PORT = 7000;
+    private static final int MINOR_NR = 1000;
+
+    @Param({"1", "2", "7"})
+    public int peers;
+
+    @Param({"1", "8"})
+    public int volumes;
+
+    private ErrorReporter errorReporter;
+    private AccessContext accCtx;
+    private WhitelistProps whitelistProps;
+
+    private Provider<TransactionMgr> transMgrProvider;
+    private TransactionObjectFactory transObjFactory;
+    private PropsContainerFactory propsFactory;
+    private int propsInstanceIdx;
+
+    private ResourceDefinition rscDfn;
+    private DrbdRscDfnData<Resource> rscDfnData;
+    private List<DrbdRscData<Resource>> rscDataList;
+    private List<VolumeDefinition> vlmDfns;
+    private Map<VolumeNumber, DrbdVlmDfnData<Resource>> drbdVlmDfns;
+
+    private DrbdRscData<Resource> localRscData;
+    private List<DrbdRscData<Resource>> peerRscDataList;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        errorReporter = new StdErrorReporter(
+            "LINSTOR-BENCHMARK",
+            Paths.get("build/benchmark-logs"),
+            false,
+            "",
+            null,
+            null,
+            () -> null
+        );
+        accCtx = MockedCluster.createSystemContext();
+        whitelistProps = new WhitelistProps(errorReporter);
+
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        transMgrProvider = () -> transMgr;
+        transObjFactory = new TransactionObjectFactory(transMgrProvider);
+        propsFactory = new PropsContainerFactory(new SatellitePropDriver(), transMgrProvider);
+
+        createRscDfn();
+
+        localRscData = createRsc(0);
+        peerRscDataList = new ArrayList<>();
+        for (int peerIdx = 1; peerIdx <= peers; ++peerIdx)
+        {
+            peerRscDataList.add(createRsc(peerIdx));
+        }
+    }
+
+    @Benchmark
+    public String build() throws Exception
+    {
+        return new ConfFileBuilder(errorReporter, accCtx, localRscData, peerRscDataList, whitelistProps).build();
+    }
+
+    private void createRscDfn() throws Exception
+    {
+        rscDfn = stub(ResourceDefinition.class);
+        ResourceGroup rscGrp = stub(ResourceGroup.class);
+        VolumeGroup vlmGrp = stub(VolumeGroup.class);
+        Props vlmGrpProps = createProps();
+
+        when(rscDfn.getName()).thenReturn(new ResourceName("benchrsc"));
+        Props rscDfnProps = createProps();
+        when(rscDfn.getProps(accCtx)).thenReturn(rscDfnProps);
+        when(rscDfn.getResourceGroup()).thenReturn(rscGrp);
+
+        when(rscGrp.getName()).thenReturn(new ResourceGroupName(SyntheticCluster.RSC_GRP_NAME));
+        Props rscGrpProps = createProps();
+        when(rscGrp.getProps(accCtx)).thenReturn(rscGrpProps);
+        when(vlmGrp.getProps(accCtx)).thenReturn(vlmGrpProps);
+
+        DynamicNumberPool tcpPool = stub(DynamicNumberPool.class);
+        when(tcpPool.autoAllocate()).thenReturn(TCP_PORT);
+        DynamicNumberPool minorPool = stub(DynamicNumberPool.class);
+        when(minorPool.autoAllocate()).thenReturn(MINOR_NR);
+
+        rscDataList = new ArrayList<>();
+        rscDfnData = new DrbdRscDfnData<>(
+            rscDfn.getName(),
+            null,
+            "",
+            InternalApiConsts.DEFAULT_PEER_COUNT,
+            InternalApiConsts.DEFAULT_AL_STRIPES,
+            InternalApiConsts.DEFAULT_AL_SIZE,
+            TCP_PORT,
+            null,
+            "SuperSecretPassword",
+            rscDataList,
+            new TreeMap<>(),
+            tcpPool,
+            DRBD_LAYER_NO_OP_DRIVER,
+            transObjFactory,
+            transMgrProvider
+        );
+
+        vlmDfns = new ArrayList<>();
+        drbdVlmDfns = new HashMap<>();
+        for (int vlmIdx = 0; vlmIdx < volumes; ++vlmIdx)
+        {
+            VolumeNumber vlmNr = new VolumeNumber(vlmIdx);
+            VolumeDefinition vlmDfn = stub(VolumeDefinition.class);
+            when(vlmDfn.getVolumeNumber()).thenReturn(vlmNr);
+            when(vlmDfn.getResourceDefinition()).thenReturn(rscDfn);
+            Props vlmDfnProps = createProps();
+            when(vlmDfn.getProps(accCtx)).thenReturn(vlmDfnProps);
+            when(rscGrp.getVolumeGroup(accCtx, vlmNr)).thenReturn(vlmGrp);
+            when(rscGrp.getVolumeGroupProps(accCtx, vlmNr)).thenReturn(vlmGrpProps);
+            vlmDfns.add(vlmDfn);
+
+            drbdVlmDfns.put(
+                vlmNr,
+                new DrbdVlmDfnData<>(
+                    vlmDfn,
+                    rscDfn.getName(),
+                    null,
+                    "",
+                    vlmNr,
+                    MINOR_NR + vlmIdx,
+                    minorPool,
+                    rscDfnData,
+                    DRBD_LAYER_NO_OP_DRIVER,
+                    transMgrProvider
+                )
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private DrbdRscData<Resource> createRsc(int rscIdx) throws Exception
+    {
+        Resource rsc = stub(Resource.class);
+        Node node = stub(Node.class);
+        NetInterface netIf = stub(NetInterface.class);
+        StorPool storPool = stub(StorPool.class);
+        StateFlags<Resource.Flags> rscFlags = stub(StateFlags.class);
+
+        when(node.getName()).thenReturn(new NodeName(String.format("node%05d", rscIdx)));
+        Props nodeProps = createProps();
+        when(node.getProps(accCtx)).thenReturn(nodeProps);
+        when(node.getNetInterface(accCtx, NetInterfaceName.DEFAULT_NET_INTERFACE_NAME)).thenReturn(netIf);
+        when(netIf.getName()).thenReturn(NetInterfaceName.DEFAULT_NET_INTERFACE_NAME);
+        when(netIf.getAddress(accCtx)).thenReturn(new LsIpAddress("10.0.0." + (rscIdx + 1)));
+        when(netIf.getNode()).thenReturn(node);
+        Props storPoolProps = createProps();
+        when(storPool.getProps(accCtx)).thenReturn(storPoolProps);
+
+        when(rscFlags.isUnset(any(AccessContext.class), eq(Resource.Flags.DELETE))).thenReturn(true);
+        when(rscFlags.isUnset(any(AccessContext.class), eq(Resource.Flags.DRBD_DISKLESS))).thenReturn(true);
+        when(rscFlags.isUnset(any(AccessContext.class), eq(Resource.Flags.NVME_INITIATOR))).thenReturn(true);
+
+        when(rsc.getDefinition()).thenReturn(rscDfn);
+        when(rsc.getResourceDefinition()).thenReturn(rscDfn);
+        doReturn(rscFlags).when(rsc).getStateFlags();
+        when(rsc.getNode()).thenReturn(node);
+        Props rscProps = createProps();
+        when(rsc.getProps(accCtx)).thenReturn(rscProps);
+
+        StateFlags<Volume.Flags> vlmFlags = stub(StateFlags.class);
+        when(vlmFlags.isUnset(any(AccessContext.class), eq(Volume.Flags.DELETE))).thenReturn(true);
+        List<Volume> vlms = new ArrayList<>();
+        for (VolumeDefinition vlmDfn : vlmDfns)
+        {
+            Volume vlm = stub(Volume.class);
+            doReturn(vlmFlags).when(vlm).getFlags();
+            when(vlm.getVolumeDefinition()).thenReturn(vlmDfn);
+            when(vlm.getResourceDefinition()).thenReturn(rscDfn);
+            Props vlmProps = createProps();
+            when(vlm.getProps(accCtx)).thenReturn(vlmProps);
+            when(vlm.getAbsResource()).thenReturn(rsc);
+            when(vlm.getVolumeNumber()).thenReturn(vlmDfn.getVolumeNumber());
+            vlms.add(vlm);
+        }
+        when(rsc.iterateVolumes()).thenAnswer(ignored -> vlms.iterator());
+        when(rsc.streamVolumes()).thenAnswer(ignored -> vlms.stream());
+
+        Set<AbsRscLayerObject<Resource>> drbdRscDataChildren = new HashSet<>();
+        Map<VolumeNumber, DrbdVlmData<Resource>> drbdRscDataVlmMap = new HashMap<>();
+        DrbdRscData<Resource> rscData = new DrbdRscData<>(
+            rscIdx,
+            rsc,
+            null,
+            rscDfnData,
+            drbdRscDataChildren,
+            drbdRscDataVlmMap,
+            "",
+            new NodeId(rscIdx),
+            null, // copied from rscDfnData
+            null, // copied from rscDfnData
+            null, // copied from rscDfnData
+            0,
+            DRBD_LAYER_NO_OP_DRIVER,
+            transObjFactory,
+            transMgrProvider
+        );
+        rscDataList.add(rscData);
+
+        Map<VolumeNumber, VlmProviderObject<Resource>> vlmProviderMap = new HashMap<>();
+        StorageRscData<Resource> storRscData = new StorageRscData<>(
+            -1, // satellite does not care about rscLayerIds (database index only)
+            rscData,
+            rsc,
+            "",
+            vlmProviderMap,
+            STORAGE_LAYER_NO_OP_DRIVER,
+            transObjFactory,
+            transMgrProvider
+        );
+        for (Volume vlm : vlms)
+        {
+            VolumeNumber vlmNr = vlm.getVolumeNumber();
+            drbdRscDataVlmMap.put(
+                vlmNr,
+                new DrbdVlmData<>(
+                    vlm,
+                    rscData,
+                    drbdVlmDfns.get(vlmNr),
+                    null,
+                    DRBD_LAYER_NO_OP_DRIVER,
+                    transObjFactory,
+                    transMgrProvider
+                )
+            );
+            vlmProviderMap.put(
+                vlmNr,
+                new LvmData<>(
+                    vlm,
+                    storRscData,
+                    storPool,
+                    STORAGE_LAYER_NO_OP_DRIVER,
+                    transObjFactory,
+                    transMgrProvider
+                )
+            );
+        }
+        drbdRscDataChildren.add(storRscData);
+        return rscData;
+    }
+
+    private Props createProps() throws Exception
+    {
+        return propsFactory.getInstance("BENCHMARK_" + propsInstanceIdx++);
+    }
+}
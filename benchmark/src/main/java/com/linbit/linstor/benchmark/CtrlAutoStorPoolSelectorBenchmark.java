@@ -0,0 +1,134 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.AutoStorPoolSelectorConfig;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.Candidate;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.NodeSelectionStrategy;
+import com.linbit.linstor.core.apicallhandler.controller.FreeCapacityAutoPoolSelectorUtils;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selection of the nodes for a new resource by the autoplacer, for 3 replicas in a single storage pool
+ *
+ * Works on the core objects of a {@link MockedCluster}, whose nodes are spread across 3 racks. The filters
+ * are the "replicas on different" and "replicas on same" rules on the rack property and the "do not place
+ * with resource" rule for a few existing resources. Listing the available storage pools is not covered, since
+ * its access checks can not be stubbed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CtrlAutoStorPoolSelectorBenchmark
+{
+    private static final int PLACE_COUNT = 3;
+    private static final int RACK_COUNT = 3;
+    private static final int NOT_PLACE_WITH_RSC_COUNT = 4;
+
+    @Param({"10", "500"})
+    public int nodes;
+
+    @Param({"1000"})
+    public int resources;
+
+    @Param({"none", "replicasOnDifferent", "replicasOnSame", "notPlaceWithRsc"})
+    public String filter;
+
+    private CtrlAutoStorPoolSelector selector;
+    private StorPoolName storPoolName;
+    private List<Node> nodeList;
+    private AutoStorPoolSelectorConfig config;
+    private NodeSelectionStrategy strategy;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        SyntheticCluster syntheticCluster = SyntheticCluster.generate(nodes, resources, 1, PLACE_COUNT);
+        AccessContext accCtx = MockedCluster.createSystemContext();
+        MockedCluster cluster = MockedCluster.create(syntheticCluster, RACK_COUNT, accCtx);
+
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        CoreModule.ResourceDefinitionMap rscDfnMap = new CoreModule.ResourceDefinitionMapImpl(() -> transMgr);
+        rscDfnMap.putAll(cluster.getResourceDefinitions());
+        selector = new CtrlAutoStorPoolSelector(
+            rscDfnMap,
+            new CoreModule.StorPoolDefinitionMapImpl(() -> transMgr),
+            () -> accCtx,
+            accCtx
+        );
+
+        storPoolName = cluster.getStorPoolName();
+        nodeList = cluster.getNodes();
+
+        List<String> replicasOnDifferent = Collections.emptyList();
+        List<String> replicasOnSame = Collections.emptyList();
+        List<String> notPlaceWithRsc = Collections.emptyList();
+        switch (filter)
+        {
+            case "replicasOnDifferent":
+                replicasOnDifferent = Arrays.asList(MockedCluster.RACK_PROP_KEY);
+                break;
+            case "replicasOnSame":
+                replicasOnSame = Arrays.asList(MockedCluster.RACK_PROP_KEY);
+                break;
+            case "notPlaceWithRsc":
+                notPlaceWithRsc = new ArrayList<>();
+                for (int idx = 0; idx < NOT_PLACE_WITH_RSC_COUNT; ++idx)
+                {
+                    notPlaceWithRsc.add(syntheticCluster.getResourceDefinitions().get(idx).getResourceName());
+                }
+                break;
+            case "none":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown filter '" + filter + "'");
+        }
+        config = new AutoStorPoolSelectorConfig(
+            PLACE_COUNT,
+            replicasOnDifferent,
+            replicasOnSame,
+            null,
+            notPlaceWithRsc,
+            SyntheticCluster.STOR_POOL_NAME,
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+        strategy = FreeCapacityAutoPoolSelectorUtils.mostFreeCapacityNodeStrategy(Collections.emptyMap());
+    }
+
+    @Benchmark
+    public List<Candidate> getCandidateList()
+    {
+        // the selector removes the filtered nodes from the given lists
+        Map<StorPoolName, List<Node>> availableStorPools = new HashMap<>();
+        availableStorPools.put(storPoolName, new ArrayList<>(nodeList));
+        return selector.getCandidateList(availableStorPools, config, strategy);
+    }
+}
@@ -0,0 +1,206 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.ChildProcessTimeoutException;
+import com.linbit.extproc.ExtCmdFactory;
+import com.linbit.extproc.utils.TestExtCmd;
+import com.linbit.extproc.utils.TestExtCmd.Command;
+import com.linbit.extproc.utils.TestExtCmd.TestOutputData;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.types.MinorNumber;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmDfnData;
+import com.linbit.linstor.storage.layer.adapter.drbd.utils.DrbdAdm;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the DRBD state transitions that {@link DrbdAdm} issues as plain drbdsetup calls (secondary,
+ * suspend-io / resume-io per minor and the forced primary), compared to issuing them through drbdadm
+ *
+ * The commands run against a {@link TestExtCmd} acting as a fake DRBD kernel module. Every simulated process
+ * costs spawnMicros. A drbdadm process additionally costs parseMicros for reading the configuration files and
+ * spawns one drbdsetup child per DRBD object it works on, which is also charged. Both costs are parameters,
+ * set them to values measured on the target system to get meaningful absolute numbers.
+ *
+ * The forced primary runs through {@link DrbdAdm#primary} in both variants. For the other transitions DrbdAdm
+ * only has the drbdsetup variant, so the drbdadm variant issues the command lines DrbdAdm used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrbdAdmBenchmark
+{
+    private static final String RSC_NAME = "rsc";
+    private static final int FIRST_MINOR = 1000;
+    private static final Redirect STDIN_REDIRECT = Redirect.from(new File("/dev/null"));
+
+    @Param({"1", "8"})
+    public int vlmCount;
+
+    @Param({"1000"})
+    public long spawnMicros;
+
+    @Param({"5000"})
+    public long parseMicros;
+
+    private FakeDrbdKernelExtCmd fakeKernel;
+    private DrbdAdm drbdAdm;
+    private DrbdRscData<Resource> drbdRscData;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() throws Exception
+    {
+        fakeKernel = new FakeDrbdKernelExtCmd(spawnMicros, parseMicros, vlmCount);
+        ExtCmdFactory extCmdFactory = mock(ExtCmdFactory.class, withSettings().stubOnly());
+        when(extCmdFactory.create()).thenReturn(fakeKernel);
+        drbdAdm = new DrbdAdm(extCmdFactory);
+
+        drbdRscData = mock(DrbdRscData.class, withSettings().stubOnly());
+        when(drbdRscData.getSuffixedResourceName()).thenReturn(RSC_NAME);
+
+        Map<VolumeNumber, DrbdVlmData<Resource>> vlmMap = new TreeMap<>();
+        for (int vlmNr = 0; vlmNr < vlmCount; ++vlmNr)
+        {
+            vlmMap.put(new VolumeNumber(vlmNr), mockVlm(FIRST_MINOR + vlmNr));
+            fakeKernel.expect(DrbdAdm.DRBDSETUP_UTIL, "suspend-io", Integer.toString(FIRST_MINOR + vlmNr));
+            fakeKernel.expect(DrbdAdm.DRBDSETUP_UTIL, "resume-io", Integer.toString(FIRST_MINOR + vlmNr));
+        }
+        when(drbdRscData.getVlmLayerObjects()).thenReturn(vlmMap);
+
+        fakeKernel.expect(DrbdAdm.DRBDSETUP_UTIL, "secondary", RSC_NAME);
+        fakeKernel.expect(DrbdAdm.DRBDSETUP_UTIL, "--force", "primary", RSC_NAME);
+        fakeKernel.expect(DrbdAdm.DRBDADM_UTIL, "-vvv", "secondary", RSC_NAME);
+        fakeKernel.expect(DrbdAdm.DRBDADM_UTIL, "-vvv", "suspend-io", RSC_NAME);
+        fakeKernel.expect(DrbdAdm.DRBDADM_UTIL, "-vvv", "resume-io", RSC_NAME);
+        fakeKernel.expect(DrbdAdm.DRBDADM_UTIL, "-vvv", "primary", "--force", RSC_NAME);
+    }
+
+    @Benchmark
+    public void secondaryDrbdSetup() throws Exception
+    {
+        drbdAdm.secondary(drbdRscData);
+    }
+
+    @Benchmark
+    public void secondaryDrbdAdm() throws Exception
+    {
+        fakeKernel.pipeExec(STDIN_REDIRECT, DrbdAdm.DRBDADM_UTIL, "-vvv", "secondary", RSC_NAME);
+    }
+
+    @Benchmark
+    public void suspendResumeIoDrbdSetup() throws Exception
+    {
+        drbdAdm.suspendIo(drbdRscData);
+        drbdAdm.resumeIo(drbdRscData);
+    }
+
+    @Benchmark
+    public void suspendResumeIoDrbdAdm() throws Exception
+    {
+        fakeKernel.pipeExec(STDIN_REDIRECT, DrbdAdm.DRBDADM_UTIL, "-vvv", "suspend-io", RSC_NAME);
+        fakeKernel.pipeExec(STDIN_REDIRECT, DrbdAdm.DRBDADM_UTIL, "-vvv", "resume-io", RSC_NAME);
+    }
+
+    @Benchmark
+    public void forcedPrimaryDrbdSetup() throws Exception
+    {
+        drbdAdm.primary(drbdRscData, true, true);
+    }
+
+    @Benchmark
+    public void forcedPrimaryDrbdAdm() throws Exception
+    {
+        drbdAdm.primary(drbdRscData, true, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DrbdVlmData<Resource> mockVlm(int minor) throws Exception
+    {
+        DrbdVlmDfnData<Resource> drbdVlmDfnData = mock(DrbdVlmDfnData.class, withSettings().stubOnly());
+        when(drbdVlmDfnData.getMinorNr()).thenReturn(new MinorNumber(minor));
+
+        DrbdVlmData<Resource> drbdVlmData = mock(DrbdVlmData.class, withSettings().stubOnly());
+        when(drbdVlmData.getVlmDfnLayerObject()).thenReturn(drbdVlmDfnData);
+        return drbdVlmData;
+    }
+
+    /**
+     * Answers the expected commands successfully after waiting for the simulated cost of the processes the real
+     * command would have run
+     */
+    private static class FakeDrbdKernelExtCmd extends TestExtCmd
+    {
+        private final long spawnNanos;
+        private final long parseNanos;
+        private final int vlmCount;
+
+        FakeDrbdKernelExtCmd(long spawnMicrosRef, long parseMicrosRef, int vlmCountRef)
+        {
+            spawnNanos = TimeUnit.MICROSECONDS.toNanos(spawnMicrosRef);
+            parseNanos = TimeUnit.MICROSECONDS.toNanos(parseMicrosRef);
+            vlmCount = vlmCountRef;
+        }
+
+        void expect(String... command)
+        {
+            setExpectedBehavior(new Command(command), new TestOutputData(command, "", "", 0));
+        }
+
+        @Override
+        public OutputData exec(String... command) throws IOException, ChildProcessTimeoutException
+        {
+            long costNanos = spawnNanos;
+            if (DrbdAdm.DRBDADM_UTIL.equals(command[0]))
+            {
+                // drbdadm runs one drbdsetup per volume for the per-minor commands, one for the others
+                String subCommand = command[2];
+                boolean perMinor = "suspend-io".equals(subCommand) || "resume-io".equals(subCommand);
+                costNanos += parseNanos + (perMinor ? vlmCount : 1) * spawnNanos;
+            }
+            long deadline = System.nanoTime() + costNanos;
+            for (long remaining = costNanos; remaining > 0; remaining = deadline - System.nanoTime())
+            {
+                LockSupport.parkNanos(remaining);
+            }
+            return super.exec(command);
+        }
+
+        /**
+         * DrbdAdm runs all of its commands with stdin redirected from /dev/null, which the fake ignores
+         */
+        @Override
+        public OutputData pipeExec(Redirect stdinRedirect, String... command)
+            throws IOException, ChildProcessTimeoutException
+        {
+            return exec(command);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.drbdstate.DrbdEventsMonitor;
+import com.linbit.linstor.drbdstate.DrbdStateTracker;
+import com.linbit.linstor.drbdstate.EventsSourceException;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Replays a 'drbdsetup events2 all' stream into the DrbdEventsMonitor
+ *
+ * The stream is either a recorded one (set eventsFile to a file containing the output of
+ * 'drbdsetup events2 all', recorded without --timestamps) or a synthetic one that simulates
+ * resources resyncing to their peers. The 'exists' lines of the stream are applied during setup,
+ * every benchmark invocation replays all following lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrbdEventsReplayBenchmark
+{
+    private static final int PEER_COUNT = 2;
+    private static final int PROGRESS_LINES_PER_PEER_DEVICE = 20;
+
+    @Param({""})
+    public String eventsFile;
+
+    @Param({"800"})
+    public int rscCount;
+
+    private DrbdEventsMonitor monitor;
+    private List<byte[]> replayLines;
+
+    @Setup
+    public void setUp() throws IOException, EventsSourceException
+    {
+        List<String> lines = eventsFile.isEmpty() ?
+            generateEvents(rscCount) :
+            Files.readAllLines(Paths.get(eventsFile), StandardCharsets.UTF_8);
+
+        ErrorReporter errorReporter = new StdErrorReporter(
+            "LINSTOR-BENCHMARK",
+            Paths.get("build/benchmark-logs"),
+            false,
+            "",
+            null,
+            null,
+            () -> null
+        );
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        monitor = new DrbdEventsMonitor(
+            new DrbdStateTracker(),
+            errorReporter,
+            new CoreModule.ResourceDefinitionMapImpl(() -> transMgr)
+        );
+
+        replayLines = new ArrayList<>();
+        for (String line : lines)
+        {
+            if (line.startsWith(DrbdEventsMonitor.ACTION_EXISTS + " "))
+            {
+                monitor.receiveEvent(line);
+            }
+            else
+            {
+                replayLines.add(line.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Benchmark
+    public void replay() throws EventsSourceException
+    {
+        for (byte[] line : replayLines)
+        {
+            monitor.receiveEvent(line);
+        }
+    }
+
+    /**
+     * Tokenizes the replayed lines the way the DrbdEventsMonitor did before it used the single-pass parser,
+     * as a reference for the parsing cost alone
+     */
+    @Benchmark
+    public void tokenizerBaseline(Blackhole blackhole)
+    {
+        for (byte[] data : replayLines)
+        {
+            StringTokenizer tokens = new StringTokenizer(new String(data), " ");
+            Map<String, String> props = new TreeMap<>();
+            String action = tokens.nextToken();
+            String objType = tokens.nextToken();
+            while (tokens.hasMoreTokens())
+            {
+                String kvPair = tokens.nextToken();
+                int splitIdx = kvPair.indexOf(':');
+                if (splitIdx != -1)
+                {
+                    props.put(kvPair.substring(0, splitIdx), kvPair.substring(splitIdx + 1));
+                }
+            }
+            blackhole.consume(action);
+            blackhole.consume(objType);
+            blackhole.consume(props);
+        }
+    }
+
+    /**
+     * Generates the initial state of rscCount resources with one volume and two peers each, followed by
+     * a resync of every peer device with progress updates and the final state change
+     */
+    static List<String> generateEvents(int rscCount)
+    {
+        List<String> lines = new ArrayList<>();
+        for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+        {
+            String rscName = String.format("rsc%05d", rscIdx);
+            int minor = 1000 + rscIdx;
+            lines.add("exists resource name:" + rscName + " role:Secondary suspended:no write-ordering:flush");
+            lines.add(
+                "exists device name:" + rscName + " volume:0 minor:" + minor +
+                    " disk:Inconsistent client:no quorum:yes"
+            );
+            for (int peerIdx = 0; peerIdx < PEER_COUNT; ++peerIdx)
+            {
+                String peerName = "node" + (peerIdx + 1);
+                lines.add(
+                    "exists connection name:" + rscName + " peer-node-id:" + peerIdx + " conn-name:" + peerName +
+                        " connection:Connected role:Primary congested:no ap-in-flight:0 rs-in-flight:0"
+                );
+                lines.add(
+                    "exists peer-device name:" + rscName + " peer-node-id:" + peerIdx + " conn-name:" + peerName +
+                        " volume:0 replication:SyncTarget peer-disk:UpToDate peer-client:no resync-suspended:no"
+                );
+            }
+        }
+        lines.add("exists -");
+
+        for (int step = 1; step <= PROGRESS_LINES_PER_PEER_DEVICE; ++step)
+        {
+            double done = 100.0 * step / (PROGRESS_LINES_PER_PEER_DEVICE + 1);
+            for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+            {
+                String rscName = String.format("rsc%05d", rscIdx);
+                for (int peerIdx = 0; peerIdx < PEER_COUNT; ++peerIdx)
+                {
+                    lines.add(
+                        String.format(
+                            "change peer-device name:%s peer-node-id:%d conn-name:node%d volume:0 done:%.2f",
+                            rscName,
+                            peerIdx,
+                            peerIdx + 1,
+                            done
+                        )
+                    );
+                }
+            }
+        }
+        for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+        {
+            String rscName = String.format("rsc%05d", rscIdx);
+            for (int peerIdx = 0; peerIdx < PEER_COUNT; ++peerIdx)
+            {
+                lines.add(
+                    "change peer-device name:" + rscName + " peer-node-id:" + peerIdx + " conn-name:node" +
+                        (peerIdx + 1) + " volume:0 replication:Established"
+                );
+            }
+            lines.add("change device name:" + rscName + " volume:0 minor:" + (1000 + rscIdx) + " disk:UpToDate");
+        }
+        return lines;
+    }
+}
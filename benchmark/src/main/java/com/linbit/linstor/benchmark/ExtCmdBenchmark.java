@@ -0,0 +1,80 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.extproc.ExtCmd;
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.timer.Action;
+import com.linbit.timer.GenericTimer;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of running trivial external commands, i.e. the per-command overhead of ExtCmd
+ *
+ * {@link #execTrueContended()} runs more commands concurrently than the ExtCmdThreadPool allows, so that
+ * commands also wait for free child process slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ExtCmdBenchmark
+{
+    private GenericTimer<String, Action<String>> timer;
+    private ErrorReporter errorReporter;
+
+    @Setup
+    public void setUp()
+    {
+        timer = new GenericTimer<>();
+        timer.start();
+        errorReporter = new StdErrorReporter(
+            "LINSTOR-BENCHMARK",
+            Paths.get("build/benchmark-logs"),
+            false,
+            "",
+            null,
+            null,
+            () -> null
+        );
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public int execTrue() throws Exception
+    {
+        OutputData outputData = new ExtCmd(timer, errorReporter).exec("true");
+        return outputData.exitCode;
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int execTrueContended() throws Exception
+    {
+        OutputData outputData = new ExtCmd(timer, errorReporter).exec("true");
+        return outputData.exitCode;
+    }
+}
@@ -0,0 +1,265 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.annotation.SystemContext;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.apis.ResourceDefinitionApi;
+import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.core.apis.VolumeApi;
+import com.linbit.linstor.core.identifier.NetInterfaceName;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.FreeSpaceTracker;
+import com.linbit.linstor.core.objects.NetInterface;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.core.objects.StorPoolDefinition;
+import com.linbit.linstor.core.objects.Volume;
+import com.linbit.linstor.core.types.LsIpAddress;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.SecurityModule;
+import com.linbit.linstor.stateflags.StateFlags;
+import com.linbit.linstor.storage.interfaces.categories.resource.AbsRscLayerObject;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+import com.linbit.linstor.utils.externaltools.ExtToolsManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import com.google.inject.Guice;
+import com.google.inject.Key;
+import org.mockito.Mockito;
+
+/**
+ * The core objects (nodes, storage pools, resource definitions, resources and volumes) of a
+ * {@link SyntheticCluster}, for benchmarking code that works on the core objects instead of on their API data
+ *
+ * Building the real core objects requires a database, so the objects are Mockito stubs that return the API data
+ * of the synthetic cluster, while their properties are real PropsContainers. The stubs do not record their
+ * invocations, so they can be called for the whole duration of a benchmark. The stubbing adds a small constant
+ * overhead to every call, results are meant to be compared with each other, not to absolute numbers.
+ *
+ * Every node has the "Aux/rack" property, which assigns the nodes round-robin to the given number of racks.
+ */
+public class MockedCluster
+{
+    public static final String RACK_PROP_KEY = "Aux/rack";
+
+    private final AccessContext accCtx;
+    private final PropsContainerFactory propsFactory;
+    private final AtomicInteger propsInstanceIdx = new AtomicInteger();
+    private final Props emptyProps;
+
+    private final StorPoolName storPoolName;
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<ResourceName, ResourceDefinition> rscDfns = new TreeMap<>();
+    private final List<Resource> resources = new ArrayList<>();
+
+    private MockedCluster(AccessContext accCtxRef) throws Exception
+    {
+        accCtx = accCtxRef;
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        propsFactory = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr);
+        emptyProps = createProps(new TreeMap<>());
+        storPoolName = new StorPoolName(SyntheticCluster.STOR_POOL_NAME);
+    }
+
+    /**
+     * @return The system access context, which the stubs expect for all calls that take an access context
+     */
+    public static AccessContext createSystemContext()
+    {
+        return Guice.createInjector(new SecurityModule())
+            .getInstance(Key.get(AccessContext.class, SystemContext.class));
+    }
+
+    public static MockedCluster create(SyntheticCluster cluster, int rackCount, AccessContext accCtx)
+        throws Exception
+    {
+        MockedCluster mockedCluster = new MockedCluster(accCtx);
+
+        Map<String, Node> nodesByName = new TreeMap<>();
+        List<StorPoolApi> storPools = cluster.getStorPools();
+        for (int nodeIdx = 0; nodeIdx < storPools.size(); ++nodeIdx)
+        {
+            Node node = mockedCluster.createNode(storPools.get(nodeIdx), "rack" + (nodeIdx % rackCount));
+            mockedCluster.nodes.add(node);
+            nodesByName.put(storPools.get(nodeIdx).getNodeName(), node);
+        }
+
+        Map<String, List<Resource>> rscsByRscDfn = new TreeMap<>();
+        for (ResourceDefinitionApi rscDfnApi : cluster.getResourceDefinitions())
+        {
+            List<Resource> rscDfnRscs = new ArrayList<>();
+            rscsByRscDfn.put(rscDfnApi.getResourceName(), rscDfnRscs);
+            ResourceDefinition rscDfn = mockedCluster.createRscDfn(rscDfnApi, rscDfnRscs);
+            mockedCluster.rscDfns.put(rscDfn.getName(), rscDfn);
+        }
+
+        for (ResourceApi rscApi : cluster.getResources())
+        {
+            Resource rsc = mockedCluster.createRsc(
+                rscApi,
+                nodesByName.get(rscApi.getNodeName()),
+                mockedCluster.rscDfns.get(new ResourceName(rscApi.getName()))
+            );
+            rscsByRscDfn.get(rscApi.getName()).add(rsc);
+            mockedCluster.resources.add(rsc);
+        }
+        return mockedCluster;
+    }
+
+    public StorPoolName getStorPoolName()
+    {
+        return storPoolName;
+    }
+
+    public List<Node> getNodes()
+    {
+        return nodes;
+    }
+
+    public Map<ResourceName, ResourceDefinition> getResourceDefinitions()
+    {
+        return rscDfns;
+    }
+
+    public List<Resource> getResources()
+    {
+        return resources;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node createNode(StorPoolApi storPoolApi, String rack) throws Exception
+    {
+        Node node = stub(Node.class);
+        when(node.getUuid()).thenReturn(storPoolApi.getNodeUuid());
+        when(node.getName()).thenReturn(new NodeName(storPoolApi.getNodeName()));
+        when(node.getNodeType(accCtx)).thenReturn(Node.Type.SATELLITE);
+        StateFlags<Node.Flags> flags = stub(StateFlags.class);
+        doReturn(flags).when(node).getFlags();
+
+        Map<String, String> nodeProps = new TreeMap<>();
+        nodeProps.put(RACK_PROP_KEY, rack);
+        Props props = createProps(nodeProps);
+        when(node.getProps(accCtx)).thenReturn(props);
+
+        NetInterface netIf = stub(NetInterface.class);
+        when(netIf.getUuid()).thenReturn(UUID.nameUUIDFromBytes(storPoolApi.getNodeName().getBytes()));
+        when(netIf.getName()).thenReturn(NetInterfaceName.DEFAULT_NET_INTERFACE_NAME);
+        when(netIf.getAddress(accCtx)).thenReturn(new LsIpAddress("10.0.0.1"));
+        when(netIf.getNode()).thenReturn(node);
+        when(node.streamNetInterfaces(accCtx)).thenAnswer(ignored -> Stream.of(netIf));
+
+        ExtToolsManager extToolsManager = stub(ExtToolsManager.class);
+        when(extToolsManager.getSupportedLayers()).thenReturn(EnumSet.allOf(DeviceLayerKind.class));
+        Peer peer = stub(Peer.class);
+        when(peer.isConnected()).thenReturn(true);
+        when(peer.getExtToolsManager()).thenReturn(extToolsManager);
+        when(node.getPeer(accCtx)).thenReturn(peer);
+
+        StorPoolDefinition storPoolDfn = stub(StorPoolDefinition.class);
+        when(storPoolDfn.getName()).thenReturn(storPoolName);
+        when(storPoolDfn.getProps(accCtx)).thenReturn(emptyProps);
+
+        FreeSpaceTracker freeSpaceTracker = stub(FreeSpaceTracker.class);
+        when(freeSpaceTracker.getReservedCapacity(accCtx)).thenReturn(0L);
+        when(freeSpaceTracker.getFreeCapacityLastUpdated(accCtx)).thenReturn(storPoolApi.getFreeCapacity());
+
+        StorPool storPool = stub(StorPool.class);
+        when(storPool.getUuid()).thenReturn(storPoolApi.getStorPoolUuid());
+        when(storPool.getName()).thenReturn(storPoolName);
+        when(storPool.getNode()).thenReturn(node);
+        when(storPool.getDefinition(accCtx)).thenReturn(storPoolDfn);
+        when(storPool.getDeviceProviderKind()).thenReturn(DeviceProviderKind.LVM);
+        when(storPool.getFreeSpaceTracker()).thenReturn(freeSpaceTracker);
+        when(node.getStorPool(accCtx, storPoolName)).thenReturn(storPool);
+        return node;
+    }
+
+    private ResourceDefinition createRscDfn(ResourceDefinitionApi rscDfnApi, List<Resource> rscDfnRscs)
+        throws Exception
+    {
+        ResourceDefinition rscDfn = stub(ResourceDefinition.class);
+        when(rscDfn.getUuid()).thenReturn(rscDfnApi.getUuid());
+        when(rscDfn.getName()).thenReturn(new ResourceName(rscDfnApi.getResourceName()));
+        when(rscDfn.getApiData(accCtx)).thenReturn(rscDfnApi);
+        Props props = createProps(rscDfnApi.getProps());
+        when(rscDfn.getProps(accCtx)).thenReturn(props);
+        when(rscDfn.iterateResource(accCtx)).thenAnswer(ignored -> rscDfnRscs.iterator());
+        when(rscDfn.streamResource(accCtx)).thenAnswer(ignored -> rscDfnRscs.stream());
+        return rscDfn;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Resource createRsc(ResourceApi rscApi, Node node, ResourceDefinition rscDfn) throws Exception
+    {
+        Resource rsc = stub(Resource.class);
+        when(rsc.getUuid()).thenReturn(rscApi.getUuid());
+        when(rsc.getNode()).thenReturn(node);
+        when(rsc.getDefinition()).thenReturn(rscDfn);
+        when(rsc.getResourceDefinition()).thenReturn(rscDfn);
+        Props props = createProps(rscApi.getProps());
+        when(rsc.getProps(accCtx)).thenReturn(props);
+
+        StateFlags<Resource.Flags> flags = stub(StateFlags.class);
+        when(flags.getFlagsBits(accCtx)).thenReturn(rscApi.getFlags());
+        doReturn(flags).when(rsc).getStateFlags();
+
+        List<Volume> vlms = new ArrayList<>();
+        for (VolumeApi vlmApi : rscApi.getVlmList())
+        {
+            Volume vlm = stub(Volume.class);
+            when(vlm.getAbsResource()).thenReturn(rsc);
+            when(vlm.isAllocatedSizeSet(accCtx)).thenReturn(false);
+            when(vlm.getApiData(any(), any(AccessContext.class))).thenReturn(vlmApi);
+            vlms.add(vlm);
+        }
+        when(rsc.streamVolumes()).thenAnswer(ignored -> vlms.stream());
+        when(rsc.iterateVolumes()).thenAnswer(ignored -> vlms.iterator());
+
+        AbsRscLayerObject<Resource> layerData = stub(AbsRscLayerObject.class);
+        when(layerData.asPojo(accCtx)).thenReturn(rscApi.getLayerData());
+        doReturn(layerData).when(rsc).getLayerData(accCtx);
+
+        when(rsc.streamAbsResourceConnections(accCtx)).thenAnswer(ignored -> Stream.empty());
+        return rsc;
+    }
+
+    private Props createProps(Map<String, String> content) throws Exception
+    {
+        Props props = propsFactory.getInstance("BENCHMARK_" + propsInstanceIdx.getAndIncrement());
+        for (Map.Entry<String, String> entry : content.entrySet())
+        {
+            props.setProp(entry.getKey(), entry.getValue());
+        }
+        return props;
+    }
+
+    /**
+     * @return A stub of the given class that does not record its invocations
+     */
+    static <T> T stub(Class<T> clazz)
+    {
+        return Mockito.mock(clazz, Mockito.withSettings().stubOnly());
+    }
+}
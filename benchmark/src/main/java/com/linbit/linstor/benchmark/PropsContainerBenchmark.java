@@ -0,0 +1,99 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.propscon.PropsContainer;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups, updates and iteration on a PropsContainer with nested namespaces, as used for every
+ * object's properties
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropsContainerBenchmark
+{
+    private static final String[] NAMESPACES = {
+        "Aux",
+        "DrbdOptions/Net",
+        "DrbdOptions/Disk",
+        "StorDriver",
+        "Internal/Drbd"
+    };
+
+    @Param({"16", "1024"})
+    public int propCount;
+
+    private PropsContainer props;
+    private String[] keys;
+    private int keyIdx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        props = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr).getInstance("BENCHMARK");
+
+        keys = new String[propCount];
+        for (int idx = 0; idx < propCount; ++idx)
+        {
+            keys[idx] = NAMESPACES[idx % NAMESPACES.length] + "/key" + idx;
+            props.setProp(keys[idx], "value" + idx);
+        }
+    }
+
+    @Benchmark
+    public String getProp() throws Exception
+    {
+        return props.getProp(nextKey());
+    }
+
+    @Benchmark
+    public String setProp() throws Exception
+    {
+        return props.setProp(nextKey(), "updated");
+    }
+
+    @Benchmark
+    public int iterateMap()
+    {
+        int len = 0;
+        for (Map.Entry<String, String> entry : props.map().entrySet())
+        {
+            len += entry.getValue().length();
+        }
+        return len;
+    }
+
+    @Benchmark
+    public Object getNamespace()
+    {
+        return props.getNamespace(NAMESPACES[keyIdx++ % NAMESPACES.length]);
+    }
+
+    private String nextKey()
+    {
+        keyIdx = (keyIdx + 1) % keys.length;
+        return keys[keyIdx];
+    }
+}
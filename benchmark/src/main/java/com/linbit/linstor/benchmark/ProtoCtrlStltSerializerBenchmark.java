@@ -0,0 +1,129 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the controller to satellite messages that carry resources, i.e. the update of a single
+ * resource and a full sync chunk with all resources of a node
+ *
+ * Works on the core objects of a {@link MockedCluster}. The nodes of the peer resources and the resource
+ * definitions are served from the serialization cache after their first use, as they are on the controller
+ * while no object is modified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoCtrlStltSerializerBenchmark
+{
+    private static final long FULL_SYNC_ID = 1;
+
+    @Param({"3", "100"})
+    public int nodes;
+
+    @Param({"1000"})
+    public int resources;
+
+    @Param({"1", "4"})
+    public int volumes;
+
+    @Param({"3"})
+    public int replicas;
+
+    private CtrlStltSerializer serializer;
+    private List<Resource> rscList;
+    private List<List<Resource>> rscsPerNode;
+    private int rscIdx;
+    private int nodeIdx;
+    private long updateId;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        ErrorReporter errorReporter = new StdErrorReporter(
+            "LINSTOR-BENCHMARK",
+            Paths.get("build/benchmark-logs"),
+            false,
+            "",
+            null,
+            null,
+            () -> null
+        );
+        AccessContext accCtx = MockedCluster.createSystemContext();
+        MockedCluster cluster = MockedCluster.create(
+            SyntheticCluster.generate(nodes, resources, volumes, replicas),
+            1,
+            accCtx
+        );
+
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        serializer = new ProtoCtrlStltSerializer(
+            errorReporter,
+            accCtx,
+            new CtrlSecurityObjects(),
+            new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr).getInstance("CTRLCFG")
+        );
+
+        rscList = cluster.getResources();
+        Map<Node, List<Resource>> rscsByNode = new HashMap<>();
+        for (Resource rsc : rscList)
+        {
+            rscsByNode.computeIfAbsent(rsc.getNode(), ignored -> new ArrayList<>()).add(rsc);
+        }
+        rscsPerNode = new ArrayList<>(rscsByNode.values());
+    }
+
+    @Benchmark
+    public byte[] applyResource()
+    {
+        Resource rsc = rscList.get(rscIdx);
+        rscIdx = (rscIdx + 1) % rscList.size();
+        return serializer.onewayBuilder(InternalApiConsts.API_APPLY_RSC)
+            .resource(rsc, FULL_SYNC_ID, ++updateId)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] fullSyncRscChunk()
+    {
+        List<Resource> nodeRscs = rscsPerNode.get(nodeIdx);
+        nodeIdx = (nodeIdx + 1) % rscsPerNode.size();
+        return serializer.onewayBuilder(InternalApiConsts.API_FULL_SYNC_RSC_CHUNK)
+            .fullSyncRscChunk(nodeRscs, Collections.emptyList(), FULL_SYNC_ID)
+            .build();
+    }
+}
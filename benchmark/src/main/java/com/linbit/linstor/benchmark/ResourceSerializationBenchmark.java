@@ -0,0 +1,117 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.linstor.api.protobuf.serializer.ProtoCommonSerializerBuilder;
+import com.linbit.linstor.api.rest.v1.serializer.Json;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
+import com.linbit.linstor.core.apis.ResourceApi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Serialization of a whole cluster's resources, as done for "resource list" requests (REST / JSON)
+ * and for controller to satellite updates (protobuf)
+ *
+ * The jsonResponse benchmarks cover a whole "resource list" response body. Run them with "-prof gc" to
+ * compare the heap allocated per response (gc.alloc.rate.norm):
+ *   ./gradlew :benchmark:jmh -PjmhInclude=ResourceSerializationBenchmark.jsonResponse -PjmhArgs="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceSerializationBenchmark
+{
+    @Param({"3", "100"})
+    public int nodes;
+
+    @Param({"100", "5000"})
+    public int resources;
+
+    @Param({"1", "4"})
+    public int volumes;
+
+    @Param({"2"})
+    public int replicas;
+
+    private SyntheticCluster cluster;
+    private List<JsonGenTypes.ResourceWithVolumes> jsonResources;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp()
+    {
+        cluster = SyntheticCluster.generate(nodes, resources, volumes, replicas);
+        objectMapper = new ObjectMapper();
+        jsonResources = apiToJson();
+    }
+
+    @Benchmark
+    public void protoSerializeResources(Blackhole blackhole)
+    {
+        for (ResourceApi rscApi : cluster.getResources())
+        {
+            blackhole.consume(ProtoCommonSerializerBuilder.serializeResource(rscApi).toByteArray());
+        }
+    }
+
+    @Benchmark
+    public List<JsonGenTypes.ResourceWithVolumes> jsonApiToResourceWithVolumes()
+    {
+        return apiToJson();
+    }
+
+    @Benchmark
+    public byte[] jsonWriteResources() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(jsonResources);
+    }
+
+    @Benchmark
+    public int jsonResponseAsString() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsString(apiToJson()).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public void jsonResponseStreamed() throws IOException
+    {
+        JsonStreaming.arrayEntity(
+            JsonGenTypes.ResourceWithVolumes.class,
+            cluster.getResources().stream()
+                .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, cluster.getSatelliteStates(), true))
+        ).write(ByteStreams.nullOutputStream());
+    }
+
+    private List<JsonGenTypes.ResourceWithVolumes> apiToJson()
+    {
+        List<JsonGenTypes.ResourceWithVolumes> result = new ArrayList<>(cluster.getResources().size());
+        for (ResourceApi rscApi : cluster.getResources())
+        {
+            result.add(Json.apiToResourceWithVolumes(rscApi, cluster.getSatelliteStates(), true));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,335 @@
+package com.linbit.linstor.benchmark;
+
+import com.linbit.InvalidNameException;
+import com.linbit.ValueOutOfRangeException;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.interfaces.VlmLayerDataApi;
+import com.linbit.linstor.api.pojo.RscDfnPojo;
+import com.linbit.linstor.api.pojo.RscGrpPojo;
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.api.pojo.StorPoolPojo;
+import com.linbit.linstor.api.pojo.StorageRscPojo;
+import com.linbit.linstor.api.pojo.StorageRscPojo.LvmVlmPojo;
+import com.linbit.linstor.api.pojo.VlmDfnPojo;
+import com.linbit.linstor.api.pojo.VlmPojo;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.apis.ResourceDefinitionApi;
+import com.linbit.linstor.core.apis.ResourceGroupApi;
+import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.core.apis.VolumeDefinitionApi;
+import com.linbit.linstor.core.apis.VolumeApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.satellitestate.SatelliteResourceState;
+import com.linbit.linstor.satellitestate.SatelliteState;
+import com.linbit.linstor.satellitestate.SatelliteVolumeState;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.utils.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates the API view of a synthetic cluster with a given number of nodes, resource definitions
+ * and volumes per resource, without requiring a database or running satellites.
+ *
+ * The generated data is deterministic for the same parameters.
+ */
+public class SyntheticCluster
+{
+    public static final String STOR_POOL_NAME = "benchpool";
+    public static final String RSC_GRP_NAME = "benchgrp";
+    public static final String VOLUME_GROUP = "benchvg";
+    public static final long VLM_SIZE_KIB = 1L << 20;
+    public static final int PROPS_PER_OBJECT = 8;
+
+    private static final long SEED = 42;
+
+    private final List<String> nodeNames;
+    private final List<StorPoolApi> storPools;
+    private final List<ResourceDefinitionApi> rscDfns;
+    private final List<ResourceApi> resources;
+    private final Map<NodeName, SatelliteState> satelliteStates;
+
+    private SyntheticCluster(
+        List<String> nodeNamesRef,
+        List<StorPoolApi> storPoolsRef,
+        List<ResourceDefinitionApi> rscDfnsRef,
+        List<ResourceApi> resourcesRef,
+        Map<NodeName, SatelliteState> satelliteStatesRef
+    )
+    {
+        nodeNames = nodeNamesRef;
+        storPools = storPoolsRef;
+        rscDfns = rscDfnsRef;
+        resources = resourcesRef;
+        satelliteStates = satelliteStatesRef;
+    }
+
+    /**
+     * @param nodeCount Number of nodes
+     * @param rscDfnCount Number of resource definitions
+     * @param vlmsPerRsc Number of volumes per resource
+     * @param replicas Number of resources per resource definition, placed round-robin across the nodes
+     */
+    public static SyntheticCluster generate(int nodeCount, int rscDfnCount, int vlmsPerRsc, int replicas)
+    {
+        Random random = new Random(SEED);
+
+        List<String> nodeNames = new ArrayList<>(nodeCount);
+        List<StorPoolApi> storPools = new ArrayList<>(nodeCount);
+        Map<NodeName, SatelliteState> satelliteStates = new HashMap<>();
+        for (int nodeIdx = 0; nodeIdx < nodeCount; ++nodeIdx)
+        {
+            String nodeName = String.format("node%05d", nodeIdx);
+            nodeNames.add(nodeName);
+            storPools.add(createStorPool(random, nodeName));
+            satelliteStates.put(asNodeName(nodeName), new SatelliteState());
+        }
+
+        ResourceGroupApi rscGrp = new RscGrpPojo(
+            uuid(random),
+            RSC_GRP_NAME,
+            null,
+            createProps(random, "RscGrp"),
+            new ArrayList<>(),
+            null
+        );
+
+        int effectiveReplicas = Math.min(replicas, nodeCount);
+        List<ResourceDefinitionApi> rscDfns = new ArrayList<>(rscDfnCount);
+        List<ResourceApi> resources = new ArrayList<>(rscDfnCount * effectiveReplicas);
+        for (int rscDfnIdx = 0; rscDfnIdx < rscDfnCount; ++rscDfnIdx)
+        {
+            String rscName = String.format("rsc%06d", rscDfnIdx);
+            List<VolumeDefinitionApi> vlmDfns = new ArrayList<>(vlmsPerRsc);
+            for (int vlmNr = 0; vlmNr < vlmsPerRsc; ++vlmNr)
+            {
+                vlmDfns.add(
+                    new VlmDfnPojo(
+                        uuid(random),
+                        vlmNr,
+                        VLM_SIZE_KIB,
+                        0,
+                        createProps(random, "VlmDfn"),
+                        new ArrayList<>()
+                    )
+                );
+            }
+            RscDfnPojo rscDfn = new RscDfnPojo(
+                uuid(random),
+                rscGrp,
+                rscName,
+                null,
+                0,
+                createProps(random, "RscDfn"),
+                vlmDfns,
+                new ArrayList<>()
+            );
+            rscDfns.add(rscDfn);
+            for (int replicaIdx = 0; replicaIdx < effectiveReplicas; ++replicaIdx)
+            {
+                int nodeIdx = (rscDfnIdx + replicaIdx) % nodeCount;
+                String nodeName = nodeNames.get(nodeIdx);
+                resources.add(
+                    createResource(random, rscName, nodeName, rscDfn, storPools.get(nodeIdx), vlmsPerRsc)
+                );
+                fillSatelliteState(satelliteStates.get(asNodeName(nodeName)), rscName, vlmsPerRsc);
+            }
+        }
+        return new SyntheticCluster(nodeNames, storPools, rscDfns, resources, satelliteStates);
+    }
+
+    public List<String> getNodeNames()
+    {
+        return nodeNames;
+    }
+
+    /**
+     * @return The storage pool of each node, in the same order as {@link #getNodeNames()}
+     */
+    public List<StorPoolApi> getStorPools()
+    {
+        return storPools;
+    }
+
+    public List<ResourceDefinitionApi> getResourceDefinitions()
+    {
+        return rscDfns;
+    }
+
+    public List<ResourceApi> getResources()
+    {
+        return resources;
+    }
+
+    public Map<NodeName, SatelliteState> getSatelliteStates()
+    {
+        return satelliteStates;
+    }
+
+    private static ResourceApi createResource(
+        Random random,
+        String rscName,
+        String nodeName,
+        RscDfnPojo rscDfn,
+        StorPoolApi storPool,
+        int vlmsPerRsc
+    )
+    {
+        List<VolumeApi> vlms = new ArrayList<>(vlmsPerRsc);
+        List<VlmLayerDataApi> storageVlms = new ArrayList<>(vlmsPerRsc);
+        for (int vlmNr = 0; vlmNr < vlmsPerRsc; ++vlmNr)
+        {
+            String devicePath = String.format("/dev/%s/%s_%05d", VOLUME_GROUP, rscName, vlmNr);
+            LvmVlmPojo storageVlm = new LvmVlmPojo(
+                vlmNr,
+                devicePath,
+                VLM_SIZE_KIB,
+                VLM_SIZE_KIB,
+                null,
+                storPool
+            );
+            storageVlms.add(storageVlm);
+
+            List<Pair<String, VlmLayerDataApi>> layerData = new ArrayList<>();
+            layerData.add(new Pair<>("", storageVlm));
+            vlms.add(
+                new VlmPojo(
+                    uuid(random),
+                    uuid(random),
+                    devicePath,
+                    vlmNr,
+                    0,
+                    createProps(random, "Vlm"),
+                    Optional.of(VLM_SIZE_KIB),
+                    Optional.of(VLM_SIZE_KIB),
+                    layerData,
+                    STOR_POOL_NAME,
+                    DeviceProviderKind.LVM,
+                    new ApiCallRcImpl()
+                )
+            );
+        }
+
+        return new RscPojo(
+            rscName,
+            nodeName,
+            storPool.getNodeUuid(),
+            rscDfn,
+            uuid(random),
+            0,
+            createProps(random, "Rsc"),
+            vlms,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            null,
+            null,
+            new StorageRscPojo(
+                random.nextInt(Integer.MAX_VALUE),
+                new ArrayList<>(),
+                "",
+                storageVlms,
+                false
+            )
+        );
+    }
+
+    private static StorPoolApi createStorPool(Random random, String nodeName)
+    {
+        Map<String, String> props = new HashMap<>();
+        props.put("StorDriver/LvmVg", VOLUME_GROUP);
+        return new StorPoolPojo(
+            uuid(random),
+            uuid(random),
+            nodeName,
+            STOR_POOL_NAME,
+            uuid(random),
+            DeviceProviderKind.LVM,
+            props,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            null,
+            null,
+            nodeName + ";" + STOR_POOL_NAME,
+            Optional.of(VLM_SIZE_KIB * 1024),
+            Optional.of(VLM_SIZE_KIB * 4096),
+            new ApiCallRcImpl(),
+            true,
+            false
+        );
+    }
+
+    private static void fillSatelliteState(SatelliteState satelliteState, String rscNameStr, int vlmsPerRsc)
+    {
+        ResourceName rscName = asResourceName(rscNameStr);
+        satelliteState.setOnResource(rscName, SatelliteResourceState::setInUse, false);
+        for (int vlmNr = 0; vlmNr < vlmsPerRsc; ++vlmNr)
+        {
+            satelliteState.setOnVolume(
+                rscName,
+                asVolumeNumber(vlmNr),
+                SatelliteVolumeState::setDiskState,
+                "UpToDate"
+            );
+        }
+    }
+
+    private static Map<String, String> createProps(Random random, String prefix)
+    {
+        Map<String, String> props = new HashMap<>();
+        for (int idx = 0; idx < PROPS_PER_OBJECT; ++idx)
+        {
+            props.put("Aux/" + prefix + "Key" + idx, Long.toHexString(random.nextLong()));
+        }
+        return props;
+    }
+
+    private static UUID uuid(Random random)
+    {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static NodeName asNodeName(String nodeName)
+    {
+        try
+        {
+            return new NodeName(nodeName);
+        }
+        catch (InvalidNameException exc)
+        {
+            throw new IllegalArgumentException(exc);
+        }
+    }
+
+    private static ResourceName asResourceName(String rscName)
+    {
+        try
+        {
+            return new ResourceName(rscName);
+        }
+        catch (InvalidNameException exc)
+        {
+            throw new IllegalArgumentException(exc);
+        }
+    }
+
+    private static VolumeNumber asVolumeNumber(int vlmNr)
+    {
+        try
+        {
+            return new VolumeNumber(vlmNr);
+        }
+        catch (ValueOutOfRangeException exc)
+        {
+            throw new IllegalArgumentException(exc);
+        }
+    }
+}
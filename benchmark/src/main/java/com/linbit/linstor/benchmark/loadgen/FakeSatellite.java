@@ -0,0 +1,658 @@
+package com.linbit.linstor.benchmark.loadgen;
+
+import com.linbit.ImplementationError;
+import com.linbit.InvalidNameException;
+import com.linbit.ServiceName;
+import com.linbit.SystemServiceStartException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCommonSerializer;
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.event.EventIdentifier;
+import com.linbit.linstor.event.common.UsageState;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.ConnectionObserver;
+import com.linbit.linstor.netcom.IllegalMessageStateException;
+import com.linbit.linstor.netcom.Message;
+import com.linbit.linstor.netcom.MessageProcessor;
+import com.linbit.linstor.netcom.MessageTypes;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.netcom.TcpConnector;
+import com.linbit.linstor.netcom.TcpConnectorService;
+import com.linbit.linstor.proto.MsgHeaderOuterClass.MsgHeader;
+import com.linbit.linstor.proto.common.RscDfnOuterClass.RscDfn;
+import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass.StorPoolFreeSpace;
+import com.linbit.linstor.proto.common.StorPoolOuterClass.StorPool;
+import com.linbit.linstor.proto.common.VlmDfnOuterClass.VlmDfn;
+import com.linbit.linstor.proto.javainternal.IntObjectIdOuterClass.IntObjectId;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyDeletedRscOuterClass.MsgIntApplyDeletedRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyFullSyncOuterClass.MsgIntApplyFullSync;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgIntApplyRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntAuthOuterClass.MsgIntAuth;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatch;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatchEntry;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntFullSyncRscChunkOuterClass.MsgIntFullSyncRscChunk;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedBatchReplyOuterClass.MsgIntChangedBatchReply;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFreeSpaceOuterClass.MsgIntFreeSpace;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFullSyncResponseOuterClass.MsgIntFullSyncResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntUpdateFreeSpaceOuterClass.MsgIntUpdateFreeSpace;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.storage.kinds.ExtTools;
+import com.linbit.linstor.storage.kinds.ExtToolsInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Simulated satellite that speaks the controller / satellite protocol on a loopback port
+ *
+ * The controller connects to the fake satellite like to any other satellite. The fake satellite
+ * authenticates, applies full syncs and answers update notifications, but never touches any devices.
+ * Storage is simulated like a NoSim driver would: every storage pool has a fixed total capacity and
+ * the volumes of the diskful resources that the controller applies to this satellite are subtracted
+ * from it. The resulting free space is reported back to the controller, so that the autoplacer sees
+ * realistic capacities.
+ *
+ * Like the real satellite, the fake satellite reports the state of every resource that it applied to the
+ * controller's global watch. Resources are reported as ready right away, so that the controller does
+ * not wait for their readiness until it times out, regardless of their layers.
+ *
+ * Messages are processed on the selector thread of this satellite's TcpConnectorService.
+ */
+public class FakeSatellite implements MessageProcessor, ConnectionObserver
+{
+    private static final List<ExtToolsInfo> EXT_TOOLS = Collections.unmodifiableList(
+        Arrays.asList(
+            new ExtToolsInfo(ExtTools.DRBD9, true, 9, 0, 25, null),
+            new ExtToolsInfo(ExtTools.LVM, true, 2, 3, 7, null),
+            new ExtToolsInfo(ExtTools.LVM_THIN, true, 2, 3, 7, null)
+        )
+    );
+
+    // ID of the watch that the real satellite creates for the controller after the authentication
+    private static final int CONTROLLER_WATCH_ID = 0;
+
+    private final String nodeName;
+    private final int port;
+    private final long storPoolCapacityKib;
+    private final ErrorReporter errorReporter;
+    private final NodeName stltNodeName;
+    private final CommonSerializer commonSerializer;
+    private final TcpConnectorService connector;
+
+    // Storage pool name -> storage pool UUID
+    private final Map<String, UUID> storPools = new ConcurrentHashMap<>();
+    // Resource name -> allocated size of all local volumes in KiB
+    private final Map<String, Long> allocatedKib = new ConcurrentHashMap<>();
+    // Resource name -> answers of ChangedRsc notifications waiting for the resource's data
+    private final Map<String, List<UpdateAnswer>> pendingRscUpdates = new ConcurrentHashMap<>();
+
+    // Full sync waiting for its resource chunks, only accessed while processing the controller's messages
+    private long pendingFullSyncApiCallId;
+    private int pendingRscChunks;
+
+    private final AtomicLong nextFullSyncId = new AtomicLong(1);
+    private final AtomicLong authCount = new AtomicLong();
+    private final AtomicLong fullSyncCount = new AtomicLong();
+    private final AtomicLong updateCount = new AtomicLong();
+    private final AtomicLong msgCount = new AtomicLong();
+
+    public FakeSatellite(
+        String nodeNameRef,
+        int portRef,
+        long storPoolCapacityKibRef,
+        ErrorReporter errorReporterRef,
+        AccessContext sysCtx,
+        AccessContext publicCtx
+    )
+        throws InvalidNameException
+    {
+        nodeName = nodeNameRef;
+        port = portRef;
+        storPoolCapacityKib = storPoolCapacityKibRef;
+        errorReporter = errorReporterRef;
+        stltNodeName = new NodeName(nodeNameRef);
+        commonSerializer = new ProtoCommonSerializer(errorReporterRef, sysCtx);
+
+        connector = new TcpConnectorService(
+            errorReporterRef,
+            commonSerializer,
+            this,
+            new InetSocketAddress(LoadGenerator.LOOPBACK_ADDRESS, portRef),
+            publicCtx,
+            sysCtx,
+            this
+        );
+        connector.setServiceInstanceName(new ServiceName("FakeStlt_" + portRef));
+    }
+
+    public void start() throws SystemServiceStartException
+    {
+        connector.start();
+    }
+
+    public void shutdown()
+    {
+        connector.shutdown();
+    }
+
+    public void awaitShutdown(long timeout) throws InterruptedException
+    {
+        connector.awaitShutdown(timeout);
+    }
+
+    public String getNodeName()
+    {
+        return nodeName;
+    }
+
+    public int getPort()
+    {
+        return port;
+    }
+
+    public long getAuthCount()
+    {
+        return authCount.get();
+    }
+
+    public long getFullSyncCount()
+    {
+        return fullSyncCount.get();
+    }
+
+    public long getUpdateCount()
+    {
+        return updateCount.get();
+    }
+
+    public long getMessageCount()
+    {
+        return msgCount.get();
+    }
+
+    @Override
+    public void processMessage(Message msg, TcpConnector connectorRef, Peer peer)
+    {
+        try
+        {
+            peer.pongReceived();
+            switch (msg.getType())
+            {
+                case MessageTypes.DATA:
+                    msgCount.incrementAndGet();
+                    processDataMessage(msg.getData(), peer);
+                    break;
+                case MessageTypes.PING:
+                    peer.sendPong();
+                    break;
+                default:
+                    // PONG or unknown message types, nothing to do
+                    break;
+            }
+        }
+        catch (IllegalMessageStateException | IOException exc)
+        {
+            errorReporter.reportError(exc);
+        }
+    }
+
+    private void processDataMessage(byte[] msgData, Peer peer) throws IOException
+    {
+        ByteArrayInputStream msgDataIn = new ByteArrayInputStream(msgData);
+        MsgHeader header = MsgHeader.parseDelimitedFrom(msgDataIn);
+        if (header != null)
+        {
+            String apiCallName = header.getMsgContent();
+            switch (header.getMsgType())
+            {
+                case API_CALL:
+                    processApiCall(apiCallName, header.getApiCallId(), msgDataIn, peer);
+                    break;
+                case ONEWAY:
+                    processOneway(apiCallName, msgDataIn, peer);
+                    break;
+                default:
+                    // The fake satellite never calls the controller, so there are no answers to process
+                    break;
+            }
+        }
+    }
+
+    private void processApiCall(String apiCallName, long apiCallId, ByteArrayInputStream msgDataIn, Peer peer)
+        throws IOException
+    {
+        switch (apiCallName)
+        {
+            case InternalApiConsts.API_AUTH:
+                authCount.incrementAndGet();
+                MsgIntAuth auth = MsgIntAuth.parseDelimitedFrom(msgDataIn);
+                peer.sendMessage(
+                    commonSerializer.answerBuilder(InternalApiConsts.API_AUTH_RESPONSE, apiCallId)
+                        .authSuccess(
+                            nextFullSyncId.getAndIncrement(),
+                            LinStor.VERSION_INFO_PROVIDER.getSemanticVersion(),
+                            auth.getNodeName(),
+                            EXT_TOOLS,
+                            new ApiCallRcImpl(),
+                            // never skip the full sync, its data is what the benchmark measures
+                            new byte[0]
+                        )
+                        .build()
+                );
+                completeApiCall(apiCallId, peer);
+                break;
+            case InternalApiConsts.API_FULL_SYNC_DATA:
+                fullSyncCount.incrementAndGet();
+                MsgIntApplyFullSync fullSync = MsgIntApplyFullSync.parseDelimitedFrom(msgDataIn);
+                applyFullSync(fullSync, peer);
+                pendingRscChunks = fullSync.getRscChunkCount();
+                if (pendingRscChunks > 0)
+                {
+                    // Answered after the last resource chunk was received
+                    pendingFullSyncApiCallId = apiCallId;
+                }
+                else
+                {
+                    answerFullSync(apiCallId, peer);
+                }
+                break;
+            case InternalApiConsts.API_CHANGED_RSC:
+            case InternalApiConsts.API_CHANGED_STOR_POOL:
+            case InternalApiConsts.API_CHANGED_NODE:
+            case InternalApiConsts.API_CHANGED_CONTROLLER:
+            case InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT:
+                processUpdate(apiCallName, msgDataIn, new UpdateAnswer(apiCallId, -1, null), peer);
+                break;
+            case InternalApiConsts.API_CHANGED_BATCH:
+                List<MsgIntChangedBatchEntry> entries = MsgIntChangedBatch.parseDelimitedFrom(msgDataIn)
+                    .getEntriesList();
+                AtomicInteger openEntries = new AtomicInteger(entries.size());
+                for (int entryIdx = 0; entryIdx < entries.size(); ++entryIdx)
+                {
+                    MsgIntChangedBatchEntry entry = entries.get(entryIdx);
+                    processUpdate(
+                        entry.getApiCall(),
+                        entry.getData().newInput(),
+                        new UpdateAnswer(apiCallId, entryIdx, openEntries),
+                        peer
+                    );
+                }
+                break;
+            case InternalApiConsts.API_REQUEST_THIN_FREE_SPACE:
+                peer.sendMessage(
+                    answer(
+                        InternalApiConsts.API_REQUEST_THIN_FREE_SPACE,
+                        apiCallId,
+                        MsgIntFreeSpace.newBuilder().addAllFreeSpaces(buildFreeSpaces()).build()
+                    )
+                );
+                completeApiCall(apiCallId, peer);
+                break;
+            default:
+                // Answer without any data, the caller must not expect any details from a fake satellite
+                completeApiCall(apiCallId, peer);
+                break;
+        }
+    }
+
+    private void processUpdate(String apiCallName, InputStream msgDataIn, UpdateAnswer answer, Peer peer)
+        throws IOException
+    {
+        updateCount.incrementAndGet();
+        switch (apiCallName)
+        {
+            case InternalApiConsts.API_CHANGED_RSC:
+                changedRsc(IntObjectId.parseDelimitedFrom(msgDataIn), answer, peer);
+                break;
+            case InternalApiConsts.API_CHANGED_STOR_POOL:
+                changedStorPool(IntObjectId.parseDelimitedFrom(msgDataIn), answer, peer);
+                break;
+            default:
+                answerSuccess(answer, "'" + apiCallName + "' applied", peer);
+                break;
+        }
+    }
+
+    private void processOneway(String apiCallName, ByteArrayInputStream msgDataIn, Peer peer)
+        throws IOException
+    {
+        switch (apiCallName)
+        {
+            case InternalApiConsts.API_APPLY_RSC:
+                IntRsc intRsc = MsgIntApplyRsc.parseDelimitedFrom(msgDataIn).getRsc();
+                applyRsc(intRsc, peer);
+                finishRscUpdate(intRsc.getRscDfn().getRscName(), peer);
+                break;
+            case InternalApiConsts.API_FULL_SYNC_RSC_CHUNK:
+                for (IntRsc chunkRsc : MsgIntFullSyncRscChunk.parseDelimitedFrom(msgDataIn).getRscsList())
+                {
+                    applyRsc(chunkRsc, peer);
+                }
+                if (pendingRscChunks > 0)
+                {
+                    --pendingRscChunks;
+                    if (pendingRscChunks == 0)
+                    {
+                        answerFullSync(pendingFullSyncApiCallId, peer);
+                    }
+                }
+                break;
+            case InternalApiConsts.API_APPLY_RSC_DELETED:
+                String rscName = MsgIntApplyDeletedRsc.parseDelimitedFrom(msgDataIn).getRscName();
+                allocatedKib.remove(rscName);
+                sendRscState(rscName, false, peer);
+                finishRscUpdate(rscName, peer);
+                break;
+            default:
+                // Other objects are not simulated
+                break;
+        }
+    }
+
+    private void changedRsc(IntObjectId rscId, UpdateAnswer answer, Peer peer) throws IOException
+    {
+        // Like the real satellite, request the resource's data and answer the update only after
+        // the controller sent it
+        pendingRscUpdates.computeIfAbsent(rscId.getName(), ignored -> new ArrayList<>()).add(answer);
+        peer.sendMessage(
+            commonSerializer.onewayBuilder(InternalApiConsts.API_REQUEST_RSC)
+                .bytes(requestRscBytes(UUID.fromString(rscId.getUuid()), rscId.getName()))
+                .build()
+        );
+    }
+
+    private void changedStorPool(IntObjectId storPoolId, UpdateAnswer answer, Peer peer) throws IOException
+    {
+        storPools.put(storPoolId.getName(), UUID.fromString(storPoolId.getUuid()));
+        answerSuccess(answer, "Storage pool '" + storPoolId.getName() + "' applied on " + nodeName, peer);
+        sendFreeSpace(peer);
+    }
+
+    private void applyFullSync(MsgIntApplyFullSync fullSync, Peer peer)
+    {
+        storPools.clear();
+        allocatedKib.clear();
+        pendingRscUpdates.clear();
+        for (IntStorPool intStorPool : fullSync.getStorPoolsList())
+        {
+            StorPool storPool = intStorPool.getStorPool();
+            storPools.put(storPool.getStorPoolName(), UUID.fromString(storPool.getStorPoolUuid()));
+        }
+        for (IntRsc intRsc : fullSync.getRscsList())
+        {
+            applyRsc(intRsc, peer);
+        }
+    }
+
+    private void answerFullSync(long apiCallId, Peer peer) throws IOException
+    {
+        peer.sendMessage(
+            answer(
+                InternalApiConsts.API_FULL_SYNC_RESPONSE,
+                apiCallId,
+                MsgIntFullSyncResponse.newBuilder()
+                    .setSuccess(true)
+                    .addAllFreeSpace(buildFreeSpaces())
+                    .build()
+            )
+        );
+        completeApiCall(apiCallId, peer);
+    }
+
+    private void applyRsc(IntRsc intRsc, Peer peer)
+    {
+        RscDfn rscDfn = intRsc.getRscDfn();
+        long rscFlags = Resource.Flags.fromStringList(intRsc.getLocalRsc().getRscFlagsList());
+        boolean deleted = (rscFlags & Resource.Flags.DELETE.flagValue) != 0;
+        if (deleted || (rscFlags & Resource.Flags.DISKLESS.flagValue) != 0)
+        {
+            allocatedKib.remove(rscDfn.getRscName());
+        }
+        else
+        {
+            long sizeKib = 0;
+            for (VlmDfn vlmDfn : rscDfn.getVlmDfnsList())
+            {
+                sizeKib += vlmDfn.getVlmSize();
+            }
+            allocatedKib.put(rscDfn.getRscName(), sizeKib);
+        }
+        sendRscState(rscDfn.getRscName(), !deleted, peer);
+    }
+
+    /**
+     * Sends the resource state event like the satellite's EventBroker does for the controller's global watch
+     * (watch ID 0). A resource that is not deleted is reported as ready, otherwise its event stream is closed.
+     */
+    private void sendRscState(String rscName, boolean ready, Peer peer)
+    {
+        EventIdentifier eventIdentifier;
+        try
+        {
+            eventIdentifier = EventIdentifier.resource(
+                InternalApiConsts.EVENT_RESOURCE_STATE,
+                stltNodeName,
+                new ResourceName(rscName)
+            );
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new ImplementationError("The controller sent an invalid resource name", invalidNameExc);
+        }
+
+        CommonSerializer.CommonSerializerBuilder builder = commonSerializer.onewayBuilder(ApiConsts.API_EVENT);
+        if (ready)
+        {
+            builder
+                .event(CONTROLLER_WATCH_ID, eventIdentifier, InternalApiConsts.EVENT_STREAM_VALUE)
+                .resourceStateEvent(new UsageState(true, false, true));
+        }
+        else
+        {
+            builder.event(CONTROLLER_WATCH_ID, eventIdentifier, InternalApiConsts.EVENT_STREAM_CLOSE_REMOVED);
+        }
+        peer.sendMessage(builder.build());
+    }
+
+    private void finishRscUpdate(String rscName, Peer peer) throws IOException
+    {
+        List<UpdateAnswer> answers = pendingRscUpdates.remove(rscName);
+        if (answers != null)
+        {
+            for (UpdateAnswer answer : answers)
+            {
+                answerSuccess(answer, "Resource '" + rscName + "' applied on " + nodeName, peer);
+            }
+            sendFreeSpace(peer);
+        }
+    }
+
+    private void sendFreeSpace(Peer peer) throws IOException
+    {
+        if (!storPools.isEmpty())
+        {
+            peer.sendMessage(
+                commonSerializer.onewayBuilder(InternalApiConsts.API_UPDATE_FREE_CAPACITY)
+                    .bytes(
+                        toDelimitedBytes(
+                            MsgIntUpdateFreeSpace.newBuilder().addAllFreeSpace(buildFreeSpaces()).build()
+                        )
+                    )
+                    .build()
+            );
+        }
+    }
+
+    /**
+     * All volumes are accounted to every storage pool of this node. The load generator only creates
+     * one storage pool per fake satellite.
+     */
+    private List<StorPoolFreeSpace> buildFreeSpaces()
+    {
+        long usedKib = 0;
+        for (Long sizeKib : allocatedKib.values())
+        {
+            usedKib += sizeKib;
+        }
+        long freeKib = Math.max(0, storPoolCapacityKib - usedKib);
+
+        List<StorPoolFreeSpace> freeSpaces = new ArrayList<>();
+        for (Map.Entry<String, UUID> storPool : storPools.entrySet())
+        {
+            freeSpaces.add(
+                StorPoolFreeSpace.newBuilder()
+                    .setStorPoolUuid(storPool.getValue().toString())
+                    .setStorPoolName(storPool.getKey())
+                    .setFreeCapacity(freeKib)
+                    .setTotalCapacity(storPoolCapacityKib)
+                    .build()
+            );
+        }
+        return freeSpaces;
+    }
+
+    private byte[] requestRscBytes(UUID rscUuid, String rscName) throws IOException
+    {
+        // Same layout as CtrlStltSerializerBuilder.requestResourceUpdate
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        IntObjectId.newBuilder()
+            .setName(nodeName)
+            .build()
+            .writeDelimitedTo(baos);
+        IntObjectId.newBuilder()
+            .setUuid(rscUuid.toString())
+            .setName(rscName)
+            .build()
+            .writeDelimitedTo(baos);
+        return baos.toByteArray();
+    }
+
+    private void answerSuccess(UpdateAnswer answer, String message, Peer peer) throws IOException
+    {
+        ApiCallRcImpl apiCallRc = ApiCallRcImpl.singleApiCallRc(ApiConsts.MASK_SUCCESS | ApiConsts.MODIFIED, message);
+        if (answer.openBatchEntries == null)
+        {
+            peer.sendMessage(
+                commonSerializer.answerBuilder(ApiConsts.API_REPLY, answer.apiCallId)
+                    .apiCallRcSeries(apiCallRc)
+                    .build()
+            );
+            completeApiCall(answer.apiCallId, peer);
+        }
+        else
+        {
+            // Same layout as CtrlStltSerializerBuilder.changedBatchReply
+            peer.sendMessage(
+                commonSerializer.answerBuilder(InternalApiConsts.API_CHANGED_BATCH_REPLY, answer.apiCallId)
+                    .bytes(toDelimitedBytes(batchReply(answer.entryIdx, false)))
+                    .apiCallRcSeries(apiCallRc)
+                    .build()
+            );
+            peer.sendMessage(
+                commonSerializer.answerBuilder(InternalApiConsts.API_CHANGED_BATCH_REPLY, answer.apiCallId)
+                    .bytes(toDelimitedBytes(batchReply(answer.entryIdx, true)))
+                    .build()
+            );
+            if (answer.openBatchEntries.decrementAndGet() == 0)
+            {
+                completeApiCall(answer.apiCallId, peer);
+            }
+        }
+    }
+
+    private static MsgIntChangedBatchReply batchReply(int entryIdx, boolean complete)
+    {
+        return MsgIntChangedBatchReply.newBuilder()
+            .setEntryIdx(entryIdx)
+            .setComplete(complete)
+            .build();
+    }
+
+    private byte[] answer(String apiCallName, long apiCallId, MessageLite protoMsg) throws IOException
+    {
+        return commonSerializer.answerBuilder(apiCallName, apiCallId)
+            .bytes(toDelimitedBytes(protoMsg))
+            .build();
+    }
+
+    private void completeApiCall(long apiCallId, Peer peer)
+    {
+        peer.sendMessage(
+            commonSerializer.answerBuilder(ApiConsts.API_END_OF_IMMEDIATE_ANSWERS, apiCallId).build()
+        );
+        peer.sendMessage(commonSerializer.completionBuilder(apiCallId).build());
+    }
+
+    private static byte[] toDelimitedBytes(MessageLite protoMsg) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        protoMsg.writeDelimitedTo(baos);
+        return baos.toByteArray();
+    }
+
+    @Override
+    public void outboundConnectionEstablished(Peer connPeer)
+    {
+        // The fake satellite does not connect to anything
+    }
+
+    @Override
+    public void outboundConnectionEstablishing(Peer peerRef)
+    {
+        // The fake satellite does not connect to anything
+    }
+
+    @Override
+    public void inboundConnectionEstablished(Peer connPeer)
+    {
+        errorReporter.logDebug("Fake satellite '%s': controller connected", nodeName);
+    }
+
+    @Override
+    public void connectionClosed(Peer connPeer, boolean allowReconnect, boolean shuttingDown)
+    {
+        errorReporter.logDebug("Fake satellite '%s': controller disconnected", nodeName);
+        pendingRscUpdates.clear();
+    }
+
+    /**
+     * Target of the answer to an update notification, which is either a separate API call or an entry
+     * of a ChangedBatch API call
+     */
+    private static class UpdateAnswer
+    {
+        final long apiCallId;
+        final int entryIdx;
+        // Number of unanswered entries of the batch, null if the notification is not part of a batch
+        final AtomicInteger openBatchEntries;
+
+        UpdateAnswer(long apiCallIdRef, int entryIdxRef, AtomicInteger openBatchEntriesRef)
+        {
+            apiCallId = apiCallIdRef;
+            entryIdx = entryIdxRef;
+            openBatchEntries = openBatchEntriesRef;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.linbit.linstor.benchmark.loadgen;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the latencies of the operations of a load generator run and reports percentiles and
+ * throughput per operation
+ */
+public class LatencyRecorder
+{
+    private static final int INIT_CAPACITY = 1024;
+
+    private final Map<String, OperationStats> stats = new TreeMap<>();
+
+    public synchronized void record(String operation, long startNanos, long endNanos, boolean success)
+    {
+        OperationStats opStats = stats.get(operation);
+        if (opStats == null)
+        {
+            opStats = new OperationStats();
+            stats.put(operation, opStats);
+        }
+        opStats.add(endNanos - startNanos, startNanos, endNanos, success);
+    }
+
+    public synchronized void report(PrintStream out)
+    {
+        out.printf(
+            "%-12s %8s %7s %10s %10s %10s %10s %10s %12s%n",
+            "operation", "count", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "ops/s"
+        );
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet())
+        {
+            OperationStats opStats = entry.getValue();
+            long[] sorted = Arrays.copyOf(opStats.latencies, opStats.count);
+            Arrays.sort(sorted);
+
+            long wallNanos = opStats.lastEndNanos - opStats.firstStartNanos;
+            out.printf(
+                "%-12s %8d %7d %10.2f %10.2f %10.2f %10.2f %10.2f %12.1f%n",
+                entry.getKey(),
+                opStats.count,
+                opStats.failedCount,
+                toMillis(percentile(sorted, 0.5)),
+                toMillis(percentile(sorted, 0.9)),
+                toMillis(percentile(sorted, 0.99)),
+                toMillis(percentile(sorted, 0.999)),
+                toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                wallNanos > 0 ? opStats.count * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos : 0.0
+            );
+        }
+    }
+
+    static long percentile(long[] sorted, double fraction)
+    {
+        long value = 0;
+        if (sorted.length > 0)
+        {
+            int idx = (int) Math.ceil(fraction * sorted.length) - 1;
+            value = sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+        }
+        return value;
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class OperationStats
+    {
+        private long[] latencies = new long[INIT_CAPACITY];
+        private int count;
+        private int failedCount;
+        private long firstStartNanos = Long.MAX_VALUE;
+        private long lastEndNanos = Long.MIN_VALUE;
+
+        private void add(long latencyNanos, long startNanos, long endNanos, boolean success)
+        {
+            if (count == latencies.length)
+            {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[count] = latencyNanos;
+            ++count;
+            if (!success)
+            {
+                ++failedCount;
+            }
+            firstStartNanos = Math.min(firstStartNanos, startNanos);
+            lastEndNanos = Math.max(lastEndNanos, endNanos);
+        }
+    }
+}
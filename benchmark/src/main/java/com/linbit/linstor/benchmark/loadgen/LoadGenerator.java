@@ -0,0 +1,408 @@
+package com.linbit.linstor.benchmark.loadgen;
+
+import com.linbit.linstor.annotation.PublicContext;
+import com.linbit.linstor.annotation.SystemContext;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.SecurityModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+
+/**
+ * Drives a real controller with a synthetic cluster of fake satellites
+ *
+ * The load generator starts the requested number of {@link FakeSatellite}s on consecutive loopback
+ * ports, registers them as nodes (each with one storage pool) using the controller's REST API and then
+ * runs the configured operations for the requested number of resources using concurrent REST clients.
+ * The latency percentiles and the throughput of every operation are printed when the run completes.
+ *
+ * The resources use the controller's default layer list (DRBD on top of STORAGE). After the controller
+ * applied a resource, the fake satellite reports it as ready using a ResourceState event, so the
+ * measured autoplace latency includes the controller waiting for the resource to become ready, but not
+ * any time spent by DRBD itself.
+ *
+ * The controller must be started separately, e.g. with an in-memory database. Usage:
+ *
+ *   ./gradlew :benchmark:loadgen -PloadgenArgs="--satellites=500 --resources=5000 --threads=32"
+ *
+ * Options (defaults in parentheses):
+ *   --controller=URL          REST endpoint of the controller (http://127.0.0.1:3370)
+ *   --satellites=N            number of fake satellites (50)
+ *   --base-port=PORT          port of the first fake satellite (21000)
+ *   --resources=N             number of resource definitions (1000)
+ *   --threads=N               number of concurrent REST clients (16)
+ *   --replicas=N              place count for autoplace (2)
+ *   --volume-size-kib=N       size of the single volume of each resource (1048576)
+ *   --pool-capacity-kib=N     capacity of each fake storage pool (1073741824)
+ *   --ops=LIST                operations per resource, any of create,autoplace,list,delete
+ *                             (create,autoplace,list,delete)
+ *   --keep-nodes              do not delete the fake nodes from the controller when done
+ */
+public class LoadGenerator
+{
+    public static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+    public static final String OP_CREATE = "create";
+    public static final String OP_AUTOPLACE = "autoplace";
+    public static final String OP_LIST = "list";
+    public static final String OP_DELETE = "delete";
+
+    private static final String OP_NODE_CREATE = "node-create";
+    private static final String OP_POOL_CREATE = "pool-create";
+    private static final String OP_NODE_DELETE = "node-delete";
+
+    private static final String STOR_POOL_NAME = "fakepool";
+    private static final String NODE_NAME_FORMAT = "fake-node-%04d";
+    private static final String RSC_NAME_FORMAT = "lg-rsc-%06d";
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int READ_TIMEOUT_MILLIS = 300_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final String controllerUrl;
+    private final int satelliteCount;
+    private final int basePort;
+    private final int rscCount;
+    private final int threadCount;
+    private final int replicas;
+    private final long vlmSizeKib;
+    private final long poolCapacityKib;
+    private final Set<String> ops;
+    private final boolean keepNodes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final List<FakeSatellite> satellites = new ArrayList<>();
+
+    public LoadGenerator(Map<String, String> options)
+    {
+        controllerUrl = options.getOrDefault("controller", "http://127.0.0.1:3370");
+        satelliteCount = Integer.parseInt(options.getOrDefault("satellites", "50"));
+        basePort = Integer.parseInt(options.getOrDefault("base-port", "21000"));
+        rscCount = Integer.parseInt(options.getOrDefault("resources", "1000"));
+        threadCount = Integer.parseInt(options.getOrDefault("threads", "16"));
+        replicas = Integer.parseInt(options.getOrDefault("replicas", "2"));
+        vlmSizeKib = Long.parseLong(options.getOrDefault("volume-size-kib", "1048576"));
+        poolCapacityKib = Long.parseLong(options.getOrDefault("pool-capacity-kib", "1073741824"));
+        ops = new HashSet<>(
+            Arrays.asList(options.getOrDefault("ops", "create,autoplace,list,delete").split(","))
+        );
+        keepNodes = options.containsKey("keep-nodes");
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args)
+        {
+            if (!arg.startsWith("--"))
+            {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            int eqIdx = arg.indexOf('=');
+            if (eqIdx == -1)
+            {
+                options.put(arg.substring(2), "");
+            }
+            else
+            {
+                options.put(arg.substring(2, eqIdx), arg.substring(eqIdx + 1));
+            }
+        }
+        new LoadGenerator(options).run();
+    }
+
+    public void run() throws Exception
+    {
+        ErrorReporter errorReporter = new StdErrorReporter(
+            "LINSTOR-LOADGEN",
+            Paths.get("build/loadgen-logs"),
+            false,
+            "",
+            null,
+            null,
+            () -> null
+        );
+        Injector injector = Guice.createInjector(new SecurityModule());
+        AccessContext sysCtx = injector.getInstance(Key.get(AccessContext.class, SystemContext.class));
+        AccessContext publicCtx = injector.getInstance(Key.get(AccessContext.class, PublicContext.class));
+
+        try
+        {
+            for (int idx = 0; idx < satelliteCount; ++idx)
+            {
+                FakeSatellite satellite = new FakeSatellite(
+                    String.format(NODE_NAME_FORMAT, idx),
+                    basePort + idx,
+                    poolCapacityKib,
+                    errorReporter,
+                    sysCtx,
+                    publicCtx
+                );
+                satellite.start();
+                satellites.add(satellite);
+            }
+            System.out.printf(
+                "Started %d fake satellites on ports %d-%d%n",
+                satelliteCount,
+                basePort,
+                basePort + satelliteCount - 1
+            );
+
+            long startMillis = System.currentTimeMillis();
+            runParallel(satelliteCount, this::createNode);
+            System.out.printf(
+                "Registered %d nodes in %dms%n",
+                satelliteCount,
+                System.currentTimeMillis() - startMillis
+            );
+
+            startMillis = System.currentTimeMillis();
+            runParallel(rscCount, this::runResourceOps);
+            if (ops.contains(OP_DELETE))
+            {
+                runParallel(rscCount, idx -> deleteRscDfn(String.format(RSC_NAME_FORMAT, idx)));
+            }
+            System.out.printf(
+                "Ran %d resources in %dms%n",
+                rscCount,
+                System.currentTimeMillis() - startMillis
+            );
+
+            if (!keepNodes)
+            {
+                runParallel(satelliteCount, idx -> deleteNode(String.format(NODE_NAME_FORMAT, idx)));
+            }
+
+            recorder.report(System.out);
+            reportSatellites();
+        }
+        finally
+        {
+            for (FakeSatellite satellite : satellites)
+            {
+                satellite.shutdown();
+            }
+            for (FakeSatellite satellite : satellites)
+            {
+                satellite.awaitShutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        }
+    }
+
+    private void createNode(int idx)
+    {
+        FakeSatellite satellite = satellites.get(idx);
+
+        JsonGenTypes.NetInterface netIf = new JsonGenTypes.NetInterface();
+        netIf.name = "default";
+        netIf.address = LOOPBACK_ADDRESS;
+        netIf.satellite_port = satellite.getPort();
+        netIf.satellite_encryption_type = "Plain";
+
+        JsonGenTypes.Node node = new JsonGenTypes.Node();
+        node.name = satellite.getNodeName();
+        node.type = "Satellite";
+        node.net_interfaces = Collections.singletonList(netIf);
+
+        if (request(OP_NODE_CREATE, "POST", "/v1/nodes", node))
+        {
+            JsonGenTypes.StoragePool storPool = new JsonGenTypes.StoragePool();
+            storPool.storage_pool_name = STOR_POOL_NAME;
+            storPool.provider_kind = "LVM";
+            storPool.props = Collections.singletonMap("StorDriver/LvmVg", "fakevg");
+
+            request(OP_POOL_CREATE, "POST", "/v1/nodes/" + node.name + "/storage-pools", storPool);
+        }
+    }
+
+    private void runResourceOps(int idx)
+    {
+        String rscName = String.format(RSC_NAME_FORMAT, idx);
+        boolean success = true;
+        if (ops.contains(OP_CREATE))
+        {
+            success = createRscDfn(rscName);
+        }
+        if (success && ops.contains(OP_AUTOPLACE))
+        {
+            JsonGenTypes.AutoPlaceRequest autoPlace = new JsonGenTypes.AutoPlaceRequest();
+            autoPlace.select_filter.place_count = replicas;
+            autoPlace.select_filter.storage_pool = STOR_POOL_NAME;
+
+            request(OP_AUTOPLACE, "POST", "/v1/resource-definitions/" + rscName + "/autoplace", autoPlace);
+        }
+        if (ops.contains(OP_LIST))
+        {
+            request(OP_LIST, "GET", "/v1/view/resources", null);
+        }
+    }
+
+    private boolean createRscDfn(String rscName)
+    {
+        JsonGenTypes.ResourceDefinitionCreate rscDfnCreate = new JsonGenTypes.ResourceDefinitionCreate();
+        rscDfnCreate.resource_definition.name = rscName;
+
+        JsonGenTypes.VolumeDefinitionCreate vlmDfnCreate = new JsonGenTypes.VolumeDefinitionCreate();
+        vlmDfnCreate.volume_definition.size_kib = vlmSizeKib;
+
+        long startNanos = System.nanoTime();
+        boolean success = send("POST", "/v1/resource-definitions", rscDfnCreate) &&
+            send("POST", "/v1/resource-definitions/" + rscName + "/volume-definitions", vlmDfnCreate);
+        recorder.record(OP_CREATE, startNanos, System.nanoTime(), success);
+        return success;
+    }
+
+    private void deleteRscDfn(String rscName)
+    {
+        request(OP_DELETE, "DELETE", "/v1/resource-definitions/" + rscName, null);
+    }
+
+    private void deleteNode(String nodeName)
+    {
+        request(OP_NODE_DELETE, "DELETE", "/v1/nodes/" + nodeName, null);
+    }
+
+    private boolean request(String operation, String method, String path, Object body)
+    {
+        long startNanos = System.nanoTime();
+        boolean success = send(method, path, body);
+        recorder.record(operation, startNanos, System.nanoTime(), success);
+        return success;
+    }
+
+    private boolean send(String method, String path, Object body)
+    {
+        boolean success = false;
+        HttpURLConnection conn = null;
+        try
+        {
+            conn = (HttpURLConnection) new URL(controllerUrl + path).openConnection();
+            conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            conn.setReadTimeout(READ_TIMEOUT_MILLIS);
+            conn.setRequestMethod(method);
+            if (body != null)
+            {
+                conn.setDoOutput(true);
+                conn.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = conn.getOutputStream())
+                {
+                    out.write(objectMapper.writeValueAsBytes(body));
+                }
+            }
+
+            int status = conn.getResponseCode();
+            success = status >= 200 && status < 300;
+            InputStream in = success ? conn.getInputStream() : conn.getErrorStream();
+            byte[] response = in == null ? new byte[0] : readFully(in);
+            if (!success)
+            {
+                System.err.printf(
+                    "%s %s failed with HTTP %d: %s%n",
+                    method,
+                    path,
+                    status,
+                    new String(response, StandardCharsets.UTF_8)
+                );
+            }
+        }
+        catch (IOException ioExc)
+        {
+            System.err.printf("%s %s failed: %s%n", method, path, ioExc.getMessage());
+        }
+        finally
+        {
+            if (conn != null)
+            {
+                conn.disconnect();
+            }
+        }
+        return success;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException
+    {
+        try (InputStream input = in)
+        {
+            byte[] buffer = new byte[8192];
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            int readCount;
+            while ((readCount = input.read(buffer)) != -1)
+            {
+                baos.write(buffer, 0, readCount);
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    private void runParallel(int count, IntConsumer task) throws InterruptedException
+    {
+        AtomicInteger nextIdx = new AtomicInteger();
+        Thread[] threads = new Thread[Math.min(threadCount, Math.max(count, 1))];
+        for (int thrIdx = 0; thrIdx < threads.length; ++thrIdx)
+        {
+            threads[thrIdx] = new Thread(
+                () ->
+                {
+                    int idx;
+                    while ((idx = nextIdx.getAndIncrement()) < count)
+                    {
+                        task.accept(idx);
+                    }
+                },
+                "LoadGen_" + thrIdx
+            );
+            threads[thrIdx].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+    }
+
+    private void reportSatellites()
+    {
+        long authCount = 0;
+        long fullSyncCount = 0;
+        long updateCount = 0;
+        long msgCount = 0;
+        for (FakeSatellite satellite : satellites)
+        {
+            authCount += satellite.getAuthCount();
+            fullSyncCount += satellite.getFullSyncCount();
+            updateCount += satellite.getUpdateCount();
+            msgCount += satellite.getMessageCount();
+        }
+        System.out.printf(
+            "Fake satellites: %d authentications, %d full syncs, %d updates, %d messages received%n",
+            authCount,
+            fullSyncCount,
+            updateCount,
+            msgCount
+        );
+    }
+}
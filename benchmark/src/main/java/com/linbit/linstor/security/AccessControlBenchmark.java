@@ -0,0 +1,135 @@
+package com.linbit.linstor.security;
+
+import com.linbit.linstor.transaction.TransactionObjectFactory;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Access checks on a synthetic set of protected objects, as done by the getters of nodes, resources
+ * and volumes when listing them
+ *
+ * Located in the security package to create roles, security types and contexts without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessControlBenchmark
+{
+    @Param({"20000"})
+    public int objects;
+
+    // Number of roles with an entry in each access control list
+    @Param({"2", "32"})
+    public int aclEntries;
+
+    private ObjectProtection[] objProts;
+    private AccessContext userCtx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        AccessContext sysCtx = new AccessContext(
+            new Identity(new IdentityName("SYSTEM")),
+            new Role(new RoleName("SYSTEM")),
+            new SecurityType(new SecTypeName("SYSTEM")),
+            new PrivilegeSet(Privilege.PRIV_SYS_ALL)
+        );
+        AccessContext rootCtx = sysCtx.clone();
+        rootCtx.privEffective.enablePrivileges(Privilege.PRIVILEGE_LIST);
+        SecurityLevel.set(rootCtx, SecurityLevel.MAC, null, null);
+
+        Role[] roles = new Role[aclEntries];
+        for (int idx = 0; idx < aclEntries; ++idx)
+        {
+            roles[idx] = new Role(new RoleName("BenchRole" + idx));
+        }
+        SecurityType userDomain = new SecurityType(new SecTypeName("BenchDomain"));
+        SecurityType objType = new SecurityType(new SecTypeName("BenchType"));
+        objType.addRule(rootCtx, userDomain, AccessType.CHANGE);
+
+        // The subject's role has the last entry of every access control list
+        userCtx = new AccessContext(
+            new Identity(new IdentityName("BenchUser")),
+            roles[aclEntries - 1],
+            userDomain,
+            new PrivilegeSet()
+        );
+
+        // Objects are created with the security type of the creator's domain
+        AccessContext creatorCtx = new AccessContext(
+            sysCtx.subjectId,
+            sysCtx.subjectRole,
+            objType,
+            new PrivilegeSet()
+        );
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        TransactionObjectFactory transObjFactory = new TransactionObjectFactory(() -> transMgr);
+
+        objProts = new ObjectProtection[objects];
+        for (int idx = 0; idx < objects; ++idx)
+        {
+            ObjectProtection objProt = new ObjectProtection(creatorCtx, null, null, transObjFactory, null);
+            for (Role role : roles)
+            {
+                objProt.restoreAclEntry(role, AccessType.USE);
+            }
+            objProts[idx] = objProt;
+        }
+    }
+
+    @Benchmark
+    public int requireAccess() throws AccessDeniedException
+    {
+        return requireAccessAll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int requireAccessConcurrent() throws AccessDeniedException
+    {
+        return requireAccessAll();
+    }
+
+    @Benchmark
+    public int queryAccess()
+    {
+        int allowed = 0;
+        for (ObjectProtection objProt : objProts)
+        {
+            if (objProt.queryAccess(userCtx) != null)
+            {
+                ++allowed;
+            }
+        }
+        return allowed;
+    }
+
+    private int requireAccessAll() throws AccessDeniedException
+    {
+        int checked = 0;
+        for (ObjectProtection objProt : objProts)
+        {
+            objProt.requireAccess(userCtx, AccessType.VIEW);
+            ++checked;
+        }
+        return checked;
+    }
+}
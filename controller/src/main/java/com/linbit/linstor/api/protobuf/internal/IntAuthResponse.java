@@ -77,9 +77,11 @@ public class IntAuthResponse implements ApiCallReactive
         final Integer linstorVersionPatch;
         final List<ExtToolsInfo> externalToolsInfoList;
         final String nodeUname;
+        final byte[] stltStateDigest;
         if (success)
         {
             expectedFullSyncId = msgAuthResponse.getExpectedFullSyncId();
+            stltStateDigest = msgAuthResponse.getStateDigest().toByteArray();
             nodeUname = msgAuthResponse.getNodeUname();
             linstorVersionMajor = msgAuthResponse.getLinstorVersionMajor();
             linstorVersionMinor = msgAuthResponse.getLinstorVersionMinor();
@@ -88,10 +90,15 @@ public class IntAuthResponse implements ApiCallReactive
                 msgAuthResponse.getExtToolsInfoList(),
                 false
             );
+            if (msgAuthResponse.getMessageCompression())
+            {
+                peer.enableMessageCompression();
+            }
         }
         else
         {
             expectedFullSyncId = null;
+            stltStateDigest = null;
             nodeUname = null;
             linstorVersionMajor = null;
             linstorVersionMinor = null;
@@ -108,6 +115,7 @@ public class IntAuthResponse implements ApiCallReactive
             linstorVersionMinor,
             linstorVersionPatch,
             externalToolsInfoList,
+            stltStateDigest,
             waitForFullSyncAnswer
         );
     }
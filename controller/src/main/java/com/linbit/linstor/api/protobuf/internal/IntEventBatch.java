@@ -0,0 +1,88 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallReactive;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.event.EventProcessor;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntEventBatchOuterClass.MsgIntEventBatch;
+import com.linbit.linstor.proto.responses.MsgEventOuterClass.MsgEvent;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+import com.linbit.utils.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import reactor.core.publisher.Flux;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_EVENT_BATCH,
+    description = "Handles a batch of events",
+    transactional = true
+)
+@Singleton
+public class IntEventBatch implements ApiCallReactive
+{
+    private final ScopeRunner scopeRunner;
+    private final LockGuardFactory lockGuardFactory;
+    private final EventProcessor eventProcessor;
+
+    @Inject
+    public IntEventBatch(
+        ScopeRunner scopeRunnerRef,
+        LockGuardFactory lockGuardFactoryRef,
+        EventProcessor eventProcessorRef
+    )
+    {
+        scopeRunner = scopeRunnerRef;
+        lockGuardFactory = lockGuardFactoryRef;
+        eventProcessor = eventProcessorRef;
+    }
+
+    @Override
+    public Flux<byte[]> executeReactive(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntEventBatch msgEventBatch = MsgIntEventBatch.parseDelimitedFrom(msgDataIn);
+
+        // Each entry contains the event followed by its event data
+        List<Pair<MsgEvent, InputStream>> events = new ArrayList<>(msgEventBatch.getEventsCount());
+        for (ByteString eventBytes : msgEventBatch.getEventsList())
+        {
+            InputStream eventIn = eventBytes.newInput();
+            events.add(new Pair<>(MsgEvent.parseDelimitedFrom(eventIn), eventIn));
+        }
+
+        return scopeRunner.fluxInTransactionalScope(
+            "Handle event batch",
+            lockGuardFactory.buildDeferred(LockType.WRITE, LockObj.NODES_MAP, LockObj.RSC_DFN_MAP),
+            () -> eventProcessor.handleEventBatch(() -> handleEvents(events))
+        )
+            .thenMany(Flux.empty());
+    }
+
+    private void handleEvents(List<Pair<MsgEvent, InputStream>> events)
+    {
+        for (Pair<MsgEvent, InputStream> event : events)
+        {
+            MsgEvent msgEvent = event.objA;
+            eventProcessor.handleEvent(
+                msgEvent.getEventAction(),
+                msgEvent.getEventName(),
+                msgEvent.hasResourceName() ? msgEvent.getResourceName() : null,
+                msgEvent.hasVolumeNumber() ? msgEvent.getVolumeNumber() : null,
+                msgEvent.hasSnapshotName() ? msgEvent.getSnapshotName() : null,
+                msgEvent.hasPeerName() ? msgEvent.getPeerName() : null,
+                event.objB
+            );
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.linbit.linstor.api.rest.v1;
+
+import com.linbit.linstor.api.ApiCallRc;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
+import com.linbit.linstor.api.rest.v1.serializer.Json;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
+import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlRscAutoPlaceApiCallHandler;
+
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.grizzly.http.server.Request;
+import reactor.core.publisher.Flux;
+
+@Path("autoplace")
+public class AutoPlaceBatch
+{
+    private final RequestHelper requestHelper;
+    private final CtrlRscAutoPlaceApiCallHandler ctrlRscAutoPlaceApiCallHandler;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public AutoPlaceBatch(
+        RequestHelper requestHelperRef,
+        CtrlRscAutoPlaceApiCallHandler ctrlRscAutoPlaceApiCallHandlerRef
+    )
+    {
+        requestHelper = requestHelperRef;
+        ctrlRscAutoPlaceApiCallHandler = ctrlRscAutoPlaceApiCallHandlerRef;
+
+        objectMapper = JsonStreaming.objectMapper();
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void autoplaceBatch(
+        @Context Request request,
+        @Suspended final AsyncResponse asyncResponse,
+        String jsonData
+    )
+    {
+        try
+        {
+            JsonGenTypes.AutoPlaceBatchEntry[] entries = objectMapper
+                .readValue(jsonData, JsonGenTypes.AutoPlaceBatchEntry[].class);
+
+            Map<String, AutoSelectFilterApi> selectFilters = new LinkedHashMap<>();
+            String duplicateRscName = null;
+            for (JsonGenTypes.AutoPlaceBatchEntry entry : entries)
+            {
+                entry.select_filter.diskless_on_remaining = entry.diskless_on_remaining;
+                entry.select_filter.layer_stack = entry.layer_list;
+
+                if (selectFilters.put(entry.rsc_name, new Json.AutoSelectFilterData(entry.select_filter)) != null)
+                {
+                    duplicateRscName = entry.rsc_name;
+                }
+            }
+
+            if (duplicateRscName != null)
+            {
+                requestHelper.doFlux(
+                    asyncResponse,
+                    ApiCallRcRestUtils.mapToMonoResponse(
+                        Flux.just(ApiCallRcImpl.singletonApiCallRc(ApiCallRcImpl.simpleEntry(
+                            ApiConsts.FAIL_INVLD_RSC_NAME,
+                            "Resource definition '" + duplicateRscName + "' is listed more than once"
+                        )))
+                    )
+                );
+            }
+            else
+            {
+                Flux<ApiCallRc> flux = ctrlRscAutoPlaceApiCallHandler.autoPlace(selectFilters)
+                    .subscriberContext(requestHelper.createContext(ApiConsts.API_AUTO_PLACE_RSC, request));
+
+                requestHelper.doFlux(
+                    asyncResponse,
+                    ApiCallRcRestUtils.mapToMonoResponse(flux, Response.Status.CREATED)
+                );
+            }
+        }
+        catch (IOException ioExc)
+        {
+            ApiCallRcRestUtils.handleJsonParseException(ioExc, asyncResponse);
+        }
+    }
+}
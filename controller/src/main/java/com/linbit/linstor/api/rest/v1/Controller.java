@@ -3,6 +3,7 @@ package com.linbit.linstor.api.rest.v1;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
@@ -50,7 +51,7 @@ public class Controller
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlCfg = ctrlCfgRef;
 
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
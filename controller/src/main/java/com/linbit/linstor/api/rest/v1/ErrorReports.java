@@ -2,8 +2,9 @@ package com.linbit.linstor.api.rest.v1;
 
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlErrorListApiCallHandler;
-import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReporter;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
@@ -19,16 +20,11 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Path("error-reports")
@@ -37,17 +33,18 @@ public class ErrorReports
 {
     private final RequestHelper requestHelper;
     private final CtrlErrorListApiCallHandler ctrlErrorListApiCallHandler;
-    private final ObjectMapper objectMapper;
+    private final ErrorReporter errorReporter;
 
     @Inject
     ErrorReports(
         RequestHelper requestHelperRef,
-        CtrlErrorListApiCallHandler ctrlErrorListApiCallHandlerRef
+        CtrlErrorListApiCallHandler ctrlErrorListApiCallHandlerRef,
+        ErrorReporter errorReporterRef
     )
     {
         requestHelper = requestHelperRef;
         ctrlErrorListApiCallHandler = ctrlErrorListApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
+        errorReporter = errorReporterRef;
     }
 
     @GET
@@ -70,11 +67,61 @@ public class ErrorReports
             since,
             to,
             withContent,
-            0,
-            0
+            limit,
+            offset
         );
     }
 
+    @GET
+    @Path("fingerprints")
+    public void listErrorReportFingerprints(
+        @Context Request request,
+        @Suspended final AsyncResponse asyncResponse,
+        @QueryParam("node") String nodeName
+    )
+    {
+        Set<String> filterNodes = new HashSet<>();
+        if (nodeName != null)
+        {
+            filterNodes.add(nodeName);
+        }
+
+        Mono<Response> flux = ctrlErrorListApiCallHandler.listErrorReportFingerprints(filterNodes)
+            .subscriberContext(requestHelper.createContext(ApiConsts.API_REQ_ERROR_REPORTS, request))
+            .flatMap(fingerprints ->
+            {
+                Stream<JsonGenTypes.ErrorReportFingerprint> jsonFingerprints = fingerprints.stream().map(fingerprint ->
+                {
+                    JsonGenTypes.ErrorReportFingerprint jsonFingerprint = new JsonGenTypes.ErrorReportFingerprint();
+                    jsonFingerprint.node_name = fingerprint.getNodeName();
+                    jsonFingerprint.fingerprint = fingerprint.getFingerprint();
+                    jsonFingerprint.report_id = fingerprint.getReportId();
+                    jsonFingerprint.exception_class = fingerprint.getExceptionClass();
+                    jsonFingerprint.message_template = fingerprint.getMessageTemplate();
+                    jsonFingerprint.first_time = fingerprint.getFirstTime().getTime();
+                    jsonFingerprint.last_time = fingerprint.getLastTime().getTime();
+                    jsonFingerprint.occurrences = fingerprint.getOccurrences();
+
+                    return jsonFingerprint;
+                });
+
+                Response resp = Response.status(Response.Status.OK)
+                    .entity(
+                        JsonStreaming.arrayEntity(
+                            JsonGenTypes.ErrorReportFingerprint.class,
+                            jsonFingerprints,
+                            errorReporter
+                        )
+                    )
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+                return Mono.just(resp);
+            })
+            .next();
+
+        requestHelper.doFlux(asyncResponse, flux);
+    }
+
     @GET
     @Path("{reportId}")
     public void listErrorReports(
@@ -109,17 +156,13 @@ public class ErrorReports
                 withContent,
                 optSince,
                 optTo,
-                filterIds)
+                filterIds,
+                offset,
+                limit)
             .subscriberContext(requestHelper.createContext(ApiConsts.API_REQ_ERROR_REPORTS, request))
-            .flatMap(reportSet -> Flux.just(reportSet.stream()))
-            .flatMap(errorReportStream ->
+            .flatMap(reportSet ->
             {
-                Stream<ErrorReport> finalStream = errorReportStream;
-                if (limit > 0)
-                {
-                    finalStream = finalStream.skip(offset).limit(limit);
-                }
-                List<JsonGenTypes.ErrorReport> jsonReports = finalStream.map(errorReport ->
+                Stream<JsonGenTypes.ErrorReport> jsonReports = reportSet.stream().map(errorReport ->
                 {
                     JsonGenTypes.ErrorReport jsonErrorReport = new JsonGenTypes.ErrorReport();
                     jsonErrorReport.node_name = errorReport.getNodeName();
@@ -128,22 +171,12 @@ public class ErrorReports
                     jsonErrorReport.text = errorReport.getText();
 
                     return jsonErrorReport;
-                })
-                    .collect(Collectors.toList());
+                });
 
-                Response resp;
-                try
-                {
-                    resp = Response.status(Response.Status.OK)
-                        .entity(objectMapper.writeValueAsString(jsonReports))
-                        .type(MediaType.APPLICATION_JSON_TYPE)
-                        .build();
-                }
-                catch (JsonProcessingException exc)
-                {
-                    exc.printStackTrace();
-                    resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-                }
+                Response resp = Response.status(Response.Status.OK)
+                    .entity(JsonStreaming.arrayEntity(JsonGenTypes.ErrorReport.class, jsonReports, errorReporter))
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .build();
                 return Mono.just(resp);
             })
             .next();
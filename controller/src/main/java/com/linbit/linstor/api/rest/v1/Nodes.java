@@ -6,6 +6,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.Node;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlNodeCrtApiCallHandler;
@@ -70,7 +71,7 @@ public class Nodes
         ctrlNodeCrtApiCallHandler = ctrlNodeCrtApiCallHandlerRef;
         ctrlNodeDeleteApiCallHandler = ctrlNodeDeleteApiCallHandlerRef;
         ctrlNodeLostApiCallHandler = ctrlNodeLostApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -116,7 +117,7 @@ public class Nodes
                 .collect(Collectors.toList());
 
             return RequestHelper.queryRequestResponse(
-                objectMapper, ApiConsts.FAIL_NOT_FOUND_NODE, "Node", searchNodeName, nodeDataList
+                ApiConsts.FAIL_NOT_FOUND_NODE, "Node", searchNodeName, nodeDataList
             );
         }, false);
     }
@@ -287,7 +288,7 @@ public class Nodes
                 }
 
                 resp = RequestHelper.queryRequestResponse(
-                    objectMapper, ApiConsts.FAIL_NOT_FOUND_NET_IF, "Netinterface", netInterfaceName, netIfs
+                    ApiConsts.FAIL_NOT_FOUND_NET_IF, "Netinterface", netInterfaceName, netIfs
                 );
             }
             else
@@ -11,6 +11,8 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.LinStorScope;
+import com.linbit.linstor.api.rest.v1.config.RestWorkerPool;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.cfg.CtrlConfig;
@@ -39,12 +41,11 @@ import java.util.List;
 import java.util.concurrent.Callable;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Key;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.context.Context;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
@@ -58,6 +59,7 @@ public class RequestHelper
     private final TransactionMgrGenerator transactionMgrGenerator;
     private final CtrlAuthentication authentication;
     private final CtrlConfig linstorConfig;
+    private final RestWorkerPool restWorkerPool;
 
     @Inject
     public RequestHelper(
@@ -67,7 +69,8 @@ public class RequestHelper
         @PublicContext AccessContext accessContextRef,
         TransactionMgrGenerator transactionMgrGeneratorRef,
         CtrlAuthentication authenticationRef,
-        CtrlConfig linstorConfigRef
+        CtrlConfig linstorConfigRef,
+        RestWorkerPool restWorkerPoolRef
     )
     {
         errorReporter = errorReporterRef;
@@ -77,6 +80,7 @@ public class RequestHelper
         transactionMgrGenerator = transactionMgrGeneratorRef;
         authentication = authenticationRef;
         linstorConfig = linstorConfigRef;
+        restWorkerPool = restWorkerPoolRef;
     }
 
     private Tuple2<String, String> parseBasicAuthHeader(String authorization)
@@ -189,7 +193,8 @@ public class RequestHelper
         return  Context.of(
             ApiModule.API_CALL_NAME, apiCall,
             AccessContext.class, peer.getAccessContext(),
-            Peer.class, peer
+            Peer.class, peer,
+            Scheduler.class, restWorkerPool.getScheduler()
         );
     }
 
@@ -347,13 +352,11 @@ public class RequestHelper
 
 
     static Response queryRequestResponse(
-        ObjectMapper objectMapper,
         long retCode,
         String objectType,
         String searchObject,
         List<?> resultList
     )
-        throws JsonProcessingException
     {
         Response response;
         if (searchObject != null && resultList.isEmpty())
@@ -366,7 +369,7 @@ public class RequestHelper
         {
             response = Response
                 .status(Response.Status.OK)
-                .entity(objectMapper.writeValueAsString(searchObject != null ? resultList.get(0) : resultList))
+                .entity(JsonStreaming.entity(searchObject != null ? resultList.get(0) : resultList))
                 .build();
         }
         return response;
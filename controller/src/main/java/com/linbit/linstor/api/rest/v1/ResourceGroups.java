@@ -10,6 +10,7 @@ import com.linbit.linstor.api.pojo.RscGrpPojo;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.ResourceGroup;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscGrpApiCallHandler;
@@ -66,7 +67,7 @@ public class ResourceGroups
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlRscGrpApiCallHandler = ctrlRscGrpApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -112,7 +113,6 @@ public class ResourceGroups
                 .collect(Collectors.toList());
 
             return RequestHelper.queryRequestResponse(
-                objectMapper,
                 ApiConsts.FAIL_NOT_FOUND_RSC_GRP,
                 "Resource group",
                 singleRscGrp,
@@ -4,6 +4,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscCrtApiCallHandler;
@@ -68,7 +69,7 @@ public class Resources
         ctrlRscDeleteApiCallHandler = ctrlRscDeleteApiCallHandlerRef;
         ctrlRscToggleDiskApiCallHandler = ctrlRscToggleDiskApiCallHandlerRef;
 
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -112,7 +113,6 @@ public class Resources
                 .collect(Collectors.toList());
 
             return RequestHelper.queryRequestResponse(
-                objectMapper,
                 ApiConsts.FAIL_NOT_FOUND_RSC,
                 String.format("Resource '%s' on", rscName),
                 nodeName,
@@ -4,6 +4,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apis.StorPoolDefinitionApi;
@@ -51,7 +52,7 @@ public class StoragePoolDefinitions
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
 
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -89,7 +90,6 @@ public class StoragePoolDefinitions
                 .collect(Collectors.toList());
 
             return RequestHelper.queryRequestResponse(
-                objectMapper,
                 ApiConsts.FAIL_NOT_FOUND_STOR_POOL_DFN,
                 "StoragePoolDefinition",
                 storagePoolName,
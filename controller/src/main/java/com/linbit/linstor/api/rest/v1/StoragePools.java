@@ -6,12 +6,14 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiDataLoader;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolCrtApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
 import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.locks.LockGuard;
 import com.linbit.locks.LockGuardFactory;
 
@@ -42,7 +44,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
 import reactor.core.publisher.Flux;
@@ -58,6 +59,7 @@ public class StoragePools
     private final CtrlStorPoolCrtApiCallHandler ctrlStorPoolCrtApiCallHandler;
     private final CtrlApiDataLoader ctrlApiDataLoader;
     private final LockGuardFactory lockGuardFactory;
+    private final ErrorReporter errorReporter;
     private final ObjectMapper objectMapper;
 
     @Inject
@@ -67,7 +69,8 @@ public class StoragePools
         CtrlStorPoolApiCallHandler ctrlStorPoolApiCallHandlerRef,
         CtrlStorPoolCrtApiCallHandler ctrlStorPoolCrtApiCallHandlerRef,
         CtrlApiDataLoader ctrlApiDataLoaderRef,
-        LockGuardFactory lockGuardFactoryRef
+        LockGuardFactory lockGuardFactoryRef,
+        ErrorReporter errorReporterRef
     )
     {
         requestHelper = requestHelperRef;
@@ -76,7 +79,8 @@ public class StoragePools
         ctrlStorPoolCrtApiCallHandler = ctrlStorPoolCrtApiCallHandlerRef;
         ctrlApiDataLoader = ctrlApiDataLoaderRef;
         lockGuardFactory = lockGuardFactoryRef;
-        objectMapper = new ObjectMapper();
+        errorReporter = errorReporterRef;
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -165,13 +169,12 @@ public class StoragePools
             {
                 storPoolApiStream = storPoolApiStream.skip(offset).limit(limit);
             }
-            List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
-                .map(Json::storPoolApiToStoragePool)
-                .collect(Collectors.toList());
-
-            try
+            if (storPoolName != null)
             {
-                if (storPoolName != null && storPoolDataList.isEmpty())
+                List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
+                    .map(Json::storPoolApiToStoragePool)
+                    .collect(Collectors.toList());
+                if (storPoolDataList.isEmpty())
                 {
                     ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
                     apiCallRc.addEntry(
@@ -191,17 +194,24 @@ public class StoragePools
                 {
                     resp = Response
                         .status(Response.Status.OK)
-                        .entity(objectMapper.writeValueAsString(
-                            storPoolName != null ? storPoolDataList.get(0) : storPoolDataList)
-                        )
+                        .entity(JsonStreaming.entity(storPoolDataList.get(0), errorReporter))
                         .type(MediaType.APPLICATION_JSON)
                         .build();
                 }
             }
-            catch (JsonProcessingException exc)
+            else
             {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+                resp = Response
+                    .status(Response.Status.OK)
+                    .entity(
+                        JsonStreaming.arrayEntity(
+                            JsonGenTypes.StoragePool.class,
+                            storPoolApiStream.map(Json::storPoolApiToStoragePool),
+                            errorReporter
+                        )
+                    )
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
             }
 
             return Mono.just(resp);
@@ -3,9 +3,11 @@ package com.linbit.linstor.api.rest.v1;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceListFields;
 import com.linbit.linstor.core.apis.ResourceApi;
 import com.linbit.linstor.core.apis.StorPoolApi;
 
@@ -22,11 +24,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -38,7 +37,6 @@ public class View
     private final RequestHelper requestHelper;
     private final CtrlVlmListApiCallHandler ctrlVlmListApiCallHandler;
     private final CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandler;
-    private final ObjectMapper objectMapper;
 
     @Inject
     View(
@@ -50,7 +48,6 @@ public class View
         requestHelper = requestHelperRef;
         ctrlVlmListApiCallHandler = ctrlVlmListApiCallHandlerRef;
         ctrlStorPoolListApiCallHandler = ctrlStorPoolListApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
     }
 
 
@@ -62,6 +59,7 @@ public class View
         @QueryParam("nodes") List<String> nodes,
         @QueryParam("resources") List<String> resources,
         @QueryParam("storage_pools") List<String> storagePools,
+        @QueryParam("fields") List<String> fields,
         @DefaultValue("0") @QueryParam("limit") int limit,
         @DefaultValue("0") @QueryParam("offset") int offset
     )
@@ -72,19 +70,21 @@ public class View
 
         RequestHelper.safeAsyncResponse(asyncResponse, () ->
         {
+            ResourceListFields rscFields = ResourceListFields.parse(fields);
             Flux<ResourceList> flux = ctrlVlmListApiCallHandler.listVlms(
-                nodesFilter, storagePoolsFilter, resourcesFilter)
+                nodesFilter, storagePoolsFilter, resourcesFilter, rscFields)
                 .subscriberContext(requestHelper.createContext(ApiConsts.API_LST_VLM, request));
 
             requestHelper.doFlux(
                 asyncResponse,
-                listVolumesApiCallRcWithToResponse(flux, limit, offset)
+                listVolumesApiCallRcWithToResponse(flux, rscFields, limit, offset)
             );
         });
     }
 
     private Mono<Response> listVolumesApiCallRcWithToResponse(
         Flux<ResourceList> resourceListFlux,
+        ResourceListFields fields,
         int limit,
         int offset
     )
@@ -100,22 +100,19 @@ public class View
                 rscApiStream = rscApiStream.skip(offset).limit(limit);
             }
 
-            final List<JsonGenTypes.Resource> rscs = rscApiStream
-                .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), true))
-                .collect(Collectors.toList());
-
-            try
-            {
-                resp = Response
-                    .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(rscs))
-                    .build();
-            }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
+            // converted to JSON types while the response is written
+            resp = Response
+                .status(Response.Status.OK)
+                .entity(
+                    JsonStreaming.arrayEntity(
+                        JsonGenTypes.ResourceWithVolumes.class,
+                        rscApiStream.map(rscApi ->
+                            Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), fields)
+                        )
+                    )
+                )
+                .type(MediaType.APPLICATION_JSON)
+                .build();
 
             return Mono.just(resp);
         }).next();
@@ -159,23 +156,16 @@ public class View
             {
                 storPoolApiStream = storPoolApiStream.skip(offset).limit(limit);
             }
-            List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
-                .map(Json::storPoolApiToStoragePool)
-                .collect(Collectors.toList());
-
-            try
-            {
-                resp = Response
-                    .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(storPoolDataList))
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-            }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
+            resp = Response
+                .status(Response.Status.OK)
+                .entity(
+                    JsonStreaming.arrayEntity(
+                        JsonGenTypes.StoragePool.class,
+                        storPoolApiStream.map(Json::storPoolApiToStoragePool)
+                    )
+                )
+                .type(MediaType.APPLICATION_JSON)
+                .build();
 
             return Mono.just(resp);
         }).next();
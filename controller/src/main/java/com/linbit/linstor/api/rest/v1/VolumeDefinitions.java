@@ -4,6 +4,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmDfnDeleteApiCallHandler;
@@ -60,7 +61,7 @@ public class VolumeDefinitions
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlVlmDfnModifyApiCallHandler = ctrlVlmDfnModifyApiCallHandlerRef;
         ctrlVlmDfnDeleteApiCallHandler = ctrlVlmDfnDeleteApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -103,7 +104,6 @@ public class VolumeDefinitions
                 }
 
                 response = RequestHelper.queryRequestResponse(
-                    objectMapper,
                     ApiConsts.FAIL_NOT_FOUND_VLM_DFN,
                     "Volume definition",
                     vlmNumber == null ? null : vlmNumber.toString(),
@@ -5,6 +5,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.pojo.VlmGrpPojo;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apis.VolumeGroupApi;
@@ -54,7 +55,7 @@ public class VolumeGroups
     {
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -94,7 +95,6 @@ public class VolumeGroups
                 .collect(Collectors.toList());
 
             return RequestHelper.queryRequestResponse(
-                objectMapper,
                 ApiConsts.FAIL_NOT_FOUND_VLM_GRP,
                 "Volume Group",
                 vlmNr == null ? null : vlmNr.toString(),
@@ -6,6 +6,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmListApiCallHandler;
@@ -14,6 +15,7 @@ import com.linbit.linstor.core.apis.VolumeApi;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.satellitestate.SatelliteResourceState;
 import com.linbit.linstor.satellitestate.SatelliteVolumeState;
 
@@ -38,7 +40,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
 import reactor.core.publisher.Flux;
@@ -51,20 +52,23 @@ public class Volumes
     private final RequestHelper requestHelper;
     private final CtrlApiCallHandler ctrlApiCallHandler;
     private final CtrlVlmListApiCallHandler ctrlVlmListApiCallHandler;
+    private final ErrorReporter errorReporter;
     private final ObjectMapper objectMapper;
 
     @Inject
     public Volumes(
         RequestHelper requestHelperRef,
         CtrlApiCallHandler ctrlApiCallHandlerRef,
-        CtrlVlmListApiCallHandler ctrlVlmListApiCallHandlerRef
+        CtrlVlmListApiCallHandler ctrlVlmListApiCallHandlerRef,
+        ErrorReporter errorReporterRef
     )
     {
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlVlmListApiCallHandler = ctrlVlmListApiCallHandlerRef;
+        errorReporter = errorReporterRef;
 
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonStreaming.objectMapper();
     }
 
     @GET
@@ -186,18 +190,14 @@ public class Volumes
                 }
                 else
                 {
-                    try
-                    {
-                        resp = Response
-                            .status(Response.Status.OK)
-                            .entity(objectMapper.writeValueAsString(vlmNr != null ? vlms.get(0) : vlms))
-                            .build();
-                    }
-                    catch (JsonProcessingException exc)
-                    {
-                        exc.printStackTrace();
-                        resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-                    }
+                    resp = Response
+                        .status(Response.Status.OK)
+                        .entity(
+                            vlmNr != null ?
+                                JsonStreaming.entity(vlms.get(0), errorReporter) :
+                                JsonStreaming.arrayEntity(JsonGenTypes.Volume.class, vlms.stream(), errorReporter)
+                        )
+                        .build();
                 }
             }
 
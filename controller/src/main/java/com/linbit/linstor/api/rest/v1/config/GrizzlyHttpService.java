@@ -47,6 +47,7 @@ import org.glassfish.grizzly.http.server.accesslog.AccessLogBuilder;
 import org.glassfish.grizzly.http.util.HttpStatus;
 import org.glassfish.grizzly.ssl.SSLContextConfigurator;
 import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
@@ -66,6 +67,8 @@ public class GrizzlyHttpService implements SystemService
     private Path restAccessLogPath;
     private RestAccessLogMode restAccessLogMode;
     private final ControllerDatabase ctrlDb;
+    private final int workerThreads;
+    private final RestWorkerPool restWorkerPool;
     private final Map<ServiceName, SystemService> systemServiceMap;
 
     private static final String INDEX_CONTENT = "<html><title>Linstor REST server</title>" +
@@ -90,6 +93,9 @@ public class GrizzlyHttpService implements SystemService
     {
         errorReporter = errorReporterRef;
         ctrlDb = injector.getInstance(ControllerDatabase.class);
+        CtrlConfig ctrlCfg = injector.getInstance(CtrlConfig.class);
+        workerThreads = ctrlCfg.getRestWorkerThreads();
+        restWorkerPool = injector.getInstance(RestWorkerPool.class);
         listenAddress = listenAddressRef;
         listenAddressSecure = listenAddressSecureRef;
         keyStoreFile = keyStoreFileRef;
@@ -100,6 +106,17 @@ public class GrizzlyHttpService implements SystemService
         restAccessLogMode = restAccessLogModeRef;
         v1ResourceConfig = new GuiceResourceConfig(injector).packages("com.linbit.linstor.api.rest.v1");
         v1ResourceConfig.register(new CORSFilter());
+        v1ResourceConfig.register(
+            new RestAdmissionFilter(
+                errorReporter,
+                ctrlCfg.getRestMaxConcurrentReads(),
+                ctrlCfg.getRestMaxConcurrentReadsPerEndpoint(),
+                ctrlCfg.getRestMaxConcurrentWrites(),
+                ctrlCfg.getRestMaxQueuedReads(),
+                ctrlCfg.getRestMaxQueuedWrites(),
+                ctrlCfg.getRestQueueTimeoutMillis()
+            )
+        );
         registerExceptionMappers(v1ResourceConfig);
         systemServiceMap = systemServiceMapRef;
 
@@ -250,6 +267,22 @@ public class GrizzlyHttpService implements SystemService
         compressionConfig.setCompressionMinSize(COMPRESSION_MIN_SIZE);
     }
 
+    private void configureWorkerThreads(HttpServer httpServerRef)
+    {
+        if (workerThreads > 0)
+        {
+            for (NetworkListener netListener : httpServerRef.getListeners())
+            {
+                netListener.getTransport().setWorkerThreadPoolConfig(
+                    ThreadPoolConfig.defaultConfig().copy()
+                        .setPoolName("RestWorker")
+                        .setCorePoolSize(workerThreads)
+                        .setMaxPoolSize(workerThreads)
+                );
+            }
+        }
+    }
+
     private void initGrizzly(final String bindAddress, final String httpsBindAddress)
     {
         if (keyStoreFile != null)
@@ -293,6 +326,7 @@ public class GrizzlyHttpService implements SystemService
             }
 
             enableCompression(httpsServer);
+            configureWorkerThreads(httpsServer);
 
             addRootHandler(httpsServer);
         }
@@ -353,6 +387,7 @@ public class GrizzlyHttpService implements SystemService
         if (httpServer != null)
         {
             enableCompression(httpServer);
+            configureWorkerThreads(httpServer);
         }
     }
 
@@ -370,6 +405,7 @@ public class GrizzlyHttpService implements SystemService
     @Override
     public void start() throws SystemServiceStartException
     {
+        restWorkerPool.start();
         try
         {
             initGrizzly(listenAddress, listenAddressSecure);
@@ -423,6 +459,8 @@ public class GrizzlyHttpService implements SystemService
         {
             httpsServer.shutdownNow();
         }
+        // the scopes of REST API calls only run while the REST API is served
+        restWorkerPool.shutdown();
     }
 
     @Override
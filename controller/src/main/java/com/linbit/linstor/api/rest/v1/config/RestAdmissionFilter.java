@@ -0,0 +1,227 @@
+package com.linbit.linstor.api.rest.v1.config;
+
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Limits the number of concurrently processed REST requests
+ *
+ * Modifying requests have their own limit, so that bulk reads can neither delay them nor take away their
+ * capacity. Reading requests are additionally limited per endpoint, i.e. per resource method.
+ *
+ * A request exceeding a limit waits for a permit up to the queue timeout. If the timeout expires, or if too
+ * many requests of the same kind are already waiting, the request is rejected with 429 Too Many Requests.
+ * Waiting requests are limited so that they cannot block all threads of the HTTP server.
+ *
+ * The permits of a request are only released when the processing of the request finished, i.e. after the
+ * response entity was written. They therefore also cover the asynchronous processing of the request and
+ * streamed response entities.
+ */
+class RestAdmissionFilter implements ContainerRequestFilter, ApplicationEventListener
+{
+    static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+    private static final String PERMITS_PROPERTY = RestAdmissionFilter.class.getName() + ".permits";
+    private static final Set<String> READ_METHODS = new HashSet<>(
+        Arrays.asList(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS)
+    );
+    private static final String RETRY_AFTER_SECS = "1";
+
+    private final ErrorReporter errorReporter;
+    private final Semaphore readPermits;
+    private final Semaphore writePermits;
+    private final int readPermitsPerEndpoint;
+    private final ConcurrentMap<String, Semaphore> endpointReadPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedReads = new AtomicInteger();
+    private final AtomicInteger queuedWrites = new AtomicInteger();
+    private final int maxQueuedReads;
+    private final int maxQueuedWrites;
+    private final long queueTimeoutMillis;
+    private final RequestEventListener releasingListener = this::releaseOnFinish;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    /**
+     * @param maxConcurrentReads 0 for no limit
+     * @param maxConcurrentReadsPerEndpoint 0 for no limit
+     * @param maxConcurrentWrites 0 for no limit
+     */
+    RestAdmissionFilter(
+        ErrorReporter errorReporterRef,
+        int maxConcurrentReads,
+        int maxConcurrentReadsPerEndpoint,
+        int maxConcurrentWrites,
+        int maxQueuedReadsRef,
+        int maxQueuedWritesRef,
+        long queueTimeoutMillisRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        readPermits = maxConcurrentReads > 0 ? new Semaphore(maxConcurrentReads) : null;
+        writePermits = maxConcurrentWrites > 0 ? new Semaphore(maxConcurrentWrites) : null;
+        readPermitsPerEndpoint = maxConcurrentReadsPerEndpoint;
+        maxQueuedReads = maxQueuedReadsRef;
+        maxQueuedWrites = maxQueuedWritesRef;
+        queueTimeoutMillis = queueTimeoutMillisRef;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request)
+    {
+        List<Semaphore> permits = new ArrayList<>(2);
+        boolean admitted;
+        if (READ_METHODS.contains(request.getMethod()))
+        {
+            admitted = acquire(getEndpointReadPermits(), queuedReads, maxQueuedReads, permits) &&
+                acquire(readPermits, queuedReads, maxQueuedReads, permits);
+        }
+        else
+        {
+            admitted = acquire(writePermits, queuedWrites, maxQueuedWrites, permits);
+        }
+
+        if (admitted)
+        {
+            request.setProperty(PERMITS_PROPERTY, permits);
+        }
+        else
+        {
+            release(permits);
+            errorReporter.logWarning(
+                "REST request %s %s rejected, too many concurrent requests",
+                request.getMethod(),
+                request.getUriInfo().getPath()
+            );
+
+            ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
+            apiCallRc.addEntry(
+                ApiCallRcImpl.simpleEntry(
+                    ApiConsts.FAIL_UNKNOWN_ERROR,
+                    "Too many concurrent requests, please retry later."
+                )
+            );
+            request.abortWith(
+                Response.status(STATUS_TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECS)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ApiCallRcRestUtils.toJSON(apiCallRc))
+                    .build()
+            );
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event)
+    {
+        // nothing to do
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent)
+    {
+        return releasingListener;
+    }
+
+    /**
+     * Releases the permits of a request once Jersey finished processing it, i.e. after the response entity was
+     * written or the processing failed
+     */
+    private void releaseOnFinish(RequestEvent event)
+    {
+        if (event.getType() == RequestEvent.Type.FINISHED)
+        {
+            ContainerRequestContext request = event.getContainerRequest();
+            Object permits = request.getProperty(PERMITS_PROPERTY);
+            if (permits != null)
+            {
+                request.removeProperty(PERMITS_PROPERTY);
+                @SuppressWarnings("unchecked")
+                List<Semaphore> permitList = (List<Semaphore>) permits;
+                release(permitList);
+            }
+        }
+    }
+
+    private Semaphore getEndpointReadPermits()
+    {
+        Semaphore permits = null;
+        if (readPermitsPerEndpoint > 0 && resourceInfo.getResourceMethod() != null)
+        {
+            permits = endpointReadPermits.computeIfAbsent(
+                resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName(),
+                ignored -> new Semaphore(readPermitsPerEndpoint)
+            );
+        }
+        return permits;
+    }
+
+    private boolean acquire(
+        Semaphore permits,
+        AtomicInteger queued,
+        int maxQueued,
+        List<Semaphore> acquiredPermits
+    )
+    {
+        boolean acquired = permits == null || permits.tryAcquire();
+        if (!acquired)
+        {
+            try
+            {
+                if (queued.incrementAndGet() <= maxQueued)
+                {
+                    acquired = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            catch (InterruptedException ignored)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                queued.decrementAndGet();
+            }
+        }
+
+        if (acquired && permits != null)
+        {
+            acquiredPermits.add(permits);
+        }
+        return acquired;
+    }
+
+    private static void release(List<Semaphore> permits)
+    {
+        for (Semaphore permit : permits)
+        {
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.linbit.linstor.api.rest.v1.config;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler for the scopes of REST API calls, separate from the main worker pool that processes the
+ * messages of the satellites
+ *
+ * The scheduler only exists while the REST API is served, it is created when the {@link GrizzlyHttpService}
+ * starts and disposed when it shuts down. A restarted service therefore gets a new scheduler.
+ */
+@Singleton
+public class RestWorkerPool
+{
+    private static final String THREAD_NAME_PREFIX = "RestWorkerPool-";
+
+    private final CtrlConfig ctrlCfg;
+    private final AtomicInteger threadNr = new AtomicInteger();
+
+    // Only changed while holding the monitor of this
+    private volatile Scheduler scheduler;
+
+    @Inject
+    public RestWorkerPool(CtrlConfig ctrlCfgRef)
+    {
+        ctrlCfg = ctrlCfgRef;
+    }
+
+    public synchronized void start()
+    {
+        if (scheduler == null)
+        {
+            scheduler = Schedulers.fromExecutorService(
+                Executors.newFixedThreadPool(
+                    Math.max(1, ctrlCfg.getRestApiThreads()),
+                    runnable ->
+                    {
+                        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNr.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                )
+            );
+        }
+    }
+
+    public synchronized void shutdown()
+    {
+        if (scheduler != null)
+        {
+            scheduler.dispose();
+            scheduler = null;
+        }
+    }
+
+    public Scheduler getScheduler()
+    {
+        Scheduler currentScheduler = scheduler;
+        if (currentScheduler == null)
+        {
+            throw new ImplementationError("REST API call scheduled while the REST API is not served");
+        }
+        return currentScheduler;
+    }
+}
@@ -22,6 +22,7 @@ import com.linbit.linstor.api.pojo.StorageRscPojo;
 import com.linbit.linstor.api.pojo.VlmDfnPojo;
 import com.linbit.linstor.api.pojo.WritecacheRscPojo;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.AutoSelectFilter;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceListFields;
 import com.linbit.linstor.core.apis.NetInterfaceApi;
 import com.linbit.linstor.core.apis.NodeApi;
 import com.linbit.linstor.core.apis.ResourceApi;
@@ -57,6 +58,7 @@ import com.linbit.utils.Pair;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -454,81 +456,117 @@ public class Json
         Map<NodeName, SatelliteState> satelliteStates,
         boolean withVolumes
     )
+    {
+        return apiToResourceWithVolumes(
+            rscApi,
+            satelliteStates,
+            withVolumes ? ResourceListFields.ALL : ResourceListFields.ALL.withoutVolumes()
+        );
+    }
+
+    /**
+     * Only converts the requested fields, all other fields are left empty and therefore omitted in the JSON
+     */
+    public static JsonGenTypes.ResourceWithVolumes apiToResourceWithVolumes(
+        ResourceApi rscApi,
+        Map<NodeName, SatelliteState> satelliteStates,
+        ResourceListFields fields
+    )
     {
         JsonGenTypes.ResourceWithVolumes rsc = new JsonGenTypes.ResourceWithVolumes();
-        rsc.name = rscApi.getName();
-        rsc.node_name = rscApi.getNodeName();
-        rsc.flags = FlagsHelper.toStringList(Resource.Flags.class, rscApi.getFlags());
-        rsc.props = rscApi.getProps();
-        rsc.layer_object = apiToResourceLayer(rscApi.getLayerData());
-        rsc.uuid = rscApi.getUuid().toString();
+        if (fields.has(ResourceListFields.NAME))
+        {
+            rsc.name = rscApi.getName();
+        }
+        if (fields.has(ResourceListFields.NODE_NAME))
+        {
+            rsc.node_name = rscApi.getNodeName();
+        }
+        if (fields.has(ResourceListFields.FLAGS))
+        {
+            rsc.flags = FlagsHelper.toStringList(Resource.Flags.class, rscApi.getFlags());
+        }
+        if (fields.has(ResourceListFields.PROPS))
+        {
+            rsc.props = rscApi.getProps();
+        }
+        if (fields.has(ResourceListFields.LAYER_OBJECT))
+        {
+            rsc.layer_object = apiToResourceLayer(rscApi.getLayerData());
+        }
+        if (fields.has(ResourceListFields.UUID))
+        {
+            rsc.uuid = rscApi.getUuid().toString();
+        }
 
-        if (withVolumes)
+        SatelliteResourceState satResState = null;
+        NodeName linNodeName = null;
+        if (fields.needsSatelliteStates())
         {
+            try
+            {
+                final ResourceName rscNameRes = new ResourceName(rscApi.getName());
+                linNodeName = new NodeName(rscApi.getNodeName());
+                if (satelliteStates.containsKey(linNodeName))
+                {
+                    satResState = satelliteStates.get(linNodeName).getResourceStates().get(rscNameRes);
+                }
+            }
+            catch (InvalidNameException ignored)
+            {
+            }
+        }
+
+        if (fields.has(ResourceListFields.VOLUMES))
+        {
+            final SatelliteResourceState finalSatResState = satResState;
             rsc.volumes = rscApi.getVlmList().stream().map(vlmApi ->
                 {
-                    JsonGenTypes.Volume vlmData = Json.apiToVolume(vlmApi);
+                    JsonGenTypes.Volume vlmData = Json.apiToVolume(vlmApi, fields);
                     JsonGenTypes.VolumeState vlmState = null;
-                    try
+                    if (finalSatResState != null && fields.hasVolumeField(ResourceListFields.VLM_STATE))
                     {
-                        final ResourceName rscNameRes = new ResourceName(rsc.name);
-                        final NodeName linNodeName = new NodeName(rsc.node_name);
-                        if (satelliteStates.containsKey(linNodeName) &&
-                            satelliteStates.get(linNodeName)
-                                .getResourceStates().containsKey(rscNameRes))
+                        try
                         {
-                            SatelliteResourceState satResState = satelliteStates
-                                .get(linNodeName)
-                                .getResourceStates()
-                                .get(rscNameRes);
-
-                            VolumeNumber vlmNumber = new VolumeNumber(vlmData.volume_number);
-                            if (satResState.getVolumeStates().containsKey(vlmNumber))
+                            VolumeNumber vlmNumber = new VolumeNumber(vlmApi.getVlmNr());
+                            if (finalSatResState.getVolumeStates().containsKey(vlmNumber))
                             {
                                 vlmState = new JsonGenTypes.VolumeState();
-                                SatelliteVolumeState satVlmState = satResState.getVolumeStates().get(vlmNumber);
+                                SatelliteVolumeState satVlmState = finalSatResState.getVolumeStates().get(vlmNumber);
                                 vlmState.disk_state = satVlmState.getDiskState();
                             }
                         }
-                    }
-                    catch (InvalidNameException | ValueOutOfRangeException ignored)
-                    {
+                        catch (ValueOutOfRangeException ignored)
+                        {
+                        }
                     }
                     vlmData.state = vlmState;
                     return vlmData;
                 }).collect(Collectors.toList());
         }
 
-        try
+        if (satResState != null)
         {
-            final ResourceName rscNameRes = new ResourceName(rscApi.getName());
-            final NodeName linNodeName = new NodeName(rscApi.getNodeName());
-            if (satelliteStates.containsKey(linNodeName) &&
-                satelliteStates.get(linNodeName)
-                    .getResourceStates().containsKey(rscNameRes))
+            if (fields.has(ResourceListFields.STATE))
             {
-                SatelliteResourceState satResState = satelliteStates
-                    .get(linNodeName).getResourceStates().get(rscNameRes);
                 rsc.state = new JsonGenTypes.ResourceState();
                 rsc.state.in_use = satResState.isInUse();
+            }
 
-                if (rscApi.getLayerData().getLayerKind() == DeviceLayerKind.DRBD)
+            if (fields.has(ResourceListFields.LAYER_OBJECT) &&
+                rscApi.getLayerData().getLayerKind() == DeviceLayerKind.DRBD)
+            {
+                rsc.layer_object.drbd.connections = new HashMap<>();
+                for (Map.Entry<NodeName, String> entry : satResState.getConnectionStates()
+                    .getOrDefault(linNodeName, new HashMap<>()).entrySet())
                 {
-                    rsc.layer_object.drbd.connections = new HashMap<>();
-                    for (Map.Entry<NodeName, String> entry : satResState.getConnectionStates()
-                        .getOrDefault(linNodeName, new HashMap<>()).entrySet())
-                    {
-                        JsonGenTypes.DrbdConnection con = new JsonGenTypes.DrbdConnection();
-                        con.connected = entry.getValue().equals("Connected");
-                        con.message = entry.getValue();
-                        rsc.layer_object.drbd.connections.put(entry.getKey().displayValue, con);
-                    }
+                    JsonGenTypes.DrbdConnection con = new JsonGenTypes.DrbdConnection();
+                    con.connected = entry.getValue().equals("Connected");
+                    con.message = entry.getValue();
+                    rsc.layer_object.drbd.connections.put(entry.getKey().displayValue, con);
                 }
             }
         }
-        catch (InvalidNameException ignored)
-        {
-        }
         return rsc;
     }
 
@@ -650,23 +688,61 @@ public class Json
     }
 
     public static JsonGenTypes.Volume apiToVolume(VolumeApi vlmApi)
+    {
+        return apiToVolume(vlmApi, ResourceListFields.ALL);
+    }
+
+    /**
+     * Only converts the requested volume fields, see {@link ResourceListFields#hasVolumeField(String)}
+     */
+    public static JsonGenTypes.Volume apiToVolume(VolumeApi vlmApi, ResourceListFields fields)
     {
         JsonGenTypes.Volume volume = new JsonGenTypes.Volume();
-        volume.volume_number = vlmApi.getVlmNr();
-        volume.storage_pool_name = vlmApi.getStorPoolName();
-        volume.provider_kind = deviceProviderKindAsString(vlmApi.getStorPoolDeviceProviderKind());
+        if (fields.hasVolumeField(ResourceListFields.VLM_VOLUME_NUMBER))
+        {
+            volume.volume_number = vlmApi.getVlmNr();
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_STORAGE_POOL_NAME))
+        {
+            volume.storage_pool_name = vlmApi.getStorPoolName();
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_PROVIDER_KIND))
+        {
+            volume.provider_kind = deviceProviderKindAsString(vlmApi.getStorPoolDeviceProviderKind());
+        }
 
-        volume.device_path = vlmApi.getDevicePath();
-        volume.allocated_size_kib = vlmApi.getAllocatedSize().orElse(null);
+        if (fields.hasVolumeField(ResourceListFields.VLM_DEVICE_PATH))
+        {
+            volume.device_path = vlmApi.getDevicePath();
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_ALLOCATED_SIZE))
+        {
+            volume.allocated_size_kib = vlmApi.getAllocatedSize().orElse(null);
+        }
 
-        volume.props = vlmApi.getVlmProps();
-        volume.flags = FlagsHelper.toStringList(Volume.Flags.class, vlmApi.getFlags());
-        volume.uuid = vlmApi.getVlmUuid().toString();
-        volume.reports = apiCallRcToJson(vlmApi.getReports());
+        if (fields.hasVolumeField(ResourceListFields.VLM_PROPS))
+        {
+            volume.props = vlmApi.getVlmProps();
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_FLAGS))
+        {
+            volume.flags = FlagsHelper.toStringList(Volume.Flags.class, vlmApi.getFlags());
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_UUID))
+        {
+            volume.uuid = vlmApi.getVlmUuid().toString();
+        }
+        if (fields.hasVolumeField(ResourceListFields.VLM_REPORTS))
+        {
+            volume.reports = apiCallRcToJson(vlmApi.getReports());
+        }
 
         volume.layer_data_list = new ArrayList<>();
 
-        for (Pair<String, VlmLayerDataApi> layerData : vlmApi.getVlmLayerData())
+        List<Pair<String, VlmLayerDataApi>> vlmLayerDataList = fields.hasVolumeField(
+            ResourceListFields.VLM_LAYER_DATA_LIST
+        ) ? vlmApi.getVlmLayerData() : Collections.emptyList();
+        for (Pair<String, VlmLayerDataApi> layerData : vlmLayerDataList)
         {
             JsonGenTypes.VolumeLayer volumeLayerData = new JsonGenTypes.VolumeLayer();
             volumeLayerData.type = getLayerTypeString(layerData.objB.getLayerKind());
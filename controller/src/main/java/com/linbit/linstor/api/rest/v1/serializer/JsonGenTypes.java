@@ -12,7 +12,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 public class JsonGenTypes
 {
-    public static final String REST_API_VERSION = "1.0.16";
+    public static final String REST_API_VERSION = "1.0.17";
 
     /**
      * Common api reply structure
@@ -702,6 +702,18 @@ public class JsonGenTypes
         public List<String> layer_list = Collections.emptyList();
     }
 
+    /**
+     * One entry of a batch auto-place request. All entries of a batch are placed within one transaction.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class AutoPlaceBatchEntry
+    {
+        public String rsc_name;
+        public boolean diskless_on_remaining = false;
+        public AutoSelectFilter select_filter = new AutoSelectFilter();
+        public List<String> layer_list = Collections.emptyList();
+    }
+
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     public static class AutoSelectFilter
     {
@@ -854,6 +866,28 @@ public class JsonGenTypes
         public String text;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class ErrorReportFingerprint
+    {
+        public String node_name;
+        /**
+         * Hash of the exception classes, message templates and stack traces of the error
+         */
+        public String fingerprint;
+        /**
+         * Id of the error report that was written for the first occurrence
+         */
+        public String report_id;
+        public String exception_class;
+        /**
+         * Message of the exception, with numbers and UUIDs replaced by '#'
+         */
+        public String message_template;
+        public Long first_time;
+        public Long last_time;
+        public Long occurrences;
+    }
+
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     public static class KeyValueStore
     {
@@ -911,6 +945,16 @@ public class JsonGenTypes
         public String uuid;
     }
 
+    /**
+     * Snapshots with the same name of multiple resource definitions, taken at one point in time
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class SnapshotGroup
+    {
+        public String name;
+        public List<String> resource_definitions = Collections.emptyList();
+    }
+
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     public static class SnapshotVolumeDefinition
     {
@@ -0,0 +1,123 @@
+package com.linbit.linstor.api.rest.v1.serializer;
+
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Shared JSON mapper and writers of the REST API, and response entities that stream JSON directly to the
+ * HTTP response
+ *
+ * ObjectMappers and ObjectWriters are thread-safe, but expensive to create, since they build and cache
+ * their serializers on first use. The REST resources are created per request, so they share these instead
+ * of creating their own.
+ *
+ * Streamed entities are serialized while they are written to the response, instead of being built as
+ * a String first. Lists given as a Stream are converted to their JSON types element by element, so that
+ * neither the whole list of JSON objects nor the whole JSON text is held in memory.
+ */
+public final class JsonStreaming
+{
+    // Streamed arrays are flushed by Grizzly's output buffer and when they are complete, not after every element
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private JsonStreaming()
+    {
+    }
+
+    public static ObjectMapper objectMapper()
+    {
+        return OBJECT_MAPPER;
+    }
+
+    public static ObjectWriter writerFor(Class<?> type)
+    {
+        return WRITERS.computeIfAbsent(type, OBJECT_MAPPER::writerFor);
+    }
+
+    /**
+     * @return Entity that writes the value with the shared writer of its class
+     */
+    public static StreamingOutput entity(Object value)
+    {
+        ObjectWriter writer = writerFor(value.getClass());
+        return outStream -> writer.writeValue(outStream, value);
+    }
+
+    /**
+     * @return Entity that writes the elements as a JSON array, one after the other. The stream is only
+     *     consumed when the entity is written.
+     */
+    public static <T> StreamingOutput arrayEntity(Class<T> elementType, Stream<? extends T> elements)
+    {
+        ObjectWriter elementWriter = writerFor(elementType);
+        return outStream ->
+        {
+            try (JsonGenerator jsonGen = OBJECT_MAPPER.getFactory().createGenerator(outStream, JsonEncoding.UTF8))
+            {
+                jsonGen.writeStartArray();
+                Iterator<? extends T> elementIter = elements.iterator();
+                while (elementIter.hasNext())
+                {
+                    elementWriter.writeValue(jsonGen, elementIter.next());
+                }
+                jsonGen.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #entity(Object)}, but reports serialization errors to the error reporter
+     */
+    public static StreamingOutput entity(Object value, ErrorReporter errorReporter)
+    {
+        return reportingErrors(entity(value), errorReporter);
+    }
+
+    /**
+     * Same as {@link #arrayEntity(Class, Stream)}, but reports serialization errors to the error reporter
+     */
+    public static <T> StreamingOutput arrayEntity(
+        Class<T> elementType,
+        Stream<? extends T> elements,
+        ErrorReporter errorReporter
+    )
+    {
+        return reportingErrors(arrayEntity(elementType, elements), errorReporter);
+    }
+
+    /**
+     * Serialization errors only show up while the entity is written, after the response status was sent.
+     * They are reported and passed on, so that the container aborts the response. Other I/O errors, e.g. the
+     * client closing the connection, are not reported.
+     */
+    private static StreamingOutput reportingErrors(StreamingOutput output, ErrorReporter errorReporter)
+    {
+        return outStream ->
+        {
+            try
+            {
+                output.write(outStream);
+            }
+            catch (JsonProcessingException | RuntimeException exc)
+            {
+                errorReporter.reportError(exc);
+                throw exc;
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.linbit.linstor.api.rest.v1.utils;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.rest.v1.serializer.JsonStreaming;
 
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.MediaType;
@@ -60,7 +61,7 @@ public class ApiCallRcRestUtils
 
     public static String toJSON(ApiCallRc apiCallRc)
     {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonStreaming.objectMapper();
         ArrayList<ApiCallData> jsonData = new ArrayList<>();
 
         for (ApiCallRc.RcEntry rc : apiCallRc.getEntries())
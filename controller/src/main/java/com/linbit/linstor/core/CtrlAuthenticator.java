@@ -112,6 +112,9 @@ public class CtrlAuthenticator
                 Peer peer = node.getPeer(peerAccCtx.get());
                 if (peer instanceof TcpConnectorPeer)
                 {
+                    // the satellite compresses its messages right after its auth response, which might arrive
+                    // before the response itself was processed
+                    ((TcpConnectorPeer) peer).enableMessageDecompression();
                     flux = ((TcpConnectorPeer) peer).apiCall(
                         InternalApiConsts.API_AUTH,
                         serializer
@@ -0,0 +1,216 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.core.CoreModule.ResourceDefinitionMap;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.propscon.InvalidKeyException;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.transaction.TransactionObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the data the {@link CtrlAutoStorPoolSelector} derives from the whole cluster across placements:
+ * <ul>
+ *   <li>the resource names matching a "do not place with" regular expression</li>
+ *   <li>an index from the nodes to the values of the property keys used by the replicas-on filters, and the
+ *       secondary index from each of those values to the nodes having it</li>
+ * </ul>
+ * The entries are maintained whenever the objects they are derived from are committed or rolled back: the regular
+ * expression results when the resource definition map changes, the property values of a node when the properties
+ * of that node change. Changes of any other object do not affect the entries.
+ *
+ * Only values are cached, access checks are still up to the caller.
+ */
+class AutoStorPoolSelectorCache
+{
+    private static final int MAX_REGEX_ENTRIES = 100;
+
+    private final ResourceDefinitionMap rscDfnMap;
+
+    // All following fields are guarded by this
+
+    // Incremented whenever the resource definition map was committed or rolled back
+    private long rscDfnMapGeneration = 0;
+    private final Map<String, List<ResourceName>> rscNamesByRegex = new HashMap<>();
+
+    private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<Props, Node> nodesByProps = new IdentityHashMap<>();
+    // Values of the indexed keys per node, a missing entry means that the node does not have the property
+    private final Map<Node, Map<String, String>> propValsByNode = new HashMap<>();
+    private final Map<String, Map<String, Set<Node>>> nodesByPropVal = new HashMap<>();
+
+    AutoStorPoolSelectorCache(ResourceDefinitionMap rscDfnMapRef)
+    {
+        rscDfnMap = rscDfnMapRef;
+    }
+
+    /**
+     * Called with every transaction object after it was committed or rolled back
+     */
+    void transactionEnded(TransactionObject transObj)
+    {
+        if (transObj == rscDfnMap)
+        {
+            synchronized (this)
+            {
+                ++rscDfnMapGeneration;
+                rscNamesByRegex.clear();
+            }
+        }
+        else
+        if (transObj instanceof Props)
+        {
+            synchronized (this)
+            {
+                Node node = nodesByProps.get(transObj);
+                if (node != null)
+                {
+                    unindexNode(node);
+                    if (node.isDeleted())
+                    {
+                        nodesByProps.remove(transObj);
+                    }
+                    else
+                    {
+                        indexNode(node, (Props) transObj);
+                    }
+                }
+            }
+        }
+    }
+
+    List<ResourceName> getMatchingRscNames(String rscRegexStr, Supplier<List<ResourceName>> matcher)
+    {
+        long generation;
+        List<ResourceName> rscNames;
+        synchronized (this)
+        {
+            generation = rscDfnMapGeneration;
+            rscNames = rscNamesByRegex.get(rscRegexStr);
+        }
+        if (rscNames == null)
+        {
+            rscNames = matcher.get();
+            synchronized (this)
+            {
+                // Only cache the result if the resource definition map did not change while it was computed
+                if (rscDfnMapGeneration == generation)
+                {
+                    if (rscNamesByRegex.size() >= MAX_REGEX_ENTRIES)
+                    {
+                        rscNamesByRegex.clear();
+                    }
+                    rscNamesByRegex.put(rscRegexStr, rscNames);
+                }
+            }
+        }
+        return Collections.unmodifiableList(rscNames);
+    }
+
+    /**
+     * @param nodeProps The properties of the node, the caller is responsible for checking the access to them
+     */
+    synchronized String getNodeProp(Node node, Props nodeProps, String key) throws InvalidKeyException
+    {
+        ensureIndexed(node, nodeProps, key);
+        return propValsByNode.get(node).get(key);
+    }
+
+    /**
+     * Only the nodes that were passed to {@link #getNodeProp} or {@link #ensureIndexed} before are known
+     *
+     * @return The nodes having the given value for the given key
+     */
+    synchronized Set<Node> getNodes(String key, String val)
+    {
+        Set<Node> nodes = Collections.emptySet();
+        Map<String, Set<Node>> nodesByVal = nodesByPropVal.get(key);
+        if (nodesByVal != null)
+        {
+            Set<Node> nodesWithVal = nodesByVal.get(val);
+            if (nodesWithVal != null)
+            {
+                nodes = new HashSet<>(nodesWithVal);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Adds the node and the key to the index, if they are not indexed yet
+     */
+    synchronized void ensureIndexed(Node node, Props nodeProps, String key) throws InvalidKeyException
+    {
+        if (!indexedKeys.contains(key))
+        {
+            // fails with an InvalidKeyException before the key is added
+            nodeProps.getProp(key);
+            indexedKeys.add(key);
+            nodesByPropVal.put(key, new HashMap<>());
+            for (Entry<Props, Node> entry : nodesByProps.entrySet())
+            {
+                indexProp(entry.getValue(), entry.getKey(), key);
+            }
+        }
+        if (!propValsByNode.containsKey(node))
+        {
+            nodesByProps.put(nodeProps, node);
+            indexNode(node, nodeProps);
+        }
+    }
+
+    private void indexNode(Node node, Props nodeProps)
+    {
+        propValsByNode.put(node, new HashMap<>());
+        for (String key : indexedKeys)
+        {
+            indexProp(node, nodeProps, key);
+        }
+    }
+
+    private void indexProp(Node node, Props nodeProps, String key)
+    {
+        String val;
+        try
+        {
+            val = nodeProps.getProp(key);
+        }
+        catch (InvalidKeyException invalidKeyExc)
+        {
+            throw new ImplementationError("Indexed key was valid before", invalidKeyExc);
+        }
+        if (val != null)
+        {
+            propValsByNode.get(node).put(key, val);
+            nodesByPropVal.get(key).computeIfAbsent(val, ignored -> new HashSet<>()).add(node);
+        }
+    }
+
+    private void unindexNode(Node node)
+    {
+        Map<String, String> propVals = propValsByNode.remove(node);
+        if (propVals != null)
+        {
+            for (Entry<String, String> entry : propVals.entrySet())
+            {
+                Map<String, Set<Node>> nodesByVal = nodesByPropVal.get(entry.getKey());
+                Set<Node> nodesWithVal = nodesByVal.get(entry.getValue());
+                nodesWithVal.remove(node);
+                if (nodesWithVal.isEmpty())
+                {
+                    nodesByVal.remove(entry.getValue());
+                }
+            }
+        }
+    }
+}
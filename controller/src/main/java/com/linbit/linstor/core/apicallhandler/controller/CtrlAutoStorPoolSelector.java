@@ -1,6 +1,7 @@
 package com.linbit.linstor.core.apicallhandler.controller;
 
 import com.linbit.ImplementationError;
+import com.linbit.InvalidNameException;
 import com.linbit.linstor.LinstorParsingUtils;
 import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.annotation.SystemContext;
@@ -10,9 +11,11 @@ import com.linbit.linstor.core.CoreModule.ResourceDefinitionMap;
 import com.linbit.linstor.core.CoreModule.StorPoolDefinitionMap;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
 import com.linbit.linstor.core.objects.StorPool;
 import com.linbit.linstor.core.objects.StorPoolDefinition;
 import com.linbit.linstor.core.objects.Volume;
@@ -21,9 +24,10 @@ import com.linbit.linstor.propscon.InvalidKeyException;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.security.AccessType;
-import com.linbit.linstor.storage.interfaces.categories.resource.VlmProviderObject;
 import com.linbit.linstor.storage.kinds.DeviceLayerKind;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.transaction.AbsTransactionObject;
+import com.linbit.linstor.utils.layer.LayerVlmUtils;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -36,6 +40,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -55,6 +60,7 @@ public class CtrlAutoStorPoolSelector
     private final ResourceDefinitionMap rscDfnMap;
     private final Provider<AccessContext> peerAccCtx;
     private final AccessContext apiAccCtx;
+    private final AutoStorPoolSelectorCache cache;
 
     @Inject
     public CtrlAutoStorPoolSelector(
@@ -68,6 +74,9 @@ public class CtrlAutoStorPoolSelector
         storPoolDfnMap = storPoolDfnMapRef;
         peerAccCtx = peerAccCtxRef;
         apiAccCtx = apiAccCtxRef;
+
+        cache = new AutoStorPoolSelectorCache(rscDfnMapRef);
+        AbsTransactionObject.addTransactionEndListener(cache::transactionEnded);
     }
 
     public Map<StorPoolName, List<Node>> listAvailableStorPools()
@@ -123,25 +132,78 @@ public class CtrlAutoStorPoolSelector
         return filterByReplicasOn(selectFilter, storPools, nodeSelectionStrategy);
     }
 
-    private List<String> toUpperList(List<String> list)
+    /**
+     * Looks up the resource definitions the new resource must not be placed with. Resource definitions given by name
+     * are looked up directly instead of scanning the whole resource definition map. Only the regular expression
+     * requires a scan over all resource names, which is reused until a resource definition is created or deleted.
+     */
+    private Collection<ResourceDefinition> getNotPlaceWithRscDfns(AutoStorPoolSelectorConfig selectFilter)
     {
-        return list.stream()
-            .map(String::toUpperCase)
-            .collect(Collectors.toList());
+        Map<ResourceName, ResourceDefinition> notPlaceWithRscDfns = new HashMap<>();
+        for (String rscNameStr : selectFilter.getNotPlaceWithRscList())
+        {
+            try
+            {
+                ResourceName rscName = new ResourceName(rscNameStr);
+                ResourceDefinition rscDfn = rscDfnMap.get(rscName);
+                if (rscDfn != null)
+                {
+                    notPlaceWithRscDfns.put(rscName, rscDfn);
+                }
+            }
+            catch (InvalidNameException ignored)
+            {
+                // no resource definition can exist with an invalid name
+            }
+        }
+
+        String notPlaceWithRscRegexStr = selectFilter.getNotPlaceWithRscRegex();
+        if (notPlaceWithRscRegexStr != null)
+        {
+            List<ResourceName> matchingRscNames = cache.getMatchingRscNames(
+                notPlaceWithRscRegexStr,
+                () -> getRscNamesFromRegex(notPlaceWithRscRegexStr)
+            );
+            for (ResourceName rscName : matchingRscNames)
+            {
+                ResourceDefinition rscDfn = rscDfnMap.get(rscName);
+                if (rscDfn != null)
+                {
+                    notPlaceWithRscDfns.put(rscName, rscDfn);
+                }
+            }
+        }
+        return notPlaceWithRscDfns.values();
     }
 
-    private List<String> getRscNameUpperStrFromRegex(String rscRegexStr)
+    private List<ResourceName> getRscNamesFromRegex(String rscRegexStr)
     {
         Pattern rscRegexPattern = Pattern.compile(
             rscRegexStr,
             Pattern.CASE_INSENSITIVE | Pattern.DOTALL
         );
         return rscDfnMap.keySet().stream()
-            .map(rscName -> rscName.value)
-            .filter(rscName -> rscRegexPattern.matcher(rscName).find())
+            .filter(rscName -> rscRegexPattern.matcher(rscName.value).find())
             .collect(Collectors.toList());
     }
 
+    /**
+     * @return The resources of the resource definition, or an empty list if the peer may not see them
+     */
+    private List<Resource> getResources(ResourceDefinition rscDfn)
+    {
+        List<Resource> rscs;
+        try
+        {
+            rscs = rscDfn.streamResource(peerAccCtx.get()).collect(Collectors.toList());
+        }
+        catch (AccessDeniedException ignored)
+        {
+            rscs = Collections.emptyList();
+        }
+        return rscs;
+    }
+
     private Stream<StorPool> getStorPoolStream(StorPoolDefinition storPoolDefinition)
     {
         Stream<StorPool> stream;
@@ -273,47 +335,52 @@ public class CtrlAutoStorPoolSelector
         Map<StorPoolName, List<Node>> nodes
     )
     {
-        List<String> notPlaceWithRscList = new ArrayList<>(toUpperList(selectFilter.getNotPlaceWithRscList()));
-        String notPlaceWithRscRegexStr = selectFilter.getNotPlaceWithRscRegex();
-        if (notPlaceWithRscRegexStr != null)
-        {
-            notPlaceWithRscList.addAll(getRscNameUpperStrFromRegex(notPlaceWithRscRegexStr));
-        }
+        Collection<ResourceDefinition> notPlaceWithRscDfns = getNotPlaceWithRscDfns(selectFilter);
 
         Map<StorPoolName, List<Node>> candidates = null;
         try
         {
+            // the resources of the resource definitions already tell us which nodes to avoid, so there is no need to
+            // look at all resources of every candidate node
+            Set<Node> nodesWithRsc = new HashSet<>();
+            for (ResourceDefinition rscDfn : notPlaceWithRscDfns)
+            {
+                for (Resource rsc : getResources(rscDfn))
+                {
+                    nodesWithRsc.add(rsc.getNode());
+                }
+            }
+
             // try to consider the "do not place with resource" argument on node level.
-            candidates = filterByRscNameStr(nodes, notPlaceWithRscList);
+            candidates = filterByNodes(nodes, nodesWithRsc);
             if (candidates.isEmpty())
             {
                 // if that didn't work, try to consider the "do not place with resource" argument on storPool level
-                for (Entry<StorPoolName, List<Node>> entry : nodes.entrySet())
+                Set<StorPool> storPoolsWithRsc = new HashSet<>();
+                for (ResourceDefinition rscDfn : notPlaceWithRscDfns)
                 {
-                    // build a list of storPools that have at least one of the "do not place with resource" resources.
-                    List<Node> nodesToRemove = new ArrayList<>();
-                    for (Node node : entry.getValue())
+                    for (Resource rsc : getResources(rscDfn))
                     {
-                        Collection<VlmProviderObject<Resource>> volumes = node
-                            .getStorPool(apiAccCtx, entry.getKey())
-                            .getVolumes(apiAccCtx);
-                        for (VlmProviderObject<Resource> vlm : volumes)
+                        Iterator<Volume> vlmIt = rsc.iterateVolumes();
+                        while (vlmIt.hasNext())
                         {
-                            if (notPlaceWithRscList.contains(vlm.getVolume().getResourceDefinition().getName().value))
-                            {
-                                nodesToRemove.add(node);
-                                break;
-                            }
+                            storPoolsWithRsc.addAll(LayerVlmUtils.getStorPoolSet(vlmIt.next(), apiAccCtx));
                         }
                     }
-                    // remove that storPools
-                    entry.getValue().removeAll(nodesToRemove);
+                }
+
+                for (Entry<StorPoolName, List<Node>> entry : nodes.entrySet())
+                {
+                    // remove the storPools that have at least one of the "do not place with resource" resources.
+                    entry.getValue().removeIf(
+                        node -> storPoolsWithRsc.contains(getStorPoolPrivileged(node, entry.getKey()))
+                    );
                 }
 
                 // We already applied the filtering on storPool level. That means we can re-run the
                 // filterCandidates with no "do not place with resource" restriction on node-level, as we are
                 // already only considering the filtered storPools.
-                candidates = filterByRscNameStr(nodes, Collections.emptyList());
+                candidates = filterByNodes(nodes, Collections.emptySet());
             }
         }
         catch (AccessDeniedException accDeniedExc)
@@ -362,11 +429,15 @@ public class CtrlAutoStorPoolSelector
     {
         List<Candidate> ret = new ArrayList<>();
         List<Node> nodesRepOnSame = new ArrayList<>();
-        List<Node> nodesRepOnDiff = new ArrayList<>();
 
         List<String> repOnSameFilter = selectFilterRef.getReplicasOnSameList();
         List<String> repOnDiffFilter = selectFilterRef.getReplicasOnDifferentList();
 
+        Set<String> repOnDiffKeys = repOnDiffFilter.stream()
+            .map(propFilterEntry -> parsePropTuple(propFilterEntry).getT1())
+            .collect(Collectors.toSet());
+        NodePropIndex repOnDiffNodesByPropVal = new NodePropIndex(repOnDiffKeys);
+
         try
         {
             for (Entry<StorPoolName, List<Node>> candidateEntry : candidatesRef.entrySet())
@@ -389,7 +460,7 @@ public class CtrlAutoStorPoolSelector
                             Tuple2<String, Optional<String>> propFilterTuple = parsePropTuple(propFilterEntry);
                             String propFilterKey = propFilterTuple.getT1();
                             Optional<String> propFilterVal = propFilterTuple.getT2();
-                            String nodePropVal = candidateNode.getProps(peerAccCtx.get()).getProp(propFilterKey);
+                            String nodePropVal = getNodeProp(candidateNode, propFilterKey);
 
                             boolean hasPrefPropVal = propFilterVal.isPresent();
 
@@ -417,21 +488,18 @@ public class CtrlAutoStorPoolSelector
                             String propFilterVal = propFilterTuple.getT2().isPresent() ?
                                 propFilterTuple.getT2().get() : null;
 
-                            String nodePropVal = candidateNode.getProps(peerAccCtx.get()).getProp(propFilterKey);
+                            String nodePropVal = getNodeProp(candidateNode, propFilterKey);
 
                             boolean hasNodePropVal = false;
                             Node nodeToRemove = null;
-                            for (Node filteredNode : nodesRepOnDiff)
+                            // only one such node can be found as we do not add nodes with same property values
+                            Node filteredNode = repOnDiffNodesByPropVal.getFirst(propFilterKey, nodePropVal);
+                            if (filteredNode != null)
                             {
-                                hasNodePropVal = hasNodePropVal(filteredNode, propFilterKey, nodePropVal);
-                                if (hasNodePropVal)
+                                hasNodePropVal = true;
+                                if (nodeComparator.compare(candidateNode, filteredNode) > 0)
                                 {
-                                    if (nodeComparator.compare(candidateNode, filteredNode) > 0)
-                                    {
-                                        nodeToRemove = filteredNode;
-                                    }
-                                    // only one such node can be found as we do not add nodes with same property values
-                                    break;
+                                    nodeToRemove = filteredNode;
                                 }
                             }
 
@@ -447,12 +515,12 @@ public class CtrlAutoStorPoolSelector
                                   as another already filtered node
                             */
                             if (nodePropVal == null ||
-                                nodesRepOnDiff.remove(nodeToRemove) ||
+                                repOnDiffNodesByPropVal.remove(nodeToRemove) ||
                                 propFilterVal != null && !propFilterVal.equals(nodePropVal) ||
                                 propFilterVal == null && !hasNodePropVal
                             )
                             {
-                                nodesRepOnDiff.add(candidateNode);
+                                repOnDiffNodesByPropVal.add(candidateNode);
                             }
                         }
                     }
@@ -460,45 +528,29 @@ public class CtrlAutoStorPoolSelector
                     // sort the nodes so that the most preferred nodes are chosen first
                     nodesRepOnSame.sort(nodeComparator.reversed());
 
-                    // make sure that all other nodes in the list have the same value
-                    // by removing nodes with a different one
-                    Map<String, String> prefPropValsMap = new HashMap<>();
-                    List<Node> nodesToRemove = new ArrayList<>();
-                    for (Node nodeRepOnSame : nodesRepOnSame)
+                    // make sure that all other nodes in the list have the same values as the most preferred one
+                    // by only keeping the nodes having these values
+                    if (!nodesRepOnSame.isEmpty())
                     {
+                        Node prefNode = nodesRepOnSame.get(0);
                         for (String propEntrySame : repOnSameFilter)
                         {
                             Tuple2<String, Optional<String>> propTuple = parsePropTuple(propEntrySame);
-                            String propKey = propTuple.getT1();
-                            Optional<String> propVal = propTuple.getT2();
-
-                            if (!propVal.isPresent() && !prefPropValsMap.containsKey(propKey))
-                            {
-                                prefPropValsMap.put(
-                                    propKey,
-                                    nodeRepOnSame.getProps(peerAccCtx.get()).getProp(propKey)
-                                );
-                            }
-                        }
-
-                        for (Entry<String, String> prefPropValsEntry : prefPropValsMap.entrySet())
-                        {
-                            if (!nodeRepOnSame.getProps(peerAccCtx.get()).getProp(prefPropValsEntry.getKey())
-                                .equals(prefPropValsEntry.getValue()))
+                            if (!propTuple.getT2().isPresent())
                             {
-                                nodesToRemove.add(nodeRepOnSame);
-                                break;
+                                String propKey = propTuple.getT1();
+                                nodesRepOnSame.retainAll(cache.getNodes(propKey, getNodeProp(prefNode, propKey)));
                             }
                         }
                     }
-                    nodesRepOnSame.removeAll(nodesToRemove);
 
                     // if both filters are present check for intersections of the filtered nodes first
                     if (!repOnSameFilter.isEmpty() && !repOnDiffFilter.isEmpty())
                     {
+                        Set<Node> repOnDiffNodeSet = new HashSet<>(repOnDiffNodesByPropVal.getNodes());
                         for (Node node : nodesRepOnSame)
                         {
-                            if (nodesRepOnDiff.contains(node))
+                            if (repOnDiffNodeSet.contains(node))
                             {
                                 nodesRepOn.add(node);
                             }
@@ -506,7 +558,7 @@ public class CtrlAutoStorPoolSelector
                     }
                     else
                     {
-                        nodesRepOn = repOnSameFilter.isEmpty() ? nodesRepOnDiff : nodesRepOnSame;
+                        nodesRepOn = repOnSameFilter.isEmpty() ? repOnDiffNodesByPropVal.getNodes() : nodesRepOnSame;
                     }
                 }
                 else
@@ -541,23 +593,6 @@ public class CtrlAutoStorPoolSelector
         return ret;
     }
 
-    private boolean hasNodePropVal(Node node, String propKey, String nodePropVal)
-    {
-        boolean propValExists = false;
-        if (nodePropVal != null)
-        {
-            try
-            {
-                propValExists = node.getProps(peerAccCtx.get()).getProp(propKey).equals(nodePropVal);
-            }
-            catch (AccessDeniedException exc)
-            {
-                // do not add
-            }
-        }
-        return propValExists;
-    }
-
     private void addCandidate(
         List<Candidate> targetList,
         StorPoolName storPoolName,
@@ -581,16 +616,16 @@ public class CtrlAutoStorPoolSelector
         }
     }
 
-    private Map<StorPoolName, List<Node>> filterByRscNameStr(
+    private Map<StorPoolName, List<Node>> filterByNodes(
         Map<StorPoolName, List<Node>> nodes,
-        List<String> notPlaceWithRscList
+        Set<Node> excludedNodes
     )
     {
         Map<StorPoolName, List<Node>> ret = new HashMap<>();
         for (Entry<StorPoolName, List<Node>> entry: nodes.entrySet())
         {
             List<Node> nodeCandidates = entry.getValue().stream()
-                .filter(node -> hasNoResourceOf(node, notPlaceWithRscList))
+                .filter(node -> !excludedNodes.contains(node))
                 .collect(Collectors.toList());
 
             if (!nodeCandidates.isEmpty())
@@ -601,20 +636,86 @@ public class CtrlAutoStorPoolSelector
         return ret;
     }
 
-    private boolean hasNoResourceOf(Node node, List<String> notPlaceWithRscList)
+    /**
+     * Reads the aux property of the node with the access context of the peer. The value itself is taken from the
+     * index, which is updated whenever the properties of the node are committed.
+     */
+    private String getNodeProp(Node node, String key) throws AccessDeniedException, InvalidKeyException
     {
-        boolean hasNoResourceOf = false;
-        try
+        return cache.getNodeProp(node, node.getProps(peerAccCtx.get()), key);
+    }
+
+    /**
+     * Keeps the nodes selected by the replicas-on-different filter together with an index from the values of the
+     * given property keys to the selected nodes having that value. Looking up a selected node with a given property
+     * value does therefore not need to scan the selected nodes and read the properties of each of them again.
+     * Since it indexes the nodes selected for one placement, it only lives as long as that placement.
+     */
+    private class NodePropIndex
+    {
+        private final List<Node> nodes = new ArrayList<>();
+        private final Map<String, Map<String, List<Node>>> nodesByPropVal = new HashMap<>();
+
+        NodePropIndex(Set<String> indexedKeys)
         {
-            hasNoResourceOf = node.streamResources(peerAccCtx.get())
-                .map(rsc -> rsc.getDefinition().getName().value)
-                .noneMatch(notPlaceWithRscList::contains);
+            for (String key : indexedKeys)
+            {
+                nodesByPropVal.put(key, new HashMap<>());
+            }
         }
-        catch (AccessDeniedException accDeniedExc)
+
+        List<Node> getNodes()
         {
-            throw new ImplementationError(accDeniedExc);
+            return nodes;
+        }
+
+        /**
+         * @return The first node of the list having the given value for the given (indexed) key, or
+         * <code>null</code> if there is no such node
+         */
+        Node getFirst(String key, String val)
+        {
+            Node ret = null;
+            if (val != null)
+            {
+                List<Node> nodesWithVal = nodesByPropVal.get(key).get(val);
+                if (nodesWithVal != null && !nodesWithVal.isEmpty())
+                {
+                    ret = nodesWithVal.get(0);
+                }
+            }
+            return ret;
+        }
+
+        void add(Node node) throws AccessDeniedException, InvalidKeyException
+        {
+            nodes.add(node);
+            for (Entry<String, Map<String, List<Node>>> entry : nodesByPropVal.entrySet())
+            {
+                String val = getNodeProp(node, entry.getKey());
+                if (val != null)
+                {
+                    entry.getValue().computeIfAbsent(val, ignored -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+
+        boolean remove(Node node) throws AccessDeniedException, InvalidKeyException
+        {
+            boolean removed = nodes.remove(node);
+            if (removed)
+            {
+                for (Entry<String, Map<String, List<Node>>> entry : nodesByPropVal.entrySet())
+                {
+                    String val = getNodeProp(node, entry.getKey());
+                    if (val != null)
+                    {
+                        entry.getValue().get(val).remove(node);
+                    }
+                }
+            }
+            return removed;
         }
-        return hasNoResourceOf;
     }
 
     public static class Candidate
@@ -18,6 +18,7 @@ import com.linbit.linstor.core.CoreModule.NodesMap;
 import com.linbit.linstor.core.apicallhandler.controller.exceptions.IncorrectPassphraseException;
 import com.linbit.linstor.core.apicallhandler.controller.exceptions.MissingKeyPropertyException;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.EncryptionHelper;
+import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateBatcher;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.apicallhandler.response.ResponseUtils;
 import com.linbit.linstor.core.objects.Node;
@@ -70,6 +71,7 @@ public class CtrlConfApiCallHandler
     private final NodesMap nodesMap;
     private final WhitelistProps whitelistProps;
     private final EncryptionHelper encHelper;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
 
     @Inject
@@ -84,7 +86,8 @@ public class CtrlConfApiCallHandler
         CoreModule.NodesMap nodesMapRef,
         CtrlStltSerializer ctrlStltSrzlRef,
         WhitelistProps whitelistPropsRef,
-        EncryptionHelper encHelperRef
+        EncryptionHelper encHelperRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         errorReporter = errorReporterRef;
@@ -99,6 +102,7 @@ public class CtrlConfApiCallHandler
         ctrlStltSrzl = ctrlStltSrzlRef;
         whitelistProps = whitelistPropsRef;
         encHelper = encHelperRef;
+        updateBatcher = updateBatcherRef;
     }
 
     private void updateSatelliteConf() throws AccessDeniedException
@@ -113,6 +117,7 @@ public class CtrlConfApiCallHandler
                     .onewayBuilder(InternalApiConsts.API_CHANGED_CONTROLLER)
                     .build();
 
+                updateBatcher.flush(satellitePeer);
                 satellitePeer.sendMessage(changedMessage);
             }
         }
@@ -1,5 +1,6 @@
 package com.linbit.linstor.core.apicallhandler.controller;
 
+import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
@@ -10,10 +11,13 @@ import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.core.repository.NodeRepository;
 import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportFingerprint;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.logging.StdErrorReporter;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.netcom.PeerNotConnectedException;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportFingerprintsOuterClass;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportFingerprintsOuterClass.MsgIntErrorReportFingerprints;
 import com.linbit.linstor.proto.responses.MsgErrorReportOuterClass;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -27,6 +31,8 @@ import javax.inject.Singleton;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -68,36 +74,85 @@ public class CtrlErrorListApiCallHandler
         lockGuardFactory = lockGuardFactoryRef;
     }
 
+    /**
+     * Collects the error reports of the controller and the satellites.
+     *
+     * Every node only returns its oldest offset + limit reports, the controller merges them and returns the
+     * requested page.
+     *
+     * @param offset Number of (oldest) reports to skip, only used if limit is set
+     * @param limit Maximum number of returned reports, 0 for no limit
+     */
     public Flux<Set<ErrorReport>> listErrorReports(
         final Set<String> nodes,
         boolean withContent,
         final Optional<Date> since,
         final Optional<Date> to,
-        final Set<String> ids
+        final Set<String> ids,
+        int offset,
+        int limit
     )
     {
+        int nodeLimit = limit > 0 ? offset + limit : 0;
         return scopeRunner
             .fluxInTransactionlessScope(
                 "Collect error reports",
                 lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP),
-                () -> assembleRequests(nodes, withContent, since, to, ids)
+                () -> assembleRequests(nodes, withContent, since, to, ids, nodeLimit)
             )
             .collectList()
             .flatMapMany(errorReportAnswers ->
                 scopeRunner.fluxInTransactionlessScope(
                     "Assemble error report list",
                     lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP),
-                    () -> Flux.just(assembleList(nodes, withContent, since, to, ids, errorReportAnswers))
+                    () -> Flux.just(
+                        getPage(
+                            assembleList(nodes, withContent, since, to, ids, nodeLimit, errorReportAnswers),
+                            offset,
+                            limit
+                        )
+                    )
                 )
             );
     }
 
+    /**
+     * Collects the errors of the controller and the satellites that were aggregated into a single error report,
+     * sorted by the time of their first occurrence.
+     */
+    public Flux<List<ErrorReportFingerprint>> listErrorReportFingerprints(final Set<String> nodes)
+    {
+        return scopeRunner
+            .fluxInTransactionlessScope(
+                "Collect error report fingerprints",
+                lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP),
+                () -> assembleFingerprintRequests(nodes)
+            )
+            .collectList()
+            .map(fingerprintAnswers -> assembleFingerprintList(nodes, fingerprintAnswers))
+            .flux();
+    }
+
+    private static Set<ErrorReport> getPage(Set<ErrorReport> errorReports, int offset, int limit)
+    {
+        Set<ErrorReport> page = errorReports;
+        if (limit > 0)
+        {
+            page = errorReports.stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toCollection(TreeSet::new));
+        }
+        return page;
+    }
+
     private Flux<Tuple2<NodeName, ByteArrayInputStream>> assembleRequests(
         Set<String> nodesToRequest,
         boolean withContent,
         final Optional<Date> since,
         final Optional<Date> to,
-        final Set<String> ids)
+        final Set<String> ids,
+        int nodeLimit)
         throws AccessDeniedException
     {
         Stream<Node> nodeStream = nodeRepository.getMapForView(peerAccCtx.get()).values().stream()
@@ -105,7 +160,7 @@ public class CtrlErrorListApiCallHandler
                 nodesToRequest.stream().anyMatch(node.getName().getDisplayName()::equalsIgnoreCase));
 
         List<Tuple2<NodeName, Flux<ByteArrayInputStream>>> nameAndRequests = nodeStream
-            .map(node -> Tuples.of(node.getName(), prepareErrRequestApi(node, withContent, since, to, ids)))
+            .map(node -> Tuples.of(node.getName(), prepareErrRequestApi(node, withContent, since, to, ids, nodeLimit)))
             .collect(Collectors.toList());
 
         return Flux
@@ -119,20 +174,44 @@ public class CtrlErrorListApiCallHandler
         boolean withContent,
         final Optional<Date> since,
         final Optional<Date> to,
-        final Set<String> ids)
+        final Set<String> ids,
+        int nodeLimit)
     {
         Peer peer = getPeer(node);
         Flux<ByteArrayInputStream> fluxReturn = Flux.empty();
         if (peer != null)
         {
             byte[] msg = stltComSerializer.headerlessBuilder()
-                .requestErrorReports(new HashSet<>(), withContent, since, to, ids).build();
+                .requestErrorReports(new HashSet<>(), withContent, since, to, ids, nodeLimit).build();
             fluxReturn = peer.apiCall(ApiConsts.API_REQ_ERROR_REPORTS, msg)
                 .onErrorResume(PeerNotConnectedException.class, ignored -> Flux.empty());
         }
         return fluxReturn;
     }
 
+    private Flux<Tuple2<NodeName, ByteArrayInputStream>> assembleFingerprintRequests(Set<String> nodesToRequest)
+        throws AccessDeniedException
+    {
+        List<Node> nodesList = nodeRepository.getMapForView(peerAccCtx.get()).values().stream()
+            .filter(node -> nodesToRequest.isEmpty() ||
+                nodesToRequest.stream().anyMatch(node.getName().getDisplayName()::equalsIgnoreCase))
+            .collect(Collectors.toList());
+
+        return Flux
+            .fromIterable(nodesList)
+            .flatMap(node ->
+            {
+                Peer peer = getPeer(node);
+                Flux<ByteArrayInputStream> answer = Flux.empty();
+                if (peer != null)
+                {
+                    answer = peer.apiCall(InternalApiConsts.API_REQUEST_ERROR_REPORT_FINGERPRINTS, new byte[] {})
+                        .onErrorResume(PeerNotConnectedException.class, ignored -> Flux.empty());
+                }
+                return answer.map(byteStream -> Tuples.of(node.getName(), byteStream));
+            });
+    }
+
     private Peer getPeer(Node node)
     {
         Peer peer;
@@ -157,6 +236,7 @@ public class CtrlErrorListApiCallHandler
         final Optional<Date> since,
         final Optional<Date> to,
         final Set<String> ids,
+        int nodeLimit,
         List<Tuple2<NodeName, ByteArrayInputStream>> errorReportsAnswers)
         throws IOException
     {
@@ -171,7 +251,8 @@ public class CtrlErrorListApiCallHandler
                 withContent,
                 since,
                 to,
-                ids
+                ids,
+                nodeLimit
             ));
         }
 
@@ -187,6 +268,65 @@ public class CtrlErrorListApiCallHandler
         return errorReports;
     }
 
+    private List<ErrorReportFingerprint> assembleFingerprintList(
+        Set<String> nodesToRequest,
+        List<Tuple2<NodeName, ByteArrayInputStream>> fingerprintAnswers
+    )
+    {
+        List<ErrorReportFingerprint> fingerprints = new ArrayList<>();
+
+        // Controller fingerprints
+        if (nodesToRequest.isEmpty() || nodesToRequest.stream().anyMatch(LinStor.CONTROLLER_MODULE::equalsIgnoreCase))
+        {
+            fingerprints.addAll(errorReporter.getReportFingerprints());
+        }
+
+        // Returned satellite fingerprints
+        for (Tuple2<NodeName, ByteArrayInputStream> fingerprintAnswer : fingerprintAnswers)
+        {
+            try
+            {
+                fingerprints.addAll(
+                    deserializeFingerprints(fingerprintAnswer.getT1().displayValue, fingerprintAnswer.getT2())
+                );
+            }
+            catch (IOException exc)
+            {
+                errorReporter.reportError(exc);
+            }
+        }
+
+        Collections.sort(fingerprints);
+        return fingerprints;
+    }
+
+    private static List<ErrorReportFingerprint> deserializeFingerprints(String nodeName, InputStream msgDataIn)
+        throws IOException
+    {
+        List<ErrorReportFingerprint> fingerprints = new ArrayList<>();
+        MsgIntErrorReportFingerprints msg = MsgIntErrorReportFingerprints.parseDelimitedFrom(msgDataIn);
+        if (msg != null)
+        {
+            for (MsgIntErrorReportFingerprintsOuterClass.ErrorReportFingerprint msgFingerprint :
+                msg.getFingerprintsList())
+            {
+                fingerprints.add(
+                    new ErrorReportFingerprint(
+                        nodeName,
+                        msgFingerprint.getFingerprint(),
+                        msgFingerprint.getReportId(),
+                        msgFingerprint.getExceptionClass(),
+                        msgFingerprint.getMessageTemplate(),
+                        new Date(msgFingerprint.getFirstTime()),
+                        new Date(msgFingerprint.getLastTime()),
+                        msgFingerprint.getOccurrences()
+                    )
+                );
+            }
+        }
+        return fingerprints;
+    }
+
     // TODO? hide deserialization in interface?
     private static Set<ErrorReport> deserializeErrorReports(InputStream msgDataIn)
         throws IOException
@@ -16,6 +16,7 @@ import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.AutoStorPoolSelectorConfig;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.Candidate;
+import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateBatcher;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.apicallhandler.response.ApiOperation;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
@@ -46,6 +47,7 @@ import javax.inject.Singleton;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +77,7 @@ public class CtrlRscAutoPlaceApiCallHandler
     private final LockGuardFactory lockGuardFactory;
     private final Provider<AccessContext> peerAccCtx;
     private final Provider<CtrlRscAutoHelper> autoHelperProvider;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
     @Inject
     public CtrlRscAutoPlaceApiCallHandler(
@@ -91,7 +94,8 @@ public class CtrlRscAutoPlaceApiCallHandler
         ResponseConverter responseConverterRef,
         LockGuardFactory lockGuardFactoryRef,
         @PeerContext Provider<AccessContext> peerAccCtxRef,
-        Provider<CtrlRscAutoHelper> autoHelperProviderRef
+        Provider<CtrlRscAutoHelper> autoHelperProviderRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         errorReporter = errorReporterRef;
@@ -108,6 +112,7 @@ public class CtrlRscAutoPlaceApiCallHandler
         lockGuardFactory = lockGuardFactoryRef;
         peerAccCtx = peerAccCtxRef;
         autoHelperProvider = autoHelperProviderRef;
+        updateBatcher = updateBatcherRef;
     }
 
     public Flux<ApiCallRc> autoPlace(
@@ -115,16 +120,7 @@ public class CtrlRscAutoPlaceApiCallHandler
         AutoSelectFilterApi selectFilter
     )
     {
-        Map<String, String> objRefs = new TreeMap<>();
-        objRefs.put(ApiConsts.KEY_RSC_DFN, rscNameStr);
-
-        ResponseContext context = new ResponseContext(
-            ApiOperation.makeRegisterOperation(),
-            getObjectDescription(rscNameStr),
-            getObjectDescriptionInline(rscNameStr),
-            ApiConsts.MASK_RSC,
-            objRefs
-        );
+        ResponseContext context = makeContext(rscNameStr);
 
         return scopeRunner
             .fluxInTransactionalScope(
@@ -142,82 +138,167 @@ public class CtrlRscAutoPlaceApiCallHandler
             .transform(responses -> responseConverter.reportingExceptions(context, responses));
     }
 
-    Flux<ApiCallRc> autoPlaceInTransaction(
-        String rscNameStr,
-        AutoSelectFilterApi selectFilterRef,
-        ResponseContext context
-    )
+    /**
+     * Auto-places all given resource definitions within a single transaction.
+     *
+     * The placements are computed one after the other, largest resource definition first. As the volumes created
+     * for one entry are already registered as pending in the free space trackers of the selected storage pools, the
+     * following entries of the same batch see the reduced free capacity, so the batch is spread over the available
+     * storage pools instead of piling up on the pool that had the most free space at the start.
+     * If any of the entries can not be placed, nothing is placed at all.
+     */
+    public Flux<ApiCallRc> autoPlace(Map<String, AutoSelectFilterApi> selectFilters)
     {
-        ApiCallRcImpl responses = new ApiCallRcImpl();
+        ResponseContext context = new ResponseContext(
+            ApiOperation.makeRegisterOperation(),
+            "Auto-placing resources: " + selectFilters.keySet(),
+            "auto-placing resources: " + selectFilters.keySet(),
+            ApiConsts.MASK_RSC,
+            Collections.emptyMap()
+        );
 
-        ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscNameStr, true);
-        AutoSelectorConfig rscGrpSelectConfig = rscDfn.getResourceGroup().getAutoPlaceConfig();
+        return freeCapacityFetcher.fetchThinFreeCapacities(Collections.emptySet())
+            .flatMapMany(thinFreeCapacities -> scopeRunner
+                .fluxInTransactionalScope(
+                    "Auto-place resources",
+                    lockGuardFactory.buildDeferred(
+                        LockType.WRITE,
+                        LockObj.NODES_MAP, LockObj.RSC_DFN_MAP, LockObj.STOR_POOL_DFN_MAP
+                    ),
+                    () -> autoPlaceBatchInTransaction(
+                        selectFilters,
+                        thinFreeCapacities
+                    )
+                )
+            )
+            .transform(responses -> responseConverter.reportingExceptions(context, responses));
+    }
 
-        AutoSelectFilterPojo mergedSelectFilter = AutoSelectFilterPojo.merge(
-            selectFilterRef,
-            rscGrpSelectConfig.getApiData()
-        );
+    private Flux<ApiCallRc> autoPlaceBatchInTransaction(
+        Map<String, AutoSelectFilterApi> selectFilters,
+        Map<StorPool.Key, Long> thinFreeCapacities
+    )
+    {
+        List<AutoPlacePlan> plans = new ArrayList<>();
+        for (Map.Entry<String, AutoSelectFilterApi> entry : selectFilters.entrySet())
+        {
+            plans.add(prepareAutoPlace(entry.getKey(), entry.getValue()));
+        }
+        // first fit decreasing: the large resource definitions are the hardest ones to fit
+        plans.sort(Comparator.comparingLong((AutoPlacePlan plan) -> plan.rscSize).reversed());
 
-        /*
-         * If the resource is already deployed on X nodes, and the placement count now is Y:
-         * case Y > X
-         * only deploy (Y-X) additional resources, but on the previously selected storPoolName.
-         * case Y == X
-         * either NOP or additionally deploy disklessly on new nodes.
-         * case Y < X
-         * error.
-         */
-        List<Resource> alreadyPlaced = privilegedStreamResources(
-            ctrlApiDataLoader.loadRscDfn(rscNameStr, true)
-        )
-            .filter(rsc ->
+        ApiCallRcImpl responses = new ApiCallRcImpl();
+        List<Flux<ApiCallRc>> createFluxes = new ArrayList<>();
+        List<Pair<AutoPlacePlan, Set<Resource>>> deployments = new ArrayList<>();
+        List<Flux<ApiCallRc>> autoFluxes = new ArrayList<>();
+        for (AutoPlacePlan plan : plans)
+        {
+            ResponseContext rscContext = makeContext(plan.rscNameStr);
+            if (plan.selectorConfig == null)
             {
-                try
+                responseConverter.addWithDetail(responses, rscContext,
+                    makeAlreadyDeployedResponse(
+                        plan.rscNameStr,
+                        plan.alreadyPlaced
+                    )
+                );
+            }
+            else
+            {
+                // Same as for a single resource: try thick placement first and only include thin storage pools
+                // if no thick candidate was found
+                Candidate candidate;
+                Map<StorPool.Key, Long> rscThinFreeCapacities;
+                Optional<Candidate> thickCandidate = findBestCandidate(
+                    plan.selectorConfig,
+                    plan.rscSize,
+                    Collections.emptyMap(),
+                    false
+                );
+                if (thickCandidate.isPresent())
                 {
-                    return !rsc.getStateFlags().isSet(apiCtx, Resource.Flags.TIE_BREAKER);
+                    candidate = thickCandidate.get();
+                    rscThinFreeCapacities = null;
                 }
-                catch (AccessDeniedException exc)
+                else
                 {
-                    throw new ImplementationError(exc);
+                    candidate = findBestCandidate(
+                        plan.selectorConfig,
+                        plan.rscSize,
+                        thinFreeCapacities,
+                        true
+                    )
+                        .orElseThrow(
+                            () -> failNotEnoughCandidates(plan.storPoolName, plan.rscSize, plan.selectorConfig)
+                        );
+                    rscThinFreeCapacities = thinFreeCapacities;
                 }
-            })
-            .collect(Collectors.toList());
-
-        int additionalPlaceCount = Optional.ofNullable(
-            mergedSelectFilter.getReplicaCount()
-        ).orElse(0) - alreadyPlaced.size();
 
-        if (additionalPlaceCount < 0)
-        {
-            throw new ApiRcException(makePlaceCountTooLowResponse(rscNameStr, alreadyPlaced));
+                Pair<List<Flux<ApiCallRc>>, Set<Resource>> deployedResources = createResources(
+                    rscContext,
+                    responses,
+                    plan.rscNameStr,
+                    plan.selectFilter.getDisklessOnRemaining(),
+                    candidate,
+                    rscThinFreeCapacities,
+                    plan.selectFilter.getLayerStackList()
+                );
+                createFluxes.addAll(deployedResources.objA);
+                if (!deployedResources.objB.isEmpty())
+                {
+                    deployments.add(new Pair<>(plan, deployedResources.objB));
+                }
+                autoFluxes.add(autoHelperProvider.get().manage(responses, rscContext, plan.rscNameStr).getFlux());
+            }
         }
 
-        String storPoolName;
-        if (alreadyPlaced.isEmpty() || mergedSelectFilter.getStorPoolNameStr() != null)
-        {
-            storPoolName = mergedSelectFilter.getStorPoolNameStr();
-        }
-        else
+        ctrlTransactionHelper.commit();
+
+        List<Flux<ApiCallRc>> deploymentResponses = new ArrayList<>();
+        for (Pair<AutoPlacePlan, Set<Resource>> deployment : deployments)
         {
-            storPoolName = ctrlPropsHelper.getProps(alreadyPlaced.get(0)).map()
-                .get(InternalApiConsts.RSC_PROP_KEY_AUTO_SELECTED_STOR_POOL_NAME);
+            ResponseContext rscContext = makeContext(deployment.objA.rscNameStr);
+            deploymentResponses.add(
+                ctrlRscCrtApiHelper.deployResources(rscContext, deployment.objB)
+                    .onErrorResume(EventStreamTimeoutException.class,
+                        ignored -> Flux.just(ctrlRscCrtApiHelper.makeResourceDidNotAppearMessage(rscContext)))
+                    .onErrorResume(EventStreamClosedException.class,
+                        ignored -> Flux.just(
+                            ctrlRscCrtApiHelper.makeEventStreamDisappearedUnexpectedlyMessage(rscContext)
+                        )
+                    )
+            );
         }
 
-        errorReporter.logDebug(
-            "Auto-placing '%s' on %d additional nodes" +
-                (storPoolName == null ? "" : " using pool '" + storPoolName + "'"),
-            rscNameStr,
-            additionalPlaceCount
-        );
+        return Flux
+            .<ApiCallRc>just(responses)
+            .concatWith(Flux.merge(createFluxes))
+            // each satellite receives the changes of all resource definitions of the batch in one message
+            .concatWith(updateBatcher.coalesce(Flux.merge(deploymentResponses)))
+            .concatWith(Flux.merge(autoFluxes))
+            .onErrorResume(CtrlResponseUtils.DelayedApiRcException.class, ignored -> Flux.empty());
+    }
+
+    Flux<ApiCallRc> autoPlaceInTransaction(
+        String rscNameStr,
+        AutoSelectFilterApi selectFilterRef,
+        ResponseContext context
+    )
+    {
+        ApiCallRcImpl responses = new ApiCallRcImpl();
+
+        AutoPlacePlan plan = prepareAutoPlace(rscNameStr, selectFilterRef);
+        AutoSelectFilterPojo mergedSelectFilter = plan.selectFilter;
+        String storPoolName = plan.storPoolName;
 
         Flux<ApiCallRc> deploymentResponses;
         Flux<ApiCallRc> autoFlux;
-        if (additionalPlaceCount == 0 && !mergedSelectFilter.getDisklessOnRemaining())
+        if (plan.selectorConfig == null)
         {
             responseConverter.addWithDetail(responses, context,
                 makeAlreadyDeployedResponse(
                     rscNameStr,
-                    alreadyPlaced
+                    plan.alreadyPlaced
                 )
             );
 
@@ -225,22 +306,8 @@ public class CtrlRscAutoPlaceApiCallHandler
         }
         else
         {
-            AutoStorPoolSelectorConfig autoStorPoolSelectorConfig = new AutoStorPoolSelectorConfig(
-                additionalPlaceCount,
-                mergedSelectFilter.getReplicasOnDifferentList(),
-                mergedSelectFilter.getReplicasOnSameList(),
-                mergedSelectFilter.getDoNotPlaceWithRscRegex(),
-                Stream.concat(
-                    mergedSelectFilter.getDoNotPlaceWithRscList().stream(),
-                    // Do not attempt to re-use nodes that already have this resource
-                    Stream.of(rscNameStr)
-                ).collect(Collectors.toList()),
-                storPoolName,
-                mergedSelectFilter.getLayerStackList(),
-                mergedSelectFilter.getProviderList()
-            );
-
-            final long rscSize = calculateResourceDefinitionSize(rscNameStr);
+            AutoStorPoolSelectorConfig autoStorPoolSelectorConfig = plan.selectorConfig;
+            final long rscSize = plan.rscSize;
 
             Optional<Candidate> bestCandidate = findBestCandidate(
                 autoStorPoolSelectorConfig,
@@ -301,6 +368,97 @@ public class CtrlRscAutoPlaceApiCallHandler
                 ignored -> Flux.just(ctrlRscCrtApiHelper.makeEventStreamDisappearedUnexpectedlyMessage(context)));
     }
 
+    private AutoPlacePlan prepareAutoPlace(String rscNameStr, AutoSelectFilterApi selectFilterRef)
+    {
+        ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscNameStr, true);
+        AutoSelectorConfig rscGrpSelectConfig = rscDfn.getResourceGroup().getAutoPlaceConfig();
+
+        AutoSelectFilterPojo mergedSelectFilter = AutoSelectFilterPojo.merge(
+            selectFilterRef,
+            rscGrpSelectConfig.getApiData()
+        );
+
+        /*
+         * If the resource is already deployed on X nodes, and the placement count now is Y:
+         * case Y > X
+         * only deploy (Y-X) additional resources, but on the previously selected storPoolName.
+         * case Y == X
+         * either NOP or additionally deploy disklessly on new nodes.
+         * case Y < X
+         * error.
+         */
+        List<Resource> alreadyPlaced = privilegedStreamResources(rscDfn)
+            .filter(rsc ->
+            {
+                try
+                {
+                    return !rsc.getStateFlags().isSet(apiCtx, Resource.Flags.TIE_BREAKER);
+                }
+                catch (AccessDeniedException exc)
+                {
+                    throw new ImplementationError(exc);
+                }
+            })
+            .collect(Collectors.toList());
+
+        int additionalPlaceCount = Optional.ofNullable(
+            mergedSelectFilter.getReplicaCount()
+        ).orElse(0) - alreadyPlaced.size();
+
+        if (additionalPlaceCount < 0)
+        {
+            throw new ApiRcException(makePlaceCountTooLowResponse(rscNameStr, alreadyPlaced));
+        }
+
+        String storPoolName;
+        if (alreadyPlaced.isEmpty() || mergedSelectFilter.getStorPoolNameStr() != null)
+        {
+            storPoolName = mergedSelectFilter.getStorPoolNameStr();
+        }
+        else
+        {
+            storPoolName = ctrlPropsHelper.getProps(alreadyPlaced.get(0)).map()
+                .get(InternalApiConsts.RSC_PROP_KEY_AUTO_SELECTED_STOR_POOL_NAME);
+        }
+
+        errorReporter.logDebug(
+            "Auto-placing '%s' on %d additional nodes" +
+                (storPoolName == null ? "" : " using pool '" + storPoolName + "'"),
+            rscNameStr,
+            additionalPlaceCount
+        );
+
+        AutoStorPoolSelectorConfig autoStorPoolSelectorConfig = null;
+        long rscSize = 0;
+        if (additionalPlaceCount != 0 || mergedSelectFilter.getDisklessOnRemaining())
+        {
+            autoStorPoolSelectorConfig = new AutoStorPoolSelectorConfig(
+                additionalPlaceCount,
+                mergedSelectFilter.getReplicasOnDifferentList(),
+                mergedSelectFilter.getReplicasOnSameList(),
+                mergedSelectFilter.getDoNotPlaceWithRscRegex(),
+                Stream.concat(
+                    mergedSelectFilter.getDoNotPlaceWithRscList().stream(),
+                    // Do not attempt to re-use nodes that already have this resource
+                    Stream.of(rscNameStr)
+                ).collect(Collectors.toList()),
+                storPoolName,
+                mergedSelectFilter.getLayerStackList(),
+                mergedSelectFilter.getProviderList()
+            );
+            rscSize = calculateResourceDefinitionSize(rscNameStr);
+        }
+
+        return new AutoPlacePlan(
+            rscNameStr,
+            mergedSelectFilter,
+            alreadyPlaced,
+            storPoolName,
+            autoStorPoolSelectorConfig,
+            rscSize
+        );
+    }
+
     private Flux<ApiCallRc> autoPlaceThin(
         ResponseContext context,
         String rscNameStr,
@@ -664,6 +822,20 @@ public class CtrlRscAutoPlaceApiCallHandler
         );
     }
 
+    private static ResponseContext makeContext(String rscNameStr)
+    {
+        Map<String, String> objRefs = new TreeMap<>();
+        objRefs.put(ApiConsts.KEY_RSC_DFN, rscNameStr);
+
+        return new ResponseContext(
+            ApiOperation.makeRegisterOperation(),
+            getObjectDescription(rscNameStr),
+            getObjectDescriptionInline(rscNameStr),
+            ApiConsts.MASK_RSC,
+            objRefs
+        );
+    }
+
     private static String getObjectDescription(String rscNameStr)
     {
         return "Auto-placing resource: " + rscNameStr;
@@ -673,4 +845,34 @@ public class CtrlRscAutoPlaceApiCallHandler
     {
         return "auto-placing resource: '" + rscNameStr + "'";
     }
+
+    private static class AutoPlacePlan
+    {
+        private final String rscNameStr;
+        private final AutoSelectFilterPojo selectFilter;
+        private final List<Resource> alreadyPlaced;
+        private final String storPoolName;
+        /**
+         * <code>null</code> if the resource definition is already deployed as requested
+         */
+        private final AutoStorPoolSelectorConfig selectorConfig;
+        private final long rscSize;
+
+        AutoPlacePlan(
+            String rscNameStrRef,
+            AutoSelectFilterPojo selectFilterRef,
+            List<Resource> alreadyPlacedRef,
+            String storPoolNameRef,
+            AutoStorPoolSelectorConfig selectorConfigRef,
+            long rscSizeRef
+        )
+        {
+            rscNameStr = rscNameStrRef;
+            selectFilter = selectFilterRef;
+            alreadyPlaced = alreadyPlacedRef;
+            storPoolName = storPoolNameRef;
+            selectorConfig = selectorConfigRef;
+            rscSize = rscSizeRef;
+        }
+    }
 }
@@ -11,6 +11,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateBatcher;
 import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateCaller;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.apicallhandler.response.ApiDatabaseException;
@@ -20,6 +21,7 @@ import com.linbit.linstor.core.apicallhandler.response.ApiSuccessUtils;
 import com.linbit.linstor.core.apicallhandler.response.CtrlResponseUtils;
 import com.linbit.linstor.core.apicallhandler.response.ResponseContext;
 import com.linbit.linstor.core.apicallhandler.response.ResponseConverter;
+import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.identifier.SnapshotName;
 import com.linbit.linstor.core.objects.Resource;
@@ -70,8 +72,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import reactor.core.publisher.Flux;
 import reactor.util.function.Tuple2;
@@ -94,6 +98,7 @@ public class CtrlSnapshotCrtApiCallHandler
     private final Provider<AccessContext> peerAccCtx;
     private final CtrlRscLayerDataFactory layerStackHelper;
     private final CtrlPropsHelper ctrlPropsHelper;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
     @Inject
     public CtrlSnapshotCrtApiCallHandler(
@@ -111,7 +116,8 @@ public class CtrlSnapshotCrtApiCallHandler
         LockGuardFactory lockGuardFactoryRef,
         @PeerContext Provider<AccessContext> peerAccCtxRef,
         CtrlRscLayerDataFactory layerStackHelperRef,
-        CtrlPropsHelper ctrlPropsHelperRef
+        CtrlPropsHelper ctrlPropsHelperRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         apiCtx = apiCtxRef;
@@ -129,6 +135,7 @@ public class CtrlSnapshotCrtApiCallHandler
         peerAccCtx = peerAccCtxRef;
         layerStackHelper = layerStackHelperRef;
         ctrlPropsHelper = ctrlPropsHelperRef;
+        updateBatcher = updateBatcherRef;
     }
 
     /**
@@ -167,16 +174,126 @@ public class CtrlSnapshotCrtApiCallHandler
             .transform(responses -> responseConverter.reportingExceptions(context, responses));
     }
 
+    /**
+     * Create snapshots with the same name of several resource definitions at one point in time.
+     * <p>
+     * Runs through the same stages as {@link #createSnapshot(List, String, String)}, but each stage is applied to
+     * all resource definitions of the group in a single transaction and the satellites are updated for all of them
+     * concurrently. IO of all participating resources is suspended before any of the snapshots is taken and resumed
+     * once all snapshots were taken. In each stage, every satellite receives the changes of all its snapshots and
+     * resources in one message.
+     * Resource definitions that are given more than once are only snapshotted once.
+     */
+    public Flux<ApiCallRc> createSnapshotGroup(
+        List<String> rscNameStrs,
+        String snapshotNameStr
+    )
+    {
+        Map<String, String> objRefs = new TreeMap<>();
+        objRefs.put(ApiConsts.KEY_SNAPSHOT, snapshotNameStr);
+
+        ResponseContext context = new ResponseContext(
+            ApiOperation.makeCreateOperation(),
+            "Snapshot group '" + snapshotNameStr + "' of resource definitions " + rscNameStrs,
+            "snapshot group '" + snapshotNameStr + "' of resource definitions " + rscNameStrs,
+            ApiConsts.MASK_SNAPSHOT,
+            objRefs
+        );
+
+        return scopeRunner
+            .fluxInTransactionalScope(
+                "Create snapshot group",
+                lockGuardFactory.create()
+                    .read(LockObj.NODES_MAP)
+                    .write(LockObj.RSC_DFN_MAP)
+                    .buildDeferred(),
+                () -> createSnapshotGroupInTransaction(rscNameStrs, snapshotNameStr)
+            )
+            .transform(responses -> responseConverter.reportingExceptions(context, responses));
+    }
+
     private Flux<ApiCallRc> createSnapshotInTransaction(
         List<String> nodeNameStrs,
         String rscNameStr,
         String snapshotNameStr
     )
     {
-        final ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscNameStr, true);
-        final ResourceName rscName = rscDfn.getName();
+        SnapshotName snapshotName = LinstorParsingUtils.asSnapshotName(snapshotNameStr);
+        SnapshotDefinition snapshotDfn = createSnapshotObjects(nodeNameStrs, rscNameStr, snapshotName);
+
+        ctrlTransactionHelper.commit();
+
+        ApiCallRcImpl responses = new ApiCallRcImpl();
+
+        responses.addEntry(ApiSuccessUtils.defaultRegisteredEntry(
+            snapshotDfn.getUuid(), getSnapshotDescriptionInline(nodeNameStrs, rscNameStr, snapshotNameStr)
+        ));
+
+        return Flux
+            .<ApiCallRc>just(responses)
+            .concatWith(suspendAndTakeSnapshots(Collections.singletonList(snapshotDfn), snapshotName));
+    }
+
+    private Flux<ApiCallRc> createSnapshotGroupInTransaction(
+        List<String> rscNameStrs,
+        String snapshotNameStr
+    )
+    {
+        if (rscNameStrs.isEmpty())
+        {
+            throw new ApiRcException(ApiCallRcImpl.simpleEntry(
+                ApiConsts.FAIL_NOT_FOUND_RSC_DFN, "No resource definitions given for the snapshot group"
+            ));
+        }
 
         SnapshotName snapshotName = LinstorParsingUtils.asSnapshotName(snapshotNameStr);
+
+        ApiCallRcImpl responses = new ApiCallRcImpl();
+        List<SnapshotDefinition> snapshotDfns = new ArrayList<>();
+        for (String rscNameStr : distinctRscNames(rscNameStrs))
+        {
+            SnapshotDefinition snapshotDfn = createSnapshotObjects(Collections.emptyList(), rscNameStr, snapshotName);
+            snapshotDfns.add(snapshotDfn);
+
+            responses.addEntry(ApiSuccessUtils.defaultRegisteredEntry(
+                snapshotDfn.getUuid(),
+                getSnapshotDescriptionInline(Collections.emptyList(), rscNameStr, snapshotNameStr)
+            ));
+        }
+
+        ctrlTransactionHelper.commit();
+
+        return Flux
+            .<ApiCallRc>just(responses)
+            .concatWith(suspendAndTakeSnapshots(snapshotDfns, snapshotName));
+    }
+
+    /**
+     * Removes duplicate resource definitions, keeping the order of their first occurrence. Resource names are case
+     * insensitive.
+     */
+    static List<String> distinctRscNames(List<String> rscNameStrs)
+    {
+        Map<ResourceName, String> distinctRscNames = new LinkedHashMap<>();
+        for (String rscNameStr : rscNameStrs)
+        {
+            distinctRscNames.putIfAbsent(LinstorParsingUtils.asRscName(rscNameStr), rscNameStr);
+        }
+        return new ArrayList<>(distinctRscNames.values());
+    }
+
+    /**
+     * Creates the snapshot objects of a resource definition and marks its resources as suspended.
+     * The caller has to commit the transaction.
+     */
+    private SnapshotDefinition createSnapshotObjects(
+        List<String> nodeNameStrs,
+        String rscNameStr,
+        SnapshotName snapshotName
+    )
+    {
+        final ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscNameStr, true);
+
         SnapshotDefinition snapshotDfn = createSnapshotDfnData(
             rscDfn,
             snapshotName,
@@ -242,7 +359,8 @@ public class CtrlSnapshotCrtApiCallHandler
         if (!resourceFound)
         {
             throw new ApiRcException(ApiCallRcImpl.simpleEntry(
-                ApiConsts.FAIL_NOT_FOUND_RSC, "No resources found for snapshotting"
+                ApiConsts.FAIL_NOT_FOUND_RSC,
+                "No resources found for snapshotting resource definition '" + rscDfn.getName().displayValue + "'"
             ));
         }
 
@@ -253,33 +371,40 @@ public class CtrlSnapshotCrtApiCallHandler
             setSuspend(rsc, true);
         }
 
-        ctrlTransactionHelper.commit();
+        return snapshotDfn;
+    }
 
-        ApiCallRcImpl responses = new ApiCallRcImpl();
+    private Flux<ApiCallRc> suspendAndTakeSnapshots(
+        List<SnapshotDefinition> snapshotDfns,
+        SnapshotName snapshotName
+    )
+    {
+        List<ResourceName> rscNames = new ArrayList<>();
+        Map<ResourceName, Flux<Tuple2<NodeName, Flux<ApiCallRc>>>> suspendUpdates = new LinkedHashMap<>();
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            ResourceDefinition rscDfn = snapshotDfn.getResourceDefinition();
+            rscNames.add(rscDfn.getName());
+            suspendUpdates.put(
+                rscDfn.getName(),
+                ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
+                    .concatWith(ctrlSatelliteUpdateCaller.updateSatellites(rscDfn, notConnectedError(), Flux.empty()))
+            );
+        }
 
-        responses.addEntry(ApiSuccessUtils.defaultRegisteredEntry(
-            snapshotDfn.getUuid(), getSnapshotDescriptionInline(nodeNameStrs, rscNameStr, snapshotNameStr)
+        Flux<ApiCallRc> satelliteUpdateResponses = updateBatcher.coalesce(CtrlResponseUtils.combineResponses(
+            suspendUpdates,
+            "Suspended IO of {1} on {0} for snapshot"
         ));
 
-        Flux<ApiCallRc> satelliteUpdateResponses =
-            ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
-                .concatWith(ctrlSatelliteUpdateCaller.updateSatellites(rscDfn, notConnectedError(), Flux.empty()))
-                .transform(updateResponses -> CtrlResponseUtils.combineResponses(
-                    updateResponses,
-                    rscName,
-                    "Suspended IO of {1} on {0} for snapshot"
-                ));
-
-        return Flux
-            .<ApiCallRc>just(responses)
-            .concatWith(satelliteUpdateResponses)
-            .concatWith(takeSnapshot(rscName, snapshotName))
-            .onErrorResume(exception -> abortSnapshot(rscName, snapshotName, exception))
+        return satelliteUpdateResponses
+            .concatWith(takeSnapshot(rscNames, snapshotName))
+            .onErrorResume(exception -> abortSnapshot(rscNames, snapshotName, exception))
             .onErrorResume(CtrlResponseUtils.DelayedApiRcException.class, ignored -> Flux.empty());
     }
 
     private Flux<ApiCallRc> abortSnapshot(
-        ResourceName rscName,
+        List<ResourceName> rscNames,
         SnapshotName snapshotName,
         Throwable exception
     )
@@ -291,41 +416,47 @@ public class CtrlSnapshotCrtApiCallHandler
                     .read(LockObj.NODES_MAP)
                     .write(LockObj.RSC_DFN_MAP)
                     .buildDeferred(),
-                () -> abortSnapshotInTransaction(rscName, snapshotName, exception)
+                () -> abortSnapshotInTransaction(rscNames, snapshotName, exception)
             );
     }
 
     private Flux<ApiCallRc> abortSnapshotInTransaction(
-        ResourceName rscName,
+        List<ResourceName> rscNames,
         SnapshotName snapshotName,
         Throwable exception
     )
     {
-        SnapshotDefinition snapshotDfn = ctrlApiDataLoader.loadSnapshotDfn(rscName, snapshotName, true);
-
         SnapshotDefinition.Flags flag = exception instanceof CtrlResponseUtils.DelayedApiRcException &&
             isFailNotConnected((CtrlResponseUtils.DelayedApiRcException) exception) ?
                 SnapshotDefinition.Flags.FAILED_DISCONNECT : SnapshotDefinition.Flags.FAILED_DEPLOYMENT;
 
-        enableFlagPrivileged(snapshotDfn, flag);
-        unsetInCreationPrivileged(snapshotDfn);
+        List<SnapshotDefinition> snapshotDfns = loadSnapshotDfns(rscNames, snapshotName);
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            enableFlagPrivileged(snapshotDfn, flag);
+            unsetInCreationPrivileged(snapshotDfn);
+        }
 
         ctrlTransactionHelper.commit();
 
+        Map<ResourceName, Flux<Tuple2<NodeName, Flux<ApiCallRc>>>> abortUpdates = new LinkedHashMap<>();
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            abortUpdates.put(
+                snapshotDfn.getResourceName(),
+                ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedCannotAbort())
+            );
+        }
+
         Flux<ApiCallRc> satelliteUpdateResponses =
-            ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedCannotAbort())
-                .transform(responses -> CtrlResponseUtils.combineResponses(
-                    responses,
-                    rscName,
-                    "Aborted snapshot of {1} on {0}"
-                ))
+            updateBatcher.coalesce(CtrlResponseUtils.combineResponses(abortUpdates, "Aborted snapshot of {1} on {0}"))
                 .onErrorResume(CtrlResponseUtils.DelayedApiRcException.class, ignored -> Flux.empty());
 
         return satelliteUpdateResponses
             .concatWith(Flux.error(exception));
     }
 
-    private Flux<ApiCallRc> takeSnapshot(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> takeSnapshot(List<ResourceName> rscNames, SnapshotName snapshotName)
     {
         return scopeRunner
             .fluxInTransactionalScope(
@@ -334,34 +465,40 @@ public class CtrlSnapshotCrtApiCallHandler
                     .read(LockObj.NODES_MAP)
                     .write(LockObj.RSC_DFN_MAP)
                     .buildDeferred(),
-                () -> takeSnapshotInTransaction(rscName, snapshotName)
+                () -> takeSnapshotInTransaction(rscNames, snapshotName)
             );
     }
 
-    private Flux<ApiCallRc> takeSnapshotInTransaction(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> takeSnapshotInTransaction(List<ResourceName> rscNames, SnapshotName snapshotName)
     {
-        SnapshotDefinition snapshotDfn = ctrlApiDataLoader.loadSnapshotDfn(rscName, snapshotName, true);
-
-        for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
+        List<SnapshotDefinition> snapshotDfns = loadSnapshotDfns(rscNames, snapshotName);
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
         {
-            setTakeSnapshotPrivileged(snapshot, true);
+            for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
+            {
+                setTakeSnapshotPrivileged(snapshot, true);
+            }
         }
 
         ctrlTransactionHelper.commit();
 
+        Map<ResourceName, Flux<Tuple2<NodeName, Flux<ApiCallRc>>>> takeUpdates = new LinkedHashMap<>();
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            takeUpdates.put(
+                snapshotDfn.getResourceName(),
+                ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
+            );
+        }
+
         Flux<ApiCallRc> satelliteUpdateResponses =
-            ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
-                .transform(responses -> CtrlResponseUtils.combineResponses(
-                    responses,
-                    rscName,
-                    "Took snapshot of {1} on {0}"
-                ));
+            updateBatcher.coalesce(CtrlResponseUtils.combineResponses(takeUpdates, "Took snapshot of {1} on {0}"));
 
         return satelliteUpdateResponses
-            .concatWith(resumeResource(rscName, snapshotName));
+            .concatWith(resumeResource(rscNames, snapshotName));
     }
 
-    private Flux<ApiCallRc> resumeResource(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> resumeResource(List<ResourceName> rscNames, SnapshotName snapshotName)
     {
         return scopeRunner
             .fluxInTransactionalScope(
@@ -370,38 +507,50 @@ public class CtrlSnapshotCrtApiCallHandler
                     .read(LockObj.NODES_MAP)
                     .write(LockObj.RSC_DFN_MAP)
                     .buildDeferred(),
-                () -> resumeResourceInTransaction(rscName, snapshotName)
+                () -> resumeResourceInTransaction(rscNames, snapshotName)
             );
     }
 
-    private Flux<ApiCallRc> resumeResourceInTransaction(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> resumeResourceInTransaction(List<ResourceName> rscNames, SnapshotName snapshotName)
     {
-        SnapshotDefinition snapshotDfn = ctrlApiDataLoader.loadSnapshotDfn(rscName, snapshotName, true);
-
-        for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
+        List<SnapshotDefinition> snapshotDfns = loadSnapshotDfns(rscNames, snapshotName);
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
         {
-            unsetSuspendResourcePrivileged(snapshot);
-        }
+            for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
+            {
+                unsetSuspendResourcePrivileged(snapshot);
+            }
 
-        ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscName, true);
-        resumeIoPrivileged(rscDfn);
+            resumeIoPrivileged(snapshotDfn.getResourceDefinition());
+        }
 
         ctrlTransactionHelper.commit();
 
-        Flux<ApiCallRc> satelliteUpdateResponses =
-            ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
-                .concatWith(ctrlSatelliteUpdateCaller.updateSatellites(rscDfn, notConnectedError(), Flux.empty()))
-                .transform(responses -> CtrlResponseUtils.combineResponses(
-                    responses,
-                    rscName,
-                    "Resumed IO of {1} on {0} after snapshot"
-                ));
+        Map<ResourceName, Flux<Tuple2<NodeName, Flux<ApiCallRc>>>> resumeUpdates = new LinkedHashMap<>();
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            resumeUpdates.put(
+                snapshotDfn.getResourceName(),
+                ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
+                    .concatWith(
+                        ctrlSatelliteUpdateCaller.updateSatellites(
+                            snapshotDfn.getResourceDefinition(),
+                            notConnectedError(),
+                            Flux.empty()
+                        )
+                    )
+            );
+        }
+
+        Flux<ApiCallRc> satelliteUpdateResponses = updateBatcher.coalesce(
+            CtrlResponseUtils.combineResponses(resumeUpdates, "Resumed IO of {1} on {0} after snapshot")
+        );
 
         return satelliteUpdateResponses
-            .concatWith(removeInProgressSnapshots(rscName, snapshotName));
+            .concatWith(removeInProgressSnapshots(rscNames, snapshotName));
     }
 
-    private Flux<ApiCallRc> removeInProgressSnapshots(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> removeInProgressSnapshots(List<ResourceName> rscNames, SnapshotName snapshotName)
     {
         return scopeRunner
             .fluxInTransactionalScope(
@@ -410,28 +559,45 @@ public class CtrlSnapshotCrtApiCallHandler
                     .read(LockObj.NODES_MAP)
                     .write(LockObj.RSC_DFN_MAP)
                     .buildDeferred(),
-                () -> removeInProgressSnapshotsInTransaction(rscName, snapshotName)
+                () -> removeInProgressSnapshotsInTransaction(rscNames, snapshotName)
             );
     }
 
-    private Flux<ApiCallRc> removeInProgressSnapshotsInTransaction(ResourceName rscName, SnapshotName snapshotName)
+    private Flux<ApiCallRc> removeInProgressSnapshotsInTransaction(
+        List<ResourceName> rscNames,
+        SnapshotName snapshotName
+    )
     {
-        SnapshotDefinition snapshotDfn = ctrlApiDataLoader.loadSnapshotDfn(rscName, snapshotName, true);
+        List<SnapshotDefinition> snapshotDfns = loadSnapshotDfns(rscNames, snapshotName);
+        for (SnapshotDefinition snapshotDfn : snapshotDfns)
+        {
+            unsetInCreationPrivileged(snapshotDfn);
 
-        unsetInCreationPrivileged(snapshotDfn);
+            for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
+            {
+                setTakeSnapshotPrivileged(snapshot, false);
+            }
 
-        for (Snapshot snapshot : getAllSnapshotsPrivileged(snapshotDfn))
-        {
-            setTakeSnapshotPrivileged(snapshot, false);
+            enableFlagPrivileged(snapshotDfn, SnapshotDefinition.Flags.SUCCESSFUL);
         }
 
-        enableFlagPrivileged(snapshotDfn, SnapshotDefinition.Flags.SUCCESSFUL);
-
         ctrlTransactionHelper.commit();
 
-        return ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError())
+        Flux<ApiCallRc> cleanupResponses = Flux.fromIterable(snapshotDfns)
+            .flatMap(snapshotDfn -> ctrlSatelliteUpdateCaller.updateSatellites(snapshotDfn, notConnectedError()))
             // ensure that the individual node update fluxes are subscribed to, but ignore responses from cleanup
-            .flatMap(Tuple2::getT2).thenMany(Flux.empty());
+            .flatMap(Tuple2::getT2);
+        return updateBatcher.coalesce(cleanupResponses).thenMany(Flux.empty());
+    }
+
+    private List<SnapshotDefinition> loadSnapshotDfns(List<ResourceName> rscNames, SnapshotName snapshotName)
+    {
+        List<SnapshotDefinition> snapshotDfns = new ArrayList<>();
+        for (ResourceName rscName : rscNames)
+        {
+            snapshotDfns.add(ctrlApiDataLoader.loadSnapshotDfn(rscName, snapshotName, true));
+        }
+        return snapshotDfns;
     }
 
     private void createSnapshotOnNode(
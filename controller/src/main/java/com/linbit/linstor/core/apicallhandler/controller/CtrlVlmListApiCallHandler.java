@@ -7,6 +7,7 @@ import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.api.pojo.RscPojo;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceListFields;
 import com.linbit.linstor.core.apis.ResourceConnectionApi;
 import com.linbit.linstor.core.apis.VolumeApi;
 import com.linbit.linstor.core.identifier.NodeName;
@@ -37,6 +38,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Singleton
 public class CtrlVlmListApiCallHandler
@@ -82,6 +85,20 @@ public class CtrlVlmListApiCallHandler
         List<String> storPools,
         List<String> resources
     )
+    {
+        return listVlms(nodeNames, storPools, resources, ResourceListFields.ALL);
+    }
+
+    /**
+     * Only collects the data of the requested fields. The allocated sizes of the volumes are only queried
+     * from the satellites if they (or the reports of the volumes) are requested.
+     */
+    public Flux<ResourceList> listVlms(
+        List<String> nodeNames,
+        List<String> storPools,
+        List<String> resources,
+        ResourceListFields fields
+    )
     {
         final Set<NodeName> nodesFilter =
             nodeNames.stream().map(LinstorParsingUtils::asNodeName).collect(Collectors.toSet());
@@ -90,12 +107,16 @@ public class CtrlVlmListApiCallHandler
         final Set<ResourceName> resourceFilter =
             resources.stream().map(LinstorParsingUtils::asRscName).collect(Collectors.toSet());
 
-        return vlmAllocatedFetcher.fetchVlmAllocated(nodesFilter, storPoolsFilter, resourceFilter)
+        Mono<Map<Volume.Key, VlmAllocatedResult>> vlmAllocatedMono = fields.needsVolumeAllocated() ?
+            vlmAllocatedFetcher.fetchVlmAllocated(nodesFilter, storPoolsFilter, resourceFilter) :
+            Mono.just(Collections.emptyMap());
+
+        return vlmAllocatedMono
             .flatMapMany(vlmAllocatedAnswers ->
                 scopeRunner.fluxInTransactionlessScope(
                     "Assemble volume list",
                     lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP, LockObj.RSC_DFN_MAP),
-                    () -> assembleList(nodesFilter, storPoolsFilter, resourceFilter, vlmAllocatedAnswers)
+                    () -> assembleList(nodesFilter, storPoolsFilter, resourceFilter, vlmAllocatedAnswers, fields)
                 )
             );
     }
@@ -104,7 +125,8 @@ public class CtrlVlmListApiCallHandler
         Set<NodeName> nodesFilter,
         Set<StorPoolName> storPoolsFilter,
         Set<ResourceName> resourceFilter,
-        final Map<Volume.Key, VlmAllocatedResult> vlmAllocatedAnswers
+        final Map<Volume.Key, VlmAllocatedResult> vlmAllocatedAnswers,
+        ResourceListFields fields
     )
     {
         ResourceList rscList = new ResourceList();
@@ -125,6 +147,7 @@ public class CtrlVlmListApiCallHandler
 
                             // build volume list filtered by storage pools (if provided)
                             List<VolumeApi> volumes = new ArrayList<>();
+                            boolean hasMatchingVlm = false;
                             List<AbsRscLayerObject<Resource>> storageRscList = LayerUtils
                                 .getChildLayerDataByKind(
                                 rsc.getLayerData(peerAccCtx.get()),
@@ -149,7 +172,8 @@ public class CtrlVlmListApiCallHandler
                                         }
                                     }
                                 }
-                                if (addToList)
+                                hasMatchingVlm |= addToList;
+                                if (addToList && fields.has(ResourceListFields.VOLUMES))
                                 {
                                     VlmAllocatedResult vlmAllocResult = vlmAllocatedAnswers.get(vlm.getKey());
                                     if (vlmAllocResult != null)
@@ -171,7 +195,7 @@ public class CtrlVlmListApiCallHandler
                                 rscConns.add(rscConn.getApiData(peerAccCtx.get()));
                             }
 
-                            if (!volumes.isEmpty())
+                            if (hasMatchingVlm)
                             {
                                 RscPojo filteredRscVlms = new RscPojo(
                                     rscDfn.getName().getDisplayName(),
@@ -180,13 +204,17 @@ public class CtrlVlmListApiCallHandler
                                     rscDfn.getApiData(peerAccCtx.get()),
                                     rsc.getUuid(),
                                     rsc.getStateFlags().getFlagsBits(peerAccCtx.get()),
-                                    rsc.getProps(peerAccCtx.get()).map(),
+                                    fields.has(ResourceListFields.PROPS) ?
+                                        rsc.getProps(peerAccCtx.get()).map() :
+                                        Collections.emptyMap(),
                                     volumes,
                                     null,
                                     rscConns,
                                     null,
                                     null,
-                                    rsc.getLayerData(peerAccCtx.get()).asPojo(peerAccCtx.get())
+                                    fields.has(ResourceListFields.LAYER_OBJECT) ?
+                                        rsc.getLayerData(peerAccCtx.get()).asPojo(peerAccCtx.get()) :
+                                        null
                                 );
                                 rscList.addResource(filteredRscVlms);
                             }
@@ -200,27 +228,9 @@ public class CtrlVlmListApiCallHandler
                 );
 
             // get resource states of all nodes
-            for (final Node node : nodeRepository.getMapForView(peerAccCtx.get()).values())
+            if (fields.needsSatelliteStates())
             {
-                final Peer satellite = node.getPeer(peerAccCtx.get());
-                if (satellite != null)
-                {
-                    Lock readLock = satellite.getSatelliteStateLock().readLock();
-                    readLock.lock();
-                    try
-                    {
-                        final SatelliteState satelliteState = satellite.getSatelliteState();
-
-                        if (satelliteState != null)
-                        {
-                            rscList.putSatelliteState(node.getName(), new SatelliteState(satelliteState));
-                        }
-                    }
-                    finally
-                    {
-                        readLock.unlock();
-                    }
-                }
+                putSatelliteStates(rscList);
             }
         }
         catch (AccessDeniedException accDeniedExc)
@@ -232,6 +242,32 @@ public class CtrlVlmListApiCallHandler
         return Flux.just(rscList);
     }
 
+    private void putSatelliteStates(ResourceList rscList) throws AccessDeniedException
+    {
+        for (final Node node : nodeRepository.getMapForView(peerAccCtx.get()).values())
+        {
+            final Peer satellite = node.getPeer(peerAccCtx.get());
+            if (satellite != null)
+            {
+                Lock readLock = satellite.getSatelliteStateLock().readLock();
+                readLock.lock();
+                try
+                {
+                    final SatelliteState satelliteState = satellite.getSatelliteState();
+
+                    if (satelliteState != null)
+                    {
+                        rscList.putSatelliteState(node.getName(), new SatelliteState(satelliteState));
+                    }
+                }
+                finally
+                {
+                    readLock.unlock();
+                }
+            }
+        }
+    }
+
     private Long getAllocated(
         Map<Volume.Key, VlmAllocatedResult> vlmAllocatedCapacities,
         Volume vlm
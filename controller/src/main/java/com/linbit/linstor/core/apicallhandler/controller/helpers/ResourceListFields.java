@@ -0,0 +1,177 @@
+package com.linbit.linstor.core.apicallhandler.controller.helpers;
+
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields of the resources in a {@link ResourceList} that were requested by a client (sparse fieldset)
+ *
+ * Fields are named like the properties of the JSON resource objects. Fields of volumes are prefixed with
+ * "volumes.", requesting "volumes" selects all fields of the volumes. If no fields are requested, all
+ * fields are selected.
+ */
+public final class ResourceListFields
+{
+    public static final String NAME = "name";
+    public static final String NODE_NAME = "node_name";
+    public static final String PROPS = "props";
+    public static final String FLAGS = "flags";
+    public static final String LAYER_OBJECT = "layer_object";
+    public static final String STATE = "state";
+    public static final String UUID = "uuid";
+    public static final String VOLUMES = "volumes";
+
+    public static final String VLM_VOLUME_NUMBER = "volume_number";
+    public static final String VLM_STORAGE_POOL_NAME = "storage_pool_name";
+    public static final String VLM_PROVIDER_KIND = "provider_kind";
+    public static final String VLM_DEVICE_PATH = "device_path";
+    public static final String VLM_ALLOCATED_SIZE = "allocated_size_kib";
+    public static final String VLM_PROPS = "props";
+    public static final String VLM_FLAGS = "flags";
+    public static final String VLM_STATE = "state";
+    public static final String VLM_LAYER_DATA_LIST = "layer_data_list";
+    public static final String VLM_UUID = "uuid";
+    public static final String VLM_REPORTS = "reports";
+
+    public static final ResourceListFields ALL = new ResourceListFields(null, null);
+
+    private static final String VOLUMES_PREFIX = VOLUMES + ".";
+
+    private static final Set<String> RSC_FIELDS = new LinkedHashSet<>(Arrays.asList(
+        NAME, NODE_NAME, PROPS, FLAGS, LAYER_OBJECT, STATE, UUID, VOLUMES
+    ));
+    private static final Set<String> VLM_FIELDS = new LinkedHashSet<>(Arrays.asList(
+        VLM_VOLUME_NUMBER,
+        VLM_STORAGE_POOL_NAME,
+        VLM_PROVIDER_KIND,
+        VLM_DEVICE_PATH,
+        VLM_ALLOCATED_SIZE,
+        VLM_PROPS,
+        VLM_FLAGS,
+        VLM_STATE,
+        VLM_LAYER_DATA_LIST,
+        VLM_UUID,
+        VLM_REPORTS
+    ));
+
+    // null selects all fields
+    private final Set<String> rscFields;
+    private final Set<String> vlmFields;
+
+    private ResourceListFields(Set<String> rscFieldsRef, Set<String> vlmFieldsRef)
+    {
+        rscFields = rscFieldsRef;
+        vlmFields = vlmFieldsRef;
+    }
+
+    /**
+     * Parses the requested fields. Every entry may contain multiple comma separated fields.
+     *
+     * @param fields The requested fields, all fields if null or empty
+     */
+    public static ResourceListFields parse(List<String> fields)
+    {
+        ResourceListFields parsed = ALL;
+        if (fields != null && !fields.isEmpty())
+        {
+            Set<String> rscFields = new HashSet<>();
+            Set<String> vlmFields = new HashSet<>();
+            boolean allVlmFields = false;
+            for (String entry : fields)
+            {
+                for (String field : entry.split(","))
+                {
+                    String trimmedField = field.trim();
+                    if (trimmedField.equals(VOLUMES))
+                    {
+                        allVlmFields = true;
+                    }
+                    else
+                    if (trimmedField.startsWith(VOLUMES_PREFIX) &&
+                        VLM_FIELDS.contains(trimmedField.substring(VOLUMES_PREFIX.length())))
+                    {
+                        vlmFields.add(trimmedField.substring(VOLUMES_PREFIX.length()));
+                    }
+                    else
+                    if (RSC_FIELDS.contains(trimmedField))
+                    {
+                        rscFields.add(trimmedField);
+                    }
+                    else
+                    if (!trimmedField.isEmpty())
+                    {
+                        throw new ApiRcException(
+                            ApiCallRcImpl
+                                .entryBuilder(
+                                    ApiConsts.API_CALL_PARSE_ERROR,
+                                    "The requested field '" + trimmedField + "' is unknown."
+                                )
+                                .setCorrection(
+                                    "Valid fields are:\n" + String.join("\n", RSC_FIELDS) + "\n" +
+                                        VOLUMES_PREFIX + String.join("\n" + VOLUMES_PREFIX, VLM_FIELDS) + "\n"
+                                )
+                                .build()
+                        );
+                    }
+                }
+            }
+            if (allVlmFields || !vlmFields.isEmpty())
+            {
+                rscFields.add(VOLUMES);
+            }
+            parsed = new ResourceListFields(
+                Collections.unmodifiableSet(rscFields),
+                allVlmFields ? null : Collections.unmodifiableSet(vlmFields)
+            );
+        }
+        return parsed;
+    }
+
+    /**
+     * @param field One of the resource field constants of this class
+     */
+    public boolean has(String field)
+    {
+        return rscFields == null || rscFields.contains(field);
+    }
+
+    /**
+     * @param vlmField One of the volume field constants (VLM_*) of this class
+     */
+    public boolean hasVolumeField(String vlmField)
+    {
+        return has(VOLUMES) && (vlmFields == null || vlmFields.contains(vlmField));
+    }
+
+    /**
+     * @return True if the allocated sizes or the reports of the volumes have to be queried from the satellites
+     */
+    public boolean needsVolumeAllocated()
+    {
+        return hasVolumeField(VLM_ALLOCATED_SIZE) || hasVolumeField(VLM_REPORTS);
+    }
+
+    /**
+     * @return True if the states reported by the satellites are required, i.e. the resource or volume states
+     * or the DRBD connections of the layer object
+     */
+    public boolean needsSatelliteStates()
+    {
+        return has(STATE) || has(LAYER_OBJECT) || hasVolumeField(VLM_STATE);
+    }
+
+    public ResourceListFields withoutVolumes()
+    {
+        Set<String> rscFieldsWithoutVlms = new HashSet<>(rscFields == null ? RSC_FIELDS : rscFields);
+        rscFieldsWithoutVlms.remove(VOLUMES);
+        return new ResourceListFields(Collections.unmodifiableSet(rscFieldsWithoutVlms), null);
+    }
+}
@@ -86,6 +86,7 @@ public class CtrlAuthResponseApiCallHandler
         Integer linstorVersionMinor,
         Integer linstorVersionPatch,
         List<ExtToolsInfo> externalToolsInfoList,
+        byte[] stltStateDigest,
         boolean waitForFullSyncAnswerRef
     )
     {
@@ -102,6 +103,7 @@ public class CtrlAuthResponseApiCallHandler
                 linstorVersionMinor,
                 linstorVersionPatch,
                 externalToolsInfoList,
+                stltStateDigest,
                 waitForFullSyncAnswerRef
             )
         );
@@ -117,6 +119,7 @@ public class CtrlAuthResponseApiCallHandler
         Integer linstorVersionMinor,
         Integer linstorVersionPatch,
         List<ExtToolsInfo> externalToolsInfoList,
+        byte[] stltStateDigest,
         boolean waitForFullSyncAnswerRef
     )
     {
@@ -180,7 +183,8 @@ public class CtrlAuthResponseApiCallHandler
                 flux = ctrlFullSyncApiCallHandler.sendFullSync(
                     peer.getNode(),
                     expectedFullSyncId,
-                    waitForFullSyncAnswerRef
+                    waitForFullSyncAnswerRef,
+                    stltStateDigest
                 );
 
                 if (!nodeUname.equalsIgnoreCase(peer.getNode().getName().displayValue))
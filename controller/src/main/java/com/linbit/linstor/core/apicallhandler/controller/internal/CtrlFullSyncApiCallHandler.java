@@ -31,8 +31,15 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -40,13 +47,19 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
 
 @Singleton
 public class CtrlFullSyncApiCallHandler
 {
     private static final Long FULL_SYNC_RPC_ID = -1L;
+    private static final int RSC_CHUNK_SIZE = 100;
+    private static final int MAX_CONCURRENT_FULL_SYNCS = Math.max(2, Runtime.getRuntime().availableProcessors());
 
     private final ErrorReporter errorReporter;
     private final AccessContext apiCtx;
@@ -56,6 +69,11 @@ public class CtrlFullSyncApiCallHandler
     private final ReadWriteLock rscDfnMapLock;
     private final ReadWriteLock storPoolDfnMapLock;
     private final IntFullSyncResponse fullSyncResponse;
+    private final int maxConcurrentFullSyncs;
+
+    private final Deque<FullSyncSlot> waitingFullSyncs = new ArrayDeque<>();
+    // Guarded by waitingFullSyncs
+    private int runningFullSyncs = 0;
 
     @Inject
     CtrlFullSyncApiCallHandler(
@@ -68,6 +86,31 @@ public class CtrlFullSyncApiCallHandler
         @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef,
         IntFullSyncResponse fullSyncResponseRef
     )
+    {
+        this(
+            errorReporterRef,
+            apiCtxRef,
+            scopeRunnerRef,
+            interComSerializerRef,
+            nodesMapLockRef,
+            rscDfnMapLockRef,
+            storPoolDfnMapLockRef,
+            fullSyncResponseRef,
+            MAX_CONCURRENT_FULL_SYNCS
+        );
+    }
+
+    CtrlFullSyncApiCallHandler(
+        ErrorReporter errorReporterRef,
+        AccessContext apiCtxRef,
+        ScopeRunner scopeRunnerRef,
+        CtrlStltSerializer interComSerializerRef,
+        ReadWriteLock nodesMapLockRef,
+        ReadWriteLock rscDfnMapLockRef,
+        ReadWriteLock storPoolDfnMapLockRef,
+        IntFullSyncResponse fullSyncResponseRef,
+        int maxConcurrentFullSyncsRef
+    )
     {
         errorReporter = errorReporterRef;
         apiCtx = apiCtxRef;
@@ -77,14 +120,35 @@ public class CtrlFullSyncApiCallHandler
         rscDfnMapLock = rscDfnMapLockRef;
         storPoolDfnMapLock = storPoolDfnMapLockRef;
         fullSyncResponse = fullSyncResponseRef;
+        maxConcurrentFullSyncs = maxConcurrentFullSyncsRef;
     }
 
     public Flux<?> sendFullSync(Node satelliteNode, long expectedFullSyncId)
     {
-        return sendFullSync(satelliteNode, expectedFullSyncId, false);
+        return sendFullSync(satelliteNode, expectedFullSyncId, false, null);
     }
 
-    public Flux<ApiCallRc> sendFullSync(Node satelliteNode, long expectedFullSyncId, boolean waitForAnswer)
+    /**
+     * Sends the full sync in chunks of at most {@link #RSC_CHUNK_SIZE} resources. The first message contains
+     * all other objects and the first chunk of resources, all following chunks are sent as separate messages.
+     * If there is more than one chunk, the in-progress snapshots are sent with the last chunk instead of the
+     * first message. Snapshot updates are sent while the chunks are still being sent, the snapshots of the first
+     * message could otherwise revert them (e.g. bring back an ended snapshot).
+     * Each message is serialized in its own scope, so that the map locks are not held for the whole
+     * duration of large full syncs.
+     * The number of full syncs that are serialized concurrently is limited, so that satellites reconnecting
+     * at the same time (e.g. after a restart of the controller) are synchronized in turns.
+     *
+     * @param stltStateDigest The digest of the data the satellite already has, null or empty if unknown.
+     *     If it matches the data of the full sync, only a short message is sent, telling the satellite to keep
+     *     its data.
+     */
+    public Flux<ApiCallRc> sendFullSync(
+        Node satelliteNode,
+        long expectedFullSyncId,
+        boolean waitForAnswer,
+        byte[] stltStateDigest
+    )
     {
         Peer peer;
         try
@@ -95,21 +159,32 @@ public class CtrlFullSyncApiCallHandler
         {
             throw new ImplementationError(exc);
         }
-        return scopeRunner.fluxInTransactionlessScope(
-            "Send full sync",
-            LockGuard.createDeferred(
-                nodesMapLock.readLock(),
-                rscDfnMapLock.readLock(),
-                storPoolDfnMapLock.readLock(),
-                peer.getSerializerLock().writeLock()
-            ),
-            () -> sendFullSyncInScope(satelliteNode, expectedFullSyncId, waitForAnswer)
-        );
+        return admitFullSync(
+            () -> scopeRunner
+                .fluxInTransactionlessScope(
+                    "Send full sync",
+                    LockGuard.createDeferred(
+                        nodesMapLock.readLock(),
+                        rscDfnMapLock.readLock(),
+                        storPoolDfnMapLock.readLock(),
+                        peer.getSerializerLock().writeLock()
+                    ),
+                    () -> sendFullSyncInScope(satelliteNode, expectedFullSyncId, waitForAnswer, stltStateDigest)
+                )
+                .concatMap(fullSync -> sendRscChunks(fullSync).thenMany(Flux.just(fullSync)))
+            )
+            .subscribeOn(Schedulers.parallel())
+            .concatMap(fullSync -> fullSync.answers == null ? Flux.<ApiCallRc>empty() : awaitFullSyncAnswer(fullSync));
     }
 
-    private Flux<ApiCallRc> sendFullSyncInScope(Node satelliteNode, long expectedFullSyncId, boolean waitForAnswer)
+    private Flux<SentFullSync> sendFullSyncInScope(
+        Node satelliteNode,
+        long expectedFullSyncId,
+        boolean waitForAnswer,
+        byte[] stltStateDigest
+    )
     {
-        Flux<ApiCallRc> flux = Flux.empty();
+        Flux<SentFullSync> flux = Flux.empty();
         try
         {
             Set<Node> nodes = new LinkedHashSet<>();
@@ -138,10 +213,40 @@ public class CtrlFullSyncApiCallHandler
 
             snapshots.addAll(satelliteNode.getInProgressSnapshots(apiCtx));
 
+            boolean stateUnchanged = false;
+            if (stltStateDigest != null && stltStateDigest.length > 0)
+            {
+                byte[] ctrlStateDigest = interComSerializer.headerlessBuilder()
+                    .fullSyncDigest(nodes, storPools, rscs, snapshots)
+                    .build();
+                stateUnchanged = Arrays.equals(ctrlStateDigest, stltStateDigest);
+            }
+
+            List<List<Resource>> rscChunks = new ArrayList<>();
+            List<Resource> rscList = new ArrayList<>(rscs);
+            for (int chunkStart = 0; chunkStart < rscList.size(); chunkStart += RSC_CHUNK_SIZE)
+            {
+                rscChunks.add(rscList.subList(chunkStart, Math.min(chunkStart + RSC_CHUNK_SIZE, rscList.size())));
+            }
+            List<Resource> firstRscChunk = rscChunks.isEmpty() ? Collections.emptyList() : rscChunks.remove(0);
+
             Peer satellitePeer = satelliteNode.getPeer(apiCtx);
             satellitePeer.setFullSyncId(expectedFullSyncId);
 
-            errorReporter.logTrace("Sending full sync to " + satelliteNode + ".");
+            if (stateUnchanged)
+            {
+                errorReporter.logDebug(
+                    "Satellite '%s' already has the data of the full sync",
+                    satelliteNode.getName().displayValue
+                );
+                rscChunks.clear();
+            }
+            else
+            {
+                errorReporter.logTrace(
+                    "Sending full sync to " + satelliteNode + " (" + (rscChunks.size() + 1) + " messages)."
+                );
+            }
 
             CtrlStltSerializerBuilder builder;
             if (waitForAnswer)
@@ -156,48 +261,50 @@ public class CtrlFullSyncApiCallHandler
                 );
             }
 
-            byte[] data = builder
-                .fullSync(nodes, storPools, rscs, snapshots, expectedFullSyncId, FULL_SYNC_RPC_ID)
-                .build();
+            if (stateUnchanged)
+            {
+                builder.fullSyncUnchanged(expectedFullSyncId);
+            }
+            else
+            {
+                builder.fullSync(
+                    nodes,
+                    storPools,
+                    firstRscChunk,
+                    rscChunks.isEmpty() ? snapshots : Collections.emptySet(),
+                    expectedFullSyncId,
+                    FULL_SYNC_RPC_ID,
+                    rscChunks.size()
+                );
+            }
+            byte[] data = builder.build();
 
+            Flux<ByteArrayInputStream> answers = null;
             if (waitForAnswer)
             {
-                StringBuilder details = new StringBuilder();
-                ExtToolsManager extToolsManager = satellitePeer.getExtToolsManager();
-                Map<DeviceLayerKind, List<String>> unsupportedLayersWithResons =
-                    extToolsManager.getUnsupportedLayersWithReasons();
-                Map<DeviceProviderKind, List<String>> unsupportedProvidersWithResons =
-                    extToolsManager.getUnsupportedProvidersWithReasons();
-
-                details.append("Supported storage providers: ")
-                    .append(extToolsManager.getSupportedProviders().toString().toLowerCase())
-                    .append("\nSupported resource layers  : ")
-                    .append(extToolsManager.getSupportedLayers().toString().toLowerCase());
-
-                renderUnsupportedDetails(details, unsupportedProvidersWithResons, "storage providers");
-                renderUnsupportedDetails(details, unsupportedLayersWithResons, "resource layers");
-
-                flux = satellitePeer.apiCall(
+                // The first message has to be sent before the following chunks, but the answer only arrives
+                // after the satellite applied the last chunk
+                answers = satellitePeer.apiCall(
                         InternalApiConsts.API_FULL_SYNC_DATA,
                         data
                     )
-                    .concatMap(inputStream -> handleFullSyncResponse(satellitePeer, inputStream))
-                    .thenMany(
-                        Flux.just(
-                            ApiCallRcImpl.singletonApiCallRc(
-                                ApiCallRcImpl.simpleEntry(
-                                    ApiConsts.ConnectionStatus.AUTHENTICATED.getValue(),
-                                    "Node '" + satelliteNode.getName().displayValue + "' authenticated"
-                                )
-                                .setDetails(details.toString())
-                            )
-                        )
-                    );
+                    .cache();
+                answers.subscribe(
+                    ignored ->
+                    {
+                        // the answer is processed in awaitFullSyncAnswer
+                    },
+                    ignored ->
+                    {
+                        // the error is processed in awaitFullSyncAnswer
+                    }
+                );
             }
             else
             {
                 satellitePeer.sendMessage(data);
             }
+            flux = Flux.just(new SentFullSync(satelliteNode, satellitePeer, expectedFullSyncId, rscChunks, answers));
         }
         catch (AccessDeniedException accDeniedExc)
         {
@@ -213,6 +320,172 @@ public class CtrlFullSyncApiCallHandler
         return flux;
     }
 
+    private Flux<?> sendRscChunks(SentFullSync fullSync)
+    {
+        return Flux.range(0, fullSync.rscChunks.size())
+            .concatMap(chunkIdx -> scopeRunner.fluxInTransactionlessScope(
+                "Send full sync resource chunk",
+                LockGuard.createDeferred(
+                    nodesMapLock.readLock(),
+                    rscDfnMapLock.readLock(),
+                    storPoolDfnMapLock.readLock(),
+                    fullSync.peer.getSerializerLock().readLock()
+                ),
+                () -> sendRscChunkInScope(fullSync, chunkIdx)
+            ))
+            .onErrorResume(exc -> rscChunksFailed(fullSync, exc));
+    }
+
+    /**
+     * The satellite cannot complete a full sync with missing chunks. Closing the connection fails the full
+     * sync on both sides, the full sync is sent again after the reconnect.
+     */
+    private Flux<?> rscChunksFailed(SentFullSync fullSync, Throwable exc)
+    {
+        errorReporter.reportError(
+            exc,
+            null,
+            null,
+            "Failed to send a resource chunk of the full sync to satellite '" +
+                fullSync.node.getName().displayValue + "'"
+        );
+        if (fullSync.peer.getFullSyncId() == fullSync.fullSyncId)
+        {
+            fullSync.peer.closeConnection(true);
+        }
+        return Flux.empty();
+    }
+
+    private Flux<?> sendRscChunkInScope(SentFullSync fullSync, int chunkIdx)
+        throws AccessDeniedException
+    {
+        // Skip the remaining chunks if the satellite reconnected in the meantime and expects a newer full sync
+        if (fullSync.peer.getFullSyncId() == fullSync.fullSyncId)
+        {
+            List<Resource> rscChunk = fullSync.rscChunks.get(chunkIdx);
+            // Resources deleted since the first message are skipped. The satellite still has to receive the
+            // announced number of chunks, even if a chunk becomes empty.
+            List<Resource> existingRscs = new ArrayList<>(rscChunk.size());
+            for (Resource rsc : rscChunk)
+            {
+                if (!rsc.isDeleted())
+                {
+                    existingRscs.add(rsc);
+                }
+            }
+            // The snapshots are read while the last chunk is serialized, so that they include all snapshot updates
+            // that were already sent to the satellite
+            Collection<Snapshot> snapshots = chunkIdx == fullSync.rscChunks.size() - 1 ?
+                fullSync.node.getInProgressSnapshots(apiCtx) :
+                Collections.emptyList();
+            fullSync.peer.sendMessage(
+                interComSerializer
+                    .onewayBuilder(InternalApiConsts.API_FULL_SYNC_RSC_CHUNK)
+                    .fullSyncRscChunk(existingRscs, snapshots, fullSync.fullSyncId)
+                    .build()
+            );
+        }
+        return Flux.empty();
+    }
+
+    private Flux<ApiCallRc> awaitFullSyncAnswer(SentFullSync fullSync)
+    {
+        StringBuilder details = new StringBuilder();
+        ExtToolsManager extToolsManager = fullSync.peer.getExtToolsManager();
+        Map<DeviceLayerKind, List<String>> unsupportedLayersWithResons =
+            extToolsManager.getUnsupportedLayersWithReasons();
+        Map<DeviceProviderKind, List<String>> unsupportedProvidersWithResons =
+            extToolsManager.getUnsupportedProvidersWithReasons();
+
+        details.append("Supported storage providers: ")
+            .append(extToolsManager.getSupportedProviders().toString().toLowerCase())
+            .append("\nSupported resource layers  : ")
+            .append(extToolsManager.getSupportedLayers().toString().toLowerCase());
+
+        renderUnsupportedDetails(details, unsupportedProvidersWithResons, "storage providers");
+        renderUnsupportedDetails(details, unsupportedLayersWithResons, "resource layers");
+
+        return fullSync.answers
+            .concatMap(inputStream -> handleFullSyncResponse(fullSync.peer, inputStream))
+            .thenMany(
+                Flux.just(
+                    ApiCallRcImpl.singletonApiCallRc(
+                        ApiCallRcImpl.simpleEntry(
+                            ApiConsts.ConnectionStatus.AUTHENTICATED.getValue(),
+                            "Node '" + fullSync.node.getName().displayValue + "' authenticated"
+                        )
+                        .setDetails(details.toString())
+                    )
+                )
+            );
+    }
+
+    private <T> Flux<T> admitFullSync(Supplier<Flux<T>> fullSyncSupplier)
+    {
+        return Flux.defer(() ->
+        {
+            FullSyncSlot slot = new FullSyncSlot();
+            return Mono.<Void>create(slotSink -> acquireFullSyncSlot(slot, slotSink))
+                .thenMany(Flux.defer(fullSyncSupplier))
+                .doFinally(ignored -> releaseFullSyncSlot(slot));
+        });
+    }
+
+    private void acquireFullSyncSlot(FullSyncSlot slot, MonoSink<Void> slotSink)
+    {
+        boolean acquired;
+        synchronized (waitingFullSyncs)
+        {
+            slot.sink = slotSink;
+            acquired = runningFullSyncs < maxConcurrentFullSyncs;
+            if (acquired)
+            {
+                ++runningFullSyncs;
+                slot.acquired = true;
+            }
+            else
+            {
+                waitingFullSyncs.add(slot);
+            }
+        }
+        if (acquired)
+        {
+            slotSink.success();
+        }
+    }
+
+    private void releaseFullSyncSlot(FullSyncSlot slot)
+    {
+        FullSyncSlot nextSlot = null;
+        synchronized (waitingFullSyncs)
+        {
+            if (slot.acquired)
+            {
+                nextSlot = waitingFullSyncs.poll();
+                if (nextSlot == null)
+                {
+                    --runningFullSyncs;
+                }
+                else
+                {
+                    nextSlot.acquired = true;
+                }
+            }
+            else
+            {
+                // cancelled while waiting
+                waitingFullSyncs.remove(slot);
+            }
+        }
+        if (nextSlot != null)
+        {
+            // Start the next full sync on a different thread, so that the stack does not grow with the number
+            // of waiting full syncs
+            MonoSink<Void> nextSink = nextSlot.sink;
+            Schedulers.parallel().schedule(() -> nextSink.success());
+        }
+    }
+
     private Flux<byte[]> handleFullSyncResponse(Peer satellitePeerRef, InputStream inputStream)
     {
         Flux<byte[]> flux;
@@ -257,4 +530,36 @@ public class CtrlFullSyncApiCallHandler
             }
         }
     }
+
+    private static class SentFullSync
+    {
+        final Node node;
+        final Peer peer;
+        final long fullSyncId;
+        final List<List<Resource>> rscChunks;
+        // null if the answer of the satellite is not awaited
+        final Flux<ByteArrayInputStream> answers;
+
+        SentFullSync(
+            Node nodeRef,
+            Peer peerRef,
+            long fullSyncIdRef,
+            List<List<Resource>> rscChunksRef,
+            Flux<ByteArrayInputStream> answersRef
+        )
+        {
+            node = nodeRef;
+            peer = peerRef;
+            fullSyncId = fullSyncIdRef;
+            rscChunks = rscChunksRef;
+            answers = answersRef;
+        }
+    }
+
+    private static class FullSyncSlot
+    {
+        // Guarded by waitingFullSyncs
+        MonoSink<Void> sink;
+        boolean acquired;
+    }
 }
@@ -0,0 +1,360 @@
+package com.linbit.linstor.core.apicallhandler.controller.internal;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.ApiCallNoResponseException;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.proto.common.ApiCallResponseOuterClass.ApiCallResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedBatchReplyOuterClass.MsgIntChangedBatchReply;
+import com.linbit.utils.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Merges the update notifications for the same satellite into pipelined batch messages.
+ *
+ * Bulk operations such as spawning the resources of a resource group or evacuating a node notify the same
+ * satellite about many changed objects. A notification for a satellite that was not notified within the last
+ * {@link #BATCH_WINDOW_MS} is sent right away, so that a single notification is not delayed. All further
+ * notifications for that satellite that are subscribed within the window are sent as a single
+ * {@link InternalApiConsts#API_CHANGED_BATCH} message once the window ends.
+ * The satellite tags its answers with the index of the batch entry they belong to, which is used to
+ * demultiplex them back to the Flux of the individual notification.
+ * A batch that only contains one notification is sent as the original API call.
+ * Bulk operations can use {@link #coalesce(Flux)} to send all their notifications for a satellite in one batch,
+ * independent of how long it takes to subscribe to them.
+ *
+ * Deciding whether a notification is sent or added to the pending batch, and sending it, happens while holding
+ * the send lock of the satellite, so that the satellite receives the notifications in the order in which they
+ * were enqueued.
+ */
+@Singleton
+public class CtrlSatelliteUpdateBatcher
+{
+    private static final long BATCH_WINDOW_MS = 10;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final CtrlStltSerializer internalComSerializer;
+    private final ErrorReporter errorReporter;
+    private final long batchWindowMs;
+
+    // Guarded by itself
+    private final Map<Peer, PendingBatch> pendingBatches = new HashMap<>();
+    // Number of coalesce subscriptions in progress, guarded by pendingBatches
+    private int holdCount = 0;
+    // Per peer lock that is held while sending, guarded by pendingBatches. Must not be acquired while holding
+    // the lock of pendingBatches.
+    private final Map<Peer, Object> sendLocks = new WeakHashMap<>();
+
+    @Inject
+    public CtrlSatelliteUpdateBatcher(
+        CtrlStltSerializer serializerRef,
+        ErrorReporter errorReporterRef
+    )
+    {
+        this(serializerRef, errorReporterRef, BATCH_WINDOW_MS);
+    }
+
+    CtrlSatelliteUpdateBatcher(
+        CtrlStltSerializer serializerRef,
+        ErrorReporter errorReporterRef,
+        long batchWindowMsRef
+    )
+    {
+        internalComSerializer = serializerRef;
+        errorReporter = errorReporterRef;
+        batchWindowMs = batchWindowMsRef;
+    }
+
+    /**
+     * Same as {@link Peer#apiCall(String, byte[])}, except that the API call may be sent as an entry of a batch.
+     *
+     * @param apiCallName One of the API_CHANGED_* calls that are supported in a batch by the satellite
+     */
+    public Flux<ByteArrayInputStream> apiCall(Peer peer, String apiCallName, byte[] data)
+    {
+        return Flux
+            .<ByteArrayInputStream>create(fluxSink -> enqueue(peer, new PendingCall(apiCallName, data, fluxSink)))
+            .switchIfEmpty(Flux.error(new ApiCallNoResponseException()));
+    }
+
+    /**
+     * Sends the pending batch of the given peer immediately.
+     *
+     * Must be called before an update is sent to the peer without this batcher, since the satellite has to
+     * receive the updates in the order in which they were made.
+     */
+    public void flush(Peer peer)
+    {
+        synchronized (getSendLock(peer))
+        {
+            PendingBatch batch;
+            synchronized (pendingBatches)
+            {
+                batch = pendingBatches.remove(peer);
+            }
+            if (batch != null)
+            {
+                send(batch);
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the given updates. All notifications that are enqueued while subscribing are sent as one batch
+     * per satellite once the subscription is done, even if subscribing takes longer than the batch window.
+     * Batches that reach the maximum batch size are still sent immediately.
+     */
+    public <T> Flux<T> coalesce(Flux<T> updates)
+    {
+        return Flux.create(sink ->
+        {
+            synchronized (pendingBatches)
+            {
+                ++holdCount;
+            }
+            try
+            {
+                sink.onDispose(
+                    updates
+                        .subscriberContext(sink.currentContext())
+                        .subscribe(sink::next, sink::error, sink::complete)
+                );
+            }
+            finally
+            {
+                release();
+            }
+        });
+    }
+
+    private void release()
+    {
+        List<Peer> heldPeers = null;
+        synchronized (pendingBatches)
+        {
+            --holdCount;
+            if (holdCount == 0)
+            {
+                heldPeers = new ArrayList<>(pendingBatches.keySet());
+            }
+        }
+        if (heldPeers != null)
+        {
+            // Notifications enqueued in the meantime were added to the pending batches, since they still exist
+            heldPeers.forEach(this::flush);
+        }
+    }
+
+    private Object getSendLock(Peer peer)
+    {
+        synchronized (pendingBatches)
+        {
+            return sendLocks.computeIfAbsent(peer, ignored -> new Object());
+        }
+    }
+
+    private void enqueue(Peer peer, PendingCall call)
+    {
+        synchronized (getSendLock(peer))
+        {
+            boolean sendNow = false;
+            PendingBatch fullBatch = null;
+            synchronized (pendingBatches)
+            {
+                PendingBatch batch = pendingBatches.get(peer);
+                if (batch == null)
+                {
+                    PendingBatch newBatch = new PendingBatch(peer);
+                    pendingBatches.put(peer, newBatch);
+                    Schedulers.parallel().schedule(() -> flush(newBatch), batchWindowMs, TimeUnit.MILLISECONDS);
+                    batch = newBatch;
+                    // The first notification only opens the batch window, unless it is held by coalesce
+                    sendNow = holdCount == 0;
+                }
+                if (!sendNow)
+                {
+                    batch.calls.add(call);
+                    if (batch.calls.size() >= MAX_BATCH_SIZE)
+                    {
+                        pendingBatches.remove(peer);
+                        fullBatch = batch;
+                    }
+                }
+            }
+            if (sendNow)
+            {
+                sendSingle(peer, call);
+            }
+            if (fullBatch != null)
+            {
+                send(fullBatch);
+            }
+        }
+    }
+
+    private void flush(PendingBatch batch)
+    {
+        synchronized (getSendLock(batch.peer))
+        {
+            boolean pending;
+            synchronized (pendingBatches)
+            {
+                // The batch may have been sent already because it was full. Held batches are sent on release.
+                pending = holdCount == 0 && pendingBatches.remove(batch.peer, batch);
+            }
+            if (pending)
+            {
+                send(batch);
+            }
+        }
+    }
+
+    private void send(PendingBatch batch)
+    {
+        // A batch without calls only kept the batch window open, the notification that opened it was already sent
+        List<PendingCall> calls = batch.calls;
+        if (calls.size() == 1)
+        {
+            sendSingle(batch.peer, calls.get(0));
+        }
+        else
+        if (calls.size() > 1)
+        {
+            List<Pair<String, byte[]>> changes = new ArrayList<>(calls.size());
+            for (PendingCall call : calls)
+            {
+                changes.add(new Pair<>(call.apiCallName, call.data));
+            }
+            byte[] batchMessage = internalComSerializer
+                .headerlessBuilder()
+                .changedBatch(changes)
+                .build();
+
+            // The batch is not cancelled when the subscriber of a single entry cancels
+            batch.peer.apiCall(InternalApiConsts.API_CHANGED_BATCH, batchMessage)
+                .subscribe(
+                    answer -> dispatchAnswer(batch, answer),
+                    exc -> calls.forEach(call -> call.sink.error(exc)),
+                    () -> calls.forEach(call -> call.sink.complete())
+                );
+        }
+    }
+
+    private void sendSingle(Peer peer, PendingCall call)
+    {
+        Disposable subscription = peer.apiCall(call.apiCallName, call.data)
+            .subscribe(call.sink::next, call.sink::error, call.sink::complete);
+        call.sink.onDispose(subscription);
+    }
+
+    private void dispatchAnswer(PendingBatch batch, ByteArrayInputStream answer)
+    {
+        try
+        {
+            MsgIntChangedBatchReply reply = MsgIntChangedBatchReply.parseDelimitedFrom(answer);
+            int entryIdx = reply.getEntryIdx();
+            if (entryIdx < 0 || entryIdx >= batch.calls.size())
+            {
+                errorReporter.logWarning(
+                    "Peer %s answered unknown entry %d of an update batch with %d entries",
+                    batch.peer,
+                    entryIdx,
+                    batch.calls.size()
+                );
+            }
+            else
+            {
+                FluxSink<ByteArrayInputStream> sink = batch.calls.get(entryIdx).sink;
+                if (reply.getComplete())
+                {
+                    sink.complete();
+                }
+                else
+                {
+                    ApiRcException error = findError(batch.peer, answer);
+                    if (error != null)
+                    {
+                        sink.error(error);
+                    }
+                    else
+                    {
+                        sink.next(answer);
+                    }
+                }
+            }
+        }
+        catch (IOException exc)
+        {
+            throw new ImplementationError(exc);
+        }
+    }
+
+    /**
+     * Batch answers are not checked for errors when they are received, since an error of one entry must not
+     * fail the whole batch. Performs the same check as the message processor does for API_REPLY answers.
+     */
+    private static ApiRcException findError(Peer peer, ByteArrayInputStream answer)
+        throws IOException
+    {
+        ApiRcException error = null;
+        answer.mark(0);
+        while (answer.available() > 0 && error == null)
+        {
+            ApiCallResponse apiCallResponse = ApiCallResponse.parseDelimitedFrom(answer);
+            if ((apiCallResponse.getRetCode() & ApiConsts.MASK_ERROR) == ApiConsts.MASK_ERROR)
+            {
+                error = new ApiRcException(ProtoDeserializationUtils.parseApiCallRc(
+                    apiCallResponse, "(" + peer + ") "
+                ));
+            }
+        }
+        answer.reset();
+        return error;
+    }
+
+    private static class PendingBatch
+    {
+        final Peer peer;
+        final List<PendingCall> calls = new ArrayList<>();
+
+        PendingBatch(Peer peerRef)
+        {
+            peer = peerRef;
+        }
+    }
+
+    private static class PendingCall
+    {
+        final String apiCallName;
+        final byte[] data;
+        final FluxSink<ByteArrayInputStream> sink;
+
+        PendingCall(String apiCallNameRef, byte[] dataRef, FluxSink<ByteArrayInputStream> sinkRef)
+        {
+            apiCallName = apiCallNameRef;
+            data = dataRef;
+            sink = sinkRef;
+        }
+    }
+}
@@ -46,6 +46,7 @@ import reactor.util.function.Tuples;
 
 /**
  * Notifies satellites of updates, returning the responses from the deployment of these changes.
+ * Notifications for the same satellite are merged into batches by the {@link CtrlSatelliteUpdateBatcher}.
  */
 @Singleton
 public class CtrlSatelliteUpdateCaller
@@ -55,6 +56,7 @@ public class CtrlSatelliteUpdateCaller
     private final Provider<RetryResourcesTask> retryResourceTaskProvider;
     private final SatelliteConnectorImpl stltConnector;
     private final Provider<CtrlAuthenticator> ctrlAuthenticator;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
     @Inject
     private CtrlSatelliteUpdateCaller(
@@ -62,7 +64,8 @@ public class CtrlSatelliteUpdateCaller
         CtrlStltSerializer serializerRef,
         Provider<RetryResourcesTask> retryResourceTaskProviderRef,
         SatelliteConnectorImpl stltConnectorRef,
-        Provider<CtrlAuthenticator> ctrlAuthenticatorRef
+        Provider<CtrlAuthenticator> ctrlAuthenticatorRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         apiCtx = apiCtxRef;
@@ -70,6 +73,7 @@ public class CtrlSatelliteUpdateCaller
         retryResourceTaskProvider = retryResourceTaskProviderRef;
         stltConnector = stltConnectorRef;
         ctrlAuthenticator = ctrlAuthenticatorRef;
+        updateBatcher = updateBatcherRef;
     }
 
     /**
@@ -127,8 +131,9 @@ public class CtrlSatelliteUpdateCaller
         {
             NodeName nodeName = satelliteToUpdate.getName();
 
-            response = peer
+            response = updateBatcher
                 .apiCall(
+                    peer,
                     InternalApiConsts.API_CHANGED_NODE,
                     changedMessage
                 )
@@ -218,8 +223,9 @@ public class CtrlSatelliteUpdateCaller
             }
             else
             {
-                response = currentPeer
+                response = updateBatcher
                     .apiCall(
+                        currentPeer,
                         InternalApiConsts.API_CHANGED_STOR_POOL,
                         internalComSerializer
                             .headerlessBuilder()
@@ -289,8 +295,9 @@ public class CtrlSatelliteUpdateCaller
         }
         else
         {
-            response = currentPeer
+            response = updateBatcher
                 .apiCall(
+                    currentPeer,
                     InternalApiConsts.API_CHANGED_RSC,
                     internalComSerializer
                         .headerlessBuilder()
@@ -328,8 +335,9 @@ public class CtrlSatelliteUpdateCaller
         }
         else
         {
-            response = currentPeer
+            response = updateBatcher
                 .apiCall(
+                    currentPeer,
                     InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT,
                     internalComSerializer
                         .headerlessBuilder()
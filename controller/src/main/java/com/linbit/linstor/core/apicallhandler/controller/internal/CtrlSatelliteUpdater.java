@@ -33,6 +33,7 @@ public class CtrlSatelliteUpdater
 {
     private final AccessContext apiCtx;
     private final CtrlStltSerializer internalComSerializer;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
     @Inject
     private CtrlSatelliteUpdater(
@@ -40,11 +41,13 @@ public class CtrlSatelliteUpdater
         @ApiContext AccessContext apiCtxRef,
         CtrlStltSerializer serializerRef,
         @PeerContext Provider<AccessContext> peerAccCtxRef,
-        Provider<Peer> peerRef
+        Provider<Peer> peerRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         apiCtx = apiCtxRef;
         internalComSerializer = serializerRef;
+        updateBatcher = updateBatcherRef;
     }
 
     public static Collection<Node> findNodesToContact(AccessContext accCtx, Node node)
@@ -107,6 +110,7 @@ public class CtrlSatelliteUpdater
                     else
                     if (satellitePeer.isConnected())
                     {
+                        updateBatcher.flush(satellitePeer);
                         satellitePeer.sendMessage(changedMessage);
                     }
                 }
@@ -147,6 +151,7 @@ public class CtrlSatelliteUpdater
                     }
                     else
                     {
+                        updateBatcher.flush(currentPeer);
                         connected = currentPeer.sendMessage(
                             internalComSerializer
                                 .onewayBuilder(InternalApiConsts.API_CHANGED_RSC)
@@ -193,6 +198,7 @@ public class CtrlSatelliteUpdater
                 }
                 else
                 {
+                    updateBatcher.flush(satellitePeer);
                     connected = satellitePeer.sendMessage(
                         internalComSerializer
                             .onewayBuilder(InternalApiConsts.API_CHANGED_STOR_POOL)
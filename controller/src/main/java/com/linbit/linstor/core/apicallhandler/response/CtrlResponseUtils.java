@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -56,33 +57,60 @@ public class CtrlResponseUtils
             .map(namedResponse ->
                 {
                     NodeName nodeName = namedResponse.getT1();
-                    Flux<ApiCallRc> nodeResponses = namedResponse.getT2();
-
-                    Flux<ApiCallRc> extraResponses;
                     String messageFormat = nodeNames.contains(nodeName) ?
                         messageFormatThese : messageFormatOthers;
-                    if (messageFormat != null)
-                    {
-                        extraResponses = Flux.just(ApiCallRcImpl.singletonApiCallRc((ApiCallRcImpl.simpleEntry(
-                            ApiConsts.MODIFIED,
-                            MessageFormat.format(
-                                messageFormat,
-                                "'" + nodeName + "'",
-                                "'" + rscName + "'"
-                            )
-                        ))));
-                    }
-                    else
-                    {
-                        extraResponses = Flux.empty();
-                    }
-
-                    return nodeResponses.thenMany(extraResponses);
+                    return withSuccessMessage(namedResponse, rscName, messageFormat);
                 }
             )
             .transform(CtrlResponseUtils::mergeExtractingApiRcExceptions);
     }
 
+    /**
+     * Like {@link #combineResponses(Flux, ResourceName, String)}, but for the updates of several resources.
+     * The updates of all resources run concurrently and the failures of all of them are collected into a single
+     * {@link CtrlResponseUtils.DelayedApiRcException}.
+     */
+    public static Flux<ApiCallRc> combineResponses(
+        Map<ResourceName, Flux<Tuple2<NodeName, Flux<ApiCallRc>>>> responsesPerRsc,
+        String messageFormat
+    )
+    {
+        return Flux.fromIterable(responsesPerRsc.entrySet())
+            .flatMap(rscResponses -> rscResponses.getValue()
+                .map(namedResponse -> withSuccessMessage(namedResponse, rscResponses.getKey(), messageFormat))
+            )
+            .transform(CtrlResponseUtils::mergeExtractingApiRcExceptions);
+    }
+
+    private static Flux<ApiCallRc> withSuccessMessage(
+        Tuple2<NodeName, Flux<ApiCallRc>> namedResponse,
+        ResourceName rscName,
+        String messageFormat
+    )
+    {
+        NodeName nodeName = namedResponse.getT1();
+        Flux<ApiCallRc> nodeResponses = namedResponse.getT2();
+
+        Flux<ApiCallRc> extraResponses;
+        if (messageFormat != null)
+        {
+            extraResponses = Flux.just(ApiCallRcImpl.singletonApiCallRc((ApiCallRcImpl.simpleEntry(
+                ApiConsts.MODIFIED,
+                MessageFormat.format(
+                    messageFormat,
+                    "'" + nodeName + "'",
+                    "'" + rscName + "'"
+                )
+            ))));
+        }
+        else
+        {
+            extraResponses = Flux.empty();
+        }
+
+        return nodeResponses.thenMany(extraResponses);
+    }
+
     /**
      * Merge the sources, delaying failure.
      * Any {@link ApiRcException} errors are suppressed and converted into normal responses.
@@ -1,6 +1,7 @@
 package com.linbit.linstor.core.cfg;
 
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.core.LinStor;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -14,6 +15,16 @@ public class CtrlConfig extends LinstorConfig
     public static final String DEFAULT_HTTPS_LISTEN_ADDRESS = "::";
     public static final int DEFAULT_HTTP_REST_PORT = 3370;
     public static final int DEFAULT_HTTPS_REST_PORT = 3371;
+    // 0 keeps the default worker thread pool of Grizzly
+    public static final int DEFAULT_REST_WORKER_THREADS = 0;
+    public static final int DEFAULT_REST_MIN_API_THREADS = 4;
+    // The admission limits of REST requests are opt-in, 0 for no limit
+    public static final int DEFAULT_REST_MAX_CONCURRENT_READS = 0;
+    public static final int DEFAULT_REST_MAX_CONCURRENT_READS_PER_ENDPOINT = 0;
+    public static final int DEFAULT_REST_MAX_CONCURRENT_WRITES = 0;
+    public static final int DEFAULT_REST_MAX_QUEUED_READS = 8;
+    public static final int DEFAULT_REST_MAX_QUEUED_WRITES = 8;
+    public static final long DEFAULT_REST_QUEUE_TIMEOUT_MILLIS = 5000;
 
     /*
      * Database
@@ -47,6 +58,18 @@ public class CtrlConfig extends LinstorConfig
     private String restBindAddress;
     private int restBindPort;
 
+    /*
+     * REST.limits
+     */
+    private int restWorkerThreads;
+    private int restApiThreads;
+    private int restMaxConcurrentReads;
+    private int restMaxConcurrentReadsPerEndpoint;
+    private int restMaxConcurrentWrites;
+    private int restMaxQueuedReads;
+    private int restMaxQueuedWrites;
+    private long restQueueTimeoutMillis;
+
     /*
      * REST.secure
      */
@@ -93,6 +116,15 @@ public class CtrlConfig extends LinstorConfig
         setRestBindAddress(DEFAULT_HTTP_LISTEN_ADDRESS);
         setRestBindPort(DEFAULT_HTTP_REST_PORT);
 
+        setRestWorkerThreads(DEFAULT_REST_WORKER_THREADS);
+        setRestApiThreads(Math.max(DEFAULT_REST_MIN_API_THREADS, LinStor.CPU_COUNT));
+        setRestMaxConcurrentReads(DEFAULT_REST_MAX_CONCURRENT_READS);
+        setRestMaxConcurrentReadsPerEndpoint(DEFAULT_REST_MAX_CONCURRENT_READS_PER_ENDPOINT);
+        setRestMaxConcurrentWrites(DEFAULT_REST_MAX_CONCURRENT_WRITES);
+        setRestMaxQueuedReads(DEFAULT_REST_MAX_QUEUED_READS);
+        setRestMaxQueuedWrites(DEFAULT_REST_MAX_QUEUED_WRITES);
+        setRestQueueTimeoutMillis(DEFAULT_REST_QUEUE_TIMEOUT_MILLIS);
+
         setRestSecureEnabled(true);
         setRestSecureBindAddress(DEFAULT_HTTPS_LISTEN_ADDRESS);
         setRestSecureBindPort(DEFAULT_HTTPS_REST_PORT);
@@ -258,6 +290,70 @@ public class CtrlConfig extends LinstorConfig
         }
     }
 
+    public void setRestWorkerThreads(Integer restWorkerThreadsRef)
+    {
+        if (restWorkerThreadsRef != null)
+        {
+            restWorkerThreads = restWorkerThreadsRef;
+        }
+    }
+
+    public void setRestApiThreads(Integer restApiThreadsRef)
+    {
+        if (restApiThreadsRef != null)
+        {
+            restApiThreads = restApiThreadsRef;
+        }
+    }
+
+    public void setRestMaxConcurrentReads(Integer restMaxConcurrentReadsRef)
+    {
+        if (restMaxConcurrentReadsRef != null)
+        {
+            restMaxConcurrentReads = restMaxConcurrentReadsRef;
+        }
+    }
+
+    public void setRestMaxConcurrentReadsPerEndpoint(Integer restMaxConcurrentReadsPerEndpointRef)
+    {
+        if (restMaxConcurrentReadsPerEndpointRef != null)
+        {
+            restMaxConcurrentReadsPerEndpoint = restMaxConcurrentReadsPerEndpointRef;
+        }
+    }
+
+    public void setRestMaxConcurrentWrites(Integer restMaxConcurrentWritesRef)
+    {
+        if (restMaxConcurrentWritesRef != null)
+        {
+            restMaxConcurrentWrites = restMaxConcurrentWritesRef;
+        }
+    }
+
+    public void setRestMaxQueuedReads(Integer restMaxQueuedReadsRef)
+    {
+        if (restMaxQueuedReadsRef != null)
+        {
+            restMaxQueuedReads = restMaxQueuedReadsRef;
+        }
+    }
+
+    public void setRestMaxQueuedWrites(Integer restMaxQueuedWritesRef)
+    {
+        if (restMaxQueuedWritesRef != null)
+        {
+            restMaxQueuedWrites = restMaxQueuedWritesRef;
+        }
+    }
+
+    public void setRestQueueTimeoutMillis(Long restQueueTimeoutMillisRef)
+    {
+        if (restQueueTimeoutMillisRef != null)
+        {
+            restQueueTimeoutMillis = restQueueTimeoutMillisRef;
+        }
+    }
+
     public void setRestSecureEnabled(Boolean restSecureEnabledRef)
     {
         if (restSecureEnabledRef != null)
@@ -455,6 +551,55 @@ public class CtrlConfig extends LinstorConfig
         return restBindPort;
     }
 
+    public int getRestWorkerThreads()
+    {
+        return restWorkerThreads;
+    }
+
+    public int getRestApiThreads()
+    {
+        return restApiThreads;
+    }
+
+    /**
+     * @return The maximum number of concurrently processed reading REST requests, 0 for no limit
+     */
+    public int getRestMaxConcurrentReads()
+    {
+        return restMaxConcurrentReads;
+    }
+
+    /**
+     * @return The maximum number of concurrently processed reading REST requests per endpoint, 0 for no limit
+     */
+    public int getRestMaxConcurrentReadsPerEndpoint()
+    {
+        return restMaxConcurrentReadsPerEndpoint;
+    }
+
+    /**
+     * @return The maximum number of concurrently processed modifying REST requests, 0 for no limit
+     */
+    public int getRestMaxConcurrentWrites()
+    {
+        return restMaxConcurrentWrites;
+    }
+
+    public int getRestMaxQueuedReads()
+    {
+        return restMaxQueuedReads;
+    }
+
+    public int getRestMaxQueuedWrites()
+    {
+        return restMaxQueuedWrites;
+    }
+
+    public long getRestQueueTimeoutMillis()
+    {
+        return restQueueTimeoutMillis;
+    }
+
     public boolean isRestSecureEnabled()
     {
         return restSecureEnabled;
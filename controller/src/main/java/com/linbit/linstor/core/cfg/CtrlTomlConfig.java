@@ -41,6 +41,30 @@ public class CtrlTomlConfig
         }
     }
 
+    static class REST
+    {
+        private Integer worker_threads;
+        private Integer api_threads;
+        private Integer max_concurrent_reads;
+        private Integer max_concurrent_reads_per_endpoint;
+        private Integer max_concurrent_writes;
+        private Integer max_queued_reads;
+        private Integer max_queued_writes;
+        private Long queue_timeout_ms;
+
+        public void applyTo(CtrlConfig cfg)
+        {
+            cfg.setRestWorkerThreads(worker_threads);
+            cfg.setRestApiThreads(api_threads);
+            cfg.setRestMaxConcurrentReads(max_concurrent_reads);
+            cfg.setRestMaxConcurrentReadsPerEndpoint(max_concurrent_reads_per_endpoint);
+            cfg.setRestMaxConcurrentWrites(max_concurrent_writes);
+            cfg.setRestMaxQueuedReads(max_queued_reads);
+            cfg.setRestMaxQueuedWrites(max_queued_writes);
+            cfg.setRestQueueTimeoutMillis(queue_timeout_ms);
+        }
+    }
+
     static class LDAP
     {
         private Boolean enabled;
@@ -154,6 +178,7 @@ public class CtrlTomlConfig
 
     private HTTP http = new HTTP();
     private HTTPS https = new HTTPS();
+    private REST rest = new REST();
     private LDAP ldap = new LDAP();
     private DB db = new DB();
     private Logging logging = new Logging();
@@ -171,6 +196,7 @@ public class CtrlTomlConfig
     {
         http.applyTo(cfg);
         https.applyTo(cfg);
+        rest.applyTo(cfg);
         ldap.applyTo(cfg);
         db.applyTo(cfg);
         logging.applyTo(cfg);
@@ -129,6 +129,7 @@ public class ResourceStateEventHandler implements EventHandler
         ResourceName resourceName = eventIdentifierRef.getResourceName();
 
         if (inUseRef != null && inUseRef) {
+            boolean changed = false;
             // EventProcessor has already taken write lock on NodesMap
             try (LockGuard lg = lockGuardFactory.build(LockType.WRITE, LockObj.RSC_DFN_MAP))
             {
@@ -139,6 +140,7 @@ public class ResourceStateEventHandler implements EventHandler
                 {
                     flags.disableFlags(apiCtx, Flags.TIE_BREAKER);
                     flags.enableFlags(apiCtx, Resource.Flags.DRBD_DISKLESS);
+                    changed = true;
                 }
             }
             catch (AccessDeniedException exc)
@@ -149,7 +151,11 @@ public class ResourceStateEventHandler implements EventHandler
             {
                 throw new ApiDatabaseException(exc);
             }
-            ctrlTransactionHelper.commit();
+            // Events are applied in batches, avoid a database round trip for every event that changed nothing
+            if (changed)
+            {
+                ctrlTransactionHelper.commit();
+            }
         }
     }
 }
@@ -7,6 +7,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscDeleteApiHelper;
+import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateBatcher;
 import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateCaller;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.identifier.NodeName;
@@ -56,19 +57,22 @@ public class RetryResourcesTask implements Task
     private final CtrlStltSerializer serializer;
     private final CtrlRscDeleteApiHelper rscDelHelper;
     private final ErrorReporter errorReporter;
+    private final CtrlSatelliteUpdateBatcher updateBatcher;
 
     @Inject
     public RetryResourcesTask(
         @SystemContext AccessContext sysCtxRef,
         CtrlStltSerializer serializerRef,
         CtrlRscDeleteApiHelper rscDelHelperRef,
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        CtrlSatelliteUpdateBatcher updateBatcherRef
     )
     {
         sysCtx = sysCtxRef;
         serializer = serializerRef;
         rscDelHelper = rscDelHelperRef;
         errorReporter = errorReporterRef;
+        updateBatcher = updateBatcherRef;
     }
 
     public boolean add(Resource rsc, Publisher<ApiCallRc> nextStepRef)
@@ -152,7 +156,8 @@ public class RetryResourcesTask implements Task
                             nextStep = Flux.empty();
                         }
 
-                        peer.apiCall(
+                        updateBatcher.apiCall(
+                            peer,
                             InternalApiConsts.API_CHANGED_RSC,
                             serializer
                                 .headerlessBuilder()
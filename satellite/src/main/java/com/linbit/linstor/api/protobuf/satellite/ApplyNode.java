@@ -6,6 +6,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.pojo.NetInterfacePojo;
 import com.linbit.linstor.api.pojo.NodePojo;
 import com.linbit.linstor.api.pojo.NodePojo.NodeConnPojo;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.core.apicallhandler.satellite.StltApiCallHandler;
 import com.linbit.linstor.core.apis.NetInterfaceApi;
@@ -47,7 +48,9 @@ public class ApplyNode implements ApiCall
             applyNodeMsg.getFullSyncId(),
             applyNodeMsg.getUpdateId()
         );
-        apiCallHandler.applyNodeChanges(nodePojo);
+        FullSyncDigest nodeDigest = new FullSyncDigest();
+        nodeDigest.putNode(applyNodeMsg.getNode());
+        apiCallHandler.applyNodeChanges(nodePojo, nodeDigest);
     }
 
     static NodePojo asNodePojo(IntNode nodeMsg, long fullSyncId, long updateId)
@@ -12,6 +12,7 @@ import com.linbit.linstor.api.pojo.RscPojo.OtherNodeNetInterfacePojo;
 import com.linbit.linstor.api.pojo.RscPojo.OtherRscPojo;
 import com.linbit.linstor.api.pojo.VlmDfnPojo;
 import com.linbit.linstor.api.pojo.VlmPojo;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
 import com.linbit.linstor.api.protobuf.ProtoLayerUtils;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
@@ -77,7 +78,9 @@ public class ApplyRsc implements ApiCall
             applyMsg.getFullSyncId(),
             applyMsg.getUpdateId()
         );
-        apiCallHandler.applyResourceChanges(rscRawData);
+        FullSyncDigest rscDigest = new FullSyncDigest();
+        rscDigest.putRsc(applyMsg.getRsc());
+        apiCallHandler.applyResourceChanges(rscRawData, rscDigest);
     }
 
     //deserialize sync msg and put into pojo, extend rsc api and pojo!
@@ -8,6 +8,7 @@ import com.linbit.linstor.api.pojo.SnapshotDfnPojo;
 import com.linbit.linstor.api.pojo.SnapshotPojo;
 import com.linbit.linstor.api.pojo.SnapshotVlmDfnPojo;
 import com.linbit.linstor.api.pojo.SnapshotVlmPojo;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
 import com.linbit.linstor.api.protobuf.ProtoLayerUtils;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
@@ -55,7 +56,9 @@ public class ApplySnapshot implements ApiCall
             msgApplySnapshot.getFullSyncId(),
             msgApplySnapshot.getUpdateId()
         );
-        apiCallHandler.applySnapshotChanges(snapshotRaw);
+        FullSyncDigest snapshotDigest = new FullSyncDigest();
+        snapshotDigest.putSnapshot(msgApplySnapshot.getSnapshot());
+        apiCallHandler.applySnapshotChanges(snapshotRaw, snapshotDigest);
     }
 
     static SnapshotPojo asSnapshotPojo(IntSnapshot snapshot, long fullSyncId, long updateId)
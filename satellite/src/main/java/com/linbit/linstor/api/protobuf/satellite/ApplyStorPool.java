@@ -3,6 +3,7 @@ package com.linbit.linstor.api.protobuf.satellite;
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.api.ApiCall;
 import com.linbit.linstor.api.pojo.StorPoolPojo;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.core.ControllerPeerConnector;
@@ -52,7 +53,9 @@ public class ApplyStorPool implements ApiCall
             applyStorPool.getFullSyncId(),
             applyStorPool.getUpdateId()
         );
-        apiCallHandler.applyStorPoolChanges(storPoolRaw);
+        FullSyncDigest storPoolDigest = new FullSyncDigest();
+        storPoolDigest.putStorPool(applyStorPool.getStorPool());
+        apiCallHandler.applyStorPoolChanges(storPoolRaw, storPoolDigest);
     }
 
     static StorPoolPojo asStorPoolPojo(
@@ -0,0 +1,176 @@
+package com.linbit.linstor.api.protobuf.satellite;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiCallReactive;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.ApiModule;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatch;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatchEntry;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_CHANGED_BATCH,
+    description = "Called by the controller to indicate that several objects were modified"
+)
+@Singleton
+public class ChangedBatch implements ApiCallReactive
+{
+    private final ChangedNode changedNode;
+    private final ChangedRsc changedRsc;
+    private final ChangedStorPool changedStorPool;
+    private final ChangedSnapshot changedSnapshot;
+    private final CtrlStltSerializer ctrlStltSerializer;
+    private final ErrorReporter errorReporter;
+
+    @Inject
+    public ChangedBatch(
+        ChangedNode changedNodeRef,
+        ChangedRsc changedRscRef,
+        ChangedStorPool changedStorPoolRef,
+        ChangedSnapshot changedSnapshotRef,
+        CtrlStltSerializer ctrlStltSerializerRef,
+        ErrorReporter errorReporterRef
+    )
+    {
+        changedNode = changedNodeRef;
+        changedRsc = changedRscRef;
+        changedStorPool = changedStorPoolRef;
+        changedSnapshot = changedSnapshotRef;
+        ctrlStltSerializer = ctrlStltSerializerRef;
+        errorReporter = errorReporterRef;
+    }
+
+    @Override
+    public Flux<byte[]> executeReactive(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntChangedBatch msgChangedBatch = MsgIntChangedBatch.parseDelimitedFrom(msgDataIn);
+
+        // All entries are registered with the update tracker before the first answer is sent, so that
+        // the device manager applies them in as few runs as possible
+        List<Flux<ApiCallRc>> entryResponses = new ArrayList<>(msgChangedBatch.getEntriesCount());
+        for (MsgIntChangedBatchEntry entry : msgChangedBatch.getEntriesList())
+        {
+            Flux<ApiCallRc> responses;
+            try
+            {
+                responses = applyChange(entry);
+            }
+            catch (IOException | ImplementationError exc)
+            {
+                // Only the broken entry fails, the other entries of the batch are still applied
+                responses = Flux.error(exc);
+            }
+            entryResponses.add(responses);
+        }
+
+        return Mono.subscriberContext()
+            .flatMapMany(subscriberContext ->
+            {
+                Long apiCallId = subscriberContext.get(ApiModule.API_CALL_ID);
+
+                List<Flux<byte[]>> answers = new ArrayList<>(entryResponses.size());
+                for (int entryIdx = 0; entryIdx < entryResponses.size(); ++entryIdx)
+                {
+                    answers.add(answerEntry(apiCallId, entryIdx, entryResponses.get(entryIdx)));
+                }
+                return Flux.merge(answers);
+            });
+    }
+
+    private Flux<ApiCallRc> applyChange(MsgIntChangedBatchEntry entry)
+        throws IOException
+    {
+        InputStream entryDataIn = entry.getData().newInput();
+
+        Flux<ApiCallRc> responses;
+        switch (entry.getApiCall())
+        {
+            case InternalApiConsts.API_CHANGED_NODE:
+                responses = changedNode.applyChange(entryDataIn);
+                break;
+            case InternalApiConsts.API_CHANGED_RSC:
+                responses = changedRsc.applyChange(entryDataIn);
+                break;
+            case InternalApiConsts.API_CHANGED_STOR_POOL:
+                responses = changedStorPool.applyChange(entryDataIn);
+                break;
+            case InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT:
+                responses = changedSnapshot.applyChange(entryDataIn);
+                break;
+            default:
+                throw new ImplementationError(
+                    "Controller sent an unsupported API call in a batch: " + entry.getApiCall()
+                );
+        }
+        return responses;
+    }
+
+    /**
+     * Every answer is tagged with the index of its entry. The last answer of an entry marks the entry as
+     * complete, so that the controller does not have to wait for the whole batch.
+     * An entry that fails is answered with an error, which only fails the Flux of that entry on the controller.
+     */
+    private Flux<byte[]> answerEntry(Long apiCallId, int entryIdx, Flux<ApiCallRc> responses)
+    {
+        return responses
+            .onErrorResume(exc -> Flux.just(makeEntryErrorRc(entryIdx, exc)))
+            .map(apiCallRc ->
+                ctrlStltSerializer.answerBuilder(InternalApiConsts.API_CHANGED_BATCH_REPLY, apiCallId)
+                    .changedBatchReply(entryIdx, false)
+                    .apiCallRcSeries(apiCallRc)
+                    .build()
+            )
+            .concatWith(Mono.fromSupplier(() ->
+                ctrlStltSerializer.answerBuilder(InternalApiConsts.API_CHANGED_BATCH_REPLY, apiCallId)
+                    .changedBatchReply(entryIdx, true)
+                    .build()
+            ));
+    }
+
+    private ApiCallRc makeEntryErrorRc(int entryIdx, Throwable exc)
+    {
+        String errorId = errorReporter.reportError(exc);
+
+        ApiCallRc apiCallRc;
+        if (exc instanceof ApiRcException)
+        {
+            apiCallRc = new ApiCallRcImpl(((ApiRcException) exc).getApiCallRc().getEntries().stream()
+                .map(rcEntry ->
+                    ApiCallRcImpl.entryBuilder(rcEntry, null, null)
+                        .addErrorId(errorId)
+                        .build()
+                )
+                .collect(Collectors.toList())
+            );
+        }
+        else
+        {
+            apiCallRc = ApiCallRcImpl.singletonApiCallRc(ApiCallRcImpl
+                .entryBuilder(ApiConsts.FAIL_UNKNOWN_ERROR, "Failed to apply entry " + entryIdx + " of the batch")
+                .setCause(exc.getMessage())
+                .addErrorId(errorId)
+                .build()
+            );
+        }
+        return apiCallRc;
+    }
+}
@@ -3,6 +3,7 @@ package com.linbit.linstor.api.protobuf.satellite;
 import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallReactive;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.core.DeviceManager;
@@ -40,6 +41,15 @@ public class ChangedNode implements ApiCallReactive
     @Override
     public Flux<byte[]> executeReactive(InputStream msgDataIn)
         throws IOException
+    {
+        return applyChange(msgDataIn).transform(responseSerializer::transform);
+    }
+
+    /**
+     * Also used for the corresponding entries of a {@link ChangedBatch}
+     */
+    Flux<ApiCallRc> applyChange(InputStream msgDataIn)
+        throws IOException
     {
         IntObjectId nodeId = IntObjectId.parseDelimitedFrom(msgDataIn);
         String nodeNameStr = nodeId.getName();
@@ -62,7 +72,6 @@ public class ChangedNode implements ApiCallReactive
             .updateNode(
                 nodeUuid,
                 nodeName
-            )
-            .transform(responseSerializer::transform);
+            );
     }
 }
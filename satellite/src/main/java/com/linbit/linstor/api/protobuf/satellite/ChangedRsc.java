@@ -3,6 +3,7 @@ package com.linbit.linstor.api.protobuf.satellite;
 import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallReactive;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.core.ControllerPeerConnector;
@@ -44,6 +45,15 @@ public class ChangedRsc implements ApiCallReactive
     @Override
     public Flux<byte[]> executeReactive(InputStream msgDataIn)
         throws IOException
+    {
+        return applyChange(msgDataIn).transform(responseSerializer::transform);
+    }
+
+    /**
+     * Also used for the corresponding entries of a {@link ChangedBatch}
+     */
+    Flux<ApiCallRc> applyChange(InputStream msgDataIn)
+        throws IOException
     {
         IntObjectId rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
         String rscNameStr = rscId.getName();
@@ -67,7 +77,6 @@ public class ChangedRsc implements ApiCallReactive
                 rscUuid,
                 rscName,
                 controllerPeerConnector.getLocalNodeName()
-            )
-            .transform(responseSerializer::transform);
+            );
     }
 }
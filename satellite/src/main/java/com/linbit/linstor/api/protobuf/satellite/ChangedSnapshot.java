@@ -3,6 +3,7 @@ package com.linbit.linstor.api.protobuf.satellite;
 import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallReactive;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.core.DeviceManager;
@@ -41,6 +42,15 @@ public class ChangedSnapshot implements ApiCallReactive
     @Override
     public Flux<byte[]> executeReactive(InputStream msgDataIn)
         throws IOException
+    {
+        return applyChange(msgDataIn).transform(responseSerializer::transform);
+    }
+
+    /**
+     * Also used for the corresponding entries of a {@link ChangedBatch}
+     */
+    Flux<ApiCallRc> applyChange(InputStream msgDataIn)
+        throws IOException
     {
         IntObjectId rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
         IntObjectId snapshotId = IntObjectId.parseDelimitedFrom(msgDataIn);
@@ -68,7 +78,6 @@ public class ChangedSnapshot implements ApiCallReactive
                 snapshotUuid,
                 rscName,
                 snapshotName
-            )
-            .transform(responseSerializer::transform);
+            );
     }
 }
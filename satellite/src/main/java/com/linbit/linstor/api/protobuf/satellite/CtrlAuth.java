@@ -97,7 +97,8 @@ public class CtrlAuth implements ApiCall
                     LinStor.VERSION_INFO_PROVIDER.getSemanticVersion(),
                     nodeUname,
                     authResult.getExternalToolsInfoList(),
-                    authResult.getApiCallRc()
+                    authResult.getApiCallRc(),
+                    apiCallHandler.getStateDigest()
                 )
                 .build();
         }
@@ -114,5 +115,12 @@ public class CtrlAuth implements ApiCall
                 InternalApiConsts.API_AUTH_RESPONSE
             )
         );
+
+        if (authResult.isAuthenticated() && auth.getMessageCompression())
+        {
+            // The auth response itself was sent uncompressed. The controller accepts compressed messages
+            // since it sent the auth message, which offered the compression
+            controllerPeer.enableMessageCompression();
+        }
     }
 }
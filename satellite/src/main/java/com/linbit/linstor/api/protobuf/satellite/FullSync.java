@@ -1,22 +1,23 @@
 package com.linbit.linstor.api.protobuf.satellite;
 
 import com.linbit.linstor.InternalApiConsts;
-import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.ApiCallReactive;
+import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.SpaceInfo;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
 import com.linbit.linstor.api.pojo.NodePojo;
 import com.linbit.linstor.api.pojo.RscPojo;
 import com.linbit.linstor.api.pojo.SnapshotPojo;
 import com.linbit.linstor.api.pojo.StorPoolPojo;
-import com.linbit.linstor.api.protobuf.ApiCallAnswerer;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtobufApiCall;
 import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializerBuilder;
 import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.apicallhandler.satellite.StltApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.satellite.StltApiCallHandlerUtils;
 import com.linbit.linstor.core.objects.StorPool;
-import com.linbit.linstor.logging.ErrorReporter;
-import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.proto.javainternal.c2s.IntControllerOuterClass.IntController;
 import com.linbit.linstor.proto.javainternal.c2s.IntNodeOuterClass.IntNode;
 import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
@@ -24,10 +25,12 @@ import com.linbit.linstor.proto.javainternal.c2s.IntSnapshotOuterClass;
 import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyFullSyncOuterClass.MsgIntApplyFullSync;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntFullSyncResponseOuterClass.MsgIntFullSyncResponse;
+import com.linbit.locks.LockGuard;
 import com.linbit.utils.Base64;
 import com.linbit.utils.Either;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.ByteArrayOutputStream;
@@ -40,46 +43,83 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 @ProtobufApiCall(
     name = InternalApiConsts.API_FULL_SYNC_DATA,
     description = "Transfers initial data for all objects to a satellite"
 )
 @Singleton
-public class FullSync implements ApiCall
+public class FullSync implements ApiCallReactive
 {
     private final StltApiCallHandler apiCallHandler;
     private final StltApiCallHandlerUtils apiCallHandlerUtils;
-    private final ApiCallAnswerer apiCallAnswerer;
+    private final ScopeRunner scopeRunner;
+    private final CommonSerializer commonSerializer;
     private final ControllerPeerConnector controllerPeerConnector;
-    private final Provider<Peer> controllerPeerProvider;
-    private final ErrorReporter errorReporter;
+    private final Provider<Long> apiCallIdProvider;
 
     @Inject
     public FullSync(
         StltApiCallHandler apiCallHandlerRef,
         StltApiCallHandlerUtils apiCallHandlerUtilsRef,
-        ApiCallAnswerer apiCallAnswererRef,
+        ScopeRunner scopeRunnerRef,
+        CommonSerializer commonSerializerRef,
         ControllerPeerConnector controllerPeerConnectorRef,
-        Provider<Peer> controllerPeerProviderRef,
-        ErrorReporter errorReporterRef
+        @Named(ApiModule.API_CALL_ID) Provider<Long> apiCallIdProviderRef
     )
     {
         apiCallHandler = apiCallHandlerRef;
         apiCallHandlerUtils = apiCallHandlerUtilsRef;
-        apiCallAnswerer = apiCallAnswererRef;
+        scopeRunner = scopeRunnerRef;
+        commonSerializer = commonSerializerRef;
         controllerPeerConnector = controllerPeerConnectorRef;
-        controllerPeerProvider = controllerPeerProviderRef;
-        errorReporter = errorReporterRef;
+        apiCallIdProvider = apiCallIdProviderRef;
     }
 
     @Override
-    public void execute(InputStream msgDataIn)
+    public Flux<byte[]> executeReactive(InputStream msgDataIn)
         throws IOException
     {
         MsgIntApplyFullSync applyFullSync = MsgIntApplyFullSync.parseDelimitedFrom(msgDataIn);
+        return scopeRunner.fluxInTransactionalScope(
+            "Apply full sync",
+            LockGuard.createDeferred(),
+            () -> applyFullSyncInScope(applyFullSync)
+        );
+    }
+
+    private Flux<byte[]> applyFullSyncInScope(MsgIntApplyFullSync applyFullSync)
+    {
         long fullSyncId = applyFullSync.getFullSyncTimestamp();
         long updateId = 0;
 
+        Long apiCallId = apiCallIdProvider.get();
+
+        Mono<Boolean> fullSyncResult;
+        if (applyFullSync.getStateUnchanged())
+        {
+            fullSyncResult = Mono.just(apiCallHandler.applyUnchangedFullSync(fullSyncId));
+        }
+        else
+        {
+            fullSyncResult = applyFullSyncData(applyFullSync, fullSyncId, updateId);
+        }
+
+        return fullSyncResult
+            // the last chunk completes the full sync while it is still in the scope of its own API call
+            .publishOn(Schedulers.parallel())
+            .flatMapMany(success -> scopeRunner.fluxInTransactionlessScope(
+                "Answer full sync",
+                LockGuard.createDeferred(),
+                () -> answerFullSync(apiCallId, success)
+            ));
+    }
+
+    private Mono<Boolean> applyFullSyncData(MsgIntApplyFullSync applyFullSync, long fullSyncId, long updateId)
+    {
         IntController msgIntControllerData = applyFullSync.getCtrl();
         Set<NodePojo> nodes = new TreeSet<>(asNodes(applyFullSync.getNodesList(), fullSyncId, updateId));
         Set<StorPoolPojo> storPools = new TreeSet<>(asStorPool(applyFullSync.getStorPoolsList(), fullSyncId, updateId));
@@ -92,16 +132,34 @@ public class FullSync implements ApiCall
             )
         );
 
-        boolean success = apiCallHandler.applyFullSync(
+        byte[] cryptKey = Base64.decode(applyFullSync.getMasterKey());
+
+        FullSyncDigest fullSyncDigest = new FullSyncDigest();
+        fullSyncDigest.putController(msgIntControllerData.getPropsMap());
+        fullSyncDigest.putMasterKey(cryptKey);
+        applyFullSync.getNodesList().forEach(fullSyncDigest::putNode);
+        applyFullSync.getStorPoolsList().forEach(fullSyncDigest::putStorPool);
+        applyFullSync.getRscsList().forEach(fullSyncDigest::putRsc);
+        applyFullSync.getSnapshotsList().forEach(fullSyncDigest::putSnapshot);
+
+        // If the resources are sent in several chunks, the full sync is only answered once the last chunk
+        // was applied
+        return apiCallHandler.applyFullSync(
             msgIntControllerData.getPropsMap(),
             nodes,
             storPools,
             resources,
             snapshots,
-            applyFullSync.getFullSyncTimestamp(),
-            Base64.decode(applyFullSync.getMasterKey())
+            fullSyncId,
+            cryptKey,
+            applyFullSync.getRscChunkCount(),
+            fullSyncDigest
         );
+    }
 
+    private Flux<byte[]> answerFullSync(Long apiCallId, boolean success)
+        throws IOException
+    {
         MsgIntFullSyncResponse.Builder builder = MsgIntFullSyncResponse.newBuilder();
         builder.setSuccess(success);
         if (success)
@@ -116,11 +174,11 @@ public class FullSync implements ApiCall
         }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         builder.build().writeDelimitedTo(baos);
-        controllerPeerProvider.get().sendMessage(
-            apiCallAnswerer.answerBytes(
-                baos.toByteArray(),
-                InternalApiConsts.API_FULL_SYNC_RESPONSE
-            )
+        return Flux.just(
+            commonSerializer
+                .answerBuilder(InternalApiConsts.API_FULL_SYNC_RESPONSE, apiCallId)
+                .bytes(baos.toByteArray())
+                .build()
         );
     }
 
@@ -154,7 +212,7 @@ public class FullSync implements ApiCall
         return storPools;
     }
 
-    private ArrayList<RscPojo> asResources(
+    static ArrayList<RscPojo> asResources(
         List<IntRsc> rscsList,
         long fullSyncId,
         long updateId
@@ -168,7 +226,7 @@ public class FullSync implements ApiCall
         return rscs;
     }
 
-    private ArrayList<SnapshotPojo> asSnapshots(
+    static ArrayList<SnapshotPojo> asSnapshots(
         List<IntSnapshotOuterClass.IntSnapshot> snapshotsList,
         long fullSyncId,
         long updateId
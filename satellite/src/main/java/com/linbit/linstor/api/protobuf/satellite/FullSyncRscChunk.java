@@ -0,0 +1,51 @@
+package com.linbit.linstor.api.protobuf.satellite;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.api.pojo.SnapshotPojo;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.satellite.StltApiCallHandler;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntFullSyncRscChunkOuterClass.MsgIntFullSyncRscChunk;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.TreeSet;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_FULL_SYNC_RSC_CHUNK,
+    description = "Transfers a chunk of the resources of a full sync to a satellite"
+)
+@Singleton
+public class FullSyncRscChunk implements ApiCall
+{
+    private final StltApiCallHandler apiCallHandler;
+
+    @Inject
+    public FullSyncRscChunk(StltApiCallHandler apiCallHandlerRef)
+    {
+        apiCallHandler = apiCallHandlerRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntFullSyncRscChunk rscChunk = MsgIntFullSyncRscChunk.parseDelimitedFrom(msgDataIn);
+        long fullSyncId = rscChunk.getFullSyncTimestamp();
+
+        Set<RscPojo> resources = new TreeSet<>(FullSync.asResources(rscChunk.getRscsList(), fullSyncId, 0));
+        Set<SnapshotPojo> snapshots = new TreeSet<>(
+            FullSync.asSnapshots(rscChunk.getSnapshotsList(), fullSyncId, 0)
+        );
+        FullSyncDigest chunkDigest = new FullSyncDigest();
+        rscChunk.getRscsList().forEach(chunkDigest::putRsc);
+        rscChunk.getSnapshotsList().forEach(chunkDigest::putSnapshot);
+        apiCallHandler.applyFullSyncRscChunk(fullSyncId, resources, snapshots, chunkDigest);
+    }
+}
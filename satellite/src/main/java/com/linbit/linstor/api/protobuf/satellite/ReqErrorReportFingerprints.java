@@ -0,0 +1,57 @@
+package com.linbit.linstor.api.protobuf.satellite;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.ApiModule;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_REQUEST_ERROR_REPORT_FINGERPRINTS,
+    description = "Returns the errors that were aggregated into a single error report",
+    transactional = false
+)
+@Singleton
+public class ReqErrorReportFingerprints implements ApiCall
+{
+    private final ErrorReporter errorReporter;
+    private final CommonSerializer commonSerializer;
+    private final Provider<Peer> peerProvider;
+    private final Provider<Long> apiCallIdProvider;
+
+    @Inject
+    public ReqErrorReportFingerprints(
+        ErrorReporter errorReporterRef,
+        CommonSerializer commonSerializerRef,
+        Provider<Peer> peerProviderRef,
+        @Named(ApiModule.API_CALL_ID) Provider<Long> apiCallIdProviderRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        commonSerializer = commonSerializerRef;
+        peerProvider = peerProviderRef;
+        apiCallIdProvider = apiCallIdProviderRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        peerProvider.get().sendMessage(
+            commonSerializer
+                .answerBuilder(InternalApiConsts.API_REQUEST_ERROR_REPORT_FINGERPRINTS, apiCallIdProvider.get())
+                .errorReportFingerprints(errorReporter.getReportFingerprints())
+                .build()
+        );
+    }
+}
@@ -54,7 +54,8 @@ public class ReqErrorReports implements ApiCall
                     reqErrorReport.getWithContent(),
                     since,
                     to,
-                    new HashSet<>(reqErrorReport.getIdsList()))
+                    new HashSet<>(reqErrorReport.getIdsList()),
+                    reqErrorReport.getLimit())
         );
     }
 }
@@ -13,6 +13,7 @@ import com.linbit.linstor.propscon.Props;
 import com.linbit.linstor.storage.StorageException;
 import com.linbit.linstor.storage.layer.DeviceLayer;
 
+import java.util.Map;
 import java.util.Set;
 
 public interface DeviceManager extends DrbdStateChange, DeviceLayer.NotificationListener
@@ -29,6 +30,16 @@ public interface DeviceManager extends DrbdStateChange, DeviceLayer.Notification
     void applyChangedNodeProps(Props propsRef);
     void fullSyncApplied(Node localNode) throws StorageException;
 
+    /**
+     * Called instead of {@link #fullSyncApplied(Node)} if the controller skipped the full sync because this
+     * satellite already had the current data. The resources are only dispatched again if the last dispatch
+     * of any local resource failed or is still pending.
+     *
+     * @param spaceInfoMap The space info that is sent along with the applied notifications of the resources that
+     *     are not dispatched again. It is collected by the caller before taking the full sync locks.
+     */
+    void fullSyncUnchanged(Map<StorPool, SpaceInfo> spaceInfoMap) throws StorageException;
+
     void abortDeviceHandlers();
 
     StltUpdateTracker getUpdateTracker();
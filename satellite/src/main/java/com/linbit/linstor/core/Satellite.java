@@ -7,6 +7,7 @@ import com.linbit.ServiceName;
 import com.linbit.SystemService;
 import com.linbit.SystemServiceStartException;
 import com.linbit.drbd.DrbdVersion;
+import com.linbit.extproc.ExtCmdThreadPool;
 import com.linbit.fsevent.FileSystemWatch;
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.LinStorModule;
@@ -43,6 +44,7 @@ import com.linbit.linstor.security.Privilege;
 import com.linbit.linstor.security.SatelliteSecurityModule;
 import com.linbit.linstor.security.SecurityModule;
 import com.linbit.linstor.security.StltCoreObjProtInitializer;
+import com.linbit.linstor.storage.layer.provider.WipeHandler;
 import com.linbit.linstor.systemstarter.NetComInitializer;
 import com.linbit.linstor.systemstarter.ServiceStarter;
 import com.linbit.linstor.systemstarter.StartupInitializer;
@@ -110,6 +112,8 @@ public final class Satellite
 
     private final StltConfig stltCfg;
 
+    private final WipeHandler wipeHandler;
+
     @Inject
     public Satellite(
         ErrorReporter errorReporterRef,
@@ -127,7 +131,8 @@ public final class Satellite
         DrbdEventService drbdEventSvcRef,
         SatelliteNetComInitializer satelliteNetComInitializerRef,
         StltCoreObjProtInitializer stltCoreObjProtInitializerRef,
-        StltConfig stltCfgRef
+        StltConfig stltCfgRef,
+        WipeHandler wipeHandlerRef
     )
     {
         errorReporter = errorReporterRef;
@@ -144,6 +149,7 @@ public final class Satellite
         satelliteNetComInitializer = satelliteNetComInitializerRef;
         stltCoreObjProtInitializer = stltCoreObjProtInitializerRef;
         stltCfg = stltCfgRef;
+        wipeHandler = wipeHandlerRef;
     }
 
     public void start()
@@ -217,6 +223,7 @@ public final class Satellite
                 startOrderlist.add(new ServiceStarter(drbdEventSvc));
                 startOrderlist.add(new ServiceStarter(drbdEventPublisher));
             }
+            startOrderlist.add(new ServiceStarter(wipeHandler));
             startOrderlist.add(new ServiceStarter(devMgrService));
             startOrderlist.add(stltCoreObjProtInitializer);
             errorReporter.logInfo("Initializing main network communications service");
@@ -229,6 +236,7 @@ public final class Satellite
                 systemServicesMap.put(drbdEventSvc.getInstanceName(), drbdEventSvc);
                 systemServicesMap.put(drbdEventPublisher.getInstanceName(), drbdEventPublisher);
             }
+            systemServicesMap.put(wipeHandler.getInstanceName(), wipeHandler);
             systemServicesMap.put(devMgrService.getInstanceName(), devMgrService);
 
             applicationLifecycleManager.startSystemServices(startOrderlist);
@@ -408,6 +416,23 @@ public final class Satellite
         {
             Thread.currentThread().setName("Main");
 
+            Integer extCmdMaxConcurrent = cfg.getExtCmdMaxConcurrent();
+            if (extCmdMaxConcurrent != null)
+            {
+                if (extCmdMaxConcurrent >= 1)
+                {
+                    ExtCmdThreadPool.setMaxConcurrentChildren(extCmdMaxConcurrent);
+                }
+                else
+                {
+                    errorLog.logError(
+                        "Ignoring external_commands.max_concurrent = %d, keeping the default of %d",
+                        extCmdMaxConcurrent,
+                        ExtCmdThreadPool.DFLT_MAX_CONCURRENT_CHILDREN
+                    );
+                }
+            }
+
             errorLog.logInfo("Loading API classes started.");
             long startAPIClassLoadingTime = System.currentTimeMillis();
             ApiType apiType = new ProtobufApiType();
@@ -464,7 +489,7 @@ public final class Satellite
                 new DrbdStateModule(),
                 new ApiModule(apiType, apiCalls),
                 new ApiCallHandlerModule(),
-                new EventModule(eventSerializers, Collections.emptyList()),
+                new EventModule(eventSerializers, Collections.emptyList(), cfg.getEventBatchWindowMs()),
                 new DebugModule(),
                 new SatelliteDebugModule(),
                 new SatelliteTransactionMgrModule(),
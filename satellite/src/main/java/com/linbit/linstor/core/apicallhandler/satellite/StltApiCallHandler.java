@@ -8,6 +8,7 @@ import com.linbit.linstor.annotation.ApiContext;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.ApiModule;
+import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.api.pojo.NodePojo;
 import com.linbit.linstor.api.pojo.RscPojo;
@@ -15,6 +16,7 @@ import com.linbit.linstor.api.pojo.SnapshotPojo;
 import com.linbit.linstor.api.pojo.StorPoolPojo;
 import com.linbit.linstor.api.prop.WhitelistProps;
 import com.linbit.linstor.api.prop.WhitelistPropsReconfigurator;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.core.ApplicationLifecycleManager;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.CoreModule;
@@ -64,8 +66,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -73,13 +78,22 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
 
 import org.slf4j.event.Level;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
 
 @Singleton
 public class StltApiCallHandler
 {
+    // A pending full sync is dropped if no resource chunk arrives within this time
+    private static final long PENDING_FULL_SYNC_TIMEOUT_SECS = 120;
+
     private final ErrorReporter errorReporter;
     private final AccessContext apiCtx;
 
@@ -107,6 +121,14 @@ public class StltApiCallHandler
 
     private final TreeMap<Long, ApplyData> dataToApply;
 
+    // Full sync that still awaits resource chunks, guarded by the locks of lockForFullSync
+    private PendingFullSync pendingFullSync;
+
+    // Digest of all data received from the controller, guarded by itself
+    private final FullSyncDigest stateDigest = new FullSyncDigest();
+    // Whether the stateDigest matches the data of this satellite
+    private boolean stateDigestValid = false;
+
     private final Provider<TransactionMgr> transMgrProvider;
     private final StltSecurityObjects stltSecObj;
     private final StltCryptApiCallHelper vlmDfnHandler;
@@ -121,6 +143,7 @@ public class StltApiCallHandler
     private DrbdStateTracker drbdStateTracker;
     private DrbdEventPublisher drbdEventPublisher;
     private DrbdVersion drbdVersion;
+    private final StltApiCallHandlerUtils apiCallHandlerUtils;
 
     @Inject
     public StltApiCallHandler(
@@ -155,7 +178,8 @@ public class StltApiCallHandler
         DrbdStateTracker drbdStateTrackerRef,
         DrbdEventPublisher drbdEventPublisherRef,
         DeviceProviderMapper deviceProviderMapperRef,
-        DrbdVersion drbdVersionRef
+        DrbdVersion drbdVersionRef,
+        StltApiCallHandlerUtils apiCallHandlerUtilsRef
     )
     {
         errorReporter = errorReporterRef;
@@ -190,6 +214,7 @@ public class StltApiCallHandler
         drbdEventPublisher = drbdEventPublisherRef;
         deviceProviderMapper = deviceProviderMapperRef;
         drbdVersion = drbdVersionRef;
+        apiCallHandlerUtils = apiCallHandlerUtilsRef;
 
         dataToApply = new TreeMap<>();
     }
@@ -261,31 +286,43 @@ public class StltApiCallHandler
         return authResult;
     }
 
-    public boolean applyFullSync(
+    /**
+     * Applies a full sync. If rscChunkCount is larger than 0, the given resources are only the first chunk of
+     * resources. The remaining chunks are applied by {@link #applyFullSyncRscChunk}, the full sync is completed
+     * after the last chunk was applied. The snapshots are applied when the full sync is completed. The controller
+     * sends them with the last chunk in that case, since they may have changed while the chunks were sent.
+     *
+     * @return A Mono emitting whether the full sync was applied successfully once it is completed
+     */
+    public Mono<Boolean> applyFullSync(
         Map<String, String> satelliteProps,
         Set<NodePojo> nodes,
         Set<StorPoolPojo> storPools,
         Set<RscPojo> resources,
         Set<SnapshotPojo> snapshots,
         long fullSyncId,
-        byte[] cryptKey
+        byte[] cryptKey,
+        int rscChunkCount,
+        FullSyncDigest fullSyncDigest
     )
     {
-        boolean success = false;
-        try (
-            LockGuard ls = LockGuard.createLocked(
-                reconfigurationLock.writeLock(),
-                nodesMapLock.writeLock(),
-                rscDfnMapLock.writeLock(),
-                storPoolDfnMapLock.writeLock()
-            )
-        )
+        PendingFullSync fullSync = new PendingFullSync(fullSyncId, snapshots, cryptKey, rscChunkCount);
+        boolean failed = false;
+        try (LockGuard ls = lockForFullSync())
         {
+            if (pendingFullSync != null)
+            {
+                // the controller reconnected before the previous full sync was completed
+                pendingFullSync.result.onNext(false);
+                clearPendingFullSync();
+            }
+
             if (updateMonitor.getCurrentFullSyncId() == fullSyncId)
             {
                 // only apply this fullSync if it is newer than the last one
 
                 // clear all data
+                invalidateStateDigest();
                 nodesMap.clear();
                 rscDfnMap.clear();
                 storPoolDfnMap.clear();
@@ -321,17 +358,8 @@ public class StltApiCallHandler
                     }
                 }
 
-                for (RscPojo rsc : resources)
-                {
-                    rscHandler.applyChanges(rsc);
-                }
-
-                for (SnapshotPojo snapshot : snapshots)
-                {
-                    snapshotHandler.applyChanges(snapshot);
-                }
-
-                transMgrProvider.get().commit();
+                applyFullSyncRscs(fullSync, resources);
+                updateStateDigest(digest -> digest.putAll(fullSyncDigest));
 
                 for (NodePojo node : nodes)
                 {
@@ -343,54 +371,310 @@ public class StltApiCallHandler
                         "StorPool '" + storPool.getStorPoolName() + "' received from Controller."
                     );
                 }
-                for (RscPojo rsc : resources)
+
+                if (rscChunkCount > 0)
                 {
-                    errorReporter.logTrace("Resource '" + rsc.getName() + "' created.");
+                    errorReporter.logTrace("Waiting for %d resource chunks of the full sync", rscChunkCount);
+                    pendingFullSync = fullSync;
+                    schedulePendingFullSyncTimeout(fullSync);
                 }
-                for (SnapshotPojo snapshot : snapshots)
+                else
                 {
-                    errorReporter.logTrace("Snapshot '" + snapshot.getSnaphotDfn() + "' created.");
+                    finishFullSync(fullSync);
                 }
-                errorReporter.logTrace("Full sync with controller finished");
+            }
+            else
+            {
+                errorReporter.logWarning(
+                    "Ignored an incoming but outdated fullsync (%d, expected: %d)",
+                    fullSyncId,
+                    updateMonitor.getCurrentFullSyncId()
+                );
+                fullSync.result.onNext(true);
+            }
+        }
+        catch (Exception | ImplementationError exc)
+        {
+            errorReporter.reportError(exc);
+            failed = true;
+        }
+        if (failed)
+        {
+            fullSyncFailed(fullSync);
+        }
+        return fullSync.result;
+    }
 
-                // Atomically notify the DeviceManager to check all resources
-                Node localNode = controllerPeerConnector.getLocalNode();
-                if (localNode != null)
+    /**
+     * Applies a chunk of resources of the full sync that was started by {@link #applyFullSync}
+     */
+    public void applyFullSyncRscChunk(
+        long fullSyncId,
+        Set<RscPojo> resources,
+        Set<SnapshotPojo> snapshots,
+        FullSyncDigest chunkDigest
+    )
+    {
+        PendingFullSync failedFullSync = null;
+        try (LockGuard ls = lockForFullSync())
+        {
+            PendingFullSync fullSync = pendingFullSync;
+            if (
+                fullSync == null ||
+                fullSync.fullSyncId != fullSyncId ||
+                updateMonitor.getCurrentFullSyncId() != fullSyncId
+            )
+            {
+                errorReporter.logWarning(
+                    "Ignored an incoming but outdated fullsync resource chunk (%d, expected: %d)",
+                    fullSyncId,
+                    updateMonitor.getCurrentFullSyncId()
+                );
+            }
+            else
+            {
+                try
                 {
-                    if (deviceManager != null)
+                    applyFullSyncRscs(fullSync, resources);
+                    fullSync.snapshots.addAll(snapshots);
+                    updateStateDigest(digest -> digest.putAll(chunkDigest));
+
+                    --fullSync.remainingRscChunks;
+                    if (fullSync.remainingRscChunks == 0)
+                    {
+                        clearPendingFullSync();
+                        finishFullSync(fullSync);
+                    }
+                    else
                     {
-                        deviceManager.fullSyncApplied(localNode);
+                        schedulePendingFullSyncTimeout(fullSync);
                     }
                 }
-                else
+                catch (Exception | ImplementationError exc)
                 {
-                    errorReporter.logWarning(
-                        "No node object that represents this satellite was received from the controller"
-                    );
+                    errorReporter.reportError(exc);
+                    clearPendingFullSync();
+                    failedFullSync = fullSync;
                 }
+            }
+        }
+        if (failedFullSync != null)
+        {
+            fullSyncFailed(failedFullSync);
+        }
+    }
 
-                if (cryptKey != null && cryptKey.length > 0)
-                {
-                    stltSecObj.setCryptKey(cryptKey);
+    /**
+     * (Re-)starts the timeout of the given pending full sync. If the controller fails to send the remaining
+     * resource chunks, e.g. because it could not serialize them, the satellite would otherwise wait forever.
+     * Has to be called while holding the locks of {@link #lockForFullSync()}.
+     */
+    private void schedulePendingFullSyncTimeout(PendingFullSync fullSync)
+    {
+        if (fullSync.timeoutTask != null)
+        {
+            fullSync.timeoutTask.dispose();
+        }
+        fullSync.timeoutTask = Schedulers.parallel().schedule(
+            () -> pendingFullSyncTimedOut(fullSync),
+            PENDING_FULL_SYNC_TIMEOUT_SECS,
+            TimeUnit.SECONDS
+        );
+    }
+
+    private void pendingFullSyncTimedOut(PendingFullSync fullSync)
+    {
+        boolean timedOut;
+        try (LockGuard ls = lockForFullSync())
+        {
+            timedOut = pendingFullSync == fullSync;
+            if (timedOut)
+            {
+                pendingFullSync = null;
+            }
+        }
+        if (timedOut)
+        {
+            errorReporter.logError(
+                "Full sync %d timed out, %d resource chunks were not received within %d seconds",
+                fullSync.fullSyncId,
+                fullSync.remainingRscChunks,
+                PENDING_FULL_SYNC_TIMEOUT_SECS
+            );
+            fullSyncFailed(fullSync);
+        }
+    }
+
+    /**
+     * Has to be called while holding the locks of {@link #lockForFullSync()}.
+     */
+    private void clearPendingFullSync()
+    {
+        if (pendingFullSync != null)
+        {
+            if (pendingFullSync.timeoutTask != null)
+            {
+                pendingFullSync.timeoutTask.dispose();
+            }
+            pendingFullSync = null;
+        }
+    }
+
+    private LockGuard lockForFullSync()
+    {
+        return LockGuard.createLocked(
+            reconfigurationLock.writeLock(),
+            nodesMapLock.writeLock(),
+            rscDfnMapLock.writeLock(),
+            storPoolDfnMapLock.writeLock()
+        );
+    }
+
+    private void applyFullSyncRscs(PendingFullSync fullSync, Set<RscPojo> resources)
+        throws Exception
+    {
+        for (RscPojo rsc : resources)
+        {
+            rscHandler.applyChanges(rsc);
+        }
+
+        transMgrProvider.get().commit();
+
+        for (RscPojo rsc : resources)
+        {
+            errorReporter.logTrace("Resource '" + rsc.getName() + "' created.");
+        }
+        fullSync.resources.addAll(resources);
+    }
+
+    private void finishFullSync(PendingFullSync fullSync)
+        throws Exception
+    {
+        for (SnapshotPojo snapshot : fullSync.snapshots)
+        {
+            snapshotHandler.applyChanges(snapshot);
+        }
+
+        transMgrProvider.get().commit();
+
+        for (SnapshotPojo snapshot : fullSync.snapshots)
+        {
+            errorReporter.logTrace("Snapshot '" + snapshot.getSnaphotDfn() + "' created.");
+        }
+        errorReporter.logTrace("Full sync with controller finished");
+
+        // Atomically notify the DeviceManager to check all resources
+        Node localNode = controllerPeerConnector.getLocalNode();
+        if (localNode != null)
+        {
+            if (deviceManager != null)
+            {
+                deviceManager.fullSyncApplied(localNode);
+            }
+        }
+        else
+        {
+            errorReporter.logWarning(
+                "No node object that represents this satellite was received from the controller"
+            );
+        }
+
+        byte[] cryptKey = fullSync.cryptKey;
+        if (cryptKey != null && cryptKey.length > 0)
+        {
+            stltSecObj.setCryptKey(cryptKey);
+
+            vlmDfnHandler.decryptAllNewLuksVlmKeys(true);
+        }
+
+        whiteListPropsReconfigurator.reconfigure();
+
+        updateMonitor.setFullSyncApplied();
+        synchronized (stateDigest)
+        {
+            stateDigestValid = true;
+        }
+
+        errorReporter.logTrace("FullSync registered");
+
+        // There are no explicit controller - satellite watches.
+        // FullSync implicitly creates a watch for all events.
+        createWatchForPeer();
+
+        for (RscPojo rsc : fullSync.resources)
+        {
+            checkForAlreadyKnownResources(rsc);
+        }
+
+        fullSync.result.onNext(true);
+    }
+
+    private void fullSyncFailed(PendingFullSync fullSync)
+    {
+        // the result being false should trigger a stlt->ctrl message that the full sync failed
+
+        // sending that message should tell the controller to not send us any further data, as
+        // updates would be based on an invalid fullSync, and receiving this fullSync again
+        // would most likely cause the same exception as now.
+
+        // however, in order to avoid implementation errors of the controller, we additionally
+        // increase the fullSyncId but not telling the controller about it.
+        // even if the controller still sends us data, we will ignore them as they will look like
+        // "out-dated" data.
+        // when recreating the connection, and the controller is positive to send us an authentication
+        // message, we will again increase the fullSyncId and expect the fullSync from the controller.
+
+        // in other words: if this exception happens, either the controller or this satellite has
+        // to drop the connection (e.g. restart) in order to re-enable applying fullSyncs.
+        updateMonitor.getNextFullSyncId();
+        invalidateStateDigest();
+
+        fullSync.result.onNext(false);
+    }
+
+    /**
+     * Completes a full sync without any data. The controller only sends such a full sync if the digest of the
+     * full sync matches the digest this satellite reported during the authentication. The objects of this
+     * satellite are kept. The resources are only dispatched again if the last dispatch of any of them failed,
+     * see {@link DeviceManager#fullSyncUnchanged(Map)}.
+     */
+    public boolean applyUnchangedFullSync(long fullSyncId)
+    {
+        // As for a regular full sync, the storage pools are queried without holding the full sync locks.
+        // The storage pools are kept by an unchanged full sync, the space info is still valid afterwards.
+        Map<StorPool, SpaceInfo> spaceInfoMap = isStateDigestValid() ?
+            apiCallHandlerUtils.getSpaceInfoMap() :
+            Collections.emptyMap();
+
+        boolean success;
+        try (LockGuard ls = lockForFullSync())
+        {
+            if (pendingFullSync != null)
+            {
+                pendingFullSync.result.onNext(false);
+                clearPendingFullSync();
+            }
 
-                    vlmDfnHandler.decryptAllNewLuksVlmKeys(true);
+            if (updateMonitor.getCurrentFullSyncId() == fullSyncId)
+            {
+                if (!isStateDigestValid())
+                {
+                    throw new ImplementationError(
+                        "Controller sent an unchanged full sync, but the data of this satellite is not valid"
+                    );
                 }
 
-                whiteListPropsReconfigurator.reconfigure();
+                controllerPeerConnector.setControllerPeerToCurrentLocalNode();
+                transMgrProvider.get().commit();
 
+                deviceManager.fullSyncUnchanged(spaceInfoMap);
                 updateMonitor.setFullSyncApplied();
 
-                errorReporter.logTrace("FullSync registered");
+                errorReporter.logInfo("Full sync skipped, the data of this satellite is up to date");
 
                 // There are no explicit controller - satellite watches.
                 // FullSync implicitly creates a watch for all events.
                 createWatchForPeer();
-
-                for (RscPojo rsc : resources)
-                {
-                    checkForAlreadyKnownResources(rsc);
-                }
-
             }
             else
             {
@@ -405,26 +689,51 @@ public class StltApiCallHandler
         catch (Exception | ImplementationError exc)
         {
             errorReporter.reportError(exc);
-
+            // same as for a failed full sync, see fullSyncFailed
+            updateMonitor.getNextFullSyncId();
+            invalidateStateDigest();
             success = false;
-            // this method returning false should trigger a stlt->ctrl message that the full sync failed
+        }
+        return success;
+    }
 
-            // sending that message should tell the controller to not send us any further data, as
-            // updates would be based on an invalid fullSync, and receiving this fullSync again
-            // would most likely cause the same exception as now.
+    /**
+     * @return The digest of the data received from the controller, or an empty array if this satellite
+     *     has no valid data (e.g. after a restart or a failed update)
+     */
+    public byte[] getStateDigest()
+    {
+        byte[] digest;
+        synchronized (stateDigest)
+        {
+            digest = stateDigestValid ? stateDigest.getDigest() : new byte[0];
+        }
+        return digest;
+    }
 
-            // however, in order to avoid implementation errors of the controller, we additionally
-            // increase the fullSyncId but not telling the controller about it.
-            // even if the controller still sends us data, we will ignore them as they will look like
-            // "out-dated" data.
-            // when recreating the connection, and the controller is positive to send us an authentication
-            // message, we will again increase the fullSyncId and expect the fullSync from the controller.
+    private boolean isStateDigestValid()
+    {
+        synchronized (stateDigest)
+        {
+            return stateDigestValid;
+        }
+    }
 
-            // in other words: if this exception happens, either the controller or this satellite has
-            // to drop the connection (e.g. restart) in order to re-enable applying fullSyncs.
-            updateMonitor.getNextFullSyncId();
+    private void updateStateDigest(Consumer<FullSyncDigest> update)
+    {
+        synchronized (stateDigest)
+        {
+            update.accept(stateDigest);
+        }
+    }
+
+    private void invalidateStateDigest()
+    {
+        synchronized (stateDigest)
+        {
+            stateDigest.clear();
+            stateDigestValid = false;
         }
-        return success;
     }
 
     private void checkForAlreadyKnownResources(RscPojo rsc)
@@ -579,7 +888,7 @@ public class StltApiCallHandler
                 {
                     Files.move(
                         tmpResFileOut,
-                        Paths.get(CoreModule.CONFIG_PATH + "/linstor_common.conf"),
+                        Paths.get(CoreModule.CONFIG_PATH, ConfFileBuilder.COMMON_CONF_FILE_NAME),
                         StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
                     );
                 }
@@ -636,9 +945,9 @@ public class StltApiCallHandler
         }
     }
 
-    public void applyNodeChanges(NodePojo nodePojo)
+    public void applyNodeChanges(NodePojo nodePojo, FullSyncDigest nodeDigest)
     {
-        applyChangedData(new ApplyNode(nodePojo));
+        applyChangedData(new ApplyNode(nodePojo, nodeDigest));
     }
 
     public void applyDeletedNodeChange(
@@ -650,9 +959,9 @@ public class StltApiCallHandler
         applyChangedData(new ApplyNode(nodeName, fullSyncId, updateId));
     }
 
-    public void applyResourceChanges(RscPojo rscRawData)
+    public void applyResourceChanges(RscPojo rscRawData, FullSyncDigest rscDigest)
     {
-        applyChangedData(new ApplyRscData(rscRawData));
+        applyChangedData(new ApplyRscData(rscRawData, rscDigest));
     }
 
     public void applyDeletedResourceChange(
@@ -664,9 +973,9 @@ public class StltApiCallHandler
         applyChangedData(new ApplyRscData(rscNameStr, fullSyncId, updateId));
     }
 
-    public void applyStorPoolChanges(StorPoolPojo storPoolRaw)
+    public void applyStorPoolChanges(StorPoolPojo storPoolRaw, FullSyncDigest storPoolDigest)
     {
-        applyChangedData(new ApplyStorPool(storPoolRaw));
+        applyChangedData(new ApplyStorPool(storPoolRaw, storPoolDigest));
     }
 
     public void applyDeletedStorPoolChange(
@@ -678,9 +987,9 @@ public class StltApiCallHandler
         applyChangedData(new ApplyStorPool(storPoolNameStr, fullSyncId, updateId));
     }
 
-    public void applySnapshotChanges(SnapshotPojo snapshotRaw)
+    public void applySnapshotChanges(SnapshotPojo snapshotRaw, FullSyncDigest snapshotDigest)
     {
-        applyChangedData(new ApplySnapshot(snapshotRaw));
+        applyChangedData(new ApplySnapshot(snapshotRaw, snapshotDigest));
     }
 
     public void applyEndedSnapshotChange(String rscName, String snapshotName, long fullSyncId, long updateId)
@@ -734,6 +1043,7 @@ public class StltApiCallHandler
                         {
                             applyData.applyChange();
                         }
+                        updateStateDigest(applyData::updateStateDigest);
 
                         dataToApply.remove(nextEntry.getKey());
                         updateMonitor.awaitedUpdateApplied();
@@ -749,6 +1059,7 @@ public class StltApiCallHandler
                 catch (ImplementationError | Exception exc)
                 {
                     errorReporter.reportError(exc);
+                    invalidateStateDigest();
                     try
                     {
                         controllerPeerConnector.getLocalNode().getPeer(apiCtx).closeConnection();
@@ -787,7 +1098,8 @@ public class StltApiCallHandler
         boolean withContent,
         final Optional<Date> since,
         final Optional<Date> to,
-        final Set<String> ids
+        final Set<String> ids,
+        int limit
     )
     {
         Set<ErrorReport> errorReports = StdErrorReporter.listReports(
@@ -796,7 +1108,8 @@ public class StltApiCallHandler
             withContent,
             since,
             to,
-            ids
+            ids,
+            limit
         );
 
         return interComSerializer.answerBuilder(ApiConsts.API_LST_ERROR_REPORTS, apiCallId.get())
@@ -814,6 +1127,11 @@ public class StltApiCallHandler
         }
 
         void applyChange();
+
+        /**
+         * Records the applied change in the digest of the data received from the controller
+         */
+        void updateStateDigest(FullSyncDigest stateDigestRef);
     }
 
     private class ApplyControllerData implements ApplyData
@@ -852,18 +1170,26 @@ public class StltApiCallHandler
         {
             doApplyControllerChanges(satelliteProps);
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            stateDigestRef.putController(satelliteProps);
+        }
     }
 
     private class ApplyNode implements ApplyData
     {
         private NodePojo nodePojo;
+        private FullSyncDigest nodeDigest;
         private String deletedNodeName;
         private long fullSyncId;
         private long updateId;
 
-        ApplyNode(NodePojo nodePojoRef)
+        ApplyNode(NodePojo nodePojoRef, FullSyncDigest nodeDigestRef)
         {
             nodePojo = nodePojoRef;
+            nodeDigest = nodeDigestRef;
             deletedNodeName = null;
             this.fullSyncId = nodePojoRef.getFullSyncId();
             this.updateId = nodePojoRef.getUpdateId();
@@ -904,18 +1230,33 @@ public class StltApiCallHandler
                 }
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            if (nodePojo != null)
+            {
+                stateDigestRef.putAll(nodeDigest);
+            }
+            else
+            {
+                stateDigestRef.removeNode(deletedNodeName);
+            }
+        }
     }
 
     private class ApplyRscData implements ApplyData
     {
         private RscPojo rscPojo;
+        private FullSyncDigest rscDigest;
         private String deletedRscName;
         private long fullSyncId;
         private long updateId;
 
-        ApplyRscData(RscPojo rscPojoRef)
+        ApplyRscData(RscPojo rscPojoRef, FullSyncDigest rscDigestRef)
         {
             rscPojo = rscPojoRef;
+            rscDigest = rscDigestRef;
             fullSyncId = rscPojo.getFullSyncId();
             updateId = rscPojo.getUpdateId();
         }
@@ -964,18 +1305,33 @@ public class StltApiCallHandler
                 }
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            if (rscPojo != null)
+            {
+                stateDigestRef.putAll(rscDigest);
+            }
+            else
+            {
+                stateDigestRef.removeRsc(deletedRscName);
+            }
+        }
     }
 
     private class ApplyStorPool implements ApplyData
     {
         private StorPoolPojo storPoolPojo;
+        private FullSyncDigest storPoolDigest;
         private String deletedStorPoolName;
         private long fullSyncId;
         private long updateId;
 
-        ApplyStorPool(StorPoolPojo storPoolPojoRef)
+        ApplyStorPool(StorPoolPojo storPoolPojoRef, FullSyncDigest storPoolDigestRef)
         {
             storPoolPojo = storPoolPojoRef;
+            storPoolDigest = storPoolDigestRef;
             fullSyncId = storPoolPojo.getFullSyncId();
             updateId = storPoolPojo.getUpdateId();
         }
@@ -1019,15 +1375,30 @@ public class StltApiCallHandler
                 }
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            if (storPoolPojo != null)
+            {
+                stateDigestRef.putAll(storPoolDigest);
+            }
+            else
+            {
+                stateDigestRef.removeStorPool(deletedStorPoolName);
+            }
+        }
     }
 
     private class ApplySnapshot implements ApplyData
     {
         private final SnapshotPojo snapshotPojo;
+        private final FullSyncDigest snapshotDigest;
 
-        ApplySnapshot(SnapshotPojo snapshotPojoRef)
+        ApplySnapshot(SnapshotPojo snapshotPojoRef, FullSyncDigest snapshotDigestRef)
         {
             snapshotPojo = snapshotPojoRef;
+            snapshotDigest = snapshotDigestRef;
         }
 
         @Override
@@ -1054,6 +1425,12 @@ public class StltApiCallHandler
                 snapshotHandler.applyChanges(snapshotPojo);
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            stateDigestRef.putAll(snapshotDigest);
+        }
     }
 
     private class ApplyEndedSnapshot implements ApplyData
@@ -1100,6 +1477,12 @@ public class StltApiCallHandler
                 snapshotHandler.applyEndedSnapshot(rscName, snapshotName);
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            stateDigestRef.removeSnapshot(rscName, snapshotName);
+        }
     }
 
     private class ApplyCryptKey implements ApplyData
@@ -1143,5 +1526,30 @@ public class StltApiCallHandler
                 vlmDfnHandler.decryptAllNewLuksVlmKeys(true);
             }
         }
+
+        @Override
+        public void updateStateDigest(FullSyncDigest stateDigestRef)
+        {
+            stateDigestRef.putMasterKey(cryptKey);
+        }
+    }
+
+    private static class PendingFullSync
+    {
+        final long fullSyncId;
+        final Set<SnapshotPojo> snapshots;
+        final byte[] cryptKey;
+        final List<RscPojo> resources = new ArrayList<>();
+        final MonoProcessor<Boolean> result = MonoProcessor.create();
+        int remainingRscChunks;
+        Disposable timeoutTask;
+
+        PendingFullSync(long fullSyncIdRef, Set<SnapshotPojo> snapshotsRef, byte[] cryptKeyRef, int rscChunkCount)
+        {
+            fullSyncId = fullSyncIdRef;
+            snapshots = new TreeSet<>(snapshotsRef);
+            cryptKey = cryptKeyRef;
+            remainingRscChunks = rscChunkCount;
+        }
     }
 }
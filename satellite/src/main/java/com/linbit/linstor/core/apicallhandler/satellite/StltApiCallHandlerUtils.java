@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -254,6 +255,21 @@ public class StltApiCallHandlerUtils
         return spaceMap;
     }
 
+    /**
+     * Like {@link #getAllSpaceInfo(boolean)} for the thick storage pools, but only returns the space info
+     * of the storage pools that could be queried. The errors of the other storage pools are reported.
+     */
+    public Map<StorPool, SpaceInfo> getSpaceInfoMap()
+    {
+        Map<StorPool, SpaceInfo> spaceInfoMap = new TreeMap<>();
+
+        getAllSpaceInfo(false).forEach((storPool, either) -> either.consume(
+            spaceInfo -> spaceInfoMap.put(storPool, spaceInfo),
+            apiRcException -> errorReporter.reportError(apiRcException.getCause())
+        ));
+        return spaceInfoMap;
+    }
+
     private Either<SpaceInfo, ApiRcException> getStoragePoolSpaceInfoOrError(StorPool storPool)
     {
         Either<SpaceInfo, ApiRcException> result;
@@ -28,6 +28,11 @@ public class StltConfig extends LinstorConfig
     private String netSecureTruststorePassword;
     private String netSecureSslProtocol;
 
+    private Integer extCmdMaxConcurrent;
+
+    private Long eventCoalesceWindowMs;
+    private Long eventBatchWindowMs;
+
     public StltConfig(String[] argsRef)
     {
         super(argsRef);
@@ -46,6 +51,9 @@ public class StltConfig extends LinstorConfig
         setNetType("plain");
 
         setNetSecureSslProtocol("TLSv1.2");
+
+        setEventCoalesceWindowMs(100L);
+        setEventBatchWindowMs(50L);
     }
 
     @Override
@@ -252,4 +260,43 @@ public class StltConfig extends LinstorConfig
             netType = netTypeRef;
         }
     }
+
+    public Integer getExtCmdMaxConcurrent()
+    {
+        return extCmdMaxConcurrent;
+    }
+
+    public void setExtCmdMaxConcurrent(Integer extCmdMaxConcurrentRef)
+    {
+        if (extCmdMaxConcurrentRef != null)
+        {
+            extCmdMaxConcurrent = extCmdMaxConcurrentRef;
+        }
+    }
+
+    public Long getEventCoalesceWindowMs()
+    {
+        return eventCoalesceWindowMs;
+    }
+
+    public void setEventCoalesceWindowMs(Long eventCoalesceWindowMsRef)
+    {
+        if (eventCoalesceWindowMsRef != null)
+        {
+            eventCoalesceWindowMs = eventCoalesceWindowMsRef;
+        }
+    }
+
+    public Long getEventBatchWindowMs()
+    {
+        return eventBatchWindowMs;
+    }
+
+    public void setEventBatchWindowMs(Long eventBatchWindowMsRef)
+    {
+        if (eventBatchWindowMsRef != null)
+        {
+            eventBatchWindowMs = eventBatchWindowMsRef;
+        }
+    }
 }
@@ -43,12 +43,38 @@ public class StltTomlConfig
         }
     }
 
+    public static class ExternalCommands
+    {
+        private Integer max_concurrent;
+
+        public void applyTo(StltConfig cfg)
+        {
+            cfg.setExtCmdMaxConcurrent(max_concurrent);
+        }
+    }
+
+    public static class Events
+    {
+        private Long coalesce_window_ms;
+        private Long batch_window_ms;
+
+        public void applyTo(StltConfig cfg)
+        {
+            cfg.setEventCoalesceWindowMs(coalesce_window_ms);
+            cfg.setEventBatchWindowMs(batch_window_ms);
+        }
+    }
+
     private NETCOM netcom = new NETCOM();
     private Logging logging = new Logging();
+    private ExternalCommands external_commands = new ExternalCommands();
+    private Events events = new Events();
 
     public void applyTo(StltConfig cfg)
     {
         netcom.applyTo(cfg);
         logging.applyTo(cfg);
+        external_commands.applyTo(cfg);
+        events.applyTo(cfg);
     }
 }
@@ -23,7 +23,6 @@ import com.linbit.linstor.core.StltUpdateTrackerImpl;
 import com.linbit.linstor.core.StltUpdateTrackerImpl.UpdateBundle;
 import com.linbit.linstor.core.StltUpdateTrackerImpl.UpdateNotification;
 import com.linbit.linstor.core.UpdateMonitor;
-import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.apicallhandler.satellite.StltApiCallHandlerUtils;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceGroupName;
@@ -55,7 +54,6 @@ import com.linbit.linstor.transaction.manager.TransactionMgr;
 import com.linbit.linstor.transaction.manager.TransactionMgrUtil;
 import com.linbit.locks.AtomicSyncPoint;
 import com.linbit.locks.SyncPoint;
-import com.linbit.utils.Either;
 
 import static com.linbit.linstor.api.ApiConsts.MODIFIED;
 
@@ -143,6 +141,9 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
     private final Map<NodeName, ApiCallRc> dispatchNodeResponses = new TreeMap<>();
     private final Map<ResourceName, ApiCallRc> dispatchRscResponses = new TreeMap<>();
 
+    // Tracks resources whose last dispatch succeeded and that were not changed since
+    private final Set<ResourceName> succeededRscs = new TreeSet<>();
+
     private final Set<ResourceName> deletedRscSet = new TreeSet<>();
     private final Set<VolumeDefinition.Key> deletedVlmSet = new TreeSet<>();
     private final Set<VolumeDefinition.Key> drbdResizedVlmSet = new TreeSet<>();
@@ -456,6 +457,7 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
                 pendingDispatchRscs.computeIfAbsent(rscName, ignored -> new ArrayList<>());
             responseSinks.addAll(responseSink);
         }
+        succeededRscs.removeAll(rscSet);
         pendingResponseSinks.addAll(responseSink);
     }
 
@@ -514,6 +516,68 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         }
     }
 
+    @Override
+    public void fullSyncUnchanged(Map<StorPool, SpaceInfo> spaceInfoMap) throws StorageException
+    {
+        Node localNode = controllerPeerConnector.getLocalNode();
+        List<Resource> localRscs = new ArrayList<>();
+        boolean allSucceeded = true;
+        synchronized (sched)
+        {
+            try
+            {
+                for (ResourceDefinition rscDfn : rscDfnMap.values())
+                {
+                    Resource rsc = rscDfn.getResource(wrkCtx, localNode.getName());
+                    if (rsc != null)
+                    {
+                        localRscs.add(rsc);
+                        allSucceeded &= succeededRscs.contains(rscDfn.getName());
+                    }
+                }
+            }
+            catch (AccessDeniedException exc)
+            {
+                throw new ImplementationError(exc);
+            }
+
+            if (allSucceeded)
+            {
+                // Clear any previously valid state, the devices are not dispatched again
+                updPendingBundle.clear();
+                rcvPendingBundle.clear();
+
+                svcCondFlag.set(true);
+                sched.notify();
+            }
+        }
+
+        if (!allSucceeded)
+        {
+            // The last dispatch of some resources failed or is still pending, the controller has to learn the
+            // actual outcome. Dispatch all resources as after a normal full sync.
+            errLog.logDebug("Not all resources were applied successfully, dispatching all resources");
+            fullSyncApplied(localNode);
+        }
+        else
+        {
+            // The controller may have been restarted and does not know the runtime data of the resources yet
+            Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
+            if (ctrlPeer != null)
+            {
+                for (Resource rsc : localRscs)
+                {
+                    ctrlPeer.sendMessage(
+                        interComSerializer
+                            .onewayBuilder(InternalApiConsts.API_NOTIFY_RSC_APPLIED)
+                            .notifyResourceApplied(rsc, spaceInfoMap)
+                            .build()
+                    );
+                }
+            }
+        }
+    }
+
     @Override
     public void abortDeviceHandlers()
     {
@@ -582,6 +646,7 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
                     {
                         pendingDispatchRscs.clear();
                         pendingDispatchRscs.putAll(dispatchRscs);
+                        succeededRscs.clear();
                     }
                     devHandler.fullSyncApplied(controllerPeerConnector.getLocalNode());
                 }
@@ -1285,6 +1350,14 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         synchronized (sched)
         {
             dispatchRscResponses.put(resourceName, response);
+            if (response.hasErrors())
+            {
+                succeededRscs.remove(resourceName);
+            }
+            else
+            {
+                succeededRscs.add(resourceName);
+            }
         }
     }
 
@@ -1296,20 +1369,10 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
         if (ctrlPeer != null)
         {
-            Map<StorPool, Either<SpaceInfo, ApiRcException>> spaceInfoQueryMap =
-                apiCallHandlerUtils.getAllSpaceInfo(false);
-
-            Map<StorPool, SpaceInfo> spaceInfoMap = new TreeMap<>();
-
-            spaceInfoQueryMap.forEach((storPool, either) -> either.consume(
-                spaceInfo -> spaceInfoMap.put(storPool, spaceInfo),
-                apiRcException -> errLog.reportError(apiRcException.getCause())
-            ));
-
             ctrlPeer.sendMessage(
                 interComSerializer
                     .onewayBuilder(InternalApiConsts.API_NOTIFY_RSC_APPLIED)
-                    .notifyResourceApplied(rsc, spaceInfoMap)
+                    .notifyResourceApplied(rsc, apiCallHandlerUtils.getSpaceInfoMap())
                     .build()
             );
         }
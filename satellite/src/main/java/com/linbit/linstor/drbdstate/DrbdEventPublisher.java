@@ -4,8 +4,10 @@ import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
 import com.linbit.ServiceName;
 import com.linbit.SystemService;
+import com.linbit.linstor.core.cfg.StltConfig;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.event.LinstorTriggerableEvent;
 import com.linbit.linstor.event.ObjectIdentifier;
 import com.linbit.linstor.event.common.ConnectionStateEvent;
 import com.linbit.linstor.event.common.ResourceStateEvent;
@@ -14,11 +16,23 @@ import com.linbit.linstor.event.common.VolumeDiskStateEvent;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Publishes DRBD events as LinStor events.
+ *
+ * Resource state and volume disk state events are coalesced: A change after a quiet period is published
+ * immediately and opens a short time window. All further changes of the same object within that window
+ * result in a single event carrying the latest state, and the events of all objects changed within the
+ * window are published together at its end. Closing the event stream of an object replaces a pending
+ * value, but is never replaced itself; a value that follows the close is published after it.
  */
 @Singleton
 public class DrbdEventPublisher implements SystemService, ResourceObserver
@@ -32,10 +46,20 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     private final ResourceStateEvent resourceStateEvent;
     private final VolumeDiskStateEvent volumeDiskStateEvent;
     private final ConnectionStateEvent connectionStateEvent;
+    private final long coalesceWindowMs;
 
     private ServiceName instanceName;
     private boolean started = false;
 
+    // Values and stream closes within the current coalesce window, in the order in which they have to be
+    // published. Guards the other coalescing fields as well.
+    private final List<PendingEvent<?>> pendingEvents = new ArrayList<>();
+    // Index into pendingEvents of the latest value per object that is not followed by a stream close yet
+    private final Map<ObjectIdentifier, Integer> pendingValueIndexes = new HashMap<>();
+    private boolean windowOpen = false;
+    // Serializes flushes, so that pending events are published in order
+    private final Object flushLock = new Object();
+
     static
     {
         try
@@ -53,13 +77,32 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
         DrbdEventService drbdEventServiceRef,
         ResourceStateEvent resourceStateEventRef,
         VolumeDiskStateEvent volumeDiskStateEventRef,
-        ConnectionStateEvent connectionStateEventRef
+        ConnectionStateEvent connectionStateEventRef,
+        StltConfig stltCfgRef
+    )
+    {
+        this(
+            drbdEventServiceRef,
+            resourceStateEventRef,
+            volumeDiskStateEventRef,
+            connectionStateEventRef,
+            stltCfgRef.getEventCoalesceWindowMs()
+        );
+    }
+
+    DrbdEventPublisher(
+        DrbdEventService drbdEventServiceRef,
+        ResourceStateEvent resourceStateEventRef,
+        VolumeDiskStateEvent volumeDiskStateEventRef,
+        ConnectionStateEvent connectionStateEventRef,
+        long coalesceWindowMsRef
     )
     {
         drbdEventService = drbdEventServiceRef;
         resourceStateEvent = resourceStateEventRef;
         volumeDiskStateEvent = volumeDiskStateEventRef;
         connectionStateEvent = connectionStateEventRef;
+        coalesceWindowMs = coalesceWindowMsRef;
 
         try
         {
@@ -112,6 +155,7 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     public void shutdown()
     {
         drbdEventService.removeObserver(this);
+        flushPendingEvents();
         started = false;
     }
 
@@ -135,7 +179,11 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     {
         if (resource.isKnownByLinstor())
         {
-            resourceStateEvent.get().closeStream(ObjectIdentifier.resourceDefinition(resource.getResName()));
+            addPendingEvent(
+                resourceStateEvent.get(),
+                ObjectIdentifier.resourceDefinition(resource.getResName()),
+                null
+            );
         }
     }
 
@@ -159,8 +207,11 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     {
         if (connection == null && resource.isKnownByLinstor())
         {
-            volumeDiskStateEvent.get().closeStream(
-                ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr()));
+            addPendingEvent(
+                volumeDiskStateEvent.get(),
+                ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr()),
+                null
+            );
         }
     }
 
@@ -209,7 +260,8 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
 
     private void triggerResourceStateEvent(DrbdResource resource)
     {
-        resourceStateEvent.get().triggerEvent(
+        addPendingEvent(
+            resourceStateEvent.get(),
             ObjectIdentifier.resourceDefinition(resource.getResName()),
             determineUsageState(resource)
         );
@@ -217,12 +269,114 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
 
     private void triggerVolumeDiskStateEvent(DrbdResource resource, DrbdVolume volume)
     {
-        volumeDiskStateEvent.get().triggerEvent(
+        addPendingEvent(
+            volumeDiskStateEvent.get(),
             ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr()),
             volume.diskStateInfo()
         );
     }
 
+    /**
+     * The value is determined immediately, since the DRBD state objects keep changing on the
+     * events thread, and only publishing the value is deferred to the end of the coalesce window.
+     *
+     * @param value The new value of the event, or null to close the event stream
+     */
+    private <T> void addPendingEvent(LinstorTriggerableEvent<T> event, ObjectIdentifier objectIdentifier, T value)
+    {
+        boolean publishNow = false;
+        synchronized (pendingEvents)
+        {
+            PendingEvent<T> pendingEvent = new PendingEvent<>(event, objectIdentifier, value);
+            if (value == null)
+            {
+                // The close replaces a value that is still pending for the object. A value that follows the
+                // close is added after it and must not replace it.
+                Integer pendingIdx = pendingValueIndexes.remove(objectIdentifier);
+                if (pendingIdx == null)
+                {
+                    pendingEvents.add(pendingEvent);
+                }
+                else
+                {
+                    pendingEvents.set(pendingIdx, pendingEvent);
+                }
+            }
+            else
+            {
+                Integer pendingIdx = pendingValueIndexes.get(objectIdentifier);
+                if (pendingIdx == null)
+                {
+                    pendingValueIndexes.put(objectIdentifier, pendingEvents.size());
+                    pendingEvents.add(pendingEvent);
+                }
+                else
+                {
+                    pendingEvents.set(pendingIdx, pendingEvent);
+                }
+            }
+            if (!windowOpen)
+            {
+                windowOpen = true;
+                publishNow = true;
+            }
+        }
+        if (publishNow)
+        {
+            flushPendingEvents();
+            scheduleWindowEnd();
+        }
+    }
+
+    private void scheduleWindowEnd()
+    {
+        Mono.delay(Duration.ofMillis(coalesceWindowMs))
+            .subscribe(ignored -> closeWindow());
+    }
+
+    /**
+     * Publishes the events coalesced within the window. The window is kept open for another period as long
+     * as changes keep coming in, so that a burst of changes is published once per window.
+     */
+    private void closeWindow()
+    {
+        boolean published = flushPendingEvents();
+        boolean keepOpen;
+        synchronized (pendingEvents)
+        {
+            keepOpen = published || !pendingEvents.isEmpty();
+            windowOpen = keepOpen;
+        }
+        if (keepOpen)
+        {
+            scheduleWindowEnd();
+        }
+    }
+
+    /**
+     * @return Whether any events were published
+     */
+    private boolean flushPendingEvents()
+    {
+        boolean published;
+        synchronized (flushLock)
+        {
+            List<PendingEvent<?>> events;
+            synchronized (pendingEvents)
+            {
+                events = new ArrayList<>(pendingEvents);
+                pendingEvents.clear();
+                pendingValueIndexes.clear();
+            }
+            for (PendingEvent<?> pendingEvent : events)
+            {
+                pendingEvent.publish();
+            }
+            published = !events.isEmpty();
+        }
+        return published;
+    }
+
     private UsageState determineUsageState(DrbdResource drbdResource)
     {
         Map<VolumeNumber, DrbdVolume> volumesMap = drbdResource.getVolumesMap();
@@ -289,4 +443,30 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
         {
         }
     }
+
+    private static class PendingEvent<T>
+    {
+        private final LinstorTriggerableEvent<T> event;
+        private final ObjectIdentifier objectIdentifier;
+        private final T value;
+
+        PendingEvent(LinstorTriggerableEvent<T> eventRef, ObjectIdentifier objectIdentifierRef, T valueRef)
+        {
+            event = eventRef;
+            objectIdentifier = objectIdentifierRef;
+            value = valueRef;
+        }
+
+        void publish()
+        {
+            if (value == null)
+            {
+                event.closeStream(objectIdentifier);
+            }
+            else
+            {
+                event.triggerEvent(objectIdentifier, value);
+            }
+        }
+    }
 }
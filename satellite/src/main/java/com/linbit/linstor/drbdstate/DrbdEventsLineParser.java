@@ -0,0 +1,382 @@
+package com.linbit.linstor.drbdstate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Single-pass parser for 'drbdsetup events2' lines
+ *
+ * Each line is copied into a reusable character buffer and scanned exactly once. The action and the
+ * object type are mapped to enum constants, the keys that are evaluated by the DRBD state tracker are
+ * mapped to value slots and all other keys are skipped without creating any objects.
+ * Every value slot remembers the last value that was parsed for its key, and a new String object is only
+ * created for a value if it differs from the remembered one. Since most values of an events2 stream
+ * (resource names, roles, disk states, ...) repeat from line to line, most lines are parsed without
+ * any allocations.
+ *
+ * Instances are not thread-safe and are intended to be used by the single thread that processes
+ * an events2 stream.
+ */
+class DrbdEventsLineParser
+{
+    private static final int INIT_BUFFER_SIZE = 512;
+
+    enum Action
+    {
+        CREATE(DrbdEventsMonitor.ACTION_CREATE),
+        CHANGE(DrbdEventsMonitor.ACTION_CHANGE),
+        DESTROY(DrbdEventsMonitor.ACTION_DESTROY),
+        EXISTS(DrbdEventsMonitor.ACTION_EXISTS),
+        // Other action types, such as helper script calls, are not tracked
+        OTHER(null);
+
+        final String label;
+
+        Action(String labelRef)
+        {
+            label = labelRef;
+        }
+    }
+
+    enum ObjectType
+    {
+        RESOURCE(DrbdEventsMonitor.OBJ_RESOURCE),
+        VOLUME(DrbdEventsMonitor.OBJ_VOLUME),
+        PEER_VOLUME(DrbdEventsMonitor.OBJ_PEER_VOLUME),
+        CONNECTION(DrbdEventsMonitor.OBJ_CONNECTION),
+        END_OF_INIT(DrbdEventsMonitor.OBJ_END_OF_INIT),
+        // Other object types, such as connection paths, are not tracked
+        OTHER(null);
+
+        final String label;
+
+        ObjectType(String labelRef)
+        {
+            label = labelRef;
+        }
+    }
+
+    enum EventKey
+    {
+        RES_NAME(DrbdResource.PROP_KEY_RES_NAME),
+        ROLE(DrbdResource.PROP_KEY_ROLE),
+        SUSPENDED(DrbdResource.PROP_KEY_SUSPENDED),
+        CONNECTION(DrbdConnection.PROP_KEY_CONNECTION),
+        CONN_NAME(DrbdConnection.PROP_KEY_CONN_NAME),
+        PEER_NODE_ID(DrbdConnection.PROP_KEY_PEER_NODE_ID),
+        VOL_NR(DrbdVolume.PROP_KEY_VOL_NR),
+        MINOR(DrbdVolume.PROP_KEY_MINOR),
+        DISK(DrbdVolume.PROP_KEY_DISK),
+        PEER_DISK(DrbdVolume.PROP_KEY_PEER_DISK),
+        REPLICATION(DrbdVolume.PROP_KEY_REPLICATION),
+        CLIENT(DrbdVolume.PROP_KEY_CLIENT),
+        DONE(DrbdVolume.PROP_KEY_DONE);
+
+        final String key;
+
+        EventKey(String keyRef)
+        {
+            key = keyRef;
+        }
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final ObjectType[] OBJECT_TYPES = ObjectType.values();
+    private static final EventKey[] EVENT_KEYS = EventKey.values();
+    private static final Map<String, EventKey> EVENT_KEY_LOOKUP = new HashMap<>();
+
+    static
+    {
+        for (EventKey eventKey : EVENT_KEYS)
+        {
+            EVENT_KEY_LOOKUP.put(eventKey.key, eventKey);
+        }
+    }
+
+    private char[] lineBuffer = new char[INIT_BUFFER_SIZE];
+
+    private Action action;
+    private ObjectType objType;
+    private final String[] values = new String[EVENT_KEYS.length];
+    private final String[] lastValues = new String[EVENT_KEYS.length];
+
+    private final PropsView propsView = new PropsView();
+
+    /**
+     * Parses an events2 line that is encoded as ASCII (or UTF-8)
+     *
+     * @return false if the line is empty, true otherwise
+     */
+    boolean parse(byte[] data, int offset, int length) throws EventsSourceException
+    {
+        boolean parsed;
+        ensureCapacity(length);
+        boolean ascii = true;
+        for (int idx = 0; idx < length && ascii; ++idx)
+        {
+            byte value = data[offset + idx];
+            // Non-ASCII input is decoded as UTF-8 below
+            ascii = value >= 0;
+            lineBuffer[idx] = (char) value;
+        }
+        if (ascii)
+        {
+            parsed = parseBuffer(length);
+        }
+        else
+        {
+            parsed = parse(new String(data, offset, length, StandardCharsets.UTF_8));
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses an events2 line
+     *
+     * @return false if the line is empty, true otherwise
+     */
+    boolean parse(String line) throws EventsSourceException
+    {
+        int length = line.length();
+        ensureCapacity(length);
+        line.getChars(0, length, lineBuffer, 0);
+        return parseBuffer(length);
+    }
+
+    Action getAction()
+    {
+        return action;
+    }
+
+    ObjectType getObjectType()
+    {
+        return objType;
+    }
+
+    /**
+     * @return The value of the given key in the last parsed line, or null if the line did not contain the key
+     */
+    String getValue(EventKey eventKey)
+    {
+        return values[eventKey.ordinal()];
+    }
+
+    /**
+     * @return A read-only map view of the known key:value pairs of the last parsed line.
+     *     The view is reused and reflects the next parsed line after the next call to parse(...)
+     */
+    Map<String, String> getProps()
+    {
+        return propsView;
+    }
+
+    /**
+     * @return A copy of the known key:value pairs of the last parsed line
+     */
+    Map<String, String> copyProps()
+    {
+        return new TreeMap<>(propsView);
+    }
+
+    private boolean parseBuffer(int length) throws EventsSourceException
+    {
+        Arrays.fill(values, null);
+        action = null;
+        objType = null;
+
+        boolean parsed = false;
+        if (length > 0)
+        {
+            int pos = skipSeparators(0, length);
+            int tokenEnd = findSeparator(pos, length);
+            if (pos == tokenEnd)
+            {
+                throw new EventsSourceException("Received an event line without an action parameter");
+            }
+            action = findAction(pos, tokenEnd - pos);
+
+            pos = skipSeparators(tokenEnd, length);
+            tokenEnd = findSeparator(pos, length);
+            if (pos == tokenEnd)
+            {
+                throw new EventsSourceException("Received an event line without an object type parameter");
+            }
+            objType = findObjectType(pos, tokenEnd - pos);
+
+            pos = skipSeparators(tokenEnd, length);
+            while (pos < length)
+            {
+                tokenEnd = findSeparator(pos, length);
+                parseKeyValue(pos, tokenEnd);
+                pos = skipSeparators(tokenEnd, length);
+            }
+            parsed = true;
+        }
+        return parsed;
+    }
+
+    private void parseKeyValue(int start, int end)
+    {
+        int splitIdx = start;
+        while (splitIdx < end && lineBuffer[splitIdx] != ':')
+        {
+            ++splitIdx;
+        }
+        if (splitIdx < end)
+        {
+            EventKey eventKey = findEventKey(start, splitIdx - start);
+            if (eventKey != null)
+            {
+                int slot = eventKey.ordinal();
+                int valueStart = splitIdx + 1;
+                int valueLength = end - valueStart;
+                String value = lastValues[slot];
+                if (value == null || !regionEquals(value, valueStart, valueLength))
+                {
+                    value = new String(lineBuffer, valueStart, valueLength);
+                    lastValues[slot] = value;
+                }
+                values[slot] = value;
+            }
+        }
+    }
+
+    private Action findAction(int start, int length)
+    {
+        Action result = Action.OTHER;
+        for (Action candidate : ACTIONS)
+        {
+            if (candidate.label != null && regionEquals(candidate.label, start, length))
+            {
+                result = candidate;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private ObjectType findObjectType(int start, int length)
+    {
+        ObjectType result = ObjectType.OTHER;
+        for (ObjectType candidate : OBJECT_TYPES)
+        {
+            if (candidate.label != null && regionEquals(candidate.label, start, length))
+            {
+                result = candidate;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private EventKey findEventKey(int start, int length)
+    {
+        EventKey result = null;
+        for (EventKey candidate : EVENT_KEYS)
+        {
+            if (regionEquals(candidate.key, start, length))
+            {
+                result = candidate;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private boolean regionEquals(String str, int start, int length)
+    {
+        boolean equal = str.length() == length;
+        for (int idx = 0; idx < length && equal; ++idx)
+        {
+            equal = str.charAt(idx) == lineBuffer[start + idx];
+        }
+        return equal;
+    }
+
+    private int skipSeparators(int start, int length)
+    {
+        int pos = start;
+        while (pos < length && isSeparator(lineBuffer[pos]))
+        {
+            ++pos;
+        }
+        return pos;
+    }
+
+    private int findSeparator(int start, int length)
+    {
+        int pos = start;
+        while (pos < length && !isSeparator(lineBuffer[pos]))
+        {
+            ++pos;
+        }
+        return pos;
+    }
+
+    private static boolean isSeparator(char value)
+    {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    private void ensureCapacity(int length)
+    {
+        if (lineBuffer.length < length)
+        {
+            lineBuffer = new char[Math.max(length, lineBuffer.length * 2)];
+        }
+    }
+
+    private class PropsView extends AbstractMap<String, String>
+    {
+        @Override
+        public String get(Object key)
+        {
+            EventKey eventKey = EVENT_KEY_LOOKUP.get(key);
+            return eventKey == null ? null : values[eventKey.ordinal()];
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet()
+        {
+            List<Entry<String, String>> entries = new ArrayList<>();
+            for (EventKey eventKey : EVENT_KEYS)
+            {
+                String value = values[eventKey.ordinal()];
+                if (value != null)
+                {
+                    entries.add(new SimpleImmutableEntry<>(eventKey.key, value));
+                }
+            }
+            return new AbstractSet<Entry<String, String>>()
+            {
+                @Override
+                public Iterator<Entry<String, String>> iterator()
+                {
+                    return Collections.unmodifiableList(entries).iterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return entries.size();
+                }
+            };
+        }
+    }
+}
@@ -5,13 +5,15 @@ import com.linbit.ValueOutOfRangeException;
 import com.linbit.linstor.core.CoreModule.ResourceDefinitionMap;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.core.DrbdStateChange;
+import com.linbit.linstor.drbdstate.DrbdEventsLineParser.Action;
+import com.linbit.linstor.drbdstate.DrbdEventsLineParser.ObjectType;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.utils.Triple;
 
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.StringTokenizer;
-import java.util.TreeMap;
+
+import org.slf4j.event.Level;
 
 /**
  * Drbdsetup events monitor
@@ -43,7 +45,11 @@ public class DrbdEventsMonitor
     private final ResourceDefinitionMap rscDfnMap;
 
     private boolean existsFinished = false;
-    private final LinkedList<Triple<String, String, Map<String, String>>> duringExistsQueue = new LinkedList<>();
+    private final LinkedList<Triple<Action, ObjectType, Map<String, String>>> duringExistsQueue =
+        new LinkedList<>();
+
+    // Reused for every event line
+    private final DrbdEventsLineParser lineParser = new DrbdEventsLineParser();
 
     public DrbdEventsMonitor(
         DrbdStateTracker trackerRef,
@@ -67,66 +73,68 @@ public class DrbdEventsMonitor
         }
         errorReporter.logTrace("DRBD 'events2': %s", eventString);
 
-        // Skip empty lines
-        if (!eventString.isEmpty())
+        if (lineParser.parse(eventString))
         {
-            StringTokenizer tokens = new StringTokenizer(eventString, " ");
-            Map<String, String> props = new TreeMap<>();
+            processParsedEvent();
+        }
+    }
 
-            if (tokens.hasMoreTokens())
-            {
-                String action = tokens.nextToken();
-                if (tokens.hasMoreTokens())
-                {
-                    String objType = tokens.nextToken();
-                    while (tokens.hasMoreTokens())
-                    {
-                        String kvPair = tokens.nextToken();
-                        int splitIdx = kvPair.indexOf(':');
-                        if (splitIdx != -1)
-                        {
-                            String key = kvPair.substring(0, splitIdx);
-                            String value = kvPair.substring(splitIdx + 1);
-                            props.put(key, value);
-                        }
-                    }
+    /**
+     * Same as {@link #receiveEvent(String)}, but parses the event line directly from the raw output
+     * of 'drbdsetup events2', without creating a String for the line
+     */
+    public void receiveEvent(byte[] eventData) throws EventsSourceException
+    {
+        if (eventData == null)
+        {
+            throw new ImplementationError(
+                "Event data passed by caller is a null pointer",
+                new NullPointerException()
+            );
+        }
+        if (errorReporter.hasAtLeastLogLevel(Level.TRACE))
+        {
+            errorReporter.logTrace("DRBD 'events2': %s", new String(eventData));
+        }
 
-                    if (!existsFinished && !action.equals(ACTION_EXISTS))
-                    {
-                        duringExistsQueue.add(new Triple<>(action, objType, props));
-                    }
-                    else
-                    {
-                        executeAction(action, objType, props);
-                    }
-                }
-                else
-                {
-                    throw new EventsSourceException("Received an event line without an object type parameter");
-                }
-            }
-            else
-            {
-                throw new EventsSourceException("Received an event line without an action parameter");
-            }
+        if (lineParser.parse(eventData, 0, eventData.length))
+        {
+            processParsedEvent();
+        }
+    }
+
+    private void processParsedEvent() throws EventsSourceException
+    {
+        Action action = lineParser.getAction();
+        ObjectType objType = lineParser.getObjectType();
+        if (!existsFinished && action != Action.EXISTS)
+        {
+            // The parser's props view is reused for the next line, queued events need a copy
+            duringExistsQueue.add(new Triple<>(action, objType, lineParser.copyProps()));
+        }
+        else
+        {
+            executeAction(action, objType, lineParser.getProps());
         }
     }
 
-    private void executeAction(String action, String objType, Map<String, String> props) throws EventsSourceException
+    private void executeAction(Action action, ObjectType objType, Map<String, String> props)
+        throws EventsSourceException
     {
         // Select action
         switch (action)
         {
-            case ACTION_EXISTS: // fall-through
-            case ACTION_CREATE:
+            case EXISTS: // fall-through
+            case CREATE:
                 create(props, objType);
                 break;
-            case ACTION_CHANGE:
+            case CHANGE:
                 change(props, objType);
                 break;
-            case ACTION_DESTROY:
+            case DESTROY:
                 destroy(props, objType);
                 break;
+            case OTHER: // fall-through
             default:
                 // Other action type, such as a helper script call
                 // Those are not tracked
@@ -134,28 +142,28 @@ public class DrbdEventsMonitor
         }
     }
 
-    private void create(Map<String, String> props, String object) throws EventsSourceException
+    private void create(Map<String, String> props, ObjectType object) throws EventsSourceException
     {
         switch (object)
         {
-            case OBJ_RESOURCE:
+            case RESOURCE:
                 createResource(props);
                 break;
-            case OBJ_CONNECTION:
+            case CONNECTION:
                 createConnection(props);
                 break;
-            case OBJ_VOLUME:
+            case VOLUME:
                 createVolume(props);
                 break;
-            case OBJ_PEER_VOLUME:
+            case PEER_VOLUME:
                 createPeerVolume(props);
                 break;
-            case OBJ_END_OF_INIT:
+            case END_OF_INIT:
                 drbdStateAvailable();
                 if (!existsFinished)
                 {
                     existsFinished = true;
-                    for (Triple<String, String, Map<String, String>> triple : duringExistsQueue)
+                    for (Triple<Action, ObjectType, Map<String, String>> triple : duringExistsQueue)
                     {
                         executeAction(triple.objA, triple.objB, triple.objC);
                     }
@@ -191,20 +199,20 @@ public class DrbdEventsMonitor
         return stateAvailable;
     }
 
-    private void change(Map<String, String> props, String object) throws EventsSourceException
+    private void change(Map<String, String> props, ObjectType object) throws EventsSourceException
     {
         switch (object)
         {
-            case OBJ_RESOURCE:
+            case RESOURCE:
                 changeResource(props);
                 break;
-            case OBJ_CONNECTION:
+            case CONNECTION:
                 changeConnection(props);
                 break;
-            case OBJ_VOLUME:
+            case VOLUME:
                 changeVolume(props);
                 break;
-            case OBJ_PEER_VOLUME:
+            case PEER_VOLUME:
                 changePeerVolume(props);
                 break;
             default:
@@ -214,20 +222,20 @@ public class DrbdEventsMonitor
         }
     }
 
-    private void destroy(Map<String, String> props, String object) throws EventsSourceException
+    private void destroy(Map<String, String> props, ObjectType object) throws EventsSourceException
     {
         switch (object)
         {
-            case OBJ_RESOURCE:
+            case RESOURCE:
                 destroyResource(props);
                 break;
-            case OBJ_CONNECTION:
+            case CONNECTION:
                 destroyConnection(props);
                 break;
-            case OBJ_VOLUME:
+            case VOLUME:
                 destroyVolume(props);
                 break;
-            case OBJ_PEER_VOLUME:
+            case PEER_VOLUME:
                 destroyPeerVolume(props);
                 break;
             default:
@@ -0,0 +1,95 @@
+package com.linbit.linstor.storage.layer.adapter.drbd;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.storage.StorageException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Digests of the .res files as they were when the last 'drbdadm adjust' succeeded, by suffixed resource name
+ *
+ * The .res files include the common DRBD configuration file (linstor_common.conf), which contains the DRBD
+ * options of the controller. Therefore the digest of a .res file also covers the content of that file. If the
+ * common configuration changes, the digests of all resources change and all resources are adjusted again.
+ *
+ * A resource without an entry has either never been adjusted by this satellite process or its last adjust failed.
+ */
+class AdjustedResFileDigests
+{
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Path commonConfFile;
+    private final Map<String, byte[]> digests = new HashMap<>();
+
+    AdjustedResFileDigests(Path commonConfFileRef)
+    {
+        commonConfFile = commonConfFileRef;
+    }
+
+    /**
+     * @return The digest of the given .res file content and the current content of the common configuration file
+     */
+    byte[] digest(byte[] resFileContent) throws StorageException
+    {
+        MessageDigest msgDigest;
+        try
+        {
+            msgDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException algoExc)
+        {
+            throw new ImplementationError(
+                "The message digest algorithm '" + DIGEST_ALGORITHM + "' is not available",
+                algoExc
+            );
+        }
+        msgDigest.update(resFileContent);
+        msgDigest.update(readCommonConf());
+        return msgDigest.digest();
+    }
+
+    boolean isAdjusted(String suffixedRscName, byte[] digest)
+    {
+        return Arrays.equals(digest, digests.get(suffixedRscName));
+    }
+
+    void adjusted(String suffixedRscName, byte[] digest)
+    {
+        digests.put(suffixedRscName, digest);
+    }
+
+    void forget(String suffixedRscName)
+    {
+        digests.remove(suffixedRscName);
+    }
+
+    private byte[] readCommonConf() throws StorageException
+    {
+        byte[] content;
+        try
+        {
+            content = Files.readAllBytes(commonConfFile);
+        }
+        catch (NoSuchFileException ignored)
+        {
+            // e.g. not yet written by this satellite
+            content = new byte[0];
+        }
+        catch (IOException ioExc)
+        {
+            throw new StorageException(
+                "Unable to read the common DRBD configuration file '" + commonConfFile + "'",
+                ioExc
+            );
+        }
+        return content;
+    }
+}
@@ -69,6 +69,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -95,6 +96,10 @@ public class DrbdLayer implements DeviceLayer
     private final Provider<DeviceHandler> resourceProcessorProvider;
     private final ExtCmdFactory extCmdFactory;
 
+    private final AdjustedResFileDigests adjustedResFileDigests = new AdjustedResFileDigests(
+        Paths.get(CoreModule.CONFIG_PATH, ConfFileBuilder.COMMON_CONF_FILE_NAME)
+    );
+
     // Number of activity log stripes for DRBD meta data; this should be replaced with a property of the
     // resource definition, a property of the volume definition, or otherwise a system-wide default
     public static final int FIXME_AL_STRIPES = 1;
@@ -484,6 +489,7 @@ public class DrbdLayer implements DeviceLayer
             errorReporter.logTrace("Deleting res file: %s ", resFile);
             Files.deleteIfExists(resFile);
             drbdRscData.setResFileExists(false);
+            adjustedResFileDigests.forget(suffixedRscName);
 
             drbdRscData.setExists(false);
             for (DrbdVlmData<Resource> drbdVlmData : drbdRscData.getVlmLayerObjects().values())
@@ -524,6 +530,7 @@ public class DrbdLayer implements DeviceLayer
             ResourceException, VolumeException
     {
         boolean contProcess = true;
+        String suffixedRscName = drbdRscData.getSuffixedResourceName();
         updateRequiresAdjust(drbdRscData);
 
         if (drbdRscData.isAdjustRequired())
@@ -567,7 +574,7 @@ public class DrbdLayer implements DeviceLayer
                     }
                 }
 
-                regenerateResFile(drbdRscData);
+                byte[] resFileDigest = regenerateResFile(drbdRscData);
 
                 // createMetaData needs rendered resFile
                 for (DrbdVlmData<Resource> drbdVlmData : createMetaData)
@@ -581,6 +588,7 @@ public class DrbdLayer implements DeviceLayer
                     {
                         if (needsResize(drbdVlmData))
                         {
+                            drbdRscData.setAdjustRequired(true);
                             drbdUtils.resize(
                                 drbdVlmData,
                                 // TODO: not sure if we should "--assume-clean" if data device is only partially
@@ -603,6 +611,7 @@ public class DrbdLayer implements DeviceLayer
                                  * If a peer is getting deleted, we issue a forget-peer (which requires
                                  * a del-peer) so that the bitmap of that peer is reset to day0
                                  */
+                                drbdRscData.setAdjustRequired(true);
                                 ExtCmdFailedException delPeerExc = null;
                                 try
                                 {
@@ -663,12 +672,29 @@ public class DrbdLayer implements DeviceLayer
                         }
                     }
 
-                    drbdUtils.adjust(
-                        drbdRscData,
-                        false,
-                        false,
-                        false
-                    );
+                    if (
+                        drbdRscData.isAdjustRequired() ||
+                            !createMetaData.isEmpty() ||
+                            !adjustedResFileDigests.isAdjusted(suffixedRscName, resFileDigest)
+                    )
+                    {
+                        // forget the digest until the adjust succeeded, so that a failed adjust is retried next time
+                        adjustedResFileDigests.forget(suffixedRscName);
+                        drbdUtils.adjust(
+                            drbdRscData,
+                            false,
+                            false,
+                            false
+                        );
+                        adjustedResFileDigests.adjusted(suffixedRscName, resFileDigest);
+                    }
+                    else
+                    {
+                        errorReporter.logTrace(
+                            "Resource file and DRBD state of resource %s unchanged, skipping adjust",
+                            suffixedRscName
+                        );
+                    }
                     drbdRscData.setAdjustRequired(false);
 
                     // set device paths
@@ -1017,10 +1043,13 @@ public class DrbdLayer implements DeviceLayer
             if (drbdRscState == null)
             {
                 drbdRscData.setExists(false);
+                drbdRscData.setAdjustRequired(true);
             }
             else
             {
                 drbdRscData.setExists(true);
+                // The live state is known, from here on only the checks below may require an adjust
+                drbdRscData.setAdjustRequired(false);
 
                 { // check drbdRole
                     DrbdResource.Role rscRole = drbdRscState.getRole();
@@ -1037,11 +1066,13 @@ public class DrbdLayer implements DeviceLayer
 
                 { // check drbd connections
                     Resource localResource = drbdRscData.getAbsResource();
+                    Set<String> expectedPeers = new HashSet<>();
                     localResource.getDefinition().streamResource(workerCtx)
                         .filter(otherRsc -> !otherRsc.equals(localResource))
                         .forEach(
                             otherRsc ->
                                 {
+                                    expectedPeers.add(otherRsc.getNode().getName().displayValue);
                                     DrbdConnection drbdConn = drbdRscState.getConnection(
                                         otherRsc.getNode().getName().displayValue
                                     );
@@ -1089,6 +1120,11 @@ public class DrbdLayer implements DeviceLayer
                                     }
                                 }
                         );
+                    if (!expectedPeers.containsAll(drbdRscState.getConnectionsMap().keySet()))
+                    {
+                        // Connection to a peer that is no longer known
+                        drbdRscData.setAdjustRequired(true);
+                    }
                 }
 
                 Map<VolumeNumber, DrbdVolume> drbdVolumes = drbdRscState.getVolumesMap();
@@ -1204,9 +1240,9 @@ public class DrbdLayer implements DeviceLayer
     {
         Resource localResource = drbdRscData.getAbsResource();
 
-        // FIXME: Temporary fix: If the NIC selection property on a storage pool is changed retrospectively,
-        //        then rewriting the DRBD resource configuration file and 'drbdadm adjust' is required,
-        //        but there is not yet a mechanism to notify the device handler to perform an adjust action.
+        // An adjust is required unless the DRBD state tracked by events2 is checked and matches the expected state.
+        // In that case, configuration changes (like a NIC selection property changed retrospectively on a storage
+        // pool) are detected by comparing the rendered .res file with the one of the last successful adjust.
         drbdRscData.setAdjustRequired(true);
 
         boolean isRscDisklessFlagSet = localResource.getStateFlags().isSet(workerCtx, Resource.Flags.DRBD_DISKLESS);
@@ -1223,7 +1259,13 @@ public class DrbdLayer implements DeviceLayer
         }
     }
 
-    private void regenerateResFile(DrbdRscData<Resource> drbdRscData)
+    /**
+     * Renders the .res file of the given resource. The file is only written, verified and moved into place if its
+     * content differs from the file of the last successful adjust (or if that file is missing).
+     *
+     * @return the digest of the rendered content, including the content of the common configuration file
+     */
+    private byte[] regenerateResFile(DrbdRscData<Resource> drbdRscData)
         throws AccessDeniedException, StorageException
     {
         Path resFile = asResourceFile(drbdRscData, false);
@@ -1236,17 +1278,44 @@ public class DrbdLayer implements DeviceLayer
             )
             .collect(Collectors.toList());
 
-        String content = new ConfFileBuilder(
+        byte[] content = new ConfFileBuilder(
             errorReporter,
             workerCtx,
             drbdRscData,
             drbdPeerRscDataList,
             whitelistProps
-        ).build();
+        ).build().getBytes();
+        byte[] contentDigest = adjustedResFileDigests.digest(content);
+
+        if (
+            adjustedResFileDigests.isAdjusted(drbdRscData.getSuffixedResourceName(), contentDigest) &&
+                Files.exists(resFile)
+        )
+        {
+            errorReporter.logTrace(
+                "Resource file %s unchanged, skipping regeneration",
+                resFile
+            );
+            drbdRscData.setResFileExists(true);
+        }
+        else
+        {
+            writeResFile(drbdRscData, resFile, tmpResFile, content);
+        }
+        return contentDigest;
+    }
 
+    private void writeResFile(
+        DrbdRscData<Resource> drbdRscData,
+        Path resFile,
+        Path tmpResFile,
+        byte[] content
+    )
+        throws StorageException
+    {
         try (FileOutputStream resFileOut = new FileOutputStream(tmpResFile.toFile()))
         {
-            resFileOut.write(content.getBytes());
+            resFileOut.write(content);
         }
         catch (IOException ioExc)
         {
@@ -1424,7 +1493,7 @@ public class DrbdLayer implements DeviceLayer
         {
             waitForValidStateForPrimary(drbdRscData);
 
-            drbdUtils.primary(drbdRscData, true, false);
+            drbdUtils.primary(drbdRscData, true, true);
             // setting to secondary because of two reasons:
             // * bug in drbdsetup: cannot down a primary resource
             // * let the user choose which satellite should be primary (or let it be handled by auto-promote)
@@ -58,6 +58,8 @@ import org.slf4j.event.Level;
 
 public class ConfFileBuilder
 {
+    public static final String COMMON_CONF_FILE_NAME = "linstor_common.conf";
+
     private static final ResourceNameComparator RESOURCE_NAME_COMPARATOR = new ResourceNameComparator();
 
     private final ErrorReporter errorReporter;
@@ -136,7 +138,7 @@ public class ConfFileBuilder
         try (Section resourceSection = new Section())
         {
             // include linstor common
-            appendLine("template-file \"linstor_common.conf\";");
+            appendLine("template-file \"" + COMMON_CONF_FILE_NAME + "\";");
 
             PriorityProps prioProps = new PriorityProps()
                 .addProps(rscDfnProps, "Resource definition (" + rscDfn.getName() + ")")
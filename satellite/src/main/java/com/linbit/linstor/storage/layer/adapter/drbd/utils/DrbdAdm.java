@@ -206,7 +206,8 @@ public class DrbdAdm
      */
     public void secondary(DrbdRscData<Resource> drbdRscData) throws ExtCmdFailedException
     {
-        simpleAdmCommand(drbdRscData, "secondary");
+        // role changes do not depend on the .res file, no need to let drbdadm parse the whole configuration
+        simpleSetupCommand(drbdRscData, (VolumeNumber) null, "secondary");
     }
 
     /**
@@ -370,27 +371,13 @@ public class DrbdAdm
     public void suspendIo(DrbdRscData<Resource> drbdRscData)
         throws ExtCmdFailedException
     {
-        execute(DRBDADM_UTIL, "suspend-io", drbdRscData.getSuffixedResourceName());
+        perMinorSetupCommand(drbdRscData, "suspend-io");
     }
 
     public void resumeIo(DrbdRscData<Resource> drbdRscData)
         throws ExtCmdFailedException
     {
-        if (drbdRscData.resFileExists())
-        {
-            execute(DRBDADM_UTIL, "resume-io", drbdRscData.getSuffixedResourceName());
-        }
-        else
-        {
-            for (DrbdVlmData<Resource> drbdVlmData : drbdRscData.getVlmLayerObjects().values())
-            {
-                execute(
-                    DRBDSETUP_UTIL,
-                    "resume-io",
-                    Integer.toString(drbdVlmData.getVlmDfnLayerObject().getMinorNr().value)
-                );
-            }
-        }
+        perMinorSetupCommand(drbdRscData, "resume-io");
     }
 
     public void waitConnectResource(DrbdRscData<Resource> drbdRscData, int timeout) throws ExtCmdFailedException
@@ -463,6 +450,23 @@ public class DrbdAdm
         execute(command);
     }
 
+    /**
+     * Calls drbdsetup directly for every minor of the given resource. Unlike drbdadm, this neither
+     * parses the configuration files nor spawns an additional drbdsetup process per operation.
+     */
+    private void perMinorSetupCommand(DrbdRscData<Resource> drbdRscData, String subCommand)
+        throws ExtCmdFailedException
+    {
+        for (DrbdVlmData<Resource> drbdVlmData : drbdRscData.getVlmLayerObjects().values())
+        {
+            execute(
+                DRBDSETUP_UTIL,
+                subCommand,
+                Integer.toString(drbdVlmData.getVlmDfnLayerObject().getMinorNr().value)
+            );
+        }
+    }
+
     private void simpleAdmCommand(DrbdRscData<Resource> drbdRscData, String subcommand) throws ExtCmdFailedException
     {
         simpleAdmCommand(drbdRscData, null, subcommand);
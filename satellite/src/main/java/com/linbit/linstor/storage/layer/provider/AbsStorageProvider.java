@@ -53,6 +53,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -335,65 +336,115 @@ public abstract class AbsStorageProvider<INFO, LAYER_DATA extends AbsStorageVlmD
     private void createVolumes(List<LAYER_DATA> vlmsToCreate, ApiCallRcImpl apiCallRc)
         throws StorageException, AccessDeniedException, DatabaseException
     {
-        for (LAYER_DATA vlmData : vlmsToCreate)
+        // issue all creations first and wait for all devices to show up afterwards, so that the udev latency
+        // is only waited for once instead of once per volume
+        Set<LAYER_DATA> restoredVlms = new HashSet<>();
+        List<LAYER_DATA> createdVlms = new ArrayList<>();
+        Map<String, Long> waitTimeoutsByDevicePath = new HashMap<>();
+        try
         {
-            String sourceLvId = computeRestoreFromResourceName(vlmData);
-            // sourceLvId ends with "_00000"
+            for (LAYER_DATA vlmData : vlmsToCreate)
+            {
+                String sourceLvId = computeRestoreFromResourceName(vlmData);
+                // sourceLvId ends with "_00000"
 
-            String sourceSnapshotName = computeRestoreFromSnapshotName(vlmData.getVolume());
+                String sourceSnapshotName = computeRestoreFromSnapshotName(vlmData.getVolume());
 
-            boolean snapRestore = sourceLvId != null && sourceSnapshotName != null;
-            if (snapRestore)
-            {
-                errorReporter.logTrace("Restoring from lv: %s, snapshot: %s", sourceLvId, sourceSnapshotName);
-                restoreSnapshot(sourceLvId, sourceSnapshotName, vlmData);
-            }
-            else
-            {
-                createLvImpl(vlmData);
-            }
-            vlmData.setExists(true);
+                boolean snapRestore = sourceLvId != null && sourceSnapshotName != null;
+                if (snapRestore)
+                {
+                    errorReporter.logTrace("Restoring from lv: %s, snapshot: %s", sourceLvId, sourceSnapshotName);
+                    restoreSnapshot(sourceLvId, sourceSnapshotName, vlmData);
+                    restoredVlms.add(vlmData);
+                }
+                else
+                {
+                    createLvImpl(vlmData);
+                }
+                vlmData.setExists(true);
+                createdVlms.add(vlmData);
 
-            String storageName = getStorageName(vlmData);
-            String lvId = asLvIdentifier(vlmData);
+                String storageName = getStorageName(vlmData);
+                String lvId = asLvIdentifier(vlmData);
 
-            // some providers cannot construct a device path in the next call and therefore return null here
-            String devicePath = getDevicePath(storageName, lvId);
+                // some providers cannot construct a device path in the next call and therefore return null here
+                String devicePath = getDevicePath(storageName, lvId);
 
-            // those providers will most likely also skip setting the (null) devicePath.
-            setDevicePath(vlmData, devicePath);
+                // those providers will most likely also skip setting the (null) devicePath.
+                setDevicePath(vlmData, devicePath);
 
-            // however, those providers have to have a different method in getting the device path which means
-            // the correct device path was already set since the "createLvImpl" or "restoreSnapshot" call.
-            devicePath = vlmData.getDevicePath();
+                // however, those providers have to have a different method in getting the device path which means
+                // the correct device path was already set since the "createLvImpl" or "restoreSnapshot" call.
+                devicePath = vlmData.getDevicePath();
 
-            StorPool storPool = vlmData.getStorPool();
-            long waitTimeoutAfterCreate = getWaitTimeoutAfterCreate(storPool);
-            waitUntilDeviceCreated(devicePath, waitTimeoutAfterCreate);
+                StorPool storPool = vlmData.getStorPool();
+                waitTimeoutsByDevicePath.put(devicePath, getWaitTimeoutAfterCreate(storPool));
+            }
 
-            long allocatedSize = getAllocatedSize(vlmData);
-            long minSize = kind.usesThinProvisioning() ? 0 : vlmData.getExepectedSize();
-            if (allocatedSize < minSize)
+            waitUntilDevicesCreated(waitTimeoutsByDevicePath);
+        }
+        catch (StorageException | AccessDeniedException | DatabaseException | RuntimeException exc)
+        {
+            // the volumes created so far already exist and would be skipped by the next run, so they have to be
+            // sized and wiped before the failure is reported
+            // all of them were created before the cleanup started, so their timeouts count from the same start
+            // instead of each volume getting the full timeout
+            long cleanupStart = System.currentTimeMillis();
+            for (LAYER_DATA createdVlmData : createdVlms)
             {
-                throw new StorageException("Size of create volume is too low. Expected " +
-                    minSize + ". Actual: " + allocatedSize + ". Volume: " + vlmData);
+                try
+                {
+                    long remainingTimeout = Math.max(
+                        0,
+                        cleanupStart + getWaitTimeoutAfterCreate(createdVlmData.getStorPool()) -
+                            System.currentTimeMillis()
+                    );
+                    waitUntilDevicesCreated(
+                        Collections.singletonMap(createdVlmData.getDevicePath(), remainingTimeout)
+                    );
+                    finishCreatedVolume(createdVlmData, restoredVlms.contains(createdVlmData), apiCallRc);
+                }
+                catch (StorageException | AccessDeniedException | DatabaseException | RuntimeException finishExc)
+                {
+                    errorReporter.reportError(finishExc);
+                }
             }
+            throw exc;
+        }
 
-            setAllocatedSize(vlmData, allocatedSize);
-            setUsableSize(vlmData, allocatedSize);
+        for (LAYER_DATA vlmData : createdVlms)
+        {
+            finishCreatedVolume(vlmData, restoredVlms.contains(vlmData), apiCallRc);
+        }
+    }
 
-            if (stltConfigAccessor.useDmStats() && updateDmStats())
-            {
-                DmStatCommands.create(extCmdFactory.create(), devicePath);
-            }
+    private void finishCreatedVolume(LAYER_DATA vlmData, boolean restored, ApiCallRcImpl apiCallRc)
+        throws StorageException, AccessDeniedException, DatabaseException
+    {
+        String devicePath = vlmData.getDevicePath();
 
-            if (!snapRestore && !devicePath.startsWith(SPDK_PATH_PREFIX))
-            {
-                wipeHandler.quickWipe(devicePath);
-            }
+        long allocatedSize = getAllocatedSize(vlmData);
+        long minSize = kind.usesThinProvisioning() ? 0 : vlmData.getExepectedSize();
+        if (allocatedSize < minSize)
+        {
+            throw new StorageException("Size of create volume is too low. Expected " +
+                minSize + ". Actual: " + allocatedSize + ". Volume: " + vlmData);
+        }
+
+        setAllocatedSize(vlmData, allocatedSize);
+        setUsableSize(vlmData, allocatedSize);
+
+        if (stltConfigAccessor.useDmStats() && updateDmStats())
+        {
+            DmStatCommands.create(extCmdFactory.create(), devicePath);
+        }
 
-            addCreatedMsg(vlmData, apiCallRc);
+        if (!restored && !devicePath.startsWith(SPDK_PATH_PREFIX))
+        {
+            wipeHandler.quickWipe(devicePath);
         }
+
+        addCreatedMsg(vlmData, apiCallRc);
     }
 
     protected long getWaitTimeoutAfterCreate(StorPool storPoolRef)
@@ -721,84 +772,134 @@ public abstract class AbsStorageProvider<INFO, LAYER_DATA extends AbsStorageVlmD
         return restoreSnapshotName;
     }
 
-    private void waitUntilDeviceCreated(String devicePath, long waitTimeoutAfterCreateMillis)
+    private void waitUntilDevicesCreated(Map<String, Long> waitTimeoutsByDevicePath)
         throws StorageException
     {
-        if (!devicePath.startsWith(SPDK_PATH_PREFIX))
+        Map<String, Long> nonSpdkDevices = new HashMap<>();
+        for (Map.Entry<String, Long> entry : waitTimeoutsByDevicePath.entrySet())
         {
-            waitUntilNonSpdkCreated(devicePath, waitTimeoutAfterCreateMillis);
+            String devicePath = entry.getKey();
+            if (!devicePath.startsWith(SPDK_PATH_PREFIX))
+            {
+                nonSpdkDevices.put(devicePath, entry.getValue());
+            }
+            else
+            {
+                // wait not required, just confirming LV existence
+                SpdkCommands.lvsByName(extCmdFactory.create(), devicePath.split(SPDK_PATH_PREFIX)[1]);
+            }
         }
-        else
+        if (!nonSpdkDevices.isEmpty())
         {
-            // wait not required, just confirming LV existence
-            SpdkCommands.lvsByName(extCmdFactory.create(), devicePath.split(SPDK_PATH_PREFIX)[1]);
+            waitUntilNonSpdkCreated(nonSpdkDevices);
         }
     }
 
-    private void waitUntilNonSpdkCreated(String devicePath, long waitTimeoutAfterCreateMillis)
+    /**
+     * Registers all device paths with the {@link FileSystemWatch} at once and waits until all of them
+     * appeared. The deadline for the whole set is the largest of the given timeouts.
+     */
+    private void waitUntilNonSpdkCreated(Map<String, Long> waitTimeoutsByDevicePath)
         throws StorageException
     {
-        final Object syncObj = new Object();
-        FileObserver fileObserver = new FileObserver()
+        long waitTimeoutMillis = 0;
+        for (long timeout : waitTimeoutsByDevicePath.values())
         {
-            @Override
-            public void fileEvent(FileEntry watchEntry)
+            waitTimeoutMillis = Math.max(waitTimeoutMillis, timeout);
+        }
+
+        long start = System.currentTimeMillis();
+        DeviceAppearanceObserver observer = new DeviceAppearanceObserver(start);
+        List<FileEntry> fileEntries = new ArrayList<>();
+        for (String devicePath : waitTimeoutsByDevicePath.keySet())
+        {
+            fileEntries.add(new FileEntry(Paths.get(devicePath), Event.CREATE, observer));
+        }
+        try
+        {
+            errorReporter.logTrace(
+                "Waiting until devices %s appear (up to %dms)",
+                waitTimeoutsByDevicePath.keySet(),
+                waitTimeoutMillis
+            );
+            fsWatch.addFileEntryList(fileEntries);
+            observer.await(fileEntries.size(), start + waitTimeoutMillis);
+        }
+        catch (IOException exc)
+        {
+            throw new StorageException(
+                "Unable to register file watch events for devices " + waitTimeoutsByDevicePath.keySet() +
+                    " being created",
+                exc
+            );
+        }
+        catch (InterruptedException interruptedExc)
+        {
+            throw new StorageException(
+                "Interrupted exception while waiting for devices " + waitTimeoutsByDevicePath.keySet() +
+                    " to show up",
+                interruptedExc
+            );
+        }
+        finally
+        {
+            for (FileEntry fileEntry : fileEntries)
             {
-                synchronized (syncObj)
-                {
-                    syncObj.notify();
-                }
+                fsWatch.removeFileEntry(fileEntry);
             }
-        };
-        try
+        }
+
+        for (String devicePath : waitTimeoutsByDevicePath.keySet())
         {
-            synchronized (syncObj)
+            if (!Files.exists(Paths.get(devicePath)))
             {
-                long start = System.currentTimeMillis();
-                fsWatch.addFileEntry(
-                    new FileEntry(
-                        Paths.get(devicePath),
-                        Event.CREATE,
-                        fileObserver
-                    )
+                throw new StorageException(
+                    "Device '" + devicePath + "' did not show up in " +
+                        waitTimeoutsByDevicePath.get(devicePath) + "ms"
                 );
-                try
-                {
-                    errorReporter.logTrace(
-                        "Waiting until device [%s] appears (up to %dms)",
-                        devicePath,
-                        waitTimeoutAfterCreateMillis
-                    );
+            }
+            Long latency = observer.getLatency(devicePath);
+            errorReporter.logTrace(
+                "Device [%s] appeared after %sms",
+                devicePath,
+                latency == null ? System.currentTimeMillis() - start : latency
+            );
+        }
+    }
 
-                    syncObj.wait(waitTimeoutAfterCreateMillis);
-                }
-                catch (InterruptedException interruptedExc)
-                {
-                    throw new StorageException(
-                        "Interrupted exception while waiting for device '" + devicePath + "' to show up",
-                        interruptedExc
-                    );
-                }
-                if (!Files.exists(Paths.get(devicePath)))
-                {
-                    throw new StorageException(
-                        "Device '" + devicePath + "' did not show up in " +
-                            waitTimeoutAfterCreateMillis + "ms"
-                    );
-                }
-                errorReporter.logTrace(
-                    "Device [%s] appeared after %sms",
-                    devicePath,
-                    System.currentTimeMillis() - start
-                );
+    /**
+     * Records the time each watched device appeared, relative to the start of the wait
+     */
+    private static class DeviceAppearanceObserver implements FileObserver
+    {
+        private final long start;
+        private final Map<String, Long> latencies = new HashMap<>();
+
+        private DeviceAppearanceObserver(long startRef)
+        {
+            start = startRef;
+        }
+
+        @Override
+        public synchronized void fileEvent(FileEntry watchEntry)
+        {
+            latencies.putIfAbsent(watchEntry.getFile().toString(), System.currentTimeMillis() - start);
+            notifyAll();
+        }
+
+        private synchronized void await(int expectedCount, long deadline) throws InterruptedException
+        {
+            long waitTime = deadline - System.currentTimeMillis();
+            while (latencies.size() < expectedCount && waitTime > 0)
+            {
+                wait(waitTime);
+                waitTime = deadline - System.currentTimeMillis();
             }
         }
-        catch (IOException exc)
+
+        private synchronized Long getLatency(String devicePath)
         {
-            throw new StorageException(
-                "Unable to register file watch event for device '" + devicePath + "' being created",
-                exc
-            );
+            return latencies.get(devicePath);
         }
     }
 
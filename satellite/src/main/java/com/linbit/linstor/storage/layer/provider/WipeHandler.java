@@ -1,24 +1,72 @@
 package com.linbit.linstor.storage.layer.provider;
 
+import com.linbit.ImplementationError;
+import com.linbit.InvalidNameException;
+import com.linbit.ServiceName;
+import com.linbit.SystemService;
 import com.linbit.extproc.ExtCmdFactory;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.storage.StorageException;
 import com.linbit.linstor.storage.layer.adapter.drbd.utils.MdSuperblockBuffer;
 import com.linbit.linstor.storage.layer.provider.utils.Commands;
 import com.linbit.utils.ExceptionThrowingConsumer;
+import com.linbit.utils.ExceptionThrowingSupplier;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Singleton
-public class WipeHandler
+public class WipeHandler implements SystemService
 {
+    // Maximum number of wipes waiting for the background wipe thread
+    public static final int MAX_PENDING_WIPES = 256;
+
+    // A renamed device might take a moment until it shows up under its new path
+    private static final long WAIT_FOR_DEVICE_TIMEOUT_MILLIS = 5000;
+    private static final long WAIT_FOR_DEVICE_INTERVAL_MILLIS = 100;
+
+    private static final ServiceName SERVICE_NAME;
+    private static final String INSTANCE_PREFIX = "WipeHandler-";
+    private static final String SERVICE_INFO = "Background wiping of deleted volumes";
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger(0);
+
+    private static final String WIPE_THREAD_NAME = "WipeHandler";
+
     private final ExtCmdFactory extCmdFactory;
     private final ErrorReporter errorReporter;
 
+    private final BlockingQueue<WipeTask> wipeQueue = new ArrayBlockingQueue<>(MAX_PENDING_WIPES);
+    private final Set<String> pendingWipeKeys = ConcurrentHashMap.newKeySet();
+
+    private ServiceName instanceName;
+    private volatile boolean running = false;
+    // Guarded by this
+    private Thread wipeThread;
+
+    static
+    {
+        try
+        {
+            SERVICE_NAME = new ServiceName("WipeHandler");
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new ImplementationError(invalidNameExc);
+        }
+    }
+
     @Inject
     public WipeHandler(
         ExtCmdFactory extCmdFactoryRef,
@@ -27,6 +75,85 @@ public class WipeHandler
     {
         extCmdFactory = extCmdFactoryRef;
         errorReporter = errorReporterRef;
+
+        try
+        {
+            instanceName = new ServiceName(INSTANCE_PREFIX + INSTANCE_COUNT.incrementAndGet());
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new ImplementationError(invalidNameExc);
+        }
+    }
+
+    @Override
+    public ServiceName getServiceName()
+    {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public String getServiceInfo()
+    {
+        return SERVICE_INFO;
+    }
+
+    @Override
+    public ServiceName getInstanceName()
+    {
+        return instanceName;
+    }
+
+    @Override
+    public boolean isStarted()
+    {
+        return running;
+    }
+
+    @Override
+    public void setServiceInstanceName(ServiceName instanceNameRef)
+    {
+        instanceName = instanceNameRef;
+    }
+
+    @Override
+    public synchronized void start()
+    {
+        if (!running)
+        {
+            running = true;
+            wipeThread = new Thread(this::runWipeQueue, WIPE_THREAD_NAME);
+            wipeThread.setDaemon(true);
+            wipeThread.start();
+        }
+    }
+
+    /**
+     * Stops the background wipe thread after the wipe it is currently running. Wipes that are still queued are
+     * dropped, the storage providers find their devices again after a restart.
+     */
+    @Override
+    public synchronized void shutdown()
+    {
+        running = false;
+        if (wipeThread != null)
+        {
+            wipeThread.interrupt();
+        }
+    }
+
+    @Override
+    public void awaitShutdown(long timeout) throws InterruptedException
+    {
+        Thread thread;
+        synchronized (this)
+        {
+            thread = wipeThread;
+        }
+        if (thread != null)
+        {
+            thread.join(timeout);
+        }
     }
 
     /**
@@ -52,30 +179,192 @@ public class WipeHandler
         }
     }
 
-    public void asyncWipe(String devicePath, ExceptionThrowingConsumer<String, StorageException> wipeFinishedNotifier)
+    /**
+     * Queues a wipe by the background wipe thread and returns immediately.
+     *
+     * The wipe is identified by the given wipeKey, which has to name the storage object that is wiped (the backing
+     * file or the LV), not its device path: a device path like /dev/loopN can be reused by a new volume while an
+     * old wipe is still queued. For the same reason the device to wipe is only resolved by the devicePathSupplier
+     * right before the wipe runs. If the supplier returns null, the storage object is gone and the wipe is skipped.
+     *
+     * The wipeFinishedNotifier is called with the resolved device path from the background wipe thread once the
+     * wipe is done (or failed), and is expected to free the device's space.
+     *
+     * If a wipe with the same key is already queued, this method does nothing. If the queue is full or the wipe
+     * thread is not running, the device is wiped synchronously instead.
+     *
+     * @param wipeKey
+     * @param devicePathSupplier
+     * @param wipeFinishedNotifier
+     *
+     * @throws StorageException if the synchronous wipe failed
+     */
+    public void asyncWipe(
+        String wipeKey,
+        ExceptionThrowingSupplier<String, StorageException> devicePathSupplier,
+        ExceptionThrowingConsumer<String, StorageException> wipeFinishedNotifier
+    )
         throws StorageException
     {
-        // TODO: this step should be asynchron
+        if (pendingWipeKeys.add(wipeKey))
+        {
+            if (running && wipeQueue.offer(new WipeTask(wipeKey, devicePathSupplier, wipeFinishedNotifier)))
+            {
+                errorReporter.logTrace("Queued %s for wiping", wipeKey);
+            }
+            else
+            {
+                if (running)
+                {
+                    errorReporter.logWarning(
+                        "Wipe queue is full (%d pending wipes), wiping %s synchronously",
+                        MAX_PENDING_WIPES,
+                        wipeKey
+                    );
+                }
+                else
+                {
+                    errorReporter.logTrace("Wipe thread is not running, wiping %s synchronously", wipeKey);
+                }
+                try
+                {
+                    wipe(wipeKey, devicePathSupplier, wipeFinishedNotifier);
+                }
+                finally
+                {
+                    pendingWipeKeys.remove(wipeKey);
+                }
+            }
+        }
+        else
+        {
+            errorReporter.logTrace("%s is already queued for wiping", wipeKey);
+        }
+    }
+
+    /**
+     * @return true if a wipe with the given key is waiting or currently running
+     */
+    public boolean isWipePending(String wipeKey)
+    {
+        return pendingWipeKeys.contains(wipeKey);
+    }
 
-        /*
-         * for security reasons we should wipe (zero out) an lvm / zfs before actually removing it.
-         *
-         * however, user may want to skip this step for performance reasons.
-         * in that case, we still need to make sure to at least wipe DRBD's signature so that
-         * re-allocating the same storage does not find the data-garbage from last DRBD configuration
-         */
+    private void runWipeQueue()
+    {
         try
         {
-            MdSuperblockBuffer.wipe(devicePath);
+            while (running)
+            {
+                WipeTask task = wipeQueue.take();
+                try
+                {
+                    wipe(task.wipeKey, task.devicePathSupplier, task.wipeFinishedNotifier);
+                }
+                catch (StorageException | RuntimeException exc)
+                {
+                    errorReporter.reportError(exc);
+                }
+                finally
+                {
+                    pendingWipeKeys.remove(task.wipeKey);
+                }
+            }
+        }
+        catch (InterruptedException ignored)
+        {
+            // interrupted by shutdown
+        }
+        List<WipeTask> droppedTasks = new ArrayList<>();
+        wipeQueue.drainTo(droppedTasks);
+        for (WipeTask task : droppedTasks)
+        {
+            pendingWipeKeys.remove(task.wipeKey);
+        }
+        if (!droppedTasks.isEmpty())
+        {
+            errorReporter.logWarning("Wipe thread stopped with %d pending wipes", droppedTasks.size());
+        }
+    }
+
+    private void wipe(
+        String wipeKey,
+        ExceptionThrowingSupplier<String, StorageException> devicePathSupplier,
+        ExceptionThrowingConsumer<String, StorageException> wipeFinishedNotifier
+    )
+        throws StorageException
+    {
+        String devicePath = devicePathSupplier.supply();
+        if (devicePath == null)
+        {
+            errorReporter.logTrace("Skipping wipe of %s, it no longer exists", wipeKey);
         }
-        catch (IOException exc)
+        else
+        {
+            /*
+             * for security reasons we should wipe (zero out) an lvm / zfs before actually removing it.
+             *
+             * however, user may want to skip this step for performance reasons.
+             * in that case, we still need to make sure to at least wipe DRBD's signature so that
+             * re-allocating the same storage does not find the data-garbage from last DRBD configuration
+             */
+            long start = System.currentTimeMillis();
+            try
+            {
+                waitForDevice(devicePath);
+                quickWipe(devicePath);
+            }
+            catch (StorageException exc)
+            {
+                errorReporter.reportError(exc);
+                // wipe failed, but we still need to free the allocated space
+            }
+            finally
+            {
+                wipeFinishedNotifier.accept(devicePath);
+            }
+            errorReporter.logTrace(
+                "Wiped device %s in %dms, %d wipes pending",
+                devicePath,
+                System.currentTimeMillis() - start,
+                wipeQueue.size()
+            );
+        }
+    }
+
+    private void waitForDevice(String devicePath)
+    {
+        long deadline = System.currentTimeMillis() + WAIT_FOR_DEVICE_TIMEOUT_MILLIS;
+        while (!Files.exists(Paths.get(devicePath)) && System.currentTimeMillis() < deadline)
         {
-            errorReporter.reportError(exc);
-            // wipe failed, but we still need to free the allocated space
+            try
+            {
+                Thread.sleep(WAIT_FOR_DEVICE_INTERVAL_MILLIS);
+            }
+            catch (InterruptedException interruptedExc)
+            {
+                // keep the interrupt for the wipe thread, which is stopped by it
+                Thread.currentThread().interrupt();
+                break;
+            }
         }
-        finally
+    }
+
+    private static class WipeTask
+    {
+        private final String wipeKey;
+        private final ExceptionThrowingSupplier<String, StorageException> devicePathSupplier;
+        private final ExceptionThrowingConsumer<String, StorageException> wipeFinishedNotifier;
+
+        private WipeTask(
+            String wipeKeyRef,
+            ExceptionThrowingSupplier<String, StorageException> devicePathSupplierRef,
+            ExceptionThrowingConsumer<String, StorageException> wipeFinishedNotifierRef
+        )
         {
-            wipeFinishedNotifier.accept(devicePath);
+            wipeKey = wipeKeyRef;
+            devicePathSupplier = devicePathSupplierRef;
+            wipeFinishedNotifier = wipeFinishedNotifierRef;
         }
     }
 }
@@ -44,17 +44,24 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource>, FileData<Snapshot>>
@@ -66,12 +73,17 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
     private static final String FORMAT_VLM_TO_ID = FORMAT_VLM_TO_ID_BASE + ".img";
     private static final String FORMAT_SNAP_VLM_TO_ID = FORMAT_VLM_TO_ID_BASE + "_%s.img";
 
-    private static final String FORMAT_ID_WIPE_IN_PROGRESS = "%s_linstor_wiping_in_progress";
+    private static final String ID_WIPE_IN_PROGRESS_SUFFIX = "_linstor_wiping_in_progress";
+    private static final String FORMAT_ID_WIPE_IN_PROGRESS = "%s" + ID_WIPE_IN_PROGRESS_SUFFIX;
 
     private static final String LODEV_FILE = "/var/lib/linstor/loop_device_mapping";
     private static final String LODEV_FILE_TMP = LODEV_FILE + ".tmp";
 
-    private static final Map<String, String> LOSETUP_DEVICES = new TreeMap<>();
+    // Also modified by the background wipe thread
+    private static final Map<String, String> LOSETUP_DEVICES = Collections.synchronizedMap(new TreeMap<>());
+
+    // Renamed backing files whose wipe is queued or running
+    private static final Set<Path> WIPING_BACKING_FILES = ConcurrentHashMap.newKeySet();
 
     protected FileProvider(
         ErrorReporter errorReporter,
@@ -275,53 +287,136 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
     protected void deleteLvImpl(FileData<Resource> fileData, String oldId)
         throws StorageException, DatabaseException
     {
-        String devicePath = fileData.getDevicePath();
         Path storageDirectory = fileData.getStorageDirectory();
 
-        if (true)
+        // just make sure to not colide with any other ongoing wipe-lv-name
+        String newId = String.format(FORMAT_ID_WIPE_IN_PROGRESS, UUID.randomUUID().toString());
+        FileCommands.rename(
+            storageDirectory,
+            oldId,
+            newId
+        );
+        fileData.setExists(false);
+
+        // the loop device follows the renamed file, the file's space is freed once the background wipe
+        // finished and deleted it
+        asyncWipeAndDelete(storageDirectory.resolve(newId).normalize());
+    }
+
+    private void asyncWipeAndDelete(Path backingFile) throws StorageException
+    {
+        WIPING_BACKING_FILES.add(backingFile);
+        wipeHandler.asyncWipe(
+            backingFile.toString(),
+            () ->
+            {
+                // the loop device is only looked up now, a queued wipe must not hit a loop device that was
+                // detached in the meantime and is already used by another volume
+                String loDev = getAttachedLoopDevice(backingFile);
+                if (loDev == null)
+                {
+                    WIPING_BACKING_FILES.remove(backingFile);
+                }
+                return loDev;
+            },
+            loDev ->
+            {
+                try
+                {
+                    LosetupCommands.detach(extCmdFactory.create(), loDev);
+                    // only forget the loop device once it is detached, a failed detach is retried by
+                    // resumeInterruptedWipes
+                    LOSETUP_DEVICES.remove(loDev);
+                    FileCommands.delete(
+                        backingFile.getParent(),
+                        backingFile.getFileName().toString()
+                    );
+                }
+                finally
+                {
+                    WIPING_BACKING_FILES.remove(backingFile);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return the loop device the given backing file is attached to, or null if the file does not exist or is
+     * not attached
+     */
+    private String getAttachedLoopDevice(Path backingFile) throws StorageException
+    {
+        String loDev = null;
+        if (Files.exists(backingFile))
         {
-            wipeHandler.quickWipe(devicePath);
-            LosetupCommands.detach(extCmdFactory.create(), devicePath);
-            FileCommands.delete(
-                storageDirectory,
-                oldId
+            String stdOut = new String(
+                LosetupCommands.listByBackingFile(extCmdFactory.create(), backingFile).stdoutData
             );
-            fileData.setExists(false);
+            for (String line : stdOut.split("\n"))
+            {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty())
+                {
+                    loDev = trimmed;
+                    break;
+                }
+            }
         }
-        else
+        return loDev;
+    }
+
+    /**
+     * Backing files that are still renamed as "wiping in progress" were left over by a wipe that did not
+     * finish, for example because the satellite was restarted or shut down. Files that are still attached to
+     * a loop device are queued for wiping again. Files without a loop device are deleted right away, since
+     * the wipe works on the loop device and a newly allocated file never exposes their data.
+     */
+    private void resumeInterruptedWipes(Map<String, FileInfo> infoList, Set<Path> storageDirectories)
+        throws StorageException
+    {
+        Set<Path> attachedBackingFiles = new HashSet<>();
+        for (FileInfo info : infoList.values())
         {
-            // TODO use this path once async wiping is implemened
-
-            // just make sure to not colide with any other ongoing wipe-lv-name
-            String newId = String.format(FORMAT_ID_WIPE_IN_PROGRESS, UUID.randomUUID().toString());
-            FileCommands.rename(
-                storageDirectory,
-                oldId,
-                newId
-            );
+            Path backingFile = info.directory.resolve(info.identifier).normalize();
+            attachedBackingFiles.add(backingFile);
+
+            if (info.identifier.endsWith(ID_WIPE_IN_PROGRESS_SUFFIX) &&
+                !wipeHandler.isWipePending(backingFile.toString()))
+            {
+                // the listing might be outdated by now, the wipe task checks again whether the file is attached
+                errorReporter.logInfo("Resuming interrupted wipe of %s", backingFile);
+                asyncWipeAndDelete(backingFile);
+            }
+        }
 
-            wipeHandler.asyncWipe(
-                devicePath,
-                ignored ->
+        for (Path storageDirectory : storageDirectories)
+        {
+            try (
+                DirectoryStream<Path> leftovers = Files.newDirectoryStream(
+                    storageDirectory,
+                    "*" + ID_WIPE_IN_PROGRESS_SUFFIX
+                )
+            )
+            {
+                for (Path leftover : leftovers)
                 {
-                    try
+                    Path backingFile = leftover.normalize();
+                    if (!attachedBackingFiles.contains(backingFile) && !WIPING_BACKING_FILES.contains(backingFile))
                     {
-                        LosetupCommands.detach(extCmdFactory.create(), devicePath);
-                        FileCommands.delete(
-                            storageDirectory,
-                            newId
-                        );
-                        fileData.setExists(false);
-                    }
-                    catch (DatabaseException exc)
-                    {
-                        throw new ImplementationError(exc);
+                        errorReporter.logInfo("Deleting %s, left over by an interrupted wipe", backingFile);
+                        FileCommands.delete(storageDirectory, backingFile.getFileName().toString());
                     }
                 }
-            );
+            }
+            catch (NoSuchFileException | NotDirectoryException ignored)
+            {
+                // the storage pool is not available, which is reported elsewhere
+            }
+            catch (IOException ioExc)
+            {
+                throw new StorageException("Failed to list the storage directory " + storageDirectory, ioExc);
+            }
         }
-
-        LOSETUP_DEVICES.remove(devicePath);
     }
 
     @Override
@@ -464,12 +559,18 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
     {
         // It is possible that the backing file still exists for a logical volume, but the loop-device does not
         Map<String, FileData<Resource>> backingFileToFileDataMap = new HashMap<>();
+        Set<Path> storageDirectories = new HashSet<>();
         for (FileData<Resource> fileData : fileDataList)
         {
             backingFileToFileDataMap.put(
                 getFullQualifiedIdentifier(fileData),
                 fileData
             );
+            storageDirectories.add(fileData.getStorageDirectory());
+        }
+        for (FileData<Snapshot> snapVlmData : snapVlmDataList)
+        {
+            storageDirectories.add(getStorageDirectory(snapVlmData.getStorPool()));
         }
 
         Map<String, FileInfo> infoList = FileUtils.getInfoList(
@@ -483,6 +584,7 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
 
             LOSETUP_DEVICES.put(entry.getValue().loPath.toString(), backingFile);
         }
+        resumeInterruptedWipes(infoList, storageDirectories);
 
         for (Entry<String, FileData<Resource>> entry : backingFileToFileDataMap.entrySet())
         {
@@ -661,9 +763,12 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
     public void clearCache() throws StorageException
     {
         StringBuilder sb = new StringBuilder();
-        for (Entry<String, String> entry : LOSETUP_DEVICES.entrySet())
+        synchronized (LOSETUP_DEVICES)
         {
-            sb.append(entry.getKey()).append(":").append(entry.getValue()).append("\n");
+            for (Entry<String, String> entry : LOSETUP_DEVICES.entrySet())
+            {
+                sb.append(entry.getKey()).append(":").append(entry.getValue()).append("\n");
+            }
         }
 
         File tmp = new File(LODEV_FILE_TMP);
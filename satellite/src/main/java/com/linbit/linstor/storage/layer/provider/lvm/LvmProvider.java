@@ -59,12 +59,14 @@ public class LvmProvider extends AbsStorageProvider<LvsInfo, LvmData<Resource>,
     // FIXME: FORMAT should be private, only made public for LayeredSnapshotHelper
     public static final String FORMAT_RSC_TO_LVM_ID = "%s%s_%05d";
     public static final String FORMAT_SNAP_TO_LVM_ID = FORMAT_RSC_TO_LVM_ID + "_%s";
-    private static final String FORMAT_LVM_ID_WIPE_IN_PROGRESS = "%s-linstor_wiping_in_progress-%d";
+    private static final String LVM_ID_WIPE_IN_PROGRESS_MARKER = "-linstor_wiping_in_progress-";
+    private static final String FORMAT_LVM_ID_WIPE_IN_PROGRESS = "%s" + LVM_ID_WIPE_IN_PROGRESS_MARKER + "%d";
     private static final String FORMAT_DEV_PATH = "/dev/%s/%s";
 
     private static final String DFLT_LVCREATE_TYPE = "linear";
 
-    private static final AtomicLong DELETED_ID = new AtomicLong(0);
+    // not starting at 0 to avoid colliding with LVs whose wipe was interrupted by a restart
+    private static final AtomicLong DELETED_ID = new AtomicLong(System.currentTimeMillis());
 
     protected LvmProvider(
         ErrorReporter errorReporter,
@@ -302,68 +304,61 @@ public class LvmProvider extends AbsStorageProvider<LvsInfo, LvmData<Resource>,
         String devicePath = vlmData.getDevicePath();
         String volumeGroup = vlmData.getVolumeGroup();
 
-        if (true)
-        {
-            wipeHandler.quickWipe(devicePath);
-            LvmUtils.execWithRetry(
-                extCmdFactory,
-                Collections.singleton(vlmData.getVolumeGroup()),
-                config -> LvmCommands.delete(
-                    extCmdFactory.create(),
-                    volumeGroup,
-                    oldLvmId,
-                    config
-                )
-            );
-            vlmData.setExists(false);
-        }
-        else
-        {
-            // TODO use this path once async wiping is implemented
+        // devicePath is the "current" devicePath. as we will rename it right now
+        // we will have to adjust the devicePath
+        int lastIndexOf = devicePath.lastIndexOf(oldLvmId);
 
-            // devicePath is the "current" devicePath. as we will rename it right now
-            // we will have to adjust the devicePath
-            int lastIndexOf = devicePath.lastIndexOf(oldLvmId);
+        // just make sure to not colide with any other ongoing wipe-lv-name
+        String newLvmId = String.format(
+            FORMAT_LVM_ID_WIPE_IN_PROGRESS,
+            asLvIdentifier(vlmData),
+            DELETED_ID.incrementAndGet()
+        );
+        devicePath = devicePath.substring(0, lastIndexOf) + newLvmId;
 
-            // just make sure to not colide with any other ongoing wipe-lv-name
-            String newLvmId = String.format(
-                FORMAT_LVM_ID_WIPE_IN_PROGRESS,
-                asLvIdentifier(vlmData),
-                DELETED_ID.incrementAndGet()
-            );
-            devicePath = devicePath.substring(0, lastIndexOf) + newLvmId;
-
-            LvmUtils.execWithRetry(
-                extCmdFactory,
-                Collections.singleton(vlmData.getVolumeGroup()),
-                config -> LvmCommands.rename(
-                    extCmdFactory.create(),
-                    volumeGroup,
-                    oldLvmId,
-                    newLvmId,
-                    config
-                )
-            );
+        LvmUtils.execWithRetry(
+            extCmdFactory,
+            Collections.singleton(vlmData.getVolumeGroup()),
+            config -> LvmCommands.rename(
+                extCmdFactory.create(),
+                volumeGroup,
+                oldLvmId,
+                newLvmId,
+                config
+            )
+        );
 
-            vlmData.setExists(false);
+        vlmData.setExists(false);
 
-            wipeHandler.asyncWipe(
-                devicePath,
-                ignored ->
-                {
-                    LvmUtils.execWithRetry(
-                        extCmdFactory,
-                        Collections.singleton(vlmData.getVolumeGroup()),
-                        config -> LvmCommands.delete(
-                            extCmdFactory.create(),
-                            volumeGroup,
-                            newLvmId,
-                            config
-                        )
-                    );
-                }
-            );
-        }
+        // the renamed LV keeps its space allocated (and therefore not reported as free) until
+        // the background wipe finished and removed it
+        asyncWipeAndDelete(devicePath, volumeGroup, newLvmId);
+    }
+
+    private void asyncWipeAndDelete(String devicePath, String volumeGroup, String lvmId)
+        throws StorageException
+    {
+        String lvKey = volumeGroup + File.separator + lvmId;
+        wipeHandler.asyncWipe(
+            lvKey,
+            // a wipe resumed from an outdated lvs listing might find its LV already removed
+            () -> LvmUtils.getLvsInfo(extCmdFactory, Collections.singleton(volumeGroup)).containsKey(lvKey) ?
+                devicePath :
+                null,
+            ignored ->
+            {
+                LvmUtils.execWithRetry(
+                    extCmdFactory,
+                    Collections.singleton(volumeGroup),
+                    config -> LvmCommands.delete(
+                        extCmdFactory.create(),
+                        volumeGroup,
+                        lvmId,
+                        config
+                    )
+                );
+            }
+        );
     }
 
     @Override
@@ -387,10 +382,30 @@ public class LvmProvider extends AbsStorageProvider<LvsInfo, LvmData<Resource>,
     )
         throws StorageException, AccessDeniedException
     {
-        return LvmUtils.getLvsInfo(
+        Map<String, LvsInfo> lvsInfo = LvmUtils.getLvsInfo(
             extCmdFactory,
             getAffectedVolumeGroups(vlmDataList, snapVlms)
         );
+        resumeInterruptedWipes(lvsInfo);
+        return lvsInfo;
+    }
+
+    /**
+     * LVs that are still renamed as "wiping in progress" were left over by a wipe that did not finish,
+     * for example because the satellite was restarted. Queue them for wiping again. The listing might be outdated
+     * by now, the wipe task checks again whether the LV still exists.
+     */
+    private void resumeInterruptedWipes(Map<String, LvsInfo> lvsInfo) throws StorageException
+    {
+        for (LvsInfo info : lvsInfo.values())
+        {
+            if (info.identifier.contains(LVM_ID_WIPE_IN_PROGRESS_MARKER) &&
+                !wipeHandler.isWipePending(info.volumeGroup + File.separator + info.identifier))
+            {
+                errorReporter.logInfo("Resuming interrupted wipe of %s", info.path);
+                asyncWipeAndDelete(info.path, info.volumeGroup, info.identifier);
+            }
+        }
     }
 
     @Override
@@ -42,6 +42,22 @@ public class LosetupCommands
         );
     }
 
+    public static OutputData listByBackingFile(ExtCmd extCmd, Path backingFile) throws StorageException
+    {
+        return genericExecutor(
+            extCmd,
+            new String[] {
+                "losetup",
+                "-l",
+                "-n",
+                "-O", "NAME",
+                "-j", backingFile.toString()
+            },
+            "Failed to list loop back devices",
+            "Failed to list loop back devices of backing file '" + backingFile + "'"
+        );
+    }
+
     public static OutputData detach(ExtCmd extCmd, String devPath)
         throws StorageException
     {
@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Gabor Hernadi &lt;gabor.hernadi@linbit.com&gt;
@@ -37,7 +38,8 @@ public class LvmUtils
     public static final String DELIMITER = ";";
     private static final float LVM_DEFAULT_DATA_PERCENT = 100;
 
-    private static final HashMap<Collection<String>, String> CACHED_LVM_CONFIG_STRING = new HashMap<>();
+    // also used by the background wipe thread
+    private static final Map<Collection<String>, String> CACHED_LVM_CONFIG_STRING = new ConcurrentHashMap<>();
 
     private LvmUtils()
     {
@@ -98,6 +98,11 @@ public class ChildProcessHandler
         }
     }
 
+    long getWaitTimeout()
+    {
+        return waitTimeout;
+    }
+
     public void setAutoTerm(boolean flag)
     {
         autoTerm = flag;
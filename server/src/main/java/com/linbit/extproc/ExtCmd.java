@@ -25,6 +25,8 @@ public class ExtCmd extends ChildProcessHandler
     private OutputReceiver  errReceiver;
     private ErrorReporter   errLog;
     private long            startTime;
+    // Whether this instance holds a slot of the ExtCmdThreadPool
+    private boolean         slotAcquired;
 
     private String[] execCommand;
     private String execCommandStr;
@@ -37,14 +39,18 @@ public class ExtCmd extends ChildProcessHandler
         errLog = errLogRef;
     }
 
+    /**
+     * Starts the command without waiting for it. {@link #syncProcess()} still has to be called to wait for
+     * the command and to return its slot in the {@link ExtCmdThreadPool}.
+     */
     public void asyncExec(String... command)
-        throws IOException
+        throws IOException, ChildProcessTimeoutException
     {
         exec(ProcessBuilder.Redirect.INHERIT, command);
     }
 
     public void pipeAsyncExec(ProcessBuilder.Redirect stdinRedirect, String... command)
-        throws IOException
+        throws IOException, ChildProcessTimeoutException
     {
         exec(ProcessBuilder.Redirect.PIPE, command);
     }
@@ -63,8 +69,11 @@ public class ExtCmd extends ChildProcessHandler
         return syncProcess();
     }
 
+    /**
+     * Starts the command. Waiting for a free slot in the {@link ExtCmdThreadPool} is bounded by the wait timeout.
+     */
     public OutputStream exec(ProcessBuilder.Redirect stdinRedirect, String... command)
-        throws IOException
+        throws IOException, ChildProcessTimeoutException
     {
         execCommand = command;
         execCommandStr = StringUtils.join(" ", command);
@@ -76,20 +85,40 @@ public class ExtCmd extends ChildProcessHandler
         pBuilder.redirectError(ProcessBuilder.Redirect.PIPE);
         pBuilder.redirectOutput(ProcessBuilder.Redirect.PIPE);
         pBuilder.redirectInput(stdinRedirect);
-        Process child = pBuilder.start();
+
+        ExtCmdThreadPool.acquireChildSlot(getWaitTimeout());
+        slotAcquired = true;
+        Process child;
+        try
+        {
+            child = pBuilder.start();
+        }
+        catch (IOException | RuntimeException exc)
+        {
+            releaseChildSlot();
+            throw exc;
+        }
         startTime = System.currentTimeMillis();
         setChild(child);
         outReceiver = new OutputReceiver(child.getInputStream(), errLog);
         errReceiver = new OutputReceiver(child.getErrorStream(), errLog);
-        new Thread(outReceiver).start();
-        new Thread(errReceiver).start();
+        ExtCmdThreadPool.startReaders(outReceiver, errReceiver);
 
         return child.getOutputStream();
     }
 
     public OutputData syncProcess() throws IOException, ChildProcessTimeoutException
     {
-        int exitCode = waitFor();
+        int exitCode;
+        try
+        {
+            exitCode = waitFor();
+        }
+        finally
+        {
+            // the child process exited or was terminated, the reader threads may still be draining its output
+            releaseChildSlot();
+        }
         outReceiver.finish();
         errReceiver.finish();
         OutputData outData = new OutputData(
@@ -108,6 +137,15 @@ public class ExtCmd extends ChildProcessHandler
         return outData;
     }
 
+    private void releaseChildSlot()
+    {
+        if (slotAcquired)
+        {
+            slotAcquired = false;
+            ExtCmdThreadPool.releaseChildSlot();
+        }
+    }
+
     public static class OutputData
     {
         public final String[] executedCommand;
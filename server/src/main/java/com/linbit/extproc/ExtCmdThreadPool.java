@@ -0,0 +1,202 @@
+package com.linbit.extproc;
+
+import com.linbit.ChildProcessTimeoutException;
+import com.linbit.ImplementationError;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared resources for running external commands
+ *
+ * Bounds the number of concurrently running child processes and reads the output of all child
+ * processes using a shared pool of reader threads, instead of starting two new threads per command.
+ *
+ * The slot of a child process is held until the child process exits or until it was terminated because
+ * waiting for it timed out. The output streams of a child process may stay open longer than the child process
+ * itself, e.g. if it started a background process that inherited them. Such streams must neither keep the slot
+ * nor a reader thread that other commands need, therefore reading the output never waits for a free reader
+ * thread: if all pooled reader threads are busy, an additional thread is started, so that the output of every
+ * running child process is always drained.
+ */
+public final class ExtCmdThreadPool
+{
+    // Default: Run at most 32 external commands concurrently
+    public static final int DFLT_MAX_CONCURRENT_CHILDREN = 32;
+
+    // Idle reader threads exit after 60 seconds
+    public static final long READER_KEEP_ALIVE_MILLIS = 60000;
+
+    public static final String READER_THREAD_NAME_PREFIX = "ExtCmdReader";
+
+    private static final ResizableSemaphore CHILD_SLOTS = new ResizableSemaphore(DFLT_MAX_CONCURRENT_CHILDREN);
+
+    // Guarded by CHILD_SLOTS
+    private static int maxConcurrentChildren = DFLT_MAX_CONCURRENT_CHILDREN;
+
+    private static final AtomicLong STARTED_CHILD_COUNT = new AtomicLong();
+    private static final AtomicInteger ACTIVE_CHILD_COUNT = new AtomicInteger();
+    private static final AtomicLong CREATED_THREAD_COUNT = new AtomicLong();
+
+    private static final ThreadPoolExecutor READER_POOL;
+
+    static
+    {
+        READER_POOL = new ThreadPoolExecutor(
+            // Two reader threads (stdout, stderr) per child process are kept while they are in use
+            DFLT_MAX_CONCURRENT_CHILDREN * 2,
+            Integer.MAX_VALUE,
+            READER_KEEP_ALIVE_MILLIS,
+            TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(),
+            runnable ->
+            {
+                Thread readerThread = new Thread(
+                    runnable,
+                    String.format("%s_%04d", READER_THREAD_NAME_PREFIX, CREATED_THREAD_COUNT.getAndIncrement())
+                );
+                readerThread.setDaemon(true);
+                return readerThread;
+            }
+        );
+        READER_POOL.allowCoreThreadTimeOut(true);
+    }
+
+    private ExtCmdThreadPool()
+    {
+    }
+
+    /**
+     * Changes the maximum number of concurrently running child processes. Child processes that are already
+     * running keep their slots, lowering the limit only delays starting new ones.
+     */
+    public static void setMaxConcurrentChildren(int maxChildren)
+    {
+        if (maxChildren < 1)
+        {
+            throw new ImplementationError("At least one external command must be allowed to run, not " + maxChildren);
+        }
+        synchronized (CHILD_SLOTS)
+        {
+            int delta = maxChildren - maxConcurrentChildren;
+            if (delta > 0)
+            {
+                CHILD_SLOTS.release(delta);
+            }
+            else
+            if (delta < 0)
+            {
+                CHILD_SLOTS.reducePermits(-delta);
+            }
+            maxConcurrentChildren = maxChildren;
+            READER_POOL.setCorePoolSize(maxChildren * 2);
+        }
+    }
+
+    public static int getMaxConcurrentChildren()
+    {
+        synchronized (CHILD_SLOTS)
+        {
+            return maxConcurrentChildren;
+        }
+    }
+
+    /**
+     * Blocks until another child process may be started
+     *
+     * @param timeoutMillis Maximum time to wait for a free slot
+     * @throws ChildProcessTimeoutException If no slot became free within the timeout or if the waiting
+     *     thread was interrupted
+     */
+    static void acquireChildSlot(long timeoutMillis) throws ChildProcessTimeoutException
+    {
+        boolean acquired;
+        try
+        {
+            acquired = CHILD_SLOTS.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException intrExc)
+        {
+            acquired = false;
+        }
+        if (!acquired)
+        {
+            throw new ChildProcessTimeoutException(
+                "Timed out waiting for one of the " + getMaxConcurrentChildren() + " external command slots"
+            );
+        }
+        ACTIVE_CHILD_COUNT.incrementAndGet();
+        STARTED_CHILD_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Returns the slot of a child process that exited, that was terminated or that could not be started
+     */
+    static void releaseChildSlot()
+    {
+        ACTIVE_CHILD_COUNT.decrementAndGet();
+        CHILD_SLOTS.release();
+    }
+
+    /**
+     * Starts reading the child process' stdout and stderr using the shared reader threads. The readers
+     * drain the streams until end of file, independently of the child process' slot.
+     */
+    static void startReaders(OutputReceiver outReceiver, OutputReceiver errReceiver)
+    {
+        READER_POOL.execute(outReceiver);
+        READER_POOL.execute(errReceiver);
+    }
+
+    /**
+     * @return The number of child processes started since the application was started
+     */
+    public static long getStartedChildCount()
+    {
+        return STARTED_CHILD_COUNT.get();
+    }
+
+    /**
+     * @return The number of child processes that currently hold a slot
+     */
+    public static int getActiveChildCount()
+    {
+        return ACTIVE_CHILD_COUNT.get();
+    }
+
+    /**
+     * @return The number of reader threads created since the application was started
+     */
+    public static long getCreatedThreadCount()
+    {
+        return CREATED_THREAD_COUNT.get();
+    }
+
+    /**
+     * @return The number of currently existing reader threads
+     */
+    public static int getReaderThreadCount()
+    {
+        return READER_POOL.getPoolSize();
+    }
+
+    private static class ResizableSemaphore extends Semaphore
+    {
+        private static final long serialVersionUID = 1L;
+
+        private ResizableSemaphore(int permits)
+        {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction)
+        {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -14,8 +14,8 @@ public class OutputReceiver implements Runnable
     // Buffer size 64 kiB
     public static final int OF_BUFFER_SIZE = 0x10000;
 
-    // Initial data buffer size 64 kiB
-    public static final int INIT_DATA_SIZE = 0x10000;
+    // Initial data buffer size 4 kiB
+    public static final int INIT_DATA_SIZE = 0x1000;
 
     // Data buffer size increment 512 kiB
     public static final int DATA_SIZE_INC = 0x80000;
@@ -25,6 +25,11 @@ public class OutputReceiver implements Runnable
 
     public static final int EOF = -1;
 
+    private static final byte[] NO_DATA = new byte[0];
+
+    // Read buffer of the (pooled) reader thread, reused for all streams read by that thread
+    private static final ThreadLocal<byte[]> READ_BUFFER = ThreadLocal.withInitial(() -> new byte[OF_BUFFER_SIZE]);
+
     private final InputStream dataIn;
     private byte[] data;
     private int dataSize;
@@ -44,7 +49,8 @@ public class OutputReceiver implements Runnable
     {
         dataIn = in;
         errLog = errLogRef;
-        data = new byte[INIT_DATA_SIZE];
+        // The data buffer is only allocated once the external command actually produces output
+        data = NO_DATA;
         dataSize = 0;
         finished = false;
         overflow = false;
@@ -61,68 +67,42 @@ public class OutputReceiver implements Runnable
     {
         try
         {
+            byte[] readBuffer = READ_BUFFER.get();
             int lineOffset = 0;
-            int lastSearchPos = 0;
             int readCount;
             do
             {
-                // Check whether the buffer is full
-                if (dataSize >= data.length)
-                {
-                    // If the buffer is full, try to enlarge it
-                    if (!enlargeDataBuffer())
-                    {
-                        // If the buffer is at its maximum size, but there is still data
-                        // to read, set the overflow flag and abort reading
-                        if (dataIn.read() != -1)
-                        {
-                            overflow = true;
-                        }
-                        break;
-                    }
-                }
                 // Block until at least one byte can be read
-                readCount = dataIn.read(data, dataSize, 1);
-                if (readCount != EOF)
+                readCount = dataIn.read(readBuffer, 0, readBuffer.length);
+                if (readCount > 0)
                 {
-                    dataSize += readCount;
-                    // Check how much more data can be read without blocking
-                    int readSize = dataIn.available();
-                    if (readSize > 0)
+                    int copySize = readCount;
+                    if (!ensureCapacity(dataSize + readCount))
                     {
-                        // If the data would not fit into the buffer, read only until reaching
-                        // the end of the buffer and let the next iteration take care of
-                        // enlarging the buffer or aborting due to overflow
-                        if (data.length - dataSize < readSize)
-                        {
-                            readSize = data.length - dataSize;
-                        }
-                        // readSize may be 0, this case is handled correctly by read()
-                        readCount = dataIn.read(data, dataSize, readSize);
-                        // readCount should never be EOF here, but double-check for good measure
-                        if (readCount != EOF)
-                        {
-                            dataSize += readCount;
-                        }
+                        // If the buffer is at its maximum size, keep only what still fits,
+                        // set the overflow flag and abort reading
+                        copySize = data.length - dataSize;
+                        overflow = true;
                     }
+                    System.arraycopy(readBuffer, 0, data, dataSize, copySize);
+                    int lastSearchPos = dataSize;
+                    dataSize += copySize;
+                    // Log any completed lines
+                    lineOffset = logLines(lineOffset, lastSearchPos);
                 }
-                // Log any completed lines
-                lineOffset = logLines(lineOffset, lastSearchPos);
-                lastSearchPos = dataSize;
             }
-            while (readCount != -1);
+            while (readCount != EOF && !overflow);
 
             // If there is more data than MAX_DATA_SIZE, read and discard
             // the rest of the data to avoid blocking a child process that
             // pipes data to this instance
             if (overflow)
             {
-                byte[] ofBuffer = new byte[OF_BUFFER_SIZE];
                 do
                 {
-                    readCount = dataIn.read(ofBuffer, 0, ofBuffer.length);
+                    readCount = dataIn.read(readBuffer, 0, readBuffer.length);
                 }
-                while (readCount != -1);
+                while (readCount != EOF);
             }
         }
         catch (IOException ioExc)
@@ -210,24 +190,28 @@ public class OutputReceiver implements Runnable
     }
 
     /**
-     * Increases the size of the data buffer unless it has already
-     * reached a size of MAX_DATA_SIZE
+     * Increases the size of the data buffer until it can hold the requested
+     * amount of data, but not beyond MAX_DATA_SIZE
      *
-     * @return true if the buffer size was increased
+     * @param requiredSize Amount of data the buffer should be able to hold
+     * @return true if the buffer can hold the requested amount of data
      */
-    private boolean enlargeDataBuffer()
+    private boolean ensureCapacity(int requiredSize)
     {
-        boolean resized = false;
-        if (data.length < MAX_DATA_SIZE)
+        if (requiredSize > data.length && data.length < MAX_DATA_SIZE)
         {
-            int newSize = MAX_DATA_SIZE - data.length >= DATA_SIZE_INC ?
-                          data.length + DATA_SIZE_INC : MAX_DATA_SIZE;
+            int newSize = Math.max(data.length, INIT_DATA_SIZE);
+            while (newSize < requiredSize && newSize < MAX_DATA_SIZE)
+            {
+                // Double small buffers, grow large buffers in DATA_SIZE_INC steps
+                newSize = newSize < DATA_SIZE_INC ? newSize * 2 : newSize + DATA_SIZE_INC;
+            }
+            newSize = Math.min(newSize, MAX_DATA_SIZE);
             byte[] newBuffer = new byte[newSize];
             System.arraycopy(data, 0, newBuffer, 0, dataSize);
             data = newBuffer;
-            resized = true;
         }
-        return resized;
+        return requiredSize <= data.length;
     }
 
     /**
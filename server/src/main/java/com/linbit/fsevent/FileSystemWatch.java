@@ -414,10 +414,11 @@ public class FileSystemWatch implements Runnable, SystemService
         {
             try
             {
-                // Add all file entries
+                // Add all file entries, the probe below triggers the entries that
+                // have already happened exactly once
                 for (FileEntry entry : entryList)
                 {
-                    addFileEntry(entry);
+                    addFileEntryImpl(entry);
                 }
                 // Check whether files have already been created or deleted
                 for (FileEntry entry : entryList)
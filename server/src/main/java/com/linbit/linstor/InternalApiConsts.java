@@ -7,6 +7,7 @@ public class InternalApiConsts
 
     public static final String API_FULL_SYNC_DATA     = "FullSyncData";
     public static final String API_FULL_SYNC_RESPONSE = "FullSyncResponse";
+    public static final String API_FULL_SYNC_RSC_CHUNK = "FullSyncRscChunk";
 
     public static final String API_CHANGED_CONTROLLER   = "ChangedController";
     public static final String API_REQUEST_CONTROLLER   = "RequestController";
@@ -47,18 +48,25 @@ public class InternalApiConsts
     public static final String API_UPDATE_FREE_CAPACITY    = "UpdateFreeCapacity";
     public static final String API_NOTIFY_STOR_POOL_APPLIED  = "NotifyStorPoolApplied";
 
+    // Several of the Changed* notifications above for the same satellite, sent as one message
+    public static final String API_CHANGED_BATCH       = "ChangedBatch";
+    public static final String API_CHANGED_BATCH_REPLY = "ChangedBatchReply";
+
     public static final String API_CRYPT_KEY = "cryptKey";
 
     public static final String API_REQUEST_THIN_FREE_SPACE = "RequestThinFreeSpace";
     public static final String API_REQUEST_VLM_ALLOCATED = "RequestVlmAllocated";
 
     public static final String API_ARCHIVE_LOGS = "ArchiveLogs";
+    public static final String API_REQUEST_ERROR_REPORT_FINGERPRINTS = "RequestErrorReportFingerprints";
 
     public static final String API_LIST_PHYSICAL_DEVICES = "ListPhysicalDevices";
     public static final String API_ANSWER_PHYSICAL_DEVICES = "AnswerPhysicalDevices";
     public static final String API_CREATE_DEVICE_POOL = "CreateDevicePool";
     public static final String API_DELETE_DEVICE_POOL = "DeleteDevicePool";
 
+    public static final String API_EVENT_BATCH = "EventBatch";
+
     /*
      * Event stream actions
      */
@@ -8,6 +8,7 @@ import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.event.EventIdentifier;
 import com.linbit.linstor.event.common.UsageState;
 import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportFingerprint;
 import com.linbit.linstor.storage.kinds.ExtToolsInfo;
 
 import java.util.Date;
@@ -37,7 +38,8 @@ public interface CommonSerializer
             int[] stltVersion,
             String nodeUname,
             List<ExtToolsInfo> layerInfoListRef,
-            ApiCallRc responses
+            ApiCallRc responses,
+            byte[] stateDigest
         );
 
         CommonSerializerBuilder bytes(byte[] bytes);
@@ -50,6 +52,11 @@ public interface CommonSerializer
             String eventStreamAction
         );
 
+        /**
+         * @param events Events that were each serialized using a headerless builder
+         */
+        CommonSerializerBuilder eventBatch(List<byte[]> events);
+
         CommonSerializerBuilder volumeDiskState(String diskState);
 
         CommonSerializerBuilder resourceStateEvent(UsageState usageState);
@@ -61,11 +68,14 @@ public interface CommonSerializer
             boolean withContent,
             Optional<Date> since,
             Optional<Date> to,
-            Set<String> ids
+            Set<String> ids,
+            int limit
         );
 
         CommonSerializerBuilder errorReports(Set<ErrorReport> errorReports);
 
+        CommonSerializerBuilder errorReportFingerprints(List<ErrorReportFingerprint> fingerprints);
+
         CommonSerializerBuilder filter(
             Set<NodeName> nodesFilter,
             Set<StorPoolName> storPoolFilter,
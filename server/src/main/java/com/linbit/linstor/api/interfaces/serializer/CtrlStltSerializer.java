@@ -9,6 +9,7 @@ import com.linbit.linstor.core.objects.StorPool;
 import com.linbit.linstor.storage.LsBlkEntry;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 import com.linbit.linstor.storage.kinds.RaidLevel;
+import com.linbit.utils.Pair;
 
 import java.util.Collection;
 import java.util.List;
@@ -46,6 +47,7 @@ public interface CtrlStltSerializer extends CommonSerializer
         CtrlStltSerializerBuilder changedResource(UUID rscUuid, String rscName);
         CtrlStltSerializerBuilder changedStorPool(UUID storPoolUuid, String storPoolName);
         CtrlStltSerializerBuilder changedSnapshot(String rscName, UUID snapshotUuid, String snapshotName);
+        CtrlStltSerializerBuilder changedBatch(List<Pair<String, byte[]>> changes);
 
         CtrlStltSerializerBuilder controllerData(long fullSyncTimestamp, long updateId);
         CtrlStltSerializerBuilder node(
@@ -66,17 +68,45 @@ public interface CtrlStltSerializer extends CommonSerializer
             long fullSyncId,
             long updateId
         );
+        /**
+         * @param resources The first chunk of resources
+         * @param rscChunkCount Number of {@link #fullSyncRscChunk} messages following this message
+         */
         CtrlStltSerializerBuilder fullSync(
             Set<Node> nodeSet,
             Set<StorPool> storPools,
-            Set<Resource> resources,
+            Collection<Resource> resources,
             Set<Snapshot> snapshots, long timestamp,
-            long updateId
+            long updateId,
+            int rscChunkCount
+        );
+        /**
+         * @param snapshots The in-progress snapshots of the full sync, only sent with the last chunk
+         */
+        CtrlStltSerializerBuilder fullSyncRscChunk(
+            Collection<Resource> resources,
+            Collection<Snapshot> snapshots,
+            long timestamp
+        );
+        /**
+         * Full sync for a satellite that already has all data of the full sync
+         */
+        CtrlStltSerializerBuilder fullSyncUnchanged(long timestamp);
+        /**
+         * Does not serialize a message, but the {@link com.linbit.linstor.api.protobuf.FullSyncDigest} of a
+         * full sync with the given objects.
+         */
+        CtrlStltSerializerBuilder fullSyncDigest(
+            Set<Node> nodeSet,
+            Set<StorPool> storPools,
+            Collection<Resource> resources,
+            Set<Snapshot> snapshots
         );
 
         /*
          * Satellite -> Controller
          */
+        CtrlStltSerializerBuilder changedBatchReply(int entryIdx, boolean complete);
         CtrlStltSerializerBuilder notifyNodeApplied(Node node);
         CtrlStltSerializerBuilder notifyResourceApplied(
             Resource resource,
@@ -0,0 +1,257 @@
+package com.linbit.linstor.api.protobuf;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.proto.javainternal.c2s.IntNodeOuterClass.IntNode;
+import com.linbit.linstor.proto.javainternal.c2s.IntNodeOuterClass.IntNodeConn;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntSnapshotOuterClass.IntSnapshot;
+import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+/**
+ * Digest of the data of a full sync.
+ *
+ * The satellite keeps the digests of all objects it received from the controller, either by a full sync or by
+ * a later update. When the satellite reconnects, the controller compares the combined digest with the digest of
+ * the full sync it would send. If both are equal, the satellite keeps its objects and the full sync is skipped.
+ *
+ * Fields that are only known at runtime (device paths, allocated sizes, free space, connection states, ...)
+ * are reported by the satellite to the controller and are not part of the digest. A controller that was
+ * restarted does not know them until the satellite reports them again.
+ *
+ * Not thread safe.
+ */
+public class FullSyncDigest
+{
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final Set<String> RUNTIME_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "allocated_size",
+        "backing_device",
+        "connection_status",
+        "device_path",
+        "device_path_cache",
+        "device_path_data",
+        "device_path_meta",
+        "diskState",
+        "disk_state",
+        "free_space",
+        "meta_disk",
+        "opened",
+        "usable_size"
+    )));
+
+    private static final String KEY_CTRL = "ctrl";
+    private static final String KEY_MASTER_KEY = "masterkey";
+    private static final String KEY_PREFIX_NODE = "node:";
+    private static final String KEY_PREFIX_NODE_CONN = "nodeconn:";
+    private static final String KEY_PREFIX_STOR_POOL = "storpool:";
+    private static final String KEY_PREFIX_RSC = "rsc:";
+    private static final String KEY_PREFIX_SNAPSHOT = "snapshot:";
+
+    // Object key -> digest of the object
+    private final Map<String, byte[]> objDigests = new TreeMap<>();
+
+    public void putController(Map<String, String> ctrlProps)
+    {
+        objDigests.put(KEY_CTRL, digest(new TreeMap<>(ctrlProps).toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public void putMasterKey(byte[] cryptKey)
+    {
+        if (cryptKey == null || cryptKey.length == 0)
+        {
+            objDigests.remove(KEY_MASTER_KEY);
+        }
+        else
+        {
+            objDigests.put(KEY_MASTER_KEY, digest(cryptKey));
+        }
+    }
+
+    public void putNode(IntNode node)
+    {
+        // The node connections of a node message depend on the other nodes that are sent along with it,
+        // therefore the connections are recorded separately
+        objDigests.put(nodeKey(node.getName()), digest(node.toBuilder().clearNodeConns().build()));
+        for (IntNodeConn nodeConn : node.getNodeConnsList())
+        {
+            objDigests.put(
+                KEY_PREFIX_NODE_CONN + nodeConn.getNodeConnUuid(),
+                digest(
+                    IntNodeConn.newBuilder()
+                        .setNodeConnUuid(nodeConn.getNodeConnUuid())
+                        .putAllNodeConnProps(nodeConn.getNodeConnPropsMap())
+                        .build()
+                )
+            );
+        }
+    }
+
+    public void removeNode(String nodeName)
+    {
+        objDigests.remove(nodeKey(nodeName));
+    }
+
+    public void putStorPool(IntStorPool storPool)
+    {
+        objDigests.put(storPoolKey(storPool.getStorPool().getStorPoolName()), digest(storPool));
+    }
+
+    public void removeStorPool(String storPoolName)
+    {
+        objDigests.remove(storPoolKey(storPoolName));
+    }
+
+    public void putRsc(IntRsc rsc)
+    {
+        objDigests.put(rscKey(rsc.getRscDfn().getRscName()), digest(rsc));
+    }
+
+    public void removeRsc(String rscName)
+    {
+        objDigests.remove(rscKey(rscName));
+    }
+
+    public void putSnapshot(IntSnapshot snapshot)
+    {
+        objDigests.put(snapshotKey(snapshot.getRscName(), snapshot.getSnapshotName()), digest(snapshot));
+    }
+
+    public void removeSnapshot(String rscName, String snapshotName)
+    {
+        objDigests.remove(snapshotKey(rscName, snapshotName));
+    }
+
+    public void putAll(FullSyncDigest other)
+    {
+        objDigests.putAll(other.objDigests);
+    }
+
+    public void clear()
+    {
+        objDigests.clear();
+    }
+
+    /**
+     * @return The combined digest of all objects
+     */
+    public byte[] getDigest()
+    {
+        MessageDigest combined = createMessageDigest();
+        for (Entry<String, byte[]> entry : objDigests.entrySet())
+        {
+            combined.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            combined.update((byte) 0);
+            combined.update(entry.getValue());
+        }
+        return combined.digest();
+    }
+
+    private static String nodeKey(String nodeName)
+    {
+        return KEY_PREFIX_NODE + nodeName.toUpperCase();
+    }
+
+    private static String storPoolKey(String storPoolName)
+    {
+        return KEY_PREFIX_STOR_POOL + storPoolName.toUpperCase();
+    }
+
+    private static String rscKey(String rscName)
+    {
+        return KEY_PREFIX_RSC + rscName.toUpperCase();
+    }
+
+    private static String snapshotKey(String rscName, String snapshotName)
+    {
+        return KEY_PREFIX_SNAPSHOT + rscName.toUpperCase() + "/" + snapshotName.toUpperCase();
+    }
+
+    private static byte[] digest(Message msg)
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try
+        {
+            // Sorts the entries of map fields
+            CodedOutputStream out = CodedOutputStream.newInstance(baos);
+            out.useDeterministicSerialization();
+            withoutRuntimeFields(msg).writeTo(out);
+            out.flush();
+        }
+        catch (IOException exc)
+        {
+            throw new ImplementationError(exc);
+        }
+        return digest(baos.toByteArray());
+    }
+
+    private static Message withoutRuntimeFields(Message msg)
+    {
+        Message.Builder builder = msg.toBuilder();
+        for (Entry<FieldDescriptor, Object> field : msg.getAllFields().entrySet())
+        {
+            FieldDescriptor fieldDescr = field.getKey();
+            if (RUNTIME_FIELDS.contains(fieldDescr.getName()))
+            {
+                builder.clearField(fieldDescr);
+            }
+            else
+            if (fieldDescr.getJavaType() == FieldDescriptor.JavaType.MESSAGE && !fieldDescr.isMapField())
+            {
+                if (fieldDescr.isRepeated())
+                {
+                    List<?> values = (List<?>) field.getValue();
+                    for (int idx = 0; idx < values.size(); ++idx)
+                    {
+                        builder.setRepeatedField(fieldDescr, idx, withoutRuntimeFields((Message) values.get(idx)));
+                    }
+                }
+                else
+                {
+                    builder.setField(fieldDescr, withoutRuntimeFields((Message) field.getValue()));
+                }
+            }
+        }
+        return builder.buildPartial();
+    }
+
+    private static byte[] digest(byte[] data)
+    {
+        return createMessageDigest().digest(data);
+    }
+
+    private static MessageDigest createMessageDigest()
+    {
+        MessageDigest messageDigest;
+        try
+        {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException algoExc)
+        {
+            throw new ImplementationError(
+                "The message digest algorithm '" + DIGEST_ALGORITHM + "' is not available",
+                algoExc
+            );
+        }
+        return messageDigest;
+    }
+}
@@ -52,6 +52,7 @@ import com.linbit.linstor.core.types.TcpPortNumber;
 import com.linbit.linstor.event.EventIdentifier;
 import com.linbit.linstor.event.common.UsageState;
 import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportFingerprint;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.proto.MsgHeaderOuterClass;
 import com.linbit.linstor.proto.common.ApiCallResponseOuterClass;
@@ -110,6 +111,9 @@ import com.linbit.linstor.proto.eventdata.EventRscStateOuterClass;
 import com.linbit.linstor.proto.eventdata.EventRscStateOuterClass.EventRscState.InUse;
 import com.linbit.linstor.proto.eventdata.EventVlmDiskStateOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntAuthResponseOuterClass.MsgIntAuthResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportFingerprintsOuterClass;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportFingerprintsOuterClass.MsgIntErrorReportFingerprints;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntEventBatchOuterClass.MsgIntEventBatch;
 import com.linbit.linstor.proto.requests.MsgReqErrorReportOuterClass.MsgReqErrorReport;
 import com.linbit.linstor.proto.responses.MsgErrorReportOuterClass.MsgErrorReport;
 import com.linbit.linstor.proto.responses.MsgEventOuterClass;
@@ -123,7 +127,6 @@ import com.linbit.linstor.storage.kinds.ExtTools;
 import com.linbit.linstor.storage.kinds.ExtToolsInfo;
 import com.linbit.utils.Pair;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -140,7 +143,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
 {
     protected final ErrorReporter errorReporter;
     protected final AccessContext serializerCtx;
-    protected final ByteArrayOutputStream baos;
+    protected final ProtoMessageOutput protoOut;
     private boolean exceptionoccurred;
 
     public ProtoCommonSerializerBuilder(
@@ -154,7 +157,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         this.errorReporter = errReporterRef;
         this.serializerCtx = serializerCtxRef;
 
-        baos = new ByteArrayOutputStream();
+        protoOut = new ProtoMessageOutput();
         exceptionoccurred = false;
         if (msgContent != null || apiCallId != null)
 
@@ -174,14 +177,17 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     @Override
     public byte[] build()
     {
-        byte[] ret;
-        if (exceptionoccurred)
+        byte[] ret = new byte[0]; // do not send corrupted data
+        if (!exceptionoccurred)
         {
-            ret = new byte[0]; // do not send corrupted data
-        }
-        else
-        {
-            ret = baos.toByteArray();
+            try
+            {
+                ret = protoOut.toByteArray();
+            }
+            catch (IOException exc)
+            {
+                errorReporter.reportError(exc);
+            }
         }
         return ret;
     }
@@ -217,9 +223,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                 .setApiCallId(apiCallId)
                 .setMsgContent(msgContent);
         }
-        headerBuilder
-            .build()
-            .writeDelimitedTo(baos);
+        protoOut.writeDelimited(headerBuilder.build());
     }
 
     protected void handleIOException(IOException exc)
@@ -244,7 +248,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     {
         try
         {
-            baos.write(bytes);
+            protoOut.write(bytes);
         }
         catch (IOException exc)
         {
@@ -258,11 +262,12 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     {
         try
         {
-            MsgIntAuthResponse.newBuilder()
-                .setSuccess(false)
-                .addAllResponses(serializeApiCallRc(apiCallRc))
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntAuthResponse.newBuilder()
+                    .setSuccess(false)
+                    .addAllResponses(serializeApiCallRc(apiCallRc))
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -277,22 +282,26 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         int[] stltVersionRef,
         String uname,
         List<ExtToolsInfo> extToolsList,
-        ApiCallRc responses
+        ApiCallRc responses,
+        byte[] stateDigest
     )
     {
         try
         {
-            MsgIntAuthResponse.newBuilder()
-                .setSuccess(true)
-                .setExpectedFullSyncId(expectedFullSyncIdRef)
-                .setLinstorVersionMajor(stltVersionRef[0])
-                .setLinstorVersionMinor(stltVersionRef[1])
-                .setLinstorVersionPatch(stltVersionRef[2])
-                .addAllResponses(serializeApiCallRc(responses))
-                .addAllExtToolsInfo(asExternalToolsList(extToolsList))
-                .setNodeUname(uname)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntAuthResponse.newBuilder()
+                    .setSuccess(true)
+                    .setExpectedFullSyncId(expectedFullSyncIdRef)
+                    .setLinstorVersionMajor(stltVersionRef[0])
+                    .setLinstorVersionMinor(stltVersionRef[1])
+                    .setLinstorVersionPatch(stltVersionRef[2])
+                    .addAllResponses(serializeApiCallRc(responses))
+                    .addAllExtToolsInfo(asExternalToolsList(extToolsList))
+                    .setNodeUname(uname)
+                    .setStateDigest(ByteString.copyFrom(stateDigest))
+                    .setMessageCompression(true)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -341,7 +350,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         {
             for (ApiCallResponseOuterClass.ApiCallResponse protoMsg : serializeApiCallRc(apiCallRc))
             {
-                protoMsg.writeDelimitedTo(baos);
+                protoOut.writeDelimited(protoMsg);
             }
         }
         catch (IOException exc)
@@ -392,7 +401,26 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                 eventBuilder.setPeerName(eventIdentifier.getPeerNodeName().displayValue);
             }
 
-            eventBuilder.build().writeDelimitedTo(baos);
+            protoOut.writeDelimited(eventBuilder.build());
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public CommonSerializer.CommonSerializerBuilder eventBatch(List<byte[]> events)
+    {
+        try
+        {
+            MsgIntEventBatch.Builder batchBuilder = MsgIntEventBatch.newBuilder();
+            for (byte[] event : events)
+            {
+                batchBuilder.addEvents(ByteString.copyFrom(event));
+            }
+            protoOut.writeDelimited(batchBuilder.build());
         }
         catch (IOException exc)
         {
@@ -406,10 +434,11 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     {
         try
         {
-            EventVlmDiskStateOuterClass.EventVlmDiskState.newBuilder()
-                .setDiskState(diskState)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                EventVlmDiskStateOuterClass.EventVlmDiskState.newBuilder()
+                    .setDiskState(diskState)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -434,7 +463,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                 builder.setUpToDate(usageState.getUpToDate());
             }
 
-            builder.build().writeDelimitedTo(baos);
+            protoOut.writeDelimited(builder.build());
         }
         catch (IOException exc)
         {
@@ -448,10 +477,11 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     {
         try
         {
-            EventConnStateOuterClass.EventConnState.newBuilder()
-                .setConnectionState(connectionState)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                EventConnStateOuterClass.EventConnState.newBuilder()
+                    .setConnectionState(connectionState)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -482,7 +512,8 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         boolean withContent,
         Optional<Date> since,
         Optional<Date> to,
-        Set<String> ids
+        Set<String> ids,
+        int limit
     )
     {
         try
@@ -496,7 +527,13 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
             {
                 bld.setTo(to.get().getTime());
             }
-            bld.addAllNodeNames(nodes).setWithContent(withContent).addAllIds(ids).build().writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                bld.addAllNodeNames(nodes)
+                    .setWithContent(withContent)
+                    .addAllIds(ids)
+                    .setLimit(limit)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -522,7 +559,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                 {
                     msgErrorReport.setText(errReport.getText());
                 }
-                msgErrorReport.build().writeDelimitedTo(baos);
+                protoOut.writeDelimited(msgErrorReport.build());
             }
         }
         catch (IOException exc)
@@ -532,6 +569,37 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         return this;
     }
 
+    @Override
+    public CommonSerializer.CommonSerializerBuilder errorReportFingerprints(
+        List<ErrorReportFingerprint> fingerprints
+    )
+    {
+        try
+        {
+            MsgIntErrorReportFingerprints.Builder msgBuilder = MsgIntErrorReportFingerprints.newBuilder();
+            for (ErrorReportFingerprint fingerprint : fingerprints)
+            {
+                msgBuilder.addFingerprints(
+                    MsgIntErrorReportFingerprintsOuterClass.ErrorReportFingerprint.newBuilder()
+                        .setFingerprint(fingerprint.getFingerprint())
+                        .setReportId(fingerprint.getReportId())
+                        .setExceptionClass(fingerprint.getExceptionClass())
+                        .setMessageTemplate(fingerprint.getMessageTemplate())
+                        .setFirstTime(fingerprint.getFirstTime().getTime())
+                        .setLastTime(fingerprint.getLastTime().getTime())
+                        .setOccurrences(fingerprint.getOccurrences())
+                        .build()
+                );
+            }
+            protoOut.writeDelimited(msgBuilder.build());
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
     @Override
     public CommonSerializer.CommonSerializerBuilder filter(
         Set<NodeName> nodesFilter,
@@ -541,15 +609,16 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     {
         try
         {
-            FilterOuterClass.Filter.newBuilder()
-                .addAllNodeNames(
-                    nodesFilter.stream().map(NodeName::getDisplayName).collect(Collectors.toList()))
-                .addAllStorPoolNames(
-                    storPoolFilter.stream().map(StorPoolName::getDisplayName).collect(Collectors.toList()))
-                .addAllResourceNames(
-                    resourceFilter.stream().map(ResourceName::getDisplayName).collect(Collectors.toList()))
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                FilterOuterClass.Filter.newBuilder()
+                    .addAllNodeNames(
+                        nodesFilter.stream().map(NodeName::getDisplayName).collect(Collectors.toList()))
+                    .addAllStorPoolNames(
+                        storPoolFilter.stream().map(StorPoolName::getDisplayName).collect(Collectors.toList()))
+                    .addAllResourceNames(
+                        resourceFilter.stream().map(ResourceName::getDisplayName).collect(Collectors.toList()))
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -18,6 +18,7 @@ public class ProtoCtrlStltSerializer extends ProtoCommonSerializer
 {
     private final CtrlSecurityObjects secObjs;
     private final Props ctrlConf;
+    private final ProtoSerializationCache serializationCache = new ProtoSerializationCache();
 
     @Inject
     public ProtoCtrlStltSerializer(
@@ -67,6 +68,6 @@ public class ProtoCtrlStltSerializer extends ProtoCommonSerializer
     private CtrlStltSerializerBuilder builder(String apiCall, Long apiCallId, boolean isAnswer)
     {
         return new ProtoCtrlStltSerializerBuilder(
-            errorReporter, serializerCtx, secObjs, ctrlConf, apiCall, apiCallId, isAnswer);
+            errorReporter, serializerCtx, secObjs, ctrlConf, serializationCache, apiCall, apiCallId, isAnswer);
     }
 }
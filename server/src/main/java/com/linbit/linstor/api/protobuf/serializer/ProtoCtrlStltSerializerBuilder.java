@@ -6,6 +6,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.api.interfaces.serializer.CommonSerializer.CommonSerializerBuilder;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.FullSyncDigest;
 import com.linbit.linstor.api.protobuf.ProtoStorPoolFreeSpaceUtils;
 import com.linbit.linstor.core.CtrlSecurityObjects;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
@@ -48,12 +49,16 @@ import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgInt
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplySnapshotOuterClass.MsgIntApplySnapshot;
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyStorPoolOuterClass.MsgIntApplyStorPool;
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntAuthOuterClass;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatch;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatchEntry;
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntCryptKeyOuterClass.MsgIntCryptKey;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntFullSyncRscChunkOuterClass.MsgIntFullSyncRscChunk;
 import com.linbit.linstor.proto.javainternal.c2s.MsgIntSnapshotEndedDataOuterClass;
 import com.linbit.linstor.proto.javainternal.c2s.MsgReqPhysicalDevicesOuterClass.MsgReqPhysicalDevices;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyNodeSuccessOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyRscSuccessOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyStorPoolSuccessOuterClass.MsgIntApplyStorPoolSuccess;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedBatchReplyOuterClass.MsgIntChangedBatchReply;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntPrimaryOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntUpdateFreeSpaceOuterClass.MsgIntUpdateFreeSpace;
 import com.linbit.linstor.proto.javainternal.s2c.MsgPhysicalDevicesOuterClass;
@@ -66,6 +71,7 @@ import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 import com.linbit.linstor.storage.kinds.RaidLevel;
 import com.linbit.utils.Base64;
 import com.linbit.utils.Either;
+import com.linbit.utils.Pair;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -89,12 +95,14 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     private final SnapshotSerializerHelper snapshotSerializerHelper;
     private final NodeSerializerHelper nodeSerializerHelper;
     private final CtrlSecurityObjects secObjs;
+    private final ProtoSerializationCache serializationCache;
 
     public ProtoCtrlStltSerializerBuilder(
         ErrorReporter errReporter,
         AccessContext serializerCtx,
         CtrlSecurityObjects secObjsRef,
         Props ctrlConfRef,
+        ProtoSerializationCache serializationCacheRef,
         final String apiCall,
         Long apiCallId,
         boolean isAnswer
@@ -102,6 +110,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         super(errReporter, serializerCtx, apiCall, apiCallId, isAnswer);
         secObjs = secObjsRef;
+        serializationCache = serializationCacheRef;
 
         ctrlSerializerHelper = new CtrlSerializerHelper(ctrlConfRef);
         rscSerializerHelper = new ResourceSerializerHelper();
@@ -117,12 +126,14 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntAuthOuterClass.MsgIntAuth.newBuilder()
-                .setNodeUuid(nodeUuid.toString())
-                .setNodeName(nodeName)
-                .setSharedSecret(ByteString.copyFrom(sharedSecret))
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntAuthOuterClass.MsgIntAuth.newBuilder()
+                    .setNodeUuid(nodeUuid.toString())
+                    .setNodeName(nodeName)
+                    .setSharedSecret(ByteString.copyFrom(sharedSecret))
+                    .setMessageCompression(true)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -167,6 +178,30 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
         return this;
     }
 
+    @Override
+    public ProtoCtrlStltSerializerBuilder changedBatch(List<Pair<String, byte[]>> changes)
+    {
+        try
+        {
+            MsgIntChangedBatch.Builder batchBuilder = MsgIntChangedBatch.newBuilder();
+            for (Pair<String, byte[]> change : changes)
+            {
+                batchBuilder.addEntries(
+                    MsgIntChangedBatchEntry.newBuilder()
+                        .setApiCall(change.objA)
+                        .setData(ByteString.copyFrom(change.objB))
+                        .build()
+                );
+            }
+            protoOut.writeDelimited(batchBuilder.build());
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
     @Override
     public ProtoCtrlStltSerializerBuilder controllerData(
         long fullSyncTimestamp,
@@ -175,9 +210,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            ctrlSerializerHelper
-                .buildApplyControllerMsg(fullSyncTimestamp, serializerid)
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(ctrlSerializerHelper.buildApplyControllerMsg(fullSyncTimestamp, serializerid));
         }
         catch (IOException exc)
         {
@@ -196,12 +229,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyNode.newBuilder()
-                .setNode(nodeSerializerHelper.buildNodeMsg(node, relatedNodes))
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(serializerId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyNode.newBuilder()
+                    .setNode(nodeSerializerHelper.buildNodeMsg(node, relatedNodes))
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(serializerId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -223,12 +257,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyDeletedNode.newBuilder()
-                .setNodeName(nodeNameStr)
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyDeletedNode.newBuilder()
+                    .setNodeName(nodeNameStr)
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -246,12 +281,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyRsc.newBuilder()
-                .setRsc(rscSerializerHelper.buildIntResource(localResource))
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyRsc.newBuilder()
+                    .setRsc(rscSerializerHelper.buildIntResource(localResource))
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -273,12 +309,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyDeletedRsc.newBuilder()
-                .setRscName(rscNameStr)
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyDeletedRsc.newBuilder()
+                    .setRscName(rscNameStr)
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -296,12 +333,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyStorPool.newBuilder()
-                .setStorPool(buildIntStorPoolMsg(storPool))
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyStorPool.newBuilder()
+                    .setStorPool(buildIntStorPoolMsg(storPool))
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -323,12 +361,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyDeletedStorPool.newBuilder()
-                .setStorPoolName(storPoolNameStr)
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyDeletedStorPool.newBuilder()
+                    .setStorPoolName(storPoolNameStr)
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -344,12 +383,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplySnapshot.newBuilder()
-                .setSnapshot(snapshotSerializerHelper.buildSnapshotMsg(snapshot))
-                .setFullSyncId(fullSyncId)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplySnapshot.newBuilder()
+                    .setSnapshot(snapshotSerializerHelper.buildSnapshotMsg(snapshot))
+                    .setFullSyncId(fullSyncId)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -369,13 +409,14 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntSnapshotEndedDataOuterClass.MsgIntSnapshotEndedData.newBuilder()
-                .setRscName(resourceNameStr)
-                .setSnapshotName(snapshotNameStr)
-                .setFullSyncId(fullSyncId)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntSnapshotEndedDataOuterClass.MsgIntSnapshotEndedData.newBuilder()
+                    .setRscName(resourceNameStr)
+                    .setSnapshotName(snapshotNameStr)
+                    .setFullSyncId(fullSyncId)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -388,17 +429,17 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     public ProtoCtrlStltSerializerBuilder fullSync(
         Set<Node> nodeSet,
         Set<StorPool> storPools,
-        Set<Resource> resources,
+        Collection<Resource> resources,
         Set<Snapshot> snapshots,
         long fullSyncTimestamp,
-        long updateId
+        long updateId,
+        int rscChunkCount
     )
     {
         try
         {
             ArrayList<IntNode> serializedNodes = new ArrayList<>();
             ArrayList<IntStorPool> serializedStorPools = new ArrayList<>();
-            ArrayList<IntRsc> serializedRscs = new ArrayList<>();
             ArrayList<IntSnapshot> serializedSnapshots = new ArrayList<>();
 
             IntController serializedCtrl = ctrlSerializerHelper.buildControllerDataMsg();
@@ -418,13 +459,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
                     buildIntStorPoolMsg(storPool)
                 );
             }
-            for (Resource rsc : resources)
-            {
-                if (rsc.iterateVolumes().hasNext())
-                {
-                    serializedRscs.add(rscSerializerHelper.buildIntResource(rsc));
-                }
-            }
+            List<IntRsc> serializedRscs = buildFullSyncRscs(resources);
             for (Snapshot snapshot : snapshots)
             {
                 serializedSnapshots.add(snapshotSerializerHelper.buildSnapshotMsg(snapshot));
@@ -436,16 +471,51 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
             {
                 encodedMasterKey = Base64.encode(cryptKey);
             }
-            MsgIntApplyFullSync.newBuilder()
-                .addAllNodes(serializedNodes)
-                .addAllStorPools(serializedStorPools)
-                .addAllRscs(serializedRscs)
-                .addAllSnapshots(serializedSnapshots)
-                .setFullSyncTimestamp(fullSyncTimestamp)
-                .setMasterKey(encodedMasterKey)
-                .setCtrl(serializedCtrl)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyFullSync.newBuilder()
+                    .addAllNodes(serializedNodes)
+                    .addAllStorPools(serializedStorPools)
+                    .addAllRscs(serializedRscs)
+                    .addAllSnapshots(serializedSnapshots)
+                    .setFullSyncTimestamp(fullSyncTimestamp)
+                    .setMasterKey(encodedMasterKey)
+                    .setCtrl(serializedCtrl)
+                    .setRscChunkCount(rscChunkCount)
+                    .build()
+            );
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        catch (AccessDeniedException exc)
+        {
+            handleAccessDeniedException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public ProtoCtrlStltSerializerBuilder fullSyncRscChunk(
+        Collection<Resource> resources,
+        Collection<Snapshot> snapshots,
+        long fullSyncTimestamp
+    )
+    {
+        try
+        {
+            ArrayList<IntSnapshot> serializedSnapshots = new ArrayList<>(snapshots.size());
+            for (Snapshot snapshot : snapshots)
+            {
+                serializedSnapshots.add(snapshotSerializerHelper.buildSnapshotMsg(snapshot));
+            }
+            protoOut.writeDelimited(
+                MsgIntFullSyncRscChunk.newBuilder()
+                    .addAllRscs(buildFullSyncRscs(resources))
+                    .addAllSnapshots(serializedSnapshots)
+                    .setFullSyncTimestamp(fullSyncTimestamp)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -458,6 +528,85 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
         return this;
     }
 
+    @Override
+    public ProtoCtrlStltSerializerBuilder fullSyncUnchanged(long fullSyncTimestamp)
+    {
+        try
+        {
+            protoOut.writeDelimited(
+                MsgIntApplyFullSync.newBuilder()
+                    .setFullSyncTimestamp(fullSyncTimestamp)
+                    .setStateUnchanged(true)
+                    .build()
+            );
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public ProtoCtrlStltSerializerBuilder fullSyncDigest(
+        Set<Node> nodeSet,
+        Set<StorPool> storPools,
+        Collection<Resource> resources,
+        Set<Snapshot> snapshots
+    )
+    {
+        try
+        {
+            FullSyncDigest digest = new FullSyncDigest();
+            digest.putController(ctrlSerializerHelper.buildControllerDataMsg().getPropsMap());
+            digest.putMasterKey(secObjs.getCryptKey());
+
+            LinkedList<Node> nodes = new LinkedList<>(nodeSet);
+            while (!nodes.isEmpty())
+            {
+                Node node = nodes.removeFirst();
+                digest.putNode(nodeSerializerHelper.buildNodeMsg(node, nodes));
+            }
+            for (StorPool storPool : storPools)
+            {
+                digest.putStorPool(buildIntStorPoolMsg(storPool));
+            }
+            for (IntRsc rsc : buildFullSyncRscs(resources))
+            {
+                digest.putRsc(rsc);
+            }
+            for (Snapshot snapshot : snapshots)
+            {
+                digest.putSnapshot(snapshotSerializerHelper.buildSnapshotMsg(snapshot));
+            }
+
+            protoOut.write(digest.getDigest());
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        catch (AccessDeniedException exc)
+        {
+            handleAccessDeniedException(exc);
+        }
+        return this;
+    }
+
+    private List<IntRsc> buildFullSyncRscs(Collection<Resource> resources) throws AccessDeniedException
+    {
+        List<IntRsc> serializedRscs = new ArrayList<>();
+        for (Resource rsc : resources)
+        {
+            // resources might have been deleted since the full sync was prepared
+            if (!rsc.isDeleted() && rsc.iterateVolumes().hasNext())
+            {
+                serializedRscs.add(rscSerializerHelper.buildIntResource(rsc));
+            }
+        }
+        return serializedRscs;
+    }
+
     /*
      * Satellite -> Controller
      */
@@ -466,12 +615,32 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntPrimaryOuterClass.MsgIntPrimary.newBuilder()
-                .setRscName(rscName)
-                .setRscUuid(rscUuid)
-                .setAlreadyInitialized(alreadyInitialized)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntPrimaryOuterClass.MsgIntPrimary.newBuilder()
+                    .setRscName(rscName)
+                    .setRscUuid(rscUuid)
+                    .setAlreadyInitialized(alreadyInitialized)
+                    .build()
+            );
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public ProtoCtrlStltSerializerBuilder changedBatchReply(int entryIdx, boolean complete)
+    {
+        try
+        {
+            protoOut.writeDelimited(
+                MsgIntChangedBatchReply.newBuilder()
+                    .setEntryIdx(entryIdx)
+                    .setComplete(complete)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -485,15 +654,16 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyNodeSuccessOuterClass.MsgIntApplyNodeSuccess.newBuilder()
-                .setNodeId(
-                    IntObjectId.newBuilder()
-                        .setUuid(node.getUuid().toString())
-                        .setName(node.getName().displayValue)
-                        .build()
-                )
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyNodeSuccessOuterClass.MsgIntApplyNodeSuccess.newBuilder()
+                    .setNodeId(
+                        IntObjectId.newBuilder()
+                            .setUuid(node.getUuid().toString())
+                            .setName(node.getName().displayValue)
+                            .build()
+                    )
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -510,24 +680,25 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyRscSuccessOuterClass.MsgIntApplyRscSuccess.newBuilder()
-                .setRscId(
-                    IntObjectId.newBuilder()
-                        .setUuid(resource.getUuid().toString())
-                        .setName(resource.getDefinition().getName().displayValue)
-                        .build()
-                )
-                .addAllFreeSpace(
-                    ProtoStorPoolFreeSpaceUtils.getAllStorPoolFreeSpaces(freeSpaceMap)
-                )
-                .setLayerObject(
-                    ProtoCommonSerializerBuilder.LayerObjectSerializer.serializeLayerObject(
-                        resource.getLayerData(serializerCtx),
-                        serializerCtx
+            protoOut.writeDelimited(
+                MsgIntApplyRscSuccessOuterClass.MsgIntApplyRscSuccess.newBuilder()
+                    .setRscId(
+                        IntObjectId.newBuilder()
+                            .setUuid(resource.getUuid().toString())
+                            .setName(resource.getDefinition().getName().displayValue)
+                            .build()
                     )
-                )
-                .build()
-                .writeDelimitedTo(baos);
+                    .addAllFreeSpace(
+                        ProtoStorPoolFreeSpaceUtils.getAllStorPoolFreeSpaces(freeSpaceMap)
+                    )
+                    .setLayerObject(
+                        ProtoCommonSerializerBuilder.LayerObjectSerializer.serializeLayerObject(
+                            resource.getLayerData(serializerCtx),
+                            serializerCtx
+                        )
+                    )
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -545,11 +716,12 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgRscFailed.newBuilder()
-                .setRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, resource))
-                .addAllResponses(ProtoCommonSerializerBuilder.serializeApiCallRc(apiCallRc))
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgRscFailed.newBuilder()
+                    .setRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, resource))
+                    .addAllResponses(ProtoCommonSerializerBuilder.serializeApiCallRc(apiCallRc))
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -623,10 +795,11 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
             }
 
 
-            MsgIntUpdateFreeSpace.newBuilder()
-                .addAllFreeSpace(freeSpaces)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntUpdateFreeSpace.newBuilder()
+                    .addAllFreeSpace(freeSpaces)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -644,20 +817,21 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntApplyStorPoolSuccess.newBuilder()
-                .setStorPoolName(storPool.getName().displayValue)
-                .setFreeSpace(
-                    StorPoolFreeSpaceOuterClass.StorPoolFreeSpace.newBuilder()
-                        .setStorPoolUuid(storPool.getUuid().toString())
-                        .setStorPoolName(storPool.getName().displayValue)
-                        .setFreeCapacity(spaceInfo.freeCapacity)
-                        .setTotalCapacity(spaceInfo.totalCapacity)
-                        .build()
-                    )
-                .setSupportsSnapshots(supportsSnapshotsRef)
-                .setIsPmem(storPool.isPmem())
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntApplyStorPoolSuccess.newBuilder()
+                    .setStorPoolName(storPool.getName().displayValue)
+                    .setFreeSpace(
+                        StorPoolFreeSpaceOuterClass.StorPoolFreeSpace.newBuilder()
+                            .setStorPoolUuid(storPool.getUuid().toString())
+                            .setStorPoolName(storPool.getName().displayValue)
+                            .setFreeCapacity(spaceInfo.freeCapacity)
+                            .setTotalCapacity(spaceInfo.totalCapacity)
+                            .build()
+                        )
+                    .setSupportsSnapshots(supportsSnapshotsRef)
+                    .setIsPmem(storPool.isPmem())
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -672,10 +846,11 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgReqPhysicalDevices.newBuilder()
-                .setFilter(filter)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgReqPhysicalDevices.newBuilder()
+                    .setFilter(filter)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -714,9 +889,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
                 );
             }
 
-            msgCreateDevicePoolBuilder
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(msgCreateDevicePoolBuilder.build());
         }
         catch (IOException exc)
         {
@@ -740,9 +913,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
                     .setProviderKind(asProviderType(providerKindRef))
                     .setPoolName(poolName);
 
-            msgDeleteDevicePoolBuilder
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(msgDeleteDevicePoolBuilder.build());
         }
         catch (IOException exc)
         {
@@ -756,19 +927,20 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgPhysicalDevices.newBuilder()
-                .addAllDevices(entries.stream().map(lsBlkEntry ->
-                    MsgPhysicalDevicesOuterClass.LsBlkEntry.newBuilder()
-                        .setName(lsBlkEntry.getName())
-                        .setSize(lsBlkEntry.getSize())
-                        .setRotational(lsBlkEntry.isRotational())
-                        .setKernelName(lsBlkEntry.getKernelName())
-                        .setParentName(lsBlkEntry.getParentName())
-                        .setMajor(lsBlkEntry.getMajor())
-                        .setMinor(lsBlkEntry.getMinor())
-                        .build()).collect(Collectors.toList()))
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgPhysicalDevices.newBuilder()
+                    .addAllDevices(entries.stream().map(lsBlkEntry ->
+                        MsgPhysicalDevicesOuterClass.LsBlkEntry.newBuilder()
+                            .setName(lsBlkEntry.getName())
+                            .setSize(lsBlkEntry.getSize())
+                            .setRotational(lsBlkEntry.isRotational())
+                            .setKernelName(lsBlkEntry.getKernelName())
+                            .setParentName(lsBlkEntry.getParentName())
+                            .setMajor(lsBlkEntry.getMajor())
+                            .setMinor(lsBlkEntry.getMinor())
+                            .build()).collect(Collectors.toList()))
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -786,12 +958,13 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         try
         {
-            MsgIntCryptKey.newBuilder()
-                .setCryptKey(ByteString.copyFrom(cryptKey))
-                .setFullSyncId(fullSyncTimestamp)
-                .setUpdateId(updateId)
-                .build()
-                .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                MsgIntCryptKey.newBuilder()
+                    .setCryptKey(ByteString.copyFrom(cryptKey))
+                    .setFullSyncId(fullSyncTimestamp)
+                    .setUpdateId(updateId)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -809,10 +982,11 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
             {
                 msgBuilder.setUuid(objUuid.toString());
             }
-            msgBuilder
-                .setName(objName)
-                .build()
-            .writeDelimitedTo(baos);
+            protoOut.writeDelimited(
+                msgBuilder
+                    .setName(objName)
+                    .build()
+            );
         }
         catch (IOException exc)
         {
@@ -958,7 +1132,12 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
 
             return IntRsc.newBuilder()
                 .setLocalRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, localResource))
-                .setRscDfn(ProtoCommonSerializerBuilder.serializeResourceDefinition(serializerCtx, rscDfn))
+                .setRscDfn(
+                    serializationCache.getRscDfn(
+                        rscDfn.getUuid(),
+                        () -> ProtoCommonSerializerBuilder.serializeResourceDefinition(serializerCtx, rscDfn)
+                    )
+                )
                 .addAllOtherResources(buildOtherResources(otherResources))
                 .addAllRscConnections(
                     ProtoCommonSerializerBuilder.serializeResourceConnections(
@@ -979,9 +1158,11 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
             {
                 list.add(
                     IntOtherRsc.newBuilder()
-                        .setNode(ProtoCommonSerializerBuilder.serializeNode(
-                            serializerCtx,
-                            rsc.getNode())
+                        .setNode(
+                            serializationCache.getNode(
+                                rsc.getNode().getUuid(),
+                                () -> ProtoCommonSerializerBuilder.serializeNode(serializerCtx, rsc.getNode())
+                            )
                         )
                         .setRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, rsc))
                         .build()
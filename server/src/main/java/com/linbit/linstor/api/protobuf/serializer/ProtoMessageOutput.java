@@ -0,0 +1,76 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+/**
+ * Collects the protobuf messages and raw bytes that make up a serialized message and encodes them directly
+ * into a single array of the exact size when the message is built
+ *
+ * Unlike writing into a ByteArrayOutputStream, this neither copies the encoded data whenever the buffer grows
+ * nor when the result is taken out of the buffer. The resulting array is handed to the peer's outbound queue
+ * as it is.
+ */
+class ProtoMessageOutput
+{
+    // Largest array size that JVMs reliably allocate
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private long size = 0;
+
+    /**
+     * Appends the message, preceded by its length, like {@link MessageLite#writeDelimitedTo}
+     *
+     * @throws IOException If the serialized message would exceed the maximum array size
+     */
+    void writeDelimited(MessageLite msg) throws IOException
+    {
+        // The serialized size is cached by the message, it is not computed again when the message is encoded
+        int msgSize = msg.getSerializedSize();
+        addSize(CodedOutputStream.computeUInt32SizeNoTag(msgSize) + (long) msgSize);
+        segments.add(codedOut -> codedOut.writeMessageNoTag(msg));
+    }
+
+    /**
+     * Appends the bytes, which are not copied before the message is built
+     *
+     * @throws IOException If the serialized message would exceed the maximum array size
+     */
+    void write(byte[] bytes) throws IOException
+    {
+        addSize(bytes.length);
+        segments.add(codedOut -> codedOut.writeRawBytes(bytes));
+    }
+
+    byte[] toByteArray() throws IOException
+    {
+        byte[] result = new byte[(int) size];
+        CodedOutputStream codedOut = CodedOutputStream.newInstance(result);
+        for (Segment segment : segments)
+        {
+            segment.writeTo(codedOut);
+        }
+        codedOut.checkNoSpaceLeft();
+        return result;
+    }
+
+    private void addSize(long segmentSize) throws IOException
+    {
+        if (size + segmentSize > MAX_SIZE)
+        {
+            throw new IOException("Serialized message exceeds the maximum size of " + MAX_SIZE + " bytes");
+        }
+        size += segmentSize;
+    }
+
+    @FunctionalInterface
+    private interface Segment
+    {
+        void writeTo(CodedOutputStream codedOut) throws IOException;
+    }
+}
@@ -0,0 +1,99 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.proto.common.NodeOuterClass;
+import com.linbit.linstor.proto.common.RscDfnOuterClass;
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.AbsTransactionObject;
+import com.linbit.utils.ExceptionThrowingSupplier;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Caches the serialized forms of objects that are sent to several satellites, so that e.g. the nodes of the
+ * peer resources and the resource definition are encoded once per change instead of once per recipient
+ *
+ * Entries are keyed by the UUID of the object and are only valid while the modification count of the
+ * transaction layer does not change. Since any modification, commit or rollback of a transaction object
+ * changes that count, all entries are dropped at once.
+ *
+ * Only objects whose serialized form consists entirely of transactional data are cached. Resources are not,
+ * since their layer data contains runtime state (device paths, sizes, disk states) that is updated outside
+ * of transactions.
+ */
+class ProtoSerializationCache
+{
+    private static final int MAX_ENTRIES = 10000;
+
+    // All following fields are guarded by this
+    private long modificationCount = -1;
+    private final Map<UUID, NodeOuterClass.Node> nodes = new HashMap<>();
+    private final Map<UUID, RscDfnOuterClass.RscDfn> rscDfns = new HashMap<>();
+
+    NodeOuterClass.Node getNode(
+        UUID uuid,
+        ExceptionThrowingSupplier<NodeOuterClass.Node, AccessDeniedException> serializer
+    )
+        throws AccessDeniedException
+    {
+        return get(nodes, uuid, serializer);
+    }
+
+    RscDfnOuterClass.RscDfn getRscDfn(
+        UUID uuid,
+        ExceptionThrowingSupplier<RscDfnOuterClass.RscDfn, AccessDeniedException> serializer
+    )
+        throws AccessDeniedException
+    {
+        return get(rscDfns, uuid, serializer);
+    }
+
+    private <MSG extends MessageLite> MSG get(
+        Map<UUID, MSG> entries,
+        UUID uuid,
+        ExceptionThrowingSupplier<MSG, AccessDeniedException> serializer
+    )
+        throws AccessDeniedException
+    {
+        long curModificationCount = AbsTransactionObject.getModificationCount();
+        MSG msg;
+        synchronized (this)
+        {
+            invalidateIfModified(curModificationCount);
+            msg = entries.get(uuid);
+        }
+        if (msg == null)
+        {
+            msg = serializer.supply();
+            // Also computes and caches the serialized size, so it is not computed again for every recipient
+            msg.getSerializedSize();
+            synchronized (this)
+            {
+                // Only cache the message if no object was modified while it was serialized
+                if (AbsTransactionObject.getModificationCount() == curModificationCount)
+                {
+                    invalidateIfModified(curModificationCount);
+                    if (entries.size() >= MAX_ENTRIES)
+                    {
+                        entries.clear();
+                    }
+                    entries.put(uuid, msg);
+                }
+            }
+        }
+        return msg;
+    }
+
+    private void invalidateIfModified(long curModificationCount)
+    {
+        if (modificationCount != curModificationCount)
+        {
+            nodes.clear();
+            rscDfns.clear();
+            modificationCount = curModificationCount;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.linbit.linstor.api.LinStorScope;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.AccessDecisionCache;
 import com.linbit.linstor.transaction.TransactionException;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 import com.linbit.linstor.transaction.manager.TransactionMgrGenerator;
@@ -24,6 +25,7 @@ import com.google.inject.name.Names;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.context.Context;
 
 @Singleton
@@ -63,6 +65,11 @@ public class ScopeRunner
         return fluxInScope(scopeDescription, lockGuard, callable, false);
     }
 
+    /**
+     * If the subscriber context contains a {@link Scheduler}, the scope is entered on that scheduler. This keeps
+     * e.g. the scopes of REST API calls off the threads that process the messages of the peers, even if the
+     * scope is entered in reaction to a peer's answer.
+     */
     public <T> Flux<T> fluxInScope(
         String scopeDescription,
         LockGuard lockGuard,
@@ -71,10 +78,18 @@ public class ScopeRunner
     )
     {
         return Mono.subscriberContext()
-            .flatMapMany(subscriberContext -> Mono
-                .fromCallable(() -> doInScope(subscriberContext, scopeDescription, lockGuard, callable, transactional))
-                .flatMapMany(Function.identity())
-            )
+            .flatMapMany(subscriberContext ->
+            {
+                Mono<Flux<T>> scopeMono = Mono.fromCallable(
+                    () -> doInScope(subscriberContext, scopeDescription, lockGuard, callable, transactional)
+                );
+                Scheduler scheduler = subscriberContext.getOrDefault(Scheduler.class, null);
+                if (scheduler != null)
+                {
+                    scopeMono = scopeMono.subscribeOn(scheduler);
+                }
+                return scopeMono.flatMapMany(Function.identity());
+            })
             .checkpoint(scopeDescription);
     }
 
@@ -126,6 +141,8 @@ public class ScopeRunner
 
         apiCallScope.enter();
         lockGuard.lock();
+        // Repeated access checks within the scope are only evaluated once
+        AccessDecisionCache accessDecisionCache = AccessDecisionCache.open();
         try
         {
             apiCallScope.seed(Key.get(AccessContext.class, PeerContext.class), accCtx);
@@ -148,6 +165,7 @@ public class ScopeRunner
         }
         finally
         {
+            accessDecisionCache.close();
             lockGuard.unlock();
             apiCallScope.exit();
             if (transMgr != null)
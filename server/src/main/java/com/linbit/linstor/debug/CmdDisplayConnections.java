@@ -7,6 +7,7 @@ import com.linbit.linstor.ControllerPeerCtx;
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.netcom.MessageCompressor;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.Identity;
@@ -263,6 +264,18 @@ public class CmdDisplayConnections extends BaseDebugCmd
                                     curPeer.outQueueCount(), curPeer.outQueueCapacity(),
                                     curPeer.msgRecvMaxSize(), curPeer.msgSentMaxSize()
                                 );
+                                MessageCompressor msgCompressor = curPeer.getMessageCompressor();
+                                if (msgCompressor != null)
+                                {
+                                    debugOut.printf(
+                                        "    Compressed: %8d  Decompressed: %8d  Ratio: %6.2f  " +
+                                        "CompressMs: %8d  DecompressMs: %8d  ChunkedSent: %5d  ChunkedRecv: %5d\n",
+                                        msgCompressor.getCompressedMsgCount(), msgCompressor.getDecompressedMsgCount(),
+                                        msgCompressor.getCompressionRatio(),
+                                        msgCompressor.getCompressMillis(), msgCompressor.getDecompressMillis(),
+                                        msgCompressor.getChunkedMsgSentCount(), msgCompressor.getChunkedMsgRecvCount()
+                                    );
+                                }
                             }
                             if (detailId)
                             {
@@ -11,7 +11,9 @@ import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.netcom.PeerNotConnectedException;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -26,12 +28,16 @@ import reactor.core.publisher.Signal;
 @Singleton
 public class EventBroker
 {
+    // Upper limit for the number of events sent in one batch message
+    private static final int MAX_EVENT_BATCH_SIZE = 1000;
+
     private final ErrorReporter errorReporter;
     private final CommonSerializer commonSerializer;
     private final WatchStore watchStore;
     private final Map<String, EventSerializer> eventSerializers;
     private final Map<String, EventSerializerDescriptor> eventSerializerDescriptors;
     private final ReentrantLock watchLock;
+    private final long eventBatchWindowMs;
 
     @Inject
     public EventBroker(
@@ -39,7 +45,8 @@ public class EventBroker
         CommonSerializer commonSerializerRef,
         WatchStore watchStoreRef,
         Map<String, EventSerializer> eventSerializersRef,
-        Map<String, EventSerializerDescriptor> eventSerializerDescriptorsRef
+        Map<String, EventSerializerDescriptor> eventSerializerDescriptorsRef,
+        @Named(EventModule.EVENT_BATCH_WINDOW_MS) long eventBatchWindowMsRef
     )
     {
         errorReporter = errorReporterRef;
@@ -47,6 +54,7 @@ public class EventBroker
         watchStore = watchStoreRef;
         eventSerializers = eventSerializersRef;
         eventSerializerDescriptors = eventSerializerDescriptorsRef;
+        eventBatchWindowMs = eventBatchWindowMsRef;
 
         watchLock = new ReentrantLock();
     }
@@ -79,6 +87,18 @@ public class EventBroker
             }
 
             Flux<byte[]> mergedStreams = Flux.merge(watchStreams);
+            if (eventBatchWindowMs > 0)
+            {
+                // Events that are emitted within the batch window are sent to the peer in a single message
+                mergedStreams = mergedStreams
+                    .bufferTimeout(MAX_EVENT_BATCH_SIZE, Duration.ofMillis(eventBatchWindowMs))
+                    .map(this::buildEventMessage);
+            }
+            else
+            {
+                mergedStreams = mergedStreams
+                    .map(event -> commonSerializer.onewayBuilder(ApiConsts.API_EVENT).bytes(event).build());
+            }
 
             Disposable disposable = mergedStreams
                 .subscribe(
@@ -151,7 +171,7 @@ public class EventBroker
         EventIdentifier eventIdentifier = new EventIdentifier(eventName, objectSignal.getObjectIdentifier());
         Signal<T> signal = objectSignal.getSignal();
 
-        CommonSerializer.CommonSerializerBuilder builder = commonSerializer.onewayBuilder(ApiConsts.API_EVENT);
+        CommonSerializer.CommonSerializerBuilder builder = commonSerializer.headerlessBuilder();
         if (signal.isOnNext())
         {
             builder
@@ -175,6 +195,20 @@ public class EventBroker
         return builder.build();
     }
 
+    private byte[] buildEventMessage(List<byte[]> events)
+    {
+        byte[] msg;
+        if (events.size() == 1)
+        {
+            msg = commonSerializer.onewayBuilder(ApiConsts.API_EVENT).bytes(events.get(0)).build();
+        }
+        else
+        {
+            msg = commonSerializer.onewayBuilder(InternalApiConsts.API_EVENT_BATCH).eventBatch(events).build();
+        }
+        return msg;
+    }
+
     private Collection<String> getMatchingEventNames(String eventName)
     {
         return eventName == null || eventName.isEmpty() ? eventSerializers.keySet() : Collections.singleton(eventName);
@@ -2,6 +2,7 @@ package com.linbit.linstor.event;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.MapBinder;
+import com.google.inject.name.Names;
 import com.linbit.linstor.event.handler.EventHandler;
 import com.linbit.linstor.event.handler.protobuf.ProtobufEventHandler;
 import com.linbit.linstor.event.serializer.EventSerializer;
@@ -10,22 +11,40 @@ import java.util.List;
 
 public class EventModule extends AbstractModule
 {
+    public static final String EVENT_BATCH_WINDOW_MS = "EventBatchWindowMs";
+
     private final List<Class<? extends EventSerializer>> eventSerializers;
     private final List<Class<? extends EventHandler>> eventHandlers;
+    private final long eventBatchWindowMs;
 
     public EventModule(
         List<Class<? extends EventSerializer>> eventSerializersRef,
         List<Class<? extends EventHandler>> eventHandlersRef
     )
+    {
+        this(eventSerializersRef, eventHandlersRef, 0);
+    }
+
+    /**
+     * @param eventBatchWindowMsRef Time window in which outgoing events are collected and sent as a single
+     *     batch message. Batching is disabled if this is 0
+     */
+    public EventModule(
+        List<Class<? extends EventSerializer>> eventSerializersRef,
+        List<Class<? extends EventHandler>> eventHandlersRef,
+        long eventBatchWindowMsRef
+    )
     {
         eventSerializers = eventSerializersRef;
         eventHandlers = eventHandlersRef;
+        eventBatchWindowMs = eventBatchWindowMsRef;
     }
 
     @Override
     protected void configure()
     {
         bind(WatchStore.class).to(WatchStoreImpl.class);
+        bindConstant().annotatedWith(Names.named(EVENT_BATCH_WINDOW_MS)).to(eventBatchWindowMs);
 
         MapBinder<String, EventSerializer> eventSerializerBinder =
             MapBinder.newMapBinder(binder(), String.class, EventSerializer.class);
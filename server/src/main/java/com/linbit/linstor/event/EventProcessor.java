@@ -16,6 +16,7 @@ import com.linbit.locks.LockGuard;
 import com.linbit.locks.LockGuardFactory;
 
 import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
+import static com.linbit.locks.LockGuardFactory.LockObj.RSC_DFN_MAP;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -23,6 +24,7 @@ import javax.inject.Singleton;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import reactor.core.publisher.Flux;
@@ -159,6 +161,39 @@ public class EventProcessor
         return Flux.empty();
     }
 
+    /**
+     * Applies a batch of events from the same peer atomically: The locks required by the event handlers
+     * and the peer's satellite state lock are held for the whole batch, so that other threads either see
+     * the state before or after all events of the batch were applied.
+     *
+     * @param batchHandler Calls {@link #handleEvent} for every event of the batch
+     */
+    public Flux<?> handleEventBatch(Runnable batchHandler)
+    {
+        try (LockGuard lockGuard = lockGuardFactory.build(LockGuardFactory.LockType.WRITE, NODES_MAP, RSC_DFN_MAP))
+        {
+            eventHandlingLock.lock();
+            try
+            {
+                Lock satelliteStateLock = peerProvider.get().getSatelliteStateLock().writeLock();
+                satelliteStateLock.lock();
+                try
+                {
+                    batchHandler.run();
+                }
+                finally
+                {
+                    satelliteStateLock.unlock();
+                }
+            }
+            finally
+            {
+                eventHandlingLock.unlock();
+            }
+        }
+        return Flux.empty();
+    }
+
     private void executeNoConnection(
         Provider<EventHandler> eventHandler,
         EventIdentifier eventIdentifier
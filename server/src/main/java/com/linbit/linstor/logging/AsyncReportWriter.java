@@ -0,0 +1,102 @@
+package com.linbit.linstor.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes error report files on a background thread, so that the thread reporting an error does not have to
+ * wait for the file system.
+ *
+ * All writes are run in the order they were submitted, so that the summaries appended to a report are always
+ * written after the report itself. The queue of pending writes is bounded. If it is full, the reporting thread
+ * waits until there is space in the queue, instead of dropping the write or running it out of order.
+ * Pending writes are completed when the JVM shuts down.
+ */
+class AsyncReportWriter implements Runnable
+{
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private final BlockingQueue<Runnable> pendingWrites;
+
+    AsyncReportWriter()
+    {
+        this(QUEUE_CAPACITY);
+    }
+
+    AsyncReportWriter(int queueCapacity)
+    {
+        pendingWrites = new ArrayBlockingQueue<>(queueCapacity);
+
+        Thread writerThread = new Thread(this, "ErrorReportWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "ErrorReportWriterShutdown"));
+    }
+
+    void submit(Runnable write)
+    {
+        boolean queued = false;
+        boolean interrupted = false;
+        while (!queued)
+        {
+            try
+            {
+                pendingWrites.put(write);
+                queued = true;
+            }
+            catch (InterruptedException ignored)
+            {
+                // the write must not be lost, keep waiting and restore the interrupt status afterwards
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        boolean running = true;
+        while (running)
+        {
+            try
+            {
+                runWrite(pendingWrites.take());
+            }
+            catch (InterruptedException ignored)
+            {
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Completes all pending writes on the calling thread
+     */
+    void drain()
+    {
+        Runnable write = pendingWrites.poll();
+        while (write != null)
+        {
+            runWrite(write);
+            write = pendingWrites.poll();
+        }
+    }
+
+    private static void runWrite(Runnable write)
+    {
+        try
+        {
+            write.run();
+        }
+        catch (RuntimeException exc)
+        {
+            System.err.println("Unable to write an error report:");
+            exc.printStackTrace();
+        }
+    }
+}
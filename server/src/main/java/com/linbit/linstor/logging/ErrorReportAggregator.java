@@ -0,0 +1,173 @@
+package com.linbit.linstor.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Aggregates repeated occurrences of the same error into a single error report
+ *
+ * Errors are identified by a fingerprint of their exception classes, message templates and stack traces.
+ * Within {@link #AGGREGATION_WINDOW_MS} after the report for the first occurrence of an error was written,
+ * further occurrences only increment the counter of that report. Afterwards, the next occurrence is written
+ * as a new report again.
+ */
+class ErrorReportAggregator
+{
+    static final long AGGREGATION_WINDOW_MS = 10 * 60 * 1000;
+
+    private static final int MAX_FINGERPRINTS = 1000;
+
+    // Numbers, hex numbers and UUIDs, e.g. sizes, minor numbers or object ids
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile(
+        "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|0x[0-9a-fA-F]+|[0-9]+"
+    );
+
+    // Guarded by this, the least recently reported fingerprint is evicted first
+    private final Map<String, Aggregate> aggregates = new LinkedHashMap<String, Aggregate>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Aggregate> eldest)
+        {
+            return size() > MAX_FINGERPRINTS;
+        }
+    };
+
+    static String fingerprint(Throwable errorInfo)
+    {
+        Hasher hasher = Hashing.farmHashFingerprint64().newHasher();
+        int depth = 0;
+        for (Throwable curErrorInfo = errorInfo; curErrorInfo != null; curErrorInfo = curErrorInfo.getCause())
+        {
+            hasher.putInt(depth++);
+            hasher.putString(curErrorInfo.getClass().getName(), StandardCharsets.UTF_8);
+            String message = curErrorInfo.getMessage();
+            if (message != null)
+            {
+                hasher.putString(messageTemplate(message), StandardCharsets.UTF_8);
+            }
+            for (StackTraceElement frame : curErrorInfo.getStackTrace())
+            {
+                hasher.putString(frame.getClassName(), StandardCharsets.UTF_8);
+                hasher.putString(frame.getMethodName(), StandardCharsets.UTF_8);
+                hasher.putInt(frame.getLineNumber());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    static String messageTemplate(String message)
+    {
+        return message == null ? "" : VARIABLE_PATTERN.matcher(message).replaceAll("#");
+    }
+
+    /**
+     * @return The aggregate the occurrence was added to, or null if a new report has to be written
+     */
+    synchronized Aggregate addOccurrence(String fingerprint, long timestamp)
+    {
+        Aggregate aggregate = aggregates.get(fingerprint);
+        if (aggregate != null && timestamp - aggregate.firstTime < AGGREGATION_WINDOW_MS)
+        {
+            ++aggregate.occurrences;
+            aggregate.lastTime = timestamp;
+        }
+        else
+        {
+            aggregate = null;
+        }
+        return aggregate;
+    }
+
+    synchronized void addReport(
+        String fingerprint,
+        String reportId,
+        String exceptionClass,
+        String messageTemplate,
+        long timestamp
+    )
+    {
+        aggregates.put(fingerprint, new Aggregate(fingerprint, reportId, exceptionClass, messageTemplate, timestamp));
+    }
+
+    /**
+     * @return True if the occurrence counter of the report has to be written, false if that is already pending
+     */
+    synchronized boolean scheduleSummary(Aggregate aggregate)
+    {
+        boolean schedule = !aggregate.summaryPending;
+        aggregate.summaryPending = true;
+        return schedule;
+    }
+
+    synchronized String takeSummary(Aggregate aggregate)
+    {
+        aggregate.summaryPending = false;
+        return String.format(
+            "Repeated error: %d occurrences, first at %s, last at %s\n",
+            aggregate.occurrences,
+            BaseErrorReporter.TIMESTAMP_FORMAT.format(new Date(aggregate.firstTime)),
+            BaseErrorReporter.TIMESTAMP_FORMAT.format(new Date(aggregate.lastTime))
+        );
+    }
+
+    synchronized List<ErrorReportFingerprint> getFingerprints(String nodeName)
+    {
+        List<ErrorReportFingerprint> fingerprints = new ArrayList<>(aggregates.size());
+        for (Aggregate aggregate : aggregates.values())
+        {
+            fingerprints.add(
+                new ErrorReportFingerprint(
+                    nodeName,
+                    aggregate.fingerprint,
+                    aggregate.reportId,
+                    aggregate.exceptionClass,
+                    aggregate.messageTemplate,
+                    new Date(aggregate.firstTime),
+                    new Date(aggregate.lastTime),
+                    aggregate.occurrences
+                )
+            );
+        }
+        return fingerprints;
+    }
+
+    static class Aggregate
+    {
+        final String fingerprint;
+        final String reportId;
+        final String exceptionClass;
+        final String messageTemplate;
+        final long firstTime;
+
+        // All following fields are guarded by the ErrorReportAggregator
+        long lastTime;
+        long occurrences = 1;
+        boolean summaryPending = false;
+
+        Aggregate(
+            String fingerprintRef,
+            String reportIdRef,
+            String exceptionClassRef,
+            String messageTemplateRef,
+            long timestamp
+        )
+        {
+            fingerprint = fingerprintRef;
+            reportId = reportIdRef;
+            exceptionClass = exceptionClassRef;
+            messageTemplate = messageTemplateRef;
+            firstTime = timestamp;
+            lastTime = timestamp;
+        }
+    }
+}
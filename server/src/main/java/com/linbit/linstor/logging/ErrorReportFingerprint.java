@@ -0,0 +1,100 @@
+package com.linbit.linstor.logging;
+
+import java.util.Date;
+
+/**
+ * Occurrences of the same error that were aggregated into a single error report
+ */
+public class ErrorReportFingerprint implements Comparable<ErrorReportFingerprint>
+{
+    private final String nodeName;
+    private final String fingerprint;
+    private final String reportId;
+    private final String exceptionClass;
+    private final String messageTemplate;
+    private final Date firstTime;
+    private final Date lastTime;
+    private final long occurrences;
+
+    public ErrorReportFingerprint(
+        String nodeNameRef,
+        String fingerprintRef,
+        String reportIdRef,
+        String exceptionClassRef,
+        String messageTemplateRef,
+        Date firstTimeRef,
+        Date lastTimeRef,
+        long occurrencesRef
+    )
+    {
+        nodeName = nodeNameRef;
+        fingerprint = fingerprintRef;
+        reportId = reportIdRef;
+        exceptionClass = exceptionClassRef;
+        messageTemplate = messageTemplateRef;
+        firstTime = firstTimeRef;
+        lastTime = lastTimeRef;
+        occurrences = occurrencesRef;
+    }
+
+    public String getNodeName()
+    {
+        return nodeName;
+    }
+
+    public String getFingerprint()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * @return The id of the report that was written for the first occurrence
+     */
+    public String getReportId()
+    {
+        return reportId;
+    }
+
+    public String getExceptionClass()
+    {
+        return exceptionClass;
+    }
+
+    /**
+     * @return The message of the exception, with numbers and UUIDs replaced by '#'
+     */
+    public String getMessageTemplate()
+    {
+        return messageTemplate;
+    }
+
+    public Date getFirstTime()
+    {
+        return firstTime;
+    }
+
+    public Date getLastTime()
+    {
+        return lastTime;
+    }
+
+    public long getOccurrences()
+    {
+        return occurrences;
+    }
+
+    @Override
+    public int compareTo(ErrorReportFingerprint other)
+    {
+        int cmp = firstTime.compareTo(other.firstTime);
+        if (cmp == 0)
+        {
+            cmp = nodeName.compareTo(other.nodeName);
+            if (cmp == 0)
+            {
+                cmp = reportId.compareTo(other.reportId);
+            }
+        }
+        return cmp;
+    }
+}
@@ -0,0 +1,394 @@
+package com.linbit.linstor.logging;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Append-only index of the error reports in a log directory
+ *
+ * Every error report that is written is appended to the index file as a single line, so that listing error
+ * reports neither has to read the attributes of every report file nor the text of reports that are not
+ * requested. The index of a log directory is loaded once and kept in memory, time and id ranges are looked
+ * up in sorted maps.
+ *
+ * When the index is loaded, after reports were archived, and when the file of an indexed report turns out to be
+ * missing, it is reconciled with the names of the report files in the directory. Reports without an index entry
+ * (e.g. written by a version without the index) are added, entries of reports that no longer exist (e.g. deleted
+ * outside of LINSTOR) are dropped.
+ * Removed reports are appended as removal lines until the index file is compacted.
+ */
+public final class ErrorReportIndex
+{
+    public static final String INDEX_FILE_NAME = "error-report-index.txt";
+
+    private static final String LINE_ADD = "+";
+    private static final String LINE_REMOVE = "-";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final int ADD_FIELD_COUNT = 6;
+
+    private static final Comparator<Entry> TIME_ORDER =
+        Comparator.comparingLong((Entry entry) -> entry.timestamp).thenComparing(entry -> entry.id);
+
+    // Guarded by itself
+    private static final Map<Path, ErrorReportIndex> INDEXES = new HashMap<>();
+
+    private final Path logDirectory;
+    private final Path indexFile;
+
+    // All following fields are guarded by this
+    private final NavigableMap<String, Entry> entriesById = new TreeMap<>();
+    private final NavigableSet<Entry> entriesByTime = new TreeSet<>(TIME_ORDER);
+
+    private ErrorReportIndex(Path logDirectoryRef)
+    {
+        logDirectory = logDirectoryRef;
+        indexFile = logDirectory.resolve(INDEX_FILE_NAME);
+    }
+
+    /**
+     * @return The index of the error reports in the given log directory, loaded on first use
+     */
+    public static ErrorReportIndex forDirectory(Path logDirectory)
+    {
+        Path normalizedDir = logDirectory.toAbsolutePath().normalize();
+        ErrorReportIndex index;
+        synchronized (INDEXES)
+        {
+            index = INDEXES.get(normalizedDir);
+            if (index == null)
+            {
+                index = new ErrorReportIndex(normalizedDir);
+                index.load();
+                INDEXES.put(normalizedDir, index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Records a written error report
+     *
+     * @param id The id of the report, i.e. the name of the report file without prefix and suffix
+     */
+    public synchronized void add(
+        String id,
+        long timestamp,
+        String nodeName,
+        String module,
+        String exceptionClass
+    )
+    {
+        Entry entry = new Entry(id, timestamp, nodeName, module, exceptionClass);
+        put(entry);
+        appendLines(entry.toLine());
+    }
+
+    /**
+     * Drops the entry of a report whose file is missing
+     */
+    public synchronized void remove(String id)
+    {
+        if (drop(id))
+        {
+            appendLines(LINE_REMOVE + FIELD_SEPARATOR + id);
+        }
+    }
+
+    /**
+     * Drops the entries of archived reports and compacts the index file
+     */
+    public synchronized void removeAll(Collection<String> ids)
+    {
+        boolean changed = false;
+        for (String id : ids)
+        {
+            changed |= drop(id);
+        }
+        if (changed)
+        {
+            writeIndexFile();
+        }
+    }
+
+    /**
+     * Reconciles the index with the report files in the log directory, see {@link #reconcileEntries()}
+     */
+    public synchronized void reconcile()
+    {
+        if (reconcileEntries())
+        {
+            writeIndexFile();
+        }
+    }
+
+    /**
+     * Looks up the reports created in the given time range, sorted by their creation time
+     *
+     * @param since Only reports created after this date
+     * @param to Only reports created before this date
+     * @param idPrefixes Only reports whose id starts with one of the prefixes, all reports if empty
+     * @param limit The maximum number of returned entries, 0 for no limit
+     */
+    public synchronized List<Entry> find(
+        Optional<Date> since,
+        Optional<Date> to,
+        Set<String> idPrefixes,
+        int limit
+    )
+    {
+        long sinceTimestamp = since.map(Date::getTime).orElse(Long.MIN_VALUE);
+        long toTimestamp = to.map(Date::getTime).orElse(Long.MAX_VALUE);
+
+        Collection<Entry> candidates;
+        if (idPrefixes.isEmpty())
+        {
+            // no entry is ordered before an entry with the same timestamp and an empty id
+            candidates = entriesByTime.tailSet(new Entry("", sinceTimestamp, null, null, null), true);
+        }
+        else
+        {
+            NavigableSet<Entry> matchingEntries = new TreeSet<>(TIME_ORDER);
+            for (String idPrefix : idPrefixes)
+            {
+                matchingEntries.addAll(
+                    entriesById.subMap(idPrefix, true, idPrefix + Character.MAX_VALUE, false).values()
+                );
+            }
+            candidates = matchingEntries;
+        }
+
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : candidates)
+        {
+            if (entry.timestamp >= toTimestamp || (limit > 0 && result.size() >= limit))
+            {
+                break;
+            }
+            if (entry.timestamp > sinceTimestamp)
+            {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private void put(Entry entry)
+    {
+        drop(entry.id);
+        entriesById.put(entry.id, entry);
+        entriesByTime.add(entry);
+    }
+
+    private boolean drop(String id)
+    {
+        Entry entry = entriesById.remove(id);
+        if (entry != null)
+        {
+            entriesByTime.remove(entry);
+        }
+        return entry != null;
+    }
+
+    private void load()
+    {
+        boolean changed = !Files.exists(indexFile);
+        if (!changed)
+        {
+            try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8))
+            {
+                String line = reader.readLine();
+                while (line != null)
+                {
+                    String[] fields = line.split(FIELD_SEPARATOR, -1);
+                    if (fields.length == ADD_FIELD_COUNT && fields[0].equals(LINE_ADD))
+                    {
+                        put(new Entry(fields[1], Long.parseLong(fields[2]), fields[3], fields[4], fields[5]));
+                    }
+                    else
+                    if (fields.length == 2 && fields[0].equals(LINE_REMOVE))
+                    {
+                        drop(fields[1]);
+                        changed = true;
+                    }
+                    else
+                    {
+                        // probably a line that was not completely written, rewrite the index
+                        changed = true;
+                    }
+                    line = reader.readLine();
+                }
+            }
+            catch (IOException | NumberFormatException exc)
+            {
+                System.err.printf("Unable to read the error report index %s:\n", indexFile);
+                System.err.println(exc.getMessage());
+                entriesById.clear();
+                entriesByTime.clear();
+                changed = true;
+            }
+        }
+
+        changed |= reconcileEntries();
+        if (changed)
+        {
+            writeIndexFile();
+        }
+    }
+
+    /**
+     * Only lists the names of the files in the log directory. The attributes of a report file are only read
+     * if the report is missing in the index.
+     */
+    private boolean reconcileEntries()
+    {
+        boolean changed = false;
+        Set<String> existingIds = new HashSet<>();
+        try (Stream<Path> files = Files.list(logDirectory))
+        {
+            files.forEach(file ->
+            {
+                String fileName = file.getFileName().toString();
+                if (
+                    fileName.startsWith(StdErrorReporter.RPT_PREFIX) &&
+                    fileName.endsWith(StdErrorReporter.RPT_SUFFIX)
+                )
+                {
+                    existingIds.add(
+                        fileName.substring(
+                            StdErrorReporter.RPT_PREFIX.length(),
+                            fileName.length() - StdErrorReporter.RPT_SUFFIX.length()
+                        )
+                    );
+                }
+            });
+        }
+        catch (IOException exc)
+        {
+            // the log directory may not exist yet
+            existingIds.clear();
+        }
+
+        for (String id : new ArrayList<>(entriesById.keySet()))
+        {
+            if (!existingIds.contains(id))
+            {
+                changed |= drop(id);
+            }
+        }
+        for (String id : existingIds)
+        {
+            if (!entriesById.containsKey(id))
+            {
+                Path file = logDirectory.resolve(StdErrorReporter.RPT_PREFIX + id + StdErrorReporter.RPT_SUFFIX);
+                try
+                {
+                    BasicFileAttributes attr = Files.readAttributes(file, BasicFileAttributes.class);
+                    put(new Entry(id, attr.creationTime().toMillis(), "", "", ""));
+                    changed = true;
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+        }
+        return changed;
+    }
+
+    private void appendLines(String line)
+    {
+        try
+        {
+            Files.write(
+                indexFile,
+                (line + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+            );
+        }
+        catch (IOException exc)
+        {
+            System.err.printf("Unable to update the error report index %s:\n", indexFile);
+            System.err.println(exc.getMessage());
+        }
+    }
+
+    private void writeIndexFile()
+    {
+        Path tmpFile = logDirectory.resolve(INDEX_FILE_NAME + ".tmp");
+        try
+        {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8))
+            {
+                for (Entry entry : entriesByTime)
+                {
+                    writer.write(entry.toLine());
+                    writer.write('\n');
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exc)
+        {
+            System.err.printf("Unable to write the error report index %s:\n", indexFile);
+            System.err.println(exc.getMessage());
+        }
+    }
+
+    public static final class Entry
+    {
+        public final String id;
+        public final long timestamp;
+        public final String nodeName;
+        public final String module;
+        public final String exceptionClass;
+
+        Entry(String idRef, long timestampRef, String nodeNameRef, String moduleRef, String exceptionClassRef)
+        {
+            id = idRef;
+            timestamp = timestampRef;
+            nodeName = nodeNameRef;
+            module = moduleRef;
+            exceptionClass = exceptionClassRef;
+        }
+
+        public String getFileName()
+        {
+            return StdErrorReporter.RPT_PREFIX + id + StdErrorReporter.RPT_SUFFIX;
+        }
+
+        private String toLine()
+        {
+            return String.join(
+                FIELD_SEPARATOR,
+                LINE_ADD,
+                id,
+                Long.toString(timestamp),
+                nodeName,
+                module,
+                exceptionClass
+            );
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
 
 import org.slf4j.event.Level;
 
@@ -174,4 +176,12 @@ public interface ErrorReporter
     default void archiveLogDirectory()
     {
     }
+
+    /**
+     * @return The errors that were reported repeatedly and were aggregated into a single report
+     */
+    default List<ErrorReportFingerprint> getReportFingerprints()
+    {
+        return Collections.emptyList();
+    }
 }
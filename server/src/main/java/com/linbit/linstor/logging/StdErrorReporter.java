@@ -13,17 +13,20 @@ import com.linbit.linstor.security.Privilege;
 import javax.inject.Provider;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -32,7 +35,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,9 +52,14 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
     public static final String RPT_PREFIX = "ErrorReport-";
     public static final String RPT_SUFFIX = ".log";
 
+    // Shared by all instances, so that there is only one writer thread
+    private static final AsyncReportWriter REPORT_WRITER = new AsyncReportWriter();
+
     private final Logger mainLogger;
     private final AtomicLong errorNr;
     private final Path baseLogDirectory;
+    private final ErrorReportIndex reportIndex;
+    private final ErrorReportAggregator reportAggregator = new ErrorReportAggregator();
     private Provider<AccessContext> peerCtxProvider;
 
     public StdErrorReporter(
@@ -102,6 +109,8 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
             }
         }
 
+        reportIndex = ErrorReportIndex.forDirectory(baseLogDirectory);
+
         logInfo("Log directory set to: '" + logDir + "'");
     }
 
@@ -269,19 +278,21 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         String contextInfo
     )
     {
-        PrintStream output = null;
-        String logName = null;
-        try
+        // Generate and report a null pointer exception if this
+        // method is called with a null argument
+        final Throwable checkedErrorInfo = errorInfo == null ? new NullPointerException() : errorInfo;
+
+        long timestamp = System.currentTimeMillis();
+        String fingerprint = ErrorReportAggregator.fingerprint(checkedErrorInfo);
+        String logName = reportRepeated(logLevel, fingerprint, timestamp, checkedErrorInfo);
+        if (logName == null)
         {
             long reportNr = errorNr.getAndIncrement();
             String logMsg = formatLogMsg(reportNr, errorInfo);
 
-            // Generate and report a null pointer exception if this
-            // method is called with a null argument
-            final Throwable checkedErrorInfo = errorInfo == null ? new NullPointerException() : errorInfo;
-
             logName = getLogName(reportNr);
-            output = openReportFile(logName);
+            ByteArrayOutputStream reportData = new ByteArrayOutputStream();
+            PrintStream output = new PrintStream(reportData);
 
             // Error report header
             reportHeader(output, reportNr, client);
@@ -321,40 +332,11 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
             }
 
             output.println("\nEND OF ERROR REPORT.");
+            output.flush();
 
-            switch (logLevel)
-            {
-                case ERROR:
-                    logError(logMsg);
-                    break;
-                case WARN:
-                    logWarning(logMsg);
-                    break;
-                case INFO:
-                    logInfo(logMsg);
-                    break;
-                case DEBUG:
-                    logDebug(logMsg);
-                    break;
-                case TRACE:
-                    logTrace(logMsg);
-                    break;
-                default:
-                    logError(logMsg);
-                    reportError(
-                        new IllegalArgumentException(
-                            String.format(
-                                "Missing case label for enumeration value '%s'",
-                                logLevel.name()
-                            )
-                        )
-                    );
-                    break;
-            }
-        }
-        finally
-        {
-            closeReportFile(output);
+            writeReport(logName, reportData.toByteArray(), fingerprint, timestamp, checkedErrorInfo);
+
+            logAtLevel(logLevel, logMsg);
         }
         return logName;
     }
@@ -379,283 +361,310 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         String contextInfo
     )
     {
-        PrintStream output = null;
         String logName = null;
-        try
+
+        // If no description of the problem is available, log the technical details of the exception
+        // as an error report instead.
+        String message = errorInfo.getMessage();
+        String descriptionMsg = errorInfo.getDescriptionText();
+        if (descriptionMsg == null)
+        {
+            if (message == null)
+            {
+                reportError(errorInfo, accCtx, client, contextInfo);
+            }
+            else
+            {
+                descriptionMsg = message;
+            }
+        }
+
+        long timestamp = System.currentTimeMillis();
+        String fingerprint = null;
+        if (descriptionMsg != null)
+        {
+            fingerprint = ErrorReportAggregator.fingerprint(errorInfo);
+            logName = reportRepeated(logLevel, fingerprint, timestamp, errorInfo);
+        }
+
+        if (descriptionMsg != null && logName == null)
         {
             long reportNr = errorNr.getAndIncrement();
 
-            // If no description of the problem is available, log the technical details of the exception
-            // as an error report instead.
-            String message = errorInfo.getMessage();
-            String descriptionMsg = errorInfo.getDescriptionText();
-            if (descriptionMsg == null)
+            logName = getLogName(reportNr);
+            ByteArrayOutputStream reportData = new ByteArrayOutputStream();
+            PrintStream output = new PrintStream(reportData);
+
+            // Error report header
+            reportHeader(output, reportNr, client);
+
+            reportLinStorException(output, errorInfo);
+
+            if (contextInfo != null)
             {
-                if (message == null)
-                {
-                    reportError(errorInfo, accCtx, client, contextInfo);
-                }
-                else
-                {
-                    descriptionMsg = message;
-                }
+                output.println("Error context:");
+                AutoIndent.printWithIndent(output, AutoIndent.DEFAULT_INDENTATION, contextInfo);
+                output.println();
             }
 
-            if (descriptionMsg != null)
+            if (accCtx != null)
             {
-                logName = getLogName(reportNr);
-                output = openReportFile(logName);
+                reportAccessContext(output, accCtx);
+            }
 
-                // Error report header
-                reportHeader(output, reportNr, client);
+            if (client != null)
+            {
+                reportPeer(output, client);
+            }
 
-                reportLinStorException(output, errorInfo);
+            // Report the error and any nested errors
+            if (errorInfo.getCause() != null && printStackTraces)
+            {
+                errorInfo.getCause().printStackTrace();
+            }
+            int loopCtr = 0;
+            for (
+                Throwable nestedErrorInfo = errorInfo.getCause();
+                nestedErrorInfo != null;
+                nestedErrorInfo = nestedErrorInfo.getCause()
+            )
+            {
+                output.println("Caused by:\n==========\n");
 
-                if (contextInfo != null)
+                if (nestedErrorInfo instanceof LinStorException)
                 {
-                    output.println("Error context:");
-                    AutoIndent.printWithIndent(output, AutoIndent.DEFAULT_INDENTATION, contextInfo);
-                    output.println();
+                    boolean detailsAvailable = reportLinStorException(
+                        output, (LinStorException) nestedErrorInfo
+                    );
+                    if (!detailsAvailable)
+                    {
+                        reportExceptionDetails(output, nestedErrorInfo, loopCtr == 0 ? contextInfo : null);
+                    }
                 }
-
-                if (accCtx != null)
+                else
                 {
-                    reportAccessContext(output, accCtx);
+                    descriptionMsg = nestedErrorInfo.getMessage();
+                    if (descriptionMsg != null)
+                    {
+                        output.println("Description:");
+                        AutoIndent.printWithIndent(output, AutoIndent.DEFAULT_INDENTATION, descriptionMsg);
+                        output.println();
+                    }
+                    reportExceptionDetails(output, nestedErrorInfo, loopCtr == 0 ? contextInfo : null);
                 }
 
-                if (client != null)
-                {
-                    reportPeer(output, client);
-                }
+                ++loopCtr;
+            }
 
-                // Report the error and any nested errors
-                if (errorInfo.getCause() != null && printStackTraces)
-                {
-                    errorInfo.getCause().printStackTrace();
-                }
-                int loopCtr = 0;
-                for (
-                    Throwable nestedErrorInfo = errorInfo.getCause();
-                    nestedErrorInfo != null;
-                    nestedErrorInfo = nestedErrorInfo.getCause()
+            logAtLevel(logLevel, formatLogMsg(reportNr, errorInfo));
+
+            output.println("\nEND OF ERROR REPORT.\n");
+            output.flush();
+
+            writeReport(logName, reportData.toByteArray(), fingerprint, timestamp, errorInfo);
+        }
+        return logName;
+    }
+
+    /**
+     * Adds the error to the report of an earlier occurrence of the same error, if there is one
+     *
+     * @return The id of the earlier report, or null if a new report has to be written
+     */
+    private String reportRepeated(Level logLevel, String fingerprint, long timestamp, Throwable errorInfo)
+    {
+        String logName = null;
+        ErrorReportAggregator.Aggregate aggregate = reportAggregator.addOccurrence(fingerprint, timestamp);
+        if (aggregate != null)
+        {
+            logName = aggregate.reportId;
+
+            String excMsg = errorInfo.getMessage();
+            logAtLevel(
+                logLevel,
+                String.format(
+                    "%s [Repeated error, see report number %s]\n",
+                    excMsg == null ? "Problem of type '" + errorInfo.getClass().getName() + "'" : excMsg,
+                    logName
                 )
-                {
-                    output.println("Caused by:\n==========\n");
+            );
 
-                    if (nestedErrorInfo instanceof LinStorException)
+            if (reportAggregator.scheduleSummary(aggregate))
+            {
+                Path filePath = getLogDirectory().resolve(RPT_PREFIX + logName + RPT_SUFFIX);
+                // Queued after the write of the report itself, see AsyncReportWriter
+                REPORT_WRITER.submit(() ->
+                {
+                    try
                     {
-                        boolean detailsAvailable = reportLinStorException(
-                            output, (LinStorException) nestedErrorInfo
+                        // Not created again if the report was archived in the meantime
+                        Files.write(
+                            filePath,
+                            reportAggregator.takeSummary(aggregate).getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.APPEND
                         );
-                        if (!detailsAvailable)
-                        {
-                            reportExceptionDetails(output, nestedErrorInfo, loopCtr == 0 ? contextInfo : null);
-                        }
                     }
-                    else
+                    catch (NoSuchFileException ignored)
                     {
-                        descriptionMsg = nestedErrorInfo.getMessage();
-                        if (descriptionMsg != null)
-                        {
-                            output.println("Description:");
-                            AutoIndent.printWithIndent(output, AutoIndent.DEFAULT_INDENTATION, descriptionMsg);
-                            output.println();
-                        }
-                        reportExceptionDetails(output, nestedErrorInfo, loopCtr == 0 ? contextInfo : null);
                     }
-
-                    ++loopCtr;
-                }
-
-                String logMsg = formatLogMsg(reportNr, errorInfo);
-                switch (logLevel)
-                {
-                    case ERROR:
-                        logError(logMsg);
-                        break;
-                    case WARN:
-                        logWarning(logMsg);
-                        break;
-                    case INFO:
-                        logInfo(logMsg);
-                        break;
-                    case DEBUG:
-                        logDebug(logMsg);
-                        break;
-                    case TRACE:
-                        logTrace(logMsg);
-                        break;
-                    default:
-                        logError(logMsg);
-                        reportError(
-                            new IllegalArgumentException(
-                                String.format(
-                                    "Missing case label for enumeration value '%s'",
-                                    logLevel.name()
-                                )
-                            )
+                    catch (IOException ioExc)
+                    {
+                        System.err.printf(
+                            "Unable to append the repetition summary to error report %s:\n",
+                            aggregate.reportId
                         );
-                        break;
-                }
-
-                output.println("\nEND OF ERROR REPORT.\n");
+                        System.err.println(ioExc.getMessage());
+                    }
+                });
             }
         }
-        finally
-        {
-            closeReportFile(output);
-        }
         return logName;
     }
 
-    private String getLogName(long reportNr)
+    private void writeReport(
+        String logName,
+        byte[] reportData,
+        String fingerprint,
+        long timestamp,
+        Throwable errorInfo
+    )
     {
-        return String.format(
-            "%s-%06d",
-            instanceId,
-            reportNr
+        String exceptionClass = errorInfo.getClass().getName();
+        reportAggregator.addReport(
+            fingerprint,
+            logName,
+            exceptionClass,
+            ErrorReportAggregator.messageTemplate(errorInfo.getMessage()),
+            timestamp
         );
-    }
 
-    private PrintStream openReportFile(String logName)
-    {
-        PrintStream reportPrinter = null;
-        try
-        {
-            Path filePath = getLogDirectory().resolve(RPT_PREFIX + logName + RPT_SUFFIX);
-            OutputStream reportStream = new FileOutputStream(
-                filePath.toFile()
-            );
-            reportPrinter = new PrintStream(reportStream);
-        }
-        catch (IOException ioExc)
+        Path filePath = getLogDirectory().resolve(RPT_PREFIX + logName + RPT_SUFFIX);
+        REPORT_WRITER.submit(() ->
         {
-            System.err.printf("Unable to create error report file for error report %s:\n", logName);
-            System.err.println(ioExc.getMessage());
-            System.err.println("The error report will be written to the standard error stream instead.\n");
-        }
+            try
+            {
+                Files.write(filePath, reportData);
+                // Only indexed once the file exists, so that listing the reports never returns a missing one
+                reportIndex.add(logName, timestamp, nodeName, dmModule, exceptionClass);
+            }
+            catch (IOException ioExc)
+            {
+                System.err.printf("Unable to create error report file for error report %s:\n", logName);
+                System.err.println(ioExc.getMessage());
+                System.err.println("The error report will be written to the standard error stream instead.\n");
+                System.err.write(reportData, 0, reportData.length);
+                System.err.flush();
+            }
+        });
+    }
 
-        if (reportPrinter == null)
+    private void logAtLevel(Level logLevel, String logMsg)
+    {
+        switch (logLevel)
         {
-            reportPrinter = System.err;
+            case ERROR:
+                logError(logMsg);
+                break;
+            case WARN:
+                logWarning(logMsg);
+                break;
+            case INFO:
+                logInfo(logMsg);
+                break;
+            case DEBUG:
+                logDebug(logMsg);
+                break;
+            case TRACE:
+                logTrace(logMsg);
+                break;
+            default:
+                logError(logMsg);
+                reportError(
+                    new IllegalArgumentException(
+                        String.format(
+                            "Missing case label for enumeration value '%s'",
+                            logLevel.name()
+                        )
+                    )
+                );
+                break;
         }
+    }
 
-        return reportPrinter;
+    private String getLogName(long reportNr)
+    {
+        return String.format(
+            "%s-%06d",
+            instanceId,
+            reportNr
+        );
     }
 
-    private void closeReportFile(OutputStream output)
+    @Override
+    public List<ErrorReportFingerprint> getReportFingerprints()
     {
-        if (output != null && output != System.err)
-        {
-            try
-            {
-                output.close();
-            }
-            catch (IOException ignored)
-            {
-            }
-        }
+        return reportAggregator.getFingerprints(nodeName);
     }
 
+    /**
+     * Lists the error reports of a log directory using its {@link ErrorReportIndex}. The log directory itself is
+     * not listed, the text of a report is only read if it is requested and the report passed all filters. If the
+     * file of an indexed report turns out to be missing, the index is reconciled with the log directory.
+     *
+     * @param limit The maximum number of returned reports (the oldest ones), 0 for no limit
+     */
     public static Set<ErrorReport> listReports(
         final String nodeName,
         final Path logDirectory,
         boolean withText,
         final Optional<Date> since,
         final Optional<Date> to,
-        final Set<String> ids
+        final Set<String> ids,
+        int limit
     )
     {
         TreeSet<ErrorReport> errors = new TreeSet<>();
-        final List<String> fileIds = ids.stream().map(s -> "ErrorReport-" + s).collect(Collectors.toList());
-
-        Function<FileTime, Boolean> sinceFct;
-        if (since.isPresent())
-        {
-            long sinceTimestamp = since.get().getTime();
-            sinceFct = (fileTime) -> sinceTimestamp < fileTime.toMillis();
-        }
-        else
-        {
-            sinceFct = (fileTime) -> true;
-        }
+        ErrorReportIndex index = ErrorReportIndex.forDirectory(logDirectory);
+        boolean reconciled = false;
 
-        Function<FileTime, Boolean> toFct;
-        if (to.isPresent())
+        for (ErrorReportIndex.Entry entry : index.find(since, to, ids, limit))
         {
-            long toTimestamp = to.get().getTime();
-            toFct = (fileTime) -> toTimestamp > fileTime.toMillis();
-        }
-        else
-        {
-            toFct = (fileTime) -> true;
-        }
-
-        if (fileIds.isEmpty())
-        {
-            // if id filter is disabled, add a match all filter.
-            fileIds.add("ErrorReport-");
-        }
-
-        try (Stream<Path> files = Files.list(logDirectory))
-        {
-            files.filter(file -> file.getFileName().toString().startsWith("ErrorReport"))
-                .filter(
-                    file ->
+            String text = "";
+            boolean exists = true;
+            if (withText)
+            {
+                StringBuilder sb = new StringBuilder();
+                try (BufferedReader br = Files.newBufferedReader(logDirectory.resolve(entry.getFileName())))
+                {
+                    String line = br.readLine();
+                    while (line != null)
                     {
-                        boolean ret = false;
-                        for (String fileId : fileIds)
-                        {
-                            if (file.getFileName().toString().startsWith(fileId))
-                            {
-                                ret = true;
-                                break;
-                            }
-                        }
-                        return ret;
+                        sb.append(line).append('\n');
+
+                        line = br.readLine();
                     }
-                )
-                .forEach(
-                    file ->
+                    text = sb.toString();
+                }
+                catch (NoSuchFileException ignored)
+                {
+                    // the report was deleted outside of LINSTOR after the index was loaded, others might have been
+                    // deleted as well
+                    index.remove(entry.id);
+                    if (!reconciled)
                     {
-                        String fileName = file.getFileName().toString();
-
-                        try
-                        {
-                            BasicFileAttributes attr = Files.readAttributes(file, BasicFileAttributes.class);
-
-                            if (sinceFct.apply(attr.creationTime()) && toFct.apply(attr.creationTime()))
-                            {
-                                StringBuilder sb = new StringBuilder();
-                                if (withText)
-                                {
-                                    try (BufferedReader br = Files.newBufferedReader(file))
-                                    {
-                                        String line = br.readLine();
-                                        while (line != null)
-                                        {
-                                            sb.append(line).append('\n');
-
-                                            line = br.readLine();
-                                        }
-                                    }
-                                }
-                                errors.add(new ErrorReport(
-                                    nodeName,
-                                    fileName,
-                                    new Date(attr.creationTime().toMillis()),
-                                    sb.toString())
-                                );
-                            }
-                        }
-                        catch (IOException /* | ParseException */ ignored)
-                        {
-                        }
+                        index.reconcile();
+                        reconciled = true;
                     }
-                );
-        }
-        catch (IOException ignored)
-        {
+                    exists = false;
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+            if (exists)
+            {
+                errors.add(new ErrorReport(nodeName, entry.getFileName(), new Date(entry.timestamp), text));
+            }
         }
 
         return errors;
@@ -741,10 +750,20 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
                 {
                     createTar.waitFor();
 
+                    List<String> archivedIds = new ArrayList<>();
                     for (Path logFile : monthGroup.get(month))
                     {
                         Files.delete(logFile);
+
+                        String fileName = logFile.getFileName().toString();
+                        if (fileName.startsWith(RPT_PREFIX) && fileName.endsWith(RPT_SUFFIX))
+                        {
+                            archivedIds.add(
+                                fileName.substring(RPT_PREFIX.length(), fileName.length() - RPT_SUFFIX.length())
+                            );
+                        }
                     }
+                    reportIndex.removeAll(archivedIds);
                 }
                 catch (InterruptedException exc)
                 {
@@ -761,6 +780,7 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
             {
                 logInfo("LogArchive: No logs to archive.");
             }
+            reportIndex.reconcile();
         }
         catch (IOException exc)
         {
@@ -24,12 +24,30 @@ public interface Message
     int LENGTH_FIELD_SIZE = 4;
     int LENGTH_FIELD_OFFSET = 4;
 
+    // Header field for message flags: 4 bytes (32 bits)
+    // Peers that do not know about flags leave the field zeroed
+    int FLAGS_FIELD_SIZE = 4;
+    int FLAGS_FIELD_OFFSET = 8;
+
+    // The data of the message is compressed, see MessageCompressor
+    int FLAG_DEFLATE = 0x1;
+    // The data of the message continues in the next message
+    int FLAG_CHUNK_FOLLOWS = 0x2;
+
+    // Maximum data size of a message after reassembling its chunks and after decompressing it
+    // 256 MiB == 0x10000000
+    int MAX_DECODED_DATA_SIZE = 0x10000000;
+
     byte[] getData() throws IllegalMessageStateException;
 
     void setData(byte[] data) throws IllegalMessageStateException;
 
     int getType() throws IllegalMessageStateException;
 
+    int getFlags();
+
+    void setFlags(int flags);
+
     ByteBuffer getHeaderBuffer();
 
     ByteBuffer getDataBuffer() throws IllegalMessageStateException;
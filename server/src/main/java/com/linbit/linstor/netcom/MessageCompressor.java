@@ -0,0 +1,166 @@
+package com.linbit.linstor.netcom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses and decompresses the data of large messages exchanged with a peer, and keeps statistics
+ * about the achieved compression ratio and the time spent
+ *
+ * Compressed messages are marked with {@link Message#FLAG_DEFLATE}. Messages are only compressed after
+ * the peer has announced that it can decompress them.
+ */
+public final class MessageCompressor
+{
+    // Messages smaller than 64 kiB are sent uncompressed
+    public static final int COMPRESSION_THRESHOLD = 0x10000;
+
+    private static final int BUFFER_SIZE = 0x10000;
+
+    private final AtomicLong compressedMsgCtr = new AtomicLong();
+    private final AtomicLong uncompressedBytesCtr = new AtomicLong();
+    private final AtomicLong compressedBytesCtr = new AtomicLong();
+    private final AtomicLong compressNanosCtr = new AtomicLong();
+    private final AtomicLong decompressedMsgCtr = new AtomicLong();
+    private final AtomicLong decompressNanosCtr = new AtomicLong();
+    private final AtomicLong chunkedMsgSentCtr = new AtomicLong();
+    private final AtomicLong chunkedMsgRecvCtr = new AtomicLong();
+
+    /**
+     * @return The compressed data, or null if compressing does not make the data smaller
+     */
+    byte[] compress(byte[] data)
+    {
+        long startNanos = System.nanoTime();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4);
+        try
+        {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished() && compressed.size() < data.length)
+            {
+                int len = deflater.deflate(buffer);
+                compressed.write(buffer, 0, len);
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        byte[] result = null;
+        if (compressed.size() < data.length)
+        {
+            result = compressed.toByteArray();
+            compressedMsgCtr.incrementAndGet();
+            uncompressedBytesCtr.addAndGet(data.length);
+            compressedBytesCtr.addAndGet(result.length);
+        }
+        compressNanosCtr.addAndGet(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    /**
+     * @param maxSize Maximum size of the decompressed data
+     * @throws IOException If the data is not valid compressed data or if the decompressed data would exceed maxSize
+     */
+    public byte[] decompress(byte[] data, int maxSize)
+        throws IOException
+    {
+        long startNanos = System.nanoTime();
+
+        Inflater inflater = new Inflater();
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(
+            (int) Math.min(data.length * 4L, maxSize)
+        );
+        try
+        {
+            inflater.setInput(data);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished())
+            {
+                int len = inflater.inflate(buffer);
+                if (len == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    throw new IOException("Truncated compressed message data");
+                }
+                if (decompressed.size() + (long) len > maxSize)
+                {
+                    throw new IOException(
+                        "Decompressed message data exceeds the maximum size of " + maxSize + " bytes"
+                    );
+                }
+                decompressed.write(buffer, 0, len);
+            }
+        }
+        catch (DataFormatException dataFormatExc)
+        {
+            throw new IOException("Invalid compressed message data", dataFormatExc);
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        decompressedMsgCtr.incrementAndGet();
+        decompressNanosCtr.addAndGet(System.nanoTime() - startNanos);
+        return decompressed.toByteArray();
+    }
+
+    void chunkedMessageSent()
+    {
+        chunkedMsgSentCtr.incrementAndGet();
+    }
+
+    void chunkedMessageReceived()
+    {
+        chunkedMsgRecvCtr.incrementAndGet();
+    }
+
+    public long getCompressedMsgCount()
+    {
+        return compressedMsgCtr.get();
+    }
+
+    public long getDecompressedMsgCount()
+    {
+        return decompressedMsgCtr.get();
+    }
+
+    public long getChunkedMsgSentCount()
+    {
+        return chunkedMsgSentCtr.get();
+    }
+
+    public long getChunkedMsgRecvCount()
+    {
+        return chunkedMsgRecvCtr.get();
+    }
+
+    /**
+     * @return Uncompressed size divided by compressed size of all compressed messages, 1 if there were none
+     */
+    public double getCompressionRatio()
+    {
+        long compressedBytes = compressedBytesCtr.get();
+        return compressedBytes == 0 ? 1.0 : (double) uncompressedBytesCtr.get() / compressedBytes;
+    }
+
+    public long getCompressMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(compressNanosCtr.get());
+    }
+
+    public long getDecompressMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(decompressNanosCtr.get());
+    }
+}
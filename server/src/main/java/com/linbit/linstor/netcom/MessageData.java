@@ -56,6 +56,18 @@ public class MessageData implements Message
         return headerBuffer.getInt(TYPE_FIELD_OFFSET);
     }
 
+    @Override
+    public int getFlags()
+    {
+        return headerBuffer.getInt(FLAGS_FIELD_OFFSET);
+    }
+
+    @Override
+    public void setFlags(int flags)
+    {
+        headerBuffer.putInt(FLAGS_FIELD_OFFSET, flags);
+    }
+
     protected final void reset()
     {
         Arrays.fill(headerBytes, (byte) 0);
@@ -216,6 +216,19 @@ public interface Peer
      */
     long msgRecvMaxSize();
 
+    /**
+     * Enables compressing and chunking large outbound messages. Must only be called after the peer has
+     * announced that it can decode such messages.
+     */
+    void enableMessageCompression();
+
+    /**
+     * Returns the compressor for messages exchanged with the peer, which also keeps the compression statistics
+     *
+     * @return Compressor of the peer connection, or null if the peer does not support message compression
+     */
+    MessageCompressor getMessageCompressor();
+
     /**
      * Returns the destination internet address of the peer connection
      *
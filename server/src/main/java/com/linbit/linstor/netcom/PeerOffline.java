@@ -228,6 +228,17 @@ public class PeerOffline implements Peer
         return 0;
     }
 
+    @Override
+    public void enableMessageCompression()
+    {
+    }
+
+    @Override
+    public MessageCompressor getMessageCompressor()
+    {
+        return null;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
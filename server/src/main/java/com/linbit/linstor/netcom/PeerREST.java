@@ -224,6 +224,17 @@ public class PeerREST implements Peer
         return 0;
     }
 
+    @Override
+    public void enableMessageCompression()
+    {
+    }
+
+    @Override
+    public MessageCompressor getMessageCompressor()
+    {
+        return null;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
@@ -19,6 +19,7 @@ import com.linbit.utils.OrderingFlux;
 import javax.net.ssl.SSLException;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -26,10 +27,13 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -118,6 +122,17 @@ public class TcpConnectorPeer implements Peer
     private volatile long msgSentSizePeak = 0;
     private volatile long msgRecvSizePeak = 0;
 
+    // Set once the peer was authenticated and has announced that it can decode compressed and chunked messages.
+    // Large outbound messages are only compressed and chunked after that.
+    private volatile boolean compressionEnabled = false;
+    // Set once this side has offered to decode compressed and chunked messages, which might be before the
+    // peer's answer was processed. Compressed or chunked messages are only accepted from the peer after that.
+    private volatile boolean decompressionEnabled = false;
+    private final MessageCompressor msgCompressor = new MessageCompressor();
+
+    // Data of the preceding chunks of the current inbound message, only accessed by the connector thread
+    private ByteArrayOutputStream pendingChunks;
+
     protected long lastPingSent = -1;
     private long lastPongReceived = -1;
 
@@ -278,26 +293,38 @@ public class TcpConnectorPeer implements Peer
     @Override
     public boolean sendMessage(Message msg)
         throws IllegalMessageStateException
+    {
+        return queueMessages(Collections.singletonList(msg));
+    }
+
+    /**
+     * Queues the messages for sending without interleaving them with messages queued by other threads
+     */
+    private boolean queueMessages(List<Message> msgList)
+        throws IllegalMessageStateException
     {
         boolean connFlag = connected;
         if (connFlag)
         {
             synchronized (this)
             {
-                long msgSize = msg.getData().length;
-                if (msgSize > msgSentSizePeak)
+                for (Message msg : msgList)
                 {
-                    msgSentSizePeak = msgSize;
-                }
+                    long msgSize = msg.getData().length;
+                    if (msgSize > msgSentSizePeak)
+                    {
+                        msgSentSizePeak = msgSize;
+                    }
 
-                // Queue the message for sending
-                if (msgOut == null)
-                {
-                    msgOut = msg;
-                }
-                else
-                {
-                    msgOutQueue.add(msg);
+                    // Queue the message for sending
+                    if (msgOut == null)
+                    {
+                        msgOut = msg;
+                    }
+                    else
+                    {
+                        msgOutQueue.add(msg);
+                    }
                 }
 
                 try
@@ -344,9 +371,16 @@ public class TcpConnectorPeer implements Peer
         boolean isConnected = false;
         try
         {
-            Message msg = createMessage();
-            msg.setData(data);
-            isConnected = sendMessage(msg);
+            if (compressionEnabled && data.length >= MessageCompressor.COMPRESSION_THRESHOLD)
+            {
+                isConnected = queueMessages(encodeMessage(data));
+            }
+            else
+            {
+                Message msg = createMessage();
+                msg.setData(data);
+                isConnected = sendMessage(msg);
+            }
         }
         catch (IllegalMessageStateException exc)
         {
@@ -358,6 +392,42 @@ public class TcpConnectorPeer implements Peer
         return isConnected;
     }
 
+    /**
+     * Compresses the data if that makes it smaller and splits it into chunks of at most the maximum message size
+     */
+    private List<Message> encodeMessage(byte[] data)
+        throws IllegalMessageStateException
+    {
+        byte[] payload = msgCompressor.compress(data);
+        int flags = Message.FLAG_DEFLATE;
+        if (payload == null)
+        {
+            payload = data;
+            flags = 0;
+        }
+
+        List<Message> chunkList = new ArrayList<>();
+        int offset = 0;
+        do
+        {
+            int chunkSize = Math.min(payload.length - offset, Message.DEFAULT_MAX_DATA_SIZE);
+            Message chunk = createMessage();
+            chunk.setData(
+                chunkSize == payload.length ? payload : Arrays.copyOfRange(payload, offset, offset + chunkSize)
+            );
+            offset += chunkSize;
+            chunk.setFlags(offset < payload.length ? flags | Message.FLAG_CHUNK_FOLLOWS : flags);
+            chunkList.add(chunk);
+        }
+        while (offset < payload.length);
+
+        if (chunkList.size() > 1)
+        {
+            msgCompressor.chunkedMessageSent();
+        }
+        return chunkList;
+    }
+
     @Override
     public long getNextIncomingMessageSeq()
     {
@@ -477,6 +547,8 @@ public class TcpConnectorPeer implements Peer
     {
         connected = false;
         authenticated = false;
+        compressionEnabled = false;
+        decompressionEnabled = false;
 
         // deactivate all interest in READ or WRITE operations
         setOpInterest(0);
@@ -644,6 +716,28 @@ public class TcpConnectorPeer implements Peer
         return msgRecvSizePeak;
     }
 
+    @Override
+    public void enableMessageCompression()
+    {
+        decompressionEnabled = true;
+        compressionEnabled = true;
+    }
+
+    /**
+     * Accepts compressed and chunked messages from the peer. Must be called before this side offers message
+     * compression to the peer, as the peer might start compressing as soon as it received the offer.
+     */
+    public void enableMessageDecompression()
+    {
+        decompressionEnabled = true;
+    }
+
+    @Override
+    public MessageCompressor getMessageCompressor()
+    {
+        return msgCompressor;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
@@ -968,7 +1062,9 @@ public class TcpConnectorPeer implements Peer
 
 
     protected void addToQueue(Message msg)
+        throws IOException
     {
+        Message completeMsg;
         try
         {
             // This method is single-threaded, no need to synchronize
@@ -977,6 +1073,7 @@ public class TcpConnectorPeer implements Peer
             {
                 msgRecvSizePeak = msgSize;
             }
+            completeMsg = assembleChunks(msg);
         }
         catch (IllegalMessageStateException exc)
         {
@@ -986,7 +1083,10 @@ public class TcpConnectorPeer implements Peer
             );
         }
 
-        finishedMsgInQueue.add(msg);
+        if (completeMsg != null)
+        {
+            finishedMsgInQueue.add(completeMsg);
+        }
         if (finishedMsgInQueue.size() >= MAX_INCOMING_QUEUE_SIZE)
         {
             /*
@@ -1003,6 +1103,50 @@ public class TcpConnectorPeer implements Peer
         }
     }
 
+    /**
+     * @return The complete message if the given message is the last chunk or is not chunked, otherwise null
+     * @throws IOException If the peer sent a compressed or chunked message before compression was offered, or
+     *     if the reassembled message would exceed {@link Message#MAX_DECODED_DATA_SIZE}. The connection is closed.
+     */
+    private Message assembleChunks(Message msg)
+        throws IllegalMessageStateException, IOException
+    {
+        Message completeMsg = msg;
+        int flags = msg.getFlags();
+        byte[] data = msg.getData();
+        if ((flags & (Message.FLAG_DEFLATE | Message.FLAG_CHUNK_FOLLOWS)) != 0 && !decompressionEnabled)
+        {
+            throw new IOException("Received a compressed or chunked message before compression was offered");
+        }
+        if (pendingChunks != null && pendingChunks.size() + (long) data.length > Message.MAX_DECODED_DATA_SIZE)
+        {
+            pendingChunks = null;
+            throw new IOException(
+                "Chunked message exceeds the maximum size of " + Message.MAX_DECODED_DATA_SIZE + " bytes"
+            );
+        }
+        if ((flags & Message.FLAG_CHUNK_FOLLOWS) != 0)
+        {
+            if (pendingChunks == null)
+            {
+                pendingChunks = new ByteArrayOutputStream(data.length * 2);
+            }
+            pendingChunks.write(data, 0, data.length);
+            completeMsg = null;
+        }
+        else
+        if (pendingChunks != null)
+        {
+            pendingChunks.write(data, 0, data.length);
+            completeMsg = new MessageData(false);
+            completeMsg.setData(pendingChunks.toByteArray());
+            completeMsg.setFlags(flags);
+            pendingChunks = null;
+            msgCompressor.chunkedMessageReceived();
+        }
+        return completeMsg;
+    }
+
     @Override
     public ExtToolsManager getExtToolsManager()
     {
@@ -37,6 +37,18 @@ public class TcpHeaderOnlyMessage implements Message
         return headerBuffer.getInt(TYPE_FIELD_OFFSET);
     }
 
+    @Override
+    public int getFlags()
+    {
+        return 0;
+    }
+
+    @Override
+    public void setFlags(int flags)
+    {
+        throw new ImplementationError("Cannot set Flags of TcpHeaderOnlyMessage", null);
+    }
+
     @Override
     public ByteBuffer getHeaderBuffer()
     {
@@ -266,6 +266,20 @@ public class CommonMessageProcessor implements MessageProcessor
         Flux<?> flux = Flux.empty();
 
         byte[] msgData = msg.getData();
+        if ((msg.getFlags() & Message.FLAG_DEFLATE) != 0)
+        {
+            // Decompressed on the worker thread rather than on the connector thread
+            try
+            {
+                msgData = peer.getMessageCompressor().decompress(msgData, Message.MAX_DECODED_DATA_SIZE);
+            }
+            catch (IOException ioExc)
+            {
+                // The state of the peer is unknown if one of its messages is dropped
+                peer.closeConnection(true);
+                throw ioExc;
+            }
+        }
         ByteArrayInputStream msgDataIn = new ByteArrayInputStream(msgData);
 
         MsgHeaderOuterClass.MsgHeader header = MsgHeaderOuterClass.MsgHeader.parseDelimitedFrom(msgDataIn);
@@ -1,7 +1,7 @@
 package com.linbit.linstor.security;
 
 import com.linbit.ImplementationError;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -12,11 +12,13 @@ import java.util.TreeMap;
  */
 public final class AccessControlList
 {
-    private final Map<RoleName, AccessControlEntry> acl;
+    // Indexed by the id of the entry's role.
+    // Copied on every change, so that access checks can read it without locking.
+    private volatile AccessControlEntry[] acl;
 
     AccessControlList()
     {
-        acl = Collections.synchronizedMap(new TreeMap<RoleName, AccessControlEntry>());
+        acl = new AccessControlEntry[0];
     }
 
     /**
@@ -41,7 +43,7 @@ public final class AccessControlList
                 boolean allowFlag = false;
 
                 // Look for an entry for the subject's role in this access control list
-                AccessControlEntry entry = acl.get(context.subjectRole.name);
+                AccessControlEntry entry = getAclEntry(context.subjectRole);
 
                 // If an entry was found, check whether the requested level of access
                 // is within the bounds of the level of access allowed by the
@@ -108,7 +110,7 @@ public final class AccessControlList
                 // Look for an entry for the subject's role in this access control list
                 AccessType aclAccess = null;
                 {
-                    AccessControlEntry entry = acl.get(context.subjectRole.name);
+                    AccessControlEntry entry = getAclEntry(context.subjectRole);
                     if (entry != null)
                     {
                         aclAccess = entry.access;
@@ -147,7 +149,7 @@ public final class AccessControlList
     public AccessType getEntry(Role subjRole)
     {
         AccessType access = null;
-        AccessControlEntry entry = acl.get(subjRole.name);
+        AccessControlEntry entry = getAclEntry(subjRole);
         if (entry != null)
         {
             access = entry.access;
@@ -157,25 +159,47 @@ public final class AccessControlList
 
     AccessControlEntry addEntry(Role entryRole, AccessType grantedAccess)
     {
-        AccessControlEntry entry = new AccessControlEntry(entryRole, grantedAccess);
-        return acl.put(entryRole.name, entry);
+        return putAclEntry(entryRole, new AccessControlEntry(entryRole, grantedAccess));
     }
 
     AccessControlEntry delEntry(Role entryRole)
     {
-        return acl.remove(entryRole.name);
+        return putAclEntry(entryRole, null);
     }
 
     public Map<RoleName, AccessControlEntry> getEntries()
     {
         Map<RoleName, AccessControlEntry> aclCopy = new TreeMap<>();
-        synchronized (acl)
+        for (AccessControlEntry entry : acl)
         {
-            aclCopy.putAll(acl);
+            if (entry != null)
+            {
+                aclCopy.put(entry.subjectRole.name, entry);
+            }
         }
         return aclCopy;
     }
 
+    private AccessControlEntry getAclEntry(Role subjRole)
+    {
+        AccessControlEntry[] curAcl = acl;
+        return subjRole.id < curAcl.length ? curAcl[subjRole.id] : null;
+    }
+
+    /**
+     * @param entry The new entry, or null to remove the entry
+     * @return The previous entry, or null if there was none
+     */
+    private synchronized AccessControlEntry putAclEntry(Role entryRole, AccessControlEntry entry)
+    {
+        AccessControlEntry[] newAcl = Arrays.copyOf(acl, Math.max(acl.length, entryRole.id + 1));
+        AccessControlEntry prevEntry = newAcl[entryRole.id];
+        newAcl[entryRole.id] = entry;
+        acl = newAcl;
+        AccessDecisionCache.invalidateAll();
+        return prevEntry;
+    }
+
     private boolean hasAccessPrivilege(AccessContext context, AccessType requested)
     {
         PrivilegeSet privileges = context.privEffective;
@@ -0,0 +1,106 @@
+package com.linbit.linstor.security;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the access checks that were passed within an API call scope
+ *
+ * Within a single API call, the same access context often checks the same object protection many times,
+ * e.g. while listing nodes, resources and volumes. Once a check has passed, further checks for the same or
+ * a lower level of access are answered from this cache. Denied access is not cached.
+ *
+ * A cache is only active on the thread that opened it, between {@link #open()} and {@link #close()}.
+ * All cached decisions are dropped whenever access control lists, type enforcement rules, object owners,
+ * security types, privileges or the security level change anywhere.
+ */
+public final class AccessDecisionCache implements AutoCloseable
+{
+    private static final AtomicLong SECURITY_GENERATION = new AtomicLong();
+    private static final ThreadLocal<AccessDecisionCache> ACTIVE_CACHE = new ThreadLocal<>();
+
+    private final AccessDecisionCache prevCache;
+
+    // Masks of the levels of access that were granted, per access context and object protection
+    private final Map<AccessContext, Map<ObjectProtection, Short>> grantedMasks = new IdentityHashMap<>();
+    private long generation;
+
+    private AccessDecisionCache(AccessDecisionCache prevCacheRef)
+    {
+        prevCache = prevCacheRef;
+        generation = SECURITY_GENERATION.get();
+    }
+
+    /**
+     * Activates a new cache on the current thread, until it is closed
+     */
+    public static AccessDecisionCache open()
+    {
+        AccessDecisionCache cache = new AccessDecisionCache(ACTIVE_CACHE.get());
+        ACTIVE_CACHE.set(cache);
+        return cache;
+    }
+
+    /**
+     * Reactivates the cache that was active when this cache was opened
+     */
+    @Override
+    public void close()
+    {
+        if (prevCache == null)
+        {
+            ACTIVE_CACHE.remove();
+        }
+        else
+        {
+            ACTIVE_CACHE.set(prevCache);
+        }
+    }
+
+    /**
+     * @return The cache that is active on the current thread, or null if there is none
+     */
+    static AccessDecisionCache getActive()
+    {
+        return ACTIVE_CACHE.get();
+    }
+
+    /**
+     * Drops the cached decisions of all caches. Must be called by every change that may deny access that
+     * was previously granted.
+     */
+    static void invalidateAll()
+    {
+        SECURITY_GENERATION.incrementAndGet();
+    }
+
+    boolean isGranted(AccessContext context, ObjectProtection objProt, AccessType requested)
+    {
+        boolean granted = false;
+        long curGeneration = SECURITY_GENERATION.get();
+        if (curGeneration != generation)
+        {
+            grantedMasks.clear();
+            generation = curGeneration;
+        }
+        else
+        {
+            Map<ObjectProtection, Short> objMasks = grantedMasks.get(context);
+            if (objMasks != null)
+            {
+                Short mask = objMasks.get(objProt);
+                short requestedMask = requested.getAccessMask();
+                granted = mask != null && (mask & requestedMask) == requestedMask;
+            }
+        }
+        return granted;
+    }
+
+    void setGranted(AccessContext context, ObjectProtection objProt, AccessType granted)
+    {
+        grantedMasks
+            .computeIfAbsent(context, ignored -> new IdentityHashMap<>())
+            .merge(objProt, granted.getAccessMask(), (prevMask, mask) -> (short) (prevMask | mask));
+    }
+}
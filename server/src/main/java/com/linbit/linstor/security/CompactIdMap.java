@@ -0,0 +1,38 @@
+package com.linbit.linstor.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small, dense integer ids to the names of roles and security types
+ *
+ * Ids are never reused, so that access control tables can be indexed by them. Objects with the same
+ * name get the same id, even if they are separate instances (e.g. after the security objects are reloaded).
+ *
+ * @param <K> Type of the name
+ */
+final class CompactIdMap<K>
+{
+    // All fields are guarded by this
+    private final Map<K, Integer> idMap = new HashMap<>();
+    private final List<K> keyList = new ArrayList<>();
+
+    synchronized int getId(K key)
+    {
+        Integer id = idMap.get(key);
+        if (id == null)
+        {
+            id = keyList.size();
+            keyList.add(key);
+            idMap.put(key, id);
+        }
+        return id;
+    }
+
+    synchronized K getKey(int id)
+    {
+        return keyList.get(id);
+    }
+}
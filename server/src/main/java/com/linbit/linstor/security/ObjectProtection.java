@@ -173,8 +173,16 @@ public final class ObjectProtection extends BaseTransactionObject
     public void requireAccess(AccessContext context, AccessType requested)
         throws AccessDeniedException
     {
-        objectType.get().requireAccess(context, requested);
-        objectAcl.requireAccess(context, requested);
+        AccessDecisionCache decisionCache = AccessDecisionCache.getActive();
+        if (decisionCache == null || !decisionCache.isGranted(context, this, requested))
+        {
+            objectType.get().requireAccess(context, requested);
+            objectAcl.requireAccess(context, requested);
+            if (decisionCache != null)
+            {
+                decisionCache.setGranted(context, this, requested);
+            }
+        }
     }
 
     /**
@@ -221,6 +229,7 @@ public final class ObjectProtection extends BaseTransactionObject
         PrivilegeSet privs = context.getEffectivePrivs();
         privs.requirePrivileges(Privilege.PRIV_OBJ_OWNER);
         objectOwner.set(newOwner);
+        AccessDecisionCache.invalidateAll();
     }
 
     public AccessControlList getAcl()
@@ -254,6 +263,7 @@ public final class ObjectProtection extends BaseTransactionObject
                 );
         }
         objectType.set(newSecType);
+        AccessDecisionCache.invalidateAll();
     }
 
     public void addAclEntry(AccessContext context, Role entryRole, AccessType grantedAccess)
@@ -350,6 +360,7 @@ public final class ObjectProtection extends BaseTransactionObject
     public void rollbackImpl()
     {
         super.rollback();
+        AccessDecisionCache.invalidateAll();
 
         for (Entry<Role, AccessControlEntry> entry : cachedAcl.entrySet())
         {
@@ -119,6 +119,7 @@ public final class PrivilegeSet implements Cloneable
                 privileges &= limitPrivs.privileges;
             }
         }
+        AccessDecisionCache.invalidateAll();
     }
 
     /**
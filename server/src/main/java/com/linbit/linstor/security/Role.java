@@ -23,10 +23,14 @@ public final class Role implements Comparable<Role>
 {
     private static final Map<RoleName, Role> GLOBAL_ROLE_MAP = new TreeMap<>();
     private static final ReadWriteLock GLOBAL_ROLE_MAP_LOCK = new ReentrantReadWriteLock();
+    private static final CompactIdMap<RoleName> ROLE_IDS = new CompactIdMap<>();
 
     // Name of this security role
     public final RoleName name;
 
+    // Index of this role in access control lists
+    final int id;
+
     // Set of privileges assigned to this role
     public final PrivilegeSet privileges;
 
@@ -52,6 +56,7 @@ public final class Role implements Comparable<Role>
     Role(RoleName roleName)
     {
         name = roleName;
+        id = ROLE_IDS.getId(roleName);
         privileges = new PrivilegeSet();
     }
 
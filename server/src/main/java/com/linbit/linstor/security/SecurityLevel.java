@@ -61,6 +61,7 @@ public enum SecurityLevel
         }
 
         GLOBAL_SEC_LEVEL_REF.set(newLevel);
+        AccessDecisionCache.invalidateAll();
     }
 
     /**
@@ -98,5 +99,6 @@ public enum SecurityLevel
                 System.err.println(String.format("Unknown security level '%s' set.", secLvlValue));
             }
         }
+        AccessDecisionCache.invalidateAll();
     }
 }
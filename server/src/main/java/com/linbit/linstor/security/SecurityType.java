@@ -6,7 +6,7 @@ import com.linbit.linstor.ControllerDatabase;
 import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.security.pojo.TypeEnforcementRulePojo;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,12 +26,17 @@ public final class SecurityType implements Comparable<SecurityType>
 {
     private static final Map<SecTypeName, SecurityType> GLOBAL_TYPE_MAP = new TreeMap<>();
     private static final ReadWriteLock GLOBAL_TYPE_MAP_LOCK = new ReentrantReadWriteLock();
+    private static final CompactIdMap<SecTypeName> TYPE_IDS = new CompactIdMap<>();
 
     // Name of this security type
     public final SecTypeName name;
 
-    // Access control rules for this type
-    private final Map<SecTypeName, AccessType> rules;
+    // Index of this security type in the access control rules of other security types
+    final int id;
+
+    // Access control rules for this type, indexed by the id of the subject domain.
+    // Copied on every change, so that access checks can read it without locking.
+    private volatile AccessType[] rules = new AccessType[0];
 
     public static final SecurityType SYSTEM_TYPE;
     public static final SecurityType PUBLIC_TYPE;
@@ -55,7 +60,7 @@ public final class SecurityType implements Comparable<SecurityType>
     SecurityType(SecTypeName typeName)
     {
         name = typeName;
-        rules = Collections.synchronizedMap(new TreeMap<SecTypeName, AccessType>());
+        id = TYPE_IDS.getId(typeName);
     }
 
     public static SecurityType create(AccessContext accCtx, SecTypeName typeName)
@@ -142,7 +147,13 @@ public final class SecurityType implements Comparable<SecurityType>
             readLock.lock();
             for (SecurityType secType : GLOBAL_TYPE_MAP.values())
             {
-                count += secType.rules.size();
+                for (AccessType rule : secType.rules)
+                {
+                    if (rule != null)
+                    {
+                        ++count;
+                    }
+                }
             }
         }
         finally
@@ -189,7 +200,7 @@ public final class SecurityType implements Comparable<SecurityType>
                     SecurityType secType = get(new SecTypeName(ter.getTypeName()));
                     AccessType accType = AccessType.get(ter.getAccessType());
 
-                    secType.rules.put(secDomain.name, accType);
+                    secType.putRule(secDomain, accType);
                 }
             }
         }
@@ -221,13 +232,10 @@ public final class SecurityType implements Comparable<SecurityType>
                 {
                     boolean allowFlag = false;
 
-                    // Get the name of the subject's security domain
-                    SecTypeName typeName = context.subjectDomain.name;
-
                     // Look for a rule allowing a certain type of access
                     // between from the subject's security domain to this
                     // security type
-                    AccessType accType = rules.get(typeName);
+                    AccessType accType = getRule(context.subjectDomain);
 
                     // If a rule entry was found, check whether the requested type
                     // of access is within the bounds of the type of access
@@ -295,13 +303,10 @@ public final class SecurityType implements Comparable<SecurityType>
                 // Query the level of access allowed by privileges
                 AccessType privAccess = context.privEffective.toMacAccess();
 
-                // Get the name of the subject's security domain
-                SecTypeName typeName = context.subjectDomain.name;
-
                 // Look for a rule allowing a certain type of access
                 // between from the subject's security domain to this
                 // security type
-                AccessType ruleAccess = rules.get(typeName);
+                AccessType ruleAccess = getRule(context.subjectDomain);
 
                 // Combine access permissions
                 result = AccessType.union(privAccess, ruleAccess);
@@ -333,7 +338,8 @@ public final class SecurityType implements Comparable<SecurityType>
      */
     public AccessType getRule(SecurityType domain)
     {
-        return rules.get(domain.name);
+        AccessType[] curRules = rules;
+        return domain.id < curRules.length ? curRules[domain.id] : null;
     }
 
     public void addRule(AccessContext context, SecurityType domain, AccessType grantedAccess)
@@ -341,7 +347,7 @@ public final class SecurityType implements Comparable<SecurityType>
     {
         PrivilegeSet privs = context.getEffectivePrivs();
         privs.requirePrivileges(Privilege.PRIV_SYS_ALL);
-        rules.put(domain.name, grantedAccess);
+        putRule(domain, grantedAccess);
     }
 
     public void delRule(AccessContext context, SecurityType domain)
@@ -349,7 +355,7 @@ public final class SecurityType implements Comparable<SecurityType>
     {
         PrivilegeSet privs = context.getEffectivePrivs();
         privs.requirePrivileges(Privilege.PRIV_SYS_ALL);
-        rules.remove(domain.name);
+        putRule(domain, null);
     }
 
     public Map<SecTypeName, AccessType> getAllRules(AccessContext context)
@@ -358,10 +364,28 @@ public final class SecurityType implements Comparable<SecurityType>
         context.getEffectivePrivs().requirePrivileges(Privilege.PRIV_SYS_ALL);
 
         Map<SecTypeName, AccessType> result = new TreeMap<>();
-        result.putAll(rules);
+        AccessType[] curRules = rules;
+        for (int domainId = 0; domainId < curRules.length; ++domainId)
+        {
+            if (curRules[domainId] != null)
+            {
+                result.put(TYPE_IDS.getKey(domainId), curRules[domainId]);
+            }
+        }
         return result;
     }
 
+    /**
+     * @param grantedAccess The allowed level of access, or null to remove the rule
+     */
+    private synchronized void putRule(SecurityType domain, AccessType grantedAccess)
+    {
+        AccessType[] newRules = Arrays.copyOf(rules, Math.max(rules.length, domain.id + 1));
+        newRules[domain.id] = grantedAccess;
+        rules = newRules;
+        AccessDecisionCache.invalidateAll();
+    }
+
     @Override
     public String toString()
     {
@@ -6,6 +6,11 @@ import com.linbit.linstor.transaction.manager.TransactionMgr;
 
 import javax.inject.Provider;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
 /**
  * Interface for objects that can apply or undo one or multiple
  * previously performed changes.<br>
@@ -20,6 +25,12 @@ public abstract class AbsTransactionObject implements TransactionObject
 {
     private static final boolean DEBUG_MODE = false;
 
+    // Incremented whenever any transaction object is modified, committed or rolled back
+    private static final AtomicLong MODIFICATION_COUNTER = new AtomicLong();
+
+    // Notified whenever any transaction object was committed or rolled back
+    private static final List<Consumer<TransactionObject>> TRANSACTION_END_LISTENERS = new CopyOnWriteArrayList<>();
+
     private final Provider<? extends TransactionMgr> transMgrProvider;
 
     private TransactionMgr activeTransMgr = null;
@@ -97,15 +108,51 @@ public abstract class AbsTransactionObject implements TransactionObject
 
     }
 
+    /**
+     * Returns a counter that changes whenever any transaction object is modified, committed or rolled back.
+     * Data derived from transaction objects, e.g. their serialized forms, stays valid as long as the
+     * counter does not change.
+     */
+    public static long getModificationCount()
+    {
+        return MODIFICATION_COUNTER.get();
+    }
+
+    /**
+     * Registers a listener that is called with every transaction object after it was committed or rolled back.
+     * Allows keeping data derived from specific transaction objects, e.g. indexes, up to date without having to
+     * drop it whenever any other transaction object changes. The listener is called on the thread that ends the
+     * transaction and must not block.
+     */
+    public static void addTransactionEndListener(Consumer<TransactionObject> listener)
+    {
+        TRANSACTION_END_LISTENERS.add(listener);
+    }
+
+    public static void removeTransactionEndListener(Consumer<TransactionObject> listener)
+    {
+        TRANSACTION_END_LISTENERS.remove(listener);
+    }
+
+    private void notifyTransactionEndListeners()
+    {
+        for (Consumer<TransactionObject> listener : TRANSACTION_END_LISTENERS)
+        {
+            listener.accept(this);
+        }
+    }
+
     @Override
     public final void commit()
     {
         assert (TransactionMgr.isCalledFromTransactionMgr("commit"));
+        MODIFICATION_COUNTER.incrementAndGet();
         if (!inCommit)
         {
             inCommit = true;
             commitImpl();
             inCommit = false;
+            notifyTransactionEndListeners();
         }
         activeTransMgr = null;
     }
@@ -121,11 +168,13 @@ public abstract class AbsTransactionObject implements TransactionObject
     public final void rollback()
     {
         assert (TransactionMgr.isCalledFromTransactionMgr("rollback"));
+        MODIFICATION_COUNTER.incrementAndGet();
         if (!inRollback)
         {
             inRollback = true;
             rollbackImpl();
             inRollback = false;
+            notifyTransactionEndListeners();
         }
         if (DEBUG_MODE)
         {
@@ -156,6 +205,8 @@ public abstract class AbsTransactionObject implements TransactionObject
 
     protected final void activateTransMgr()
     {
+        // called before every modification
+        MODIFICATION_COUNTER.incrementAndGet();
         getObjectToRegister().setConnection(transMgrProvider.get());
     }
 }
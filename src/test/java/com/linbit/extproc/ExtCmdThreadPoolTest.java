@@ -0,0 +1,134 @@
+package com.linbit.extproc;
+
+import com.linbit.ChildProcessTimeoutException;
+import com.linbit.extproc.ChildProcessHandler.TimeoutType;
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.timer.Action;
+import com.linbit.timer.GenericTimer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the child process slots of the {@link ExtCmdThreadPool} are returned once the child processes
+ * exited, and that waiting for a slot is bounded by the command's timeout. The throughput is measured by the
+ * ExtCmdBenchmark of the benchmark project.
+ */
+public class ExtCmdThreadPoolTest
+{
+    private static final int THREAD_COUNT = 4;
+    private static final int COMMANDS_PER_THREAD = 10;
+    private static final long TEST_TIMEOUT_MILLIS = 60000;
+    private static final long SLOT_WAIT_MILLIS = 100;
+
+    private GenericTimer<String, Action<String>> intrTimer;
+    private ErrorReporter errLog;
+
+    @Before
+    public void setUp()
+    {
+        intrTimer = new GenericTimer<>();
+        intrTimer.start();
+        errLog = new StderrErrorReporter("LINSTOR-UNITTESTS");
+    }
+
+    @After
+    public void tearDown()
+    {
+        intrTimer.shutdown();
+    }
+
+    @Test(timeout = TEST_TIMEOUT_MILLIS)
+    public void concurrentCommandsReturnTheirSlots() throws Exception
+    {
+        long startedBefore = ExtCmdThreadPool.getStartedChildCount();
+
+        AtomicInteger failedCount = new AtomicInteger();
+        Thread[] threads = new Thread[THREAD_COUNT];
+        for (int thrIdx = 0; thrIdx < THREAD_COUNT; ++thrIdx)
+        {
+            threads[thrIdx] = new Thread(
+                () ->
+                {
+                    for (int cmdIdx = 0; cmdIdx < COMMANDS_PER_THREAD; ++cmdIdx)
+                    {
+                        try
+                        {
+                            OutputData output = new ExtCmd(intrTimer, errLog).exec("echo", "linstor");
+                            String stdout = new String(output.stdoutData, StandardCharsets.UTF_8);
+                            if (output.exitCode != 0 || !stdout.equals("linstor\n"))
+                            {
+                                failedCount.incrementAndGet();
+                            }
+                        }
+                        catch (Exception exc)
+                        {
+                            failedCount.incrementAndGet();
+                        }
+                    }
+                }
+            );
+            threads[thrIdx].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(0, failedCount.get());
+        assertEquals(THREAD_COUNT * COMMANDS_PER_THREAD, ExtCmdThreadPool.getStartedChildCount() - startedBefore);
+
+        // all slots must be available again
+        acquireAllSlots();
+        assertEquals(ExtCmdThreadPool.getMaxConcurrentChildren(), ExtCmdThreadPool.getActiveChildCount());
+        releaseAllSlots();
+        assertEquals(0, ExtCmdThreadPool.getActiveChildCount());
+    }
+
+    @Test(timeout = TEST_TIMEOUT_MILLIS)
+    public void acquiringSlotTimesOut() throws Exception
+    {
+        ExtCmd extCmd = new ExtCmd(intrTimer, errLog);
+        extCmd.setTimeout(TimeoutType.WAIT, SLOT_WAIT_MILLIS);
+
+        acquireAllSlots();
+        try
+        {
+            extCmd.exec("echo", "linstor");
+            fail("Command started although no slot was available");
+        }
+        catch (ChildProcessTimeoutException expected)
+        {
+            // expected
+        }
+        finally
+        {
+            releaseAllSlots();
+        }
+        assertEquals(0, ExtCmdThreadPool.getActiveChildCount());
+    }
+
+    private void acquireAllSlots() throws ChildProcessTimeoutException
+    {
+        for (int idx = 0; idx < ExtCmdThreadPool.getMaxConcurrentChildren(); ++idx)
+        {
+            ExtCmdThreadPool.acquireChildSlot(TEST_TIMEOUT_MILLIS);
+        }
+    }
+
+    private void releaseAllSlots()
+    {
+        for (int idx = 0; idx < ExtCmdThreadPool.getMaxConcurrentChildren(); ++idx)
+        {
+            ExtCmdThreadPool.releaseChildSlot();
+        }
+    }
+}
@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -80,6 +81,7 @@ public class RscAutoPlaceApiTest extends ApiTestBase
     private static final long TB = 1_000 * GB;
 
     private static final String TEST_RSC_NAME = "TestRsc";
+    private static final String LARGE_RSC_NAME = "LargeRsc";
     private static final int TEST_TCP_PORT_NR = 8000;
 
     private static final int MINOR_NR_MIN = 1000;
@@ -1184,6 +1186,103 @@ public class RscAutoPlaceApiTest extends ApiTestBase
         assertEquals("stlt2", deployedNodes.get(1).getName().displayValue);
     }
 
+    @Test
+    public void batchPlacesLargestFirstTest() throws Exception
+    {
+        RscAutoPlaceApiCall smallRsc = new RscAutoPlaceApiCall(TEST_RSC_NAME, 1, true)
+            .stltBuilder("stlt1")
+                .addStorPool("pool", 30 * MB)
+                .build()
+            .stltBuilder("stlt2")
+                .addStorPool("pool", 20 * MB)
+                .build()
+            .addVlmDfn(TEST_RSC_NAME, 0, 5 * MB)
+            .addRscDfn(LARGE_RSC_NAME, TEST_TCP_PORT_NR + 1)
+            .addVlmDfn(LARGE_RSC_NAME, 0, 15 * MB);
+        RscAutoPlaceApiCall largeRsc = new RscAutoPlaceApiCall(LARGE_RSC_NAME, 1, true);
+
+        RscAutoPlaceBatchApiCall batchCall = new RscAutoPlaceBatchApiCall(
+            true,
+            ApiConsts.CREATED, // property set
+            ApiConsts.CREATED, // rsc autoplace of the larger resource
+            ApiConsts.CREATED, // property set
+            ApiConsts.CREATED // rsc autoplace of the smaller resource
+        )
+            // listed smallest first, but placed and answered largest first
+            .add(smallRsc)
+            .add(largeRsc);
+        evaluateTest(batchCall);
+
+        expectAutoPlacedResponse(batchCall, 1, LARGE_RSC_NAME);
+        expectAutoPlacedResponse(batchCall, 3, TEST_RSC_NAME);
+        // the volume of the larger resource is already subtracted from the free space of stlt1
+        expectDeployed("pool", LARGE_RSC_NAME, "stlt1");
+        expectDeployed("pool", TEST_RSC_NAME, "stlt2");
+    }
+
+    @Test
+    public void batchMixedResultsTest() throws Exception
+    {
+        RscAutoPlaceApiCall deployedRsc = new RscAutoPlaceApiCall(TEST_RSC_NAME, 1, false)
+            .stltBuilder("stlt1")
+                .addStorPool("pool", 30 * MB)
+                .build()
+            .stltBuilder("stlt2")
+                .addStorPool("pool", 20 * MB)
+                .build()
+            .addVlmDfn(TEST_RSC_NAME, 0, 5 * MB)
+            .addRsc(TEST_RSC_NAME, "pool", "stlt2")
+            .addRscDfn(LARGE_RSC_NAME, TEST_TCP_PORT_NR + 1)
+            .addVlmDfn(LARGE_RSC_NAME, 0, 15 * MB);
+        RscAutoPlaceApiCall largeRsc = new RscAutoPlaceApiCall(LARGE_RSC_NAME, 1, true);
+
+        RscAutoPlaceBatchApiCall batchCall = new RscAutoPlaceBatchApiCall(
+            true,
+            ApiConsts.CREATED, // property set
+            ApiConsts.CREATED, // rsc autoplace
+            ApiConsts.WARN_RSC_ALREADY_DEPLOYED
+        )
+            .add(deployedRsc)
+            .add(largeRsc);
+        evaluateTest(batchCall);
+
+        expectAutoPlacedResponse(batchCall, 1, LARGE_RSC_NAME);
+        assertThat(batchCall.responses.getEntries().get(2).getMessage())
+            .startsWith("Resource '" + TEST_RSC_NAME + "' was already deployed");
+        expectDeployed("pool", LARGE_RSC_NAME, "stlt1");
+    }
+
+    @Test
+    public void batchFailureRollsBackTest() throws Exception
+    {
+        RscAutoPlaceApiCall unplaceableRsc = new RscAutoPlaceApiCall(TEST_RSC_NAME, 1, false)
+            .stltBuilder("stlt1")
+                .addStorPool("pool", 30 * MB)
+                .addStorPool("tiny", 1 * MB)
+                .build()
+            .stltBuilder("stlt2")
+                .addStorPool("pool", 20 * MB)
+                .build()
+            .addVlmDfn(TEST_RSC_NAME, 0, 5 * MB)
+            .setStorPool("tiny")
+            .addRscDfn(LARGE_RSC_NAME, TEST_TCP_PORT_NR + 1)
+            .addVlmDfn(LARGE_RSC_NAME, 0, 15 * MB);
+        RscAutoPlaceApiCall largeRsc = new RscAutoPlaceApiCall(LARGE_RSC_NAME, 1, false);
+
+        // the larger resource is placed first, but rolled back when the smaller one does not fit
+        evaluateTest(
+            new RscAutoPlaceBatchApiCall(
+                false,
+                ApiConsts.FAIL_NOT_ENOUGH_NODES
+            )
+                .add(largeRsc)
+                .add(unplaceableRsc)
+        );
+
+        expectNotDeployed(LARGE_RSC_NAME);
+        expectNotDeployed(TEST_RSC_NAME);
+    }
+
     private void expectDeployed(
         String storPoolNameStr,
         String rscNameStr,
@@ -1230,6 +1329,12 @@ public class RscAutoPlaceApiTest extends ApiTestBase
     }
 
 
+    private void expectAutoPlacedResponse(RscAutoPlaceBatchApiCall batchCall, int idx, String rscNameStr)
+    {
+        assertThat(batchCall.responses.getEntries().get(idx).getMessage())
+            .startsWith("Resource '" + rscNameStr + "' successfully autoplaced");
+    }
+
     private ResourceDefinition createRscDfn(String rscNameStr, int tcpPort)
         throws Exception
     {
@@ -1265,6 +1370,19 @@ public class RscAutoPlaceApiTest extends ApiTestBase
         return ret;
     }
 
+    private static long[] withDeploymentFailure(boolean expectDeployment, long... expectedRetCodes)
+    {
+        return expectDeployment ?
+            // When the resources are successfully registered in the DB, the API call handler should try to
+            // deploy them on the satellites. We deliberately cause this to fail. Hence we expect a failure
+            // response after the registration success responses.
+            LongStream.concat(
+                LongStream.of(expectedRetCodes),
+                LongStream.of(ApiConsts.FAIL_UNKNOWN_ERROR)
+            ).toArray() :
+            expectedRetCodes;
+    }
+
     private class RscAutoPlaceApiCall extends AbsApiCallTester
     {
         private final String rscNameStr;
@@ -1292,15 +1410,7 @@ public class RscAutoPlaceApiTest extends ApiTestBase
             super(
                 ApiConsts.MASK_RSC,
                 ApiConsts.MASK_CRT,
-                expectDeployment ?
-                    // When the resources are successfully registered in the DB, the API call handler should try to
-                    // deploy them on the satellites. We deliberately cause this to fail. Hence we expect a failure
-                    // response after the registration success responses.
-                    LongStream.concat(
-                        LongStream.of(expectedRetCodes),
-                        LongStream.of(ApiConsts.FAIL_UNKNOWN_ERROR)
-                    ).toArray() :
-                    expectedRetCodes
+                withDeploymentFailure(expectDeployment, expectedRetCodes)
             );
             rscNameStr = rscNameStrRef;
             placeCount = placeCountRef;
@@ -1361,67 +1471,69 @@ public class RscAutoPlaceApiTest extends ApiTestBase
             throws Exception
         {
             ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
-            rscAutoPlaceApiCallHandler.autoPlace(
-                rscNameStr,
-                new AutoSelectFilterApi()
+            rscAutoPlaceApiCallHandler.autoPlace(rscNameStr, selectFilter())
+                .subscriberContext(subscriberContext()).toStream().forEach(apiCallRc::addEntries);
+            return apiCallRc;
+        }
+
+        AutoSelectFilterApi selectFilter()
+        {
+            return new AutoSelectFilterApi()
+            {
+                @Override
+                public String getStorPoolNameStr()
                 {
+                    return forceStorPool;
+                }
 
-                    @Override
-                    public String getStorPoolNameStr()
-                    {
-                        return forceStorPool;
-                    }
-
-                    @Override
-                    public List<String> getReplicasOnSameList()
-                    {
-                        return replicasOnSameNodePropList;
-                    }
-
-                    @Override
-                    public List<String> getReplicasOnDifferentList()
-                    {
-                        return replicasOnDifferentNodePropList;
-                    }
-
-                    @Override
-                    public Integer getReplicaCount()
-                    {
-                        return placeCount;
-                    }
-
-                    @Override
-                    public String getDoNotPlaceWithRscRegex()
-                    {
-                        return doNotPlaceWithRscRegexStr;
-                    }
-
-                    @Override
-                    public List<String> getDoNotPlaceWithRscList()
-                    {
-                        return doNotPlaceWithRscList;
-                    }
-
-                    @Override
-                    public List<DeviceLayerKind> getLayerStackList()
-                    {
-                        return layerStack;
-                    }
-
-                    @Override
-                    public List<DeviceProviderKind> getProviderList()
-                    {
-                        return providerList;
-                    }
-
-                    @Override
-                    public Boolean getDisklessOnRemaining()
-                    {
-                        return disklessOnRemaining;
-                    }
+                @Override
+                public List<String> getReplicasOnSameList()
+                {
+                    return replicasOnSameNodePropList;
                 }
-            ).subscriberContext(subscriberContext()).toStream().forEach(apiCallRc::addEntries);
-            return apiCallRc;
+
+                @Override
+                public List<String> getReplicasOnDifferentList()
+                {
+                    return replicasOnDifferentNodePropList;
+                }
+
+                @Override
+                public Integer getReplicaCount()
+                {
+                    return placeCount;
+                }
+
+                @Override
+                public String getDoNotPlaceWithRscRegex()
+                {
+                    return doNotPlaceWithRscRegexStr;
+                }
+
+                @Override
+                public List<String> getDoNotPlaceWithRscList()
+                {
+                    return doNotPlaceWithRscList;
+                }
+
+                @Override
+                public List<DeviceLayerKind> getLayerStackList()
+                {
+                    return layerStack;
+                }
+
+                @Override
+                public List<DeviceProviderKind> getProviderList()
+                {
+                    return providerList;
+                }
+
+                @Override
+                public Boolean getDisklessOnRemaining()
+                {
+                    return disklessOnRemaining;
+                }
+            };
         }
 
         SatelliteBuilder stltBuilder(String stltName) throws Exception
@@ -1522,6 +1634,38 @@ public class RscAutoPlaceApiTest extends ApiTestBase
     }
 
 
+    private class RscAutoPlaceBatchApiCall extends AbsApiCallTester
+    {
+        private final Map<String, AutoSelectFilterApi> selectFilters = new LinkedHashMap<>();
+        private ApiCallRc responses;
+
+        RscAutoPlaceBatchApiCall(boolean expectDeployment, long... expectedRetCodes)
+        {
+            super(
+                ApiConsts.MASK_RSC,
+                ApiConsts.MASK_CRT,
+                withDeploymentFailure(expectDeployment, expectedRetCodes)
+            );
+        }
+
+        RscAutoPlaceBatchApiCall add(RscAutoPlaceApiCall entry)
+        {
+            selectFilters.put(entry.rscNameStr, entry.selectFilter());
+            return this;
+        }
+
+        @Override
+        public ApiCallRc executeApiCall()
+            throws Exception
+        {
+            ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
+            rscAutoPlaceApiCallHandler.autoPlace(selectFilters)
+                .subscriberContext(subscriberContext()).toStream().forEach(apiCallRc::addEntries);
+            responses = apiCallRc;
+            return apiCallRc;
+        }
+    }
+
     private class SatelliteBuilder
     {
         private final RscAutoPlaceApiCall parent;
@@ -0,0 +1,97 @@
+package com.linbit.linstor.api.protobuf;
+
+import com.linbit.linstor.proto.common.ProviderTypeOuterClass.ProviderType;
+import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass.StorPoolFreeSpace;
+import com.linbit.linstor.proto.common.StorPoolOuterClass.StorPool;
+import com.linbit.linstor.proto.javainternal.c2s.IntNodeOuterClass.IntNode;
+import com.linbit.linstor.proto.javainternal.c2s.IntNodeOuterClass.IntNodeConn;
+import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class FullSyncDigestTest
+{
+    @Test
+    public void ignoresRuntimeFields()
+    {
+        FullSyncDigest digest = new FullSyncDigest();
+        digest.putStorPool(storPool(100));
+
+        FullSyncDigest otherDigest = new FullSyncDigest();
+        otherDigest.putStorPool(storPool(50));
+
+        assertArrayEquals(digest.getDigest(), otherDigest.getDigest());
+    }
+
+    @Test
+    public void recordsNodeConnsSeparately()
+    {
+        IntNodeConn nodeConn = IntNodeConn.newBuilder()
+            .setNodeConnUuid("conn-uuid")
+            .setOtherNodeName("node2")
+            .putNodeConnProps("key", "value")
+            .build();
+
+        // The first node of a full sync carries the connection, the second one does not
+        FullSyncDigest digest = new FullSyncDigest();
+        digest.putNode(node("node1", nodeConn));
+        digest.putNode(node("node2", null));
+
+        FullSyncDigest otherDigest = new FullSyncDigest();
+        otherDigest.putNode(node("node2", nodeConn.toBuilder().setOtherNodeName("node1").build()));
+        otherDigest.putNode(node("node1", null));
+
+        assertArrayEquals(digest.getDigest(), otherDigest.getDigest());
+    }
+
+    @Test
+    public void changesOnRemoval()
+    {
+        FullSyncDigest digest = new FullSyncDigest();
+        digest.putController(Collections.singletonMap("key", "value"));
+        digest.putNode(node("node1", null));
+        byte[] before = digest.getDigest();
+
+        digest.removeNode("NODE1");
+
+        assertFalse(Arrays.equals(before, digest.getDigest()));
+    }
+
+    private static IntNode node(String nodeName, IntNodeConn nodeConn)
+    {
+        IntNode.Builder builder = IntNode.newBuilder()
+            .setUuid(nodeName + "-uuid")
+            .setName(nodeName)
+            .setType("SATELLITE");
+        if (nodeConn != null)
+        {
+            builder.addNodeConns(nodeConn);
+        }
+        return builder.build();
+    }
+
+    private static IntStorPool storPool(long freeCapacity)
+    {
+        return IntStorPool.newBuilder()
+            .setStorPool(
+                StorPool.newBuilder()
+                    .setNodeName("node1")
+                    .setStorPoolName("pool")
+                    .setProviderKind(ProviderType.LVM)
+                    .setFreeSpace(
+                        StorPoolFreeSpace.newBuilder()
+                            .setStorPoolUuid("pool-uuid")
+                            .setStorPoolName("pool")
+                            .setFreeCapacity(freeCapacity)
+                            .setTotalCapacity(200)
+                    )
+            )
+            .build();
+    }
+}
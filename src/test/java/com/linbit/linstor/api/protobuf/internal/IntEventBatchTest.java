@@ -0,0 +1,132 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.event.EventProcessor;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntEventBatchOuterClass.MsgIntEventBatch;
+import com.linbit.linstor.proto.responses.MsgEventOuterClass.MsgEvent;
+import com.linbit.locks.LockGuardFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IntEventBatchTest
+{
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String EVENT_NAME = "TestEvent";
+
+    private EventProcessor eventProcessor;
+    private IntEventBatch intEventBatch;
+
+    // Event data as seen by the event handler, by resource name
+    private final Map<String, byte[]> handledData = new LinkedHashMap<>();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        ScopeRunner scopeRunner = mock(ScopeRunner.class);
+        when(scopeRunner.fluxInTransactionalScope(anyString(), any(), any()))
+            .thenAnswer(invocation -> ((Callable<Flux<?>>) invocation.getArgument(2)).call());
+
+        eventProcessor = mock(EventProcessor.class);
+        when(eventProcessor.handleEventBatch(any())).thenAnswer(invocation ->
+        {
+            ((Runnable) invocation.getArgument(0)).run();
+            return Flux.empty();
+        });
+        when(eventProcessor.handleEvent(anyString(), anyString(), any(), any(), any(), any(), any()))
+            .thenAnswer(invocation ->
+            {
+                handledData.put(invocation.getArgument(2), readAll(invocation.getArgument(6)));
+                return Flux.empty();
+            });
+
+        intEventBatch = new IntEventBatch(scopeRunner, mock(LockGuardFactory.class), eventProcessor);
+    }
+
+    @Test
+    public void eachEventIsHandledWithItsOwnData()
+        throws Exception
+    {
+        MsgIntEventBatch.Builder msgBuilder = MsgIntEventBatch.newBuilder();
+        msgBuilder.addEvents(event(InternalApiConsts.EVENT_STREAM_VALUE, "rsc0", new byte[] {0, 0}));
+        msgBuilder.addEvents(event(InternalApiConsts.EVENT_STREAM_CLOSE_REMOVED, "rsc1", new byte[0]));
+        msgBuilder.addEvents(event(InternalApiConsts.EVENT_STREAM_VALUE, "rsc2", new byte[] {2}));
+
+        intEventBatch.executeReactive(delimited(msgBuilder.build())).blockLast(TIMEOUT);
+
+        // all events of the batch are handled within a single batch
+        verify(eventProcessor, times(1)).handleEventBatch(any());
+        verify(eventProcessor).handleEvent(
+            eq(InternalApiConsts.EVENT_STREAM_VALUE), eq(EVENT_NAME), eq("rsc0"), any(), any(), any(), any()
+        );
+        verify(eventProcessor).handleEvent(
+            eq(InternalApiConsts.EVENT_STREAM_CLOSE_REMOVED), eq(EVENT_NAME), eq("rsc1"), any(), any(), any(), any()
+        );
+        verify(eventProcessor).handleEvent(
+            eq(InternalApiConsts.EVENT_STREAM_VALUE), eq(EVENT_NAME), eq("rsc2"), any(), any(), any(), any()
+        );
+
+        assertThat(handledData).containsOnlyKeys("rsc0", "rsc1", "rsc2");
+        assertThat(handledData.get("rsc0")).containsExactly((byte) 0, (byte) 0);
+        assertThat(handledData.get("rsc1")).isEmpty();
+        assertThat(handledData.get("rsc2")).containsExactly((byte) 2);
+    }
+
+    private static ByteString event(String eventAction, String rscName, byte[] eventData)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgEvent.newBuilder()
+            .setWatchId(0)
+            .setEventAction(eventAction)
+            .setEventName(EVENT_NAME)
+            .setResourceName(rscName)
+            .build()
+            .writeDelimitedTo(out);
+        out.write(eventData);
+        return ByteString.copyFrom(out.toByteArray());
+    }
+
+    private static ByteArrayInputStream delimited(MsgIntEventBatch msgEventBatch)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        msgEventBatch.writeDelimitedTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static byte[] readAll(InputStream eventDataIn)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[64];
+        int readCount;
+        while ((readCount = eventDataIn.read(buffer)) != -1)
+        {
+            out.write(buffer, 0, readCount);
+        }
+        return out.toByteArray();
+    }
+}
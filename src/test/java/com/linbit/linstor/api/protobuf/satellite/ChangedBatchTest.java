@@ -0,0 +1,129 @@
+package com.linbit.linstor.api.protobuf.satellite;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.ApiModule;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatch;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntChangedBatchOuterClass.MsgIntChangedBatchEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChangedBatchTest
+{
+    private static final long API_CALL_ID = 42;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String ERROR_ID = "TEST-ERROR";
+
+    private ChangedNode changedNode;
+    private ChangedRsc changedRsc;
+    private CtrlStltSerializerBuilder builder;
+    private ChangedBatch changedBatch;
+
+    @Before
+    public void setUp()
+    {
+        changedNode = mock(ChangedNode.class);
+        changedRsc = mock(ChangedRsc.class);
+
+        builder = mock(CtrlStltSerializerBuilder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(new byte[] {42});
+        CtrlStltSerializer serializer = mock(CtrlStltSerializer.class);
+        when(serializer.answerBuilder(anyString(), anyLong())).thenReturn(builder);
+
+        ErrorReporter errorReporter = mock(ErrorReporter.class);
+        when(errorReporter.reportError(any(Throwable.class))).thenReturn(ERROR_ID);
+
+        changedBatch = new ChangedBatch(
+            changedNode,
+            changedRsc,
+            mock(ChangedStorPool.class),
+            mock(ChangedSnapshot.class),
+            serializer,
+            errorReporter
+        );
+    }
+
+    @Test
+    public void failedEntryDoesNotFailBatch()
+        throws Exception
+    {
+        ApiCallRc rscResponse = ApiCallRcImpl.singleApiCallRc(ApiConsts.MODIFIED, "resource applied");
+        when(changedRsc.applyChange(any())).thenReturn(Flux.just(rscResponse));
+        when(changedNode.applyChange(any())).thenReturn(Flux.error(new RuntimeException("node failed")));
+
+        List<byte[]> answers = changedBatch
+            .executeReactive(batch(
+                InternalApiConsts.API_CHANGED_RSC,
+                InternalApiConsts.API_CHANGED_NODE,
+                "UnsupportedApiCall"
+            ))
+            .subscriberContext(Context.of(ApiModule.API_CALL_ID, API_CALL_ID))
+            .collectList()
+            .block(TIMEOUT);
+
+        // one answer and the completion of each entry
+        assertThat(answers).hasSize(6);
+
+        InOrder rscAnswers = inOrder(builder);
+        rscAnswers.verify(builder).changedBatchReply(0, false);
+        rscAnswers.verify(builder).apiCallRcSeries(rscResponse);
+        rscAnswers.verify(builder).changedBatchReply(0, true);
+
+        verify(builder).changedBatchReply(1, true);
+        verify(builder).changedBatchReply(2, true);
+
+        ArgumentCaptor<ApiCallRc> apiCallRcs = ArgumentCaptor.forClass(ApiCallRc.class);
+        verify(builder, times(3)).apiCallRcSeries(apiCallRcs.capture());
+        for (ApiCallRc errorRc : apiCallRcs.getAllValues().subList(1, 3))
+        {
+            assertThat(errorRc.getEntries()).hasSize(1);
+            ApiCallRc.RcEntry entry = errorRc.getEntries().get(0);
+            assertThat(entry.getReturnCode() & ApiConsts.MASK_ERROR).isEqualTo(ApiConsts.MASK_ERROR);
+            assertThat(entry.getErrorIds()).containsExactly(ERROR_ID);
+        }
+    }
+
+    private static ByteArrayInputStream batch(String... apiCallNames)
+        throws Exception
+    {
+        MsgIntChangedBatch.Builder msgBuilder = MsgIntChangedBatch.newBuilder();
+        for (String apiCallName : apiCallNames)
+        {
+            msgBuilder.addEntries(
+                MsgIntChangedBatchEntry.newBuilder()
+                    .setApiCall(apiCallName)
+                    .setData(ByteString.EMPTY)
+            );
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        msgBuilder.build().writeDelimitedTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,39 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.proto.MsgHeaderOuterClass.MsgHeader;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+public class ProtoMessageOutputTest
+{
+    @Test
+    public void encodesLikeWriteDelimitedTo() throws Exception
+    {
+        MsgHeader header = MsgHeader.newBuilder()
+            .setMsgType(MsgHeader.MsgType.API_CALL)
+            .setApiCallId(42)
+            .setMsgContent("ApiCall")
+            .build();
+        MsgHeader largeHeader = MsgHeader.newBuilder()
+            .setMsgType(MsgHeader.MsgType.ONEWAY)
+            .setMsgContent(new String(new char[1000]).replace('\0', 'x'))
+            .build();
+        byte[] rawBytes = new byte[] {1, 2, 3};
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        header.writeDelimitedTo(baos);
+        baos.write(rawBytes);
+        largeHeader.writeDelimitedTo(baos);
+
+        ProtoMessageOutput protoOut = new ProtoMessageOutput();
+        protoOut.writeDelimited(header);
+        protoOut.write(rawBytes);
+        protoOut.writeDelimited(largeHeader);
+
+        assertArrayEquals(baos.toByteArray(), protoOut.toByteArray());
+    }
+}
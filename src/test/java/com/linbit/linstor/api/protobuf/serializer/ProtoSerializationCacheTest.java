@@ -0,0 +1,144 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.proto.common.NodeOuterClass;
+import com.linbit.linstor.proto.common.RscDfnOuterClass;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProtoSerializationCacheTest
+{
+    private static final String TEST_KEY = "TestKey";
+
+    private TransactionMgr transMgr;
+    private Props props;
+    private UUID uuid;
+    private ProtoSerializationCache cache;
+
+    private int serializeCount;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        transMgr = new SatelliteTransactionMgr();
+        props = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr).getInstance("TESTPROPS");
+        props.setProp(TEST_KEY, "initial");
+        transMgr.commit();
+
+        uuid = UUID.randomUUID();
+        cache = new ProtoSerializationCache();
+        serializeCount = 0;
+    }
+
+    @Test
+    public void reusesEntryWhileUnmodified() throws Exception
+    {
+        NodeOuterClass.Node first = cache.getNode(uuid, this::serializeNode);
+        NodeOuterClass.Node second = cache.getNode(uuid, this::serializeNode);
+
+        assertSame(first, second);
+        assertEquals(1, serializeCount);
+    }
+
+    @Test
+    public void reserializesNodeAfterPropsChange() throws Exception
+    {
+        cache.getNode(uuid, this::serializeNode);
+
+        props.setProp(TEST_KEY, "changed");
+        NodeOuterClass.Node node = cache.getNode(uuid, this::serializeNode);
+
+        assertEquals("changed", node.getPropsMap().get(TEST_KEY));
+        assertEquals(2, serializeCount);
+    }
+
+    @Test
+    public void reserializesRscDfnAfterCommit() throws Exception
+    {
+        props.setProp(TEST_KEY, "changed");
+        cache.getRscDfn(uuid, this::serializeRscDfn);
+
+        transMgr.commit();
+        RscDfnOuterClass.RscDfn rscDfn = cache.getRscDfn(uuid, this::serializeRscDfn);
+
+        assertEquals("changed", rscDfn.getRscDfnPropsMap().get(TEST_KEY));
+        assertEquals(2, serializeCount);
+    }
+
+    @Test
+    public void reserializesRscDfnAfterRollback() throws Exception
+    {
+        props.setProp(TEST_KEY, "changed");
+        cache.getRscDfn(uuid, this::serializeRscDfn);
+
+        transMgr.rollback();
+        RscDfnOuterClass.RscDfn rscDfn = cache.getRscDfn(uuid, this::serializeRscDfn);
+
+        assertEquals("initial", rscDfn.getRscDfnPropsMap().get(TEST_KEY));
+        assertEquals(2, serializeCount);
+    }
+
+    @Test
+    public void doesNotCacheWhileModified() throws Exception
+    {
+        // the object is modified by another thread while it is serialized
+        cache.getNode(
+            uuid,
+            () ->
+            {
+                NodeOuterClass.Node node = serializeNode();
+                setProp("concurrent");
+                return node;
+            }
+        );
+        NodeOuterClass.Node node = cache.getNode(uuid, this::serializeNode);
+        NodeOuterClass.Node cachedNode = cache.getNode(uuid, this::serializeNode);
+
+        assertEquals("concurrent", node.getPropsMap().get(TEST_KEY));
+        assertSame(node, cachedNode);
+        assertEquals(2, serializeCount);
+    }
+
+    private NodeOuterClass.Node serializeNode()
+    {
+        ++serializeCount;
+        return NodeOuterClass.Node.newBuilder()
+            .setUuid(uuid.toString())
+            .setName("TestNode")
+            .setType("SATELLITE")
+            .putAllProps(props.map())
+            .build();
+    }
+
+    private RscDfnOuterClass.RscDfn serializeRscDfn()
+    {
+        ++serializeCount;
+        return RscDfnOuterClass.RscDfn.newBuilder()
+            .setRscDfnUuid(uuid.toString())
+            .setRscName("TestRsc")
+            .putAllRscDfnProps(props.map())
+            .build();
+    }
+
+    private void setProp(String value)
+    {
+        try
+        {
+            props.setProp(TEST_KEY, value);
+        }
+        catch (Exception exc)
+        {
+            throw new RuntimeException(exc);
+        }
+    }
+}
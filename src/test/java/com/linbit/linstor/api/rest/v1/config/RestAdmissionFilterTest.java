@@ -0,0 +1,133 @@
+package com.linbit.linstor.api.rest.v1.config;
+
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Response;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Answers;
+
+public class RestAdmissionFilterTest
+{
+    private static final long QUEUE_TIMEOUT_MILLIS = 10000;
+
+    @Test
+    public void rejectsWritesAboveLimit()
+    {
+        RestAdmissionFilter filter = new RestAdmissionFilter(mock(ErrorReporter.class), 0, 0, 1, 0, 0, 0);
+
+        ContainerRequest firstRequest = mockRequest("POST");
+        filter.filter(firstRequest);
+        verify(firstRequest, never()).abortWith(any());
+
+        ContainerRequestContext secondRequest = mockRequest("PUT");
+        filter.filter(secondRequest);
+        assertRejected(secondRequest);
+
+        // the permit of the first request is only released once its response was written
+        finish(filter, firstRequest, RequestEvent.Type.RESP_FILTERS_FINISHED);
+        ContainerRequestContext thirdRequest = mockRequest("DELETE");
+        filter.filter(thirdRequest);
+        assertRejected(thirdRequest);
+
+        finish(filter, firstRequest, RequestEvent.Type.FINISHED);
+        ContainerRequestContext fourthRequest = mockRequest("DELETE");
+        filter.filter(fourthRequest);
+        verify(fourthRequest, never()).abortWith(any());
+    }
+
+    @Test
+    public void readsDoNotUseWritePermits()
+    {
+        RestAdmissionFilter filter = new RestAdmissionFilter(mock(ErrorReporter.class), 1, 0, 1, 0, 0, 0);
+
+        ContainerRequestContext readRequest = mockRequest("GET");
+        filter.filter(readRequest);
+        verify(readRequest, never()).abortWith(any());
+
+        ContainerRequestContext writeRequest = mockRequest("POST");
+        filter.filter(writeRequest);
+        verify(writeRequest, never()).abortWith(any());
+
+        ContainerRequestContext secondReadRequest = mockRequest("GET");
+        filter.filter(secondReadRequest);
+        verify(secondReadRequest).abortWith(any());
+    }
+
+    @Test
+    public void limitsQueuedWrites() throws Exception
+    {
+        RestAdmissionFilter filter = new RestAdmissionFilter(
+            mock(ErrorReporter.class), 0, 0, 1, 0, 1, QUEUE_TIMEOUT_MILLIS
+        );
+
+        ContainerRequest firstRequest = mockRequest("POST");
+        filter.filter(firstRequest);
+
+        // the second request waits for the permit of the first one
+        ContainerRequestContext queuedRequest = mockRequest("POST");
+        Thread queuedThread = new Thread(() -> filter.filter(queuedRequest));
+        queuedThread.start();
+        while (queuedThread.getState() != Thread.State.TIMED_WAITING)
+        {
+            Thread.sleep(1);
+        }
+
+        // the queue is full, the third request is rejected right away
+        long startMillis = System.currentTimeMillis();
+        ContainerRequestContext rejectedRequest = mockRequest("POST");
+        filter.filter(rejectedRequest);
+        assertRejected(rejectedRequest);
+        assertTrue(System.currentTimeMillis() - startMillis < QUEUE_TIMEOUT_MILLIS);
+
+        finish(filter, firstRequest, RequestEvent.Type.FINISHED);
+        queuedThread.join();
+        verify(queuedRequest, never()).abortWith(any());
+    }
+
+    private static void finish(RestAdmissionFilter filter, ContainerRequest request, RequestEvent.Type type)
+    {
+        RequestEvent event = mock(RequestEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getContainerRequest()).thenReturn(request);
+        filter.onRequest(event).onEvent(event);
+    }
+
+    private static void assertRejected(ContainerRequestContext request)
+    {
+        ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+        verify(request).abortWith(response.capture());
+        assertEquals(RestAdmissionFilter.STATUS_TOO_MANY_REQUESTS, response.getValue().getStatus());
+    }
+
+    private static ContainerRequest mockRequest(String method)
+    {
+        Map<String, Object> properties = new HashMap<>();
+        ContainerRequest request = mock(ContainerRequest.class, Answers.RETURNS_DEEP_STUBS);
+        when(request.getMethod()).thenReturn(method);
+        doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(request).setProperty(anyString(), any());
+        doAnswer(invocation -> properties.remove(invocation.<String>getArgument(0)))
+            .when(request).removeProperty(anyString());
+        when(request.getProperty(anyString()))
+            .thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+        return request;
+    }
+}
@@ -0,0 +1,395 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.linstor.core.CoreModule.ResourceDefinitionMapImpl;
+import com.linbit.linstor.core.CoreModule.StorPoolDefinitionMap;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.AutoStorPoolSelectorConfig;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlAutoStorPoolSelector.Candidate;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.security.DummySecurityInitializer;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+import com.linbit.linstor.utils.externaltools.ExtToolsManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the results of the indexed "do not place with" and "replicas on different" filters with the results
+ * of the scans over all resources and selected nodes that were used before, and checks that the indexes follow
+ * committed changes.
+ */
+public class CtrlAutoStorPoolSelectorTest
+{
+    private static final AccessContext SYS_CTX = DummySecurityInitializer.getSystemAccessContext();
+    private static final String RACK_KEY = "Aux/Rack";
+    private static final String ROW_KEY = "Aux/Row";
+    private static final int ITERATIONS = 50;
+
+    private StorPoolName storPoolName;
+    private TransactionMgr transMgr;
+    private PropsContainerFactory propsFactory;
+    private ResourceDefinitionMapImpl rscDfnMap;
+    private CtrlAutoStorPoolSelector selector;
+    private Random random;
+
+    private List<Node> nodes;
+    private Map<Node, Integer> nodeScores;
+    private Map<Node, Props> nodeProps;
+    private Map<Node, Set<String>> rscNamesByNode;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        storPoolName = new StorPoolName("pool");
+        transMgr = new SatelliteTransactionMgr();
+        propsFactory = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr);
+        rscDfnMap = new ResourceDefinitionMapImpl(() -> transMgr);
+        selector = new CtrlAutoStorPoolSelector(rscDfnMap, mock(StorPoolDefinitionMap.class), () -> SYS_CTX, SYS_CTX);
+        random = new Random(42);
+
+        nodes = new ArrayList<>();
+        nodeScores = new HashMap<>();
+        nodeProps = new HashMap<>();
+        rscNamesByNode = new HashMap<>();
+    }
+
+    @Test
+    public void doNotPlaceWithResourceMatchesScan() throws Exception
+    {
+        createNodes(30);
+        // the first nodes do not get any resources, so that there are always enough nodes to place on
+        List<Node> nodesWithRscs = nodes.subList(5, nodes.size());
+        for (int rscIdx = 0; rscIdx < 100; ++rscIdx)
+        {
+            Set<Node> rscNodes = new HashSet<>();
+            for (int replica = random.nextInt(3); replica >= 0; --replica)
+            {
+                rscNodes.add(nodesWithRscs.get(random.nextInt(nodesWithRscs.size())));
+            }
+            createRscDfn("rsc-" + rscIdx, rscNodes);
+        }
+
+        List<String> regexes = Arrays.asList(null, "^rsc-1", "7$", "RSC-4.");
+        for (int iteration = 0; iteration < ITERATIONS; ++iteration)
+        {
+            List<String> notPlaceWithRscList = new ArrayList<>();
+            for (int count = random.nextInt(4); count > 0; --count)
+            {
+                String rscName = "rsc-" + random.nextInt(100);
+                notPlaceWithRscList.add(random.nextBoolean() ? rscName.toUpperCase(Locale.ROOT) : rscName);
+            }
+            if (random.nextBoolean())
+            {
+                notPlaceWithRscList.add("unknown");
+                notPlaceWithRscList.add("in valid");
+            }
+            String regex = regexes.get(random.nextInt(regexes.size()));
+            AutoStorPoolSelectorConfig config = config(
+                3,
+                Collections.emptyList(),
+                regex,
+                notPlaceWithRscList
+            );
+
+            assertThat(select(config))
+                .as("not place with %s, regex %s", notPlaceWithRscList, regex)
+                .containsExactlyElementsOf(scanDoNotPlaceWith(config));
+        }
+    }
+
+    @Test
+    public void replicasOnDifferentMatchesScan() throws Exception
+    {
+        createNodes(20);
+        for (Node node : nodes)
+        {
+            setProp(node, RACK_KEY, Integer.toString(random.nextInt(4)));
+            setProp(node, ROW_KEY, Character.toString((char) ('a' + random.nextInt(3))));
+        }
+
+        List<List<String>> repOnDiffLists = Arrays.asList(
+            Collections.singletonList(RACK_KEY),
+            Arrays.asList(RACK_KEY, ROW_KEY),
+            Collections.singletonList(RACK_KEY + "=2"),
+            Arrays.asList(ROW_KEY + "=b", RACK_KEY)
+        );
+        for (int iteration = 0; iteration < ITERATIONS; ++iteration)
+        {
+            Collections.shuffle(nodes, random);
+            List<String> repOnDiffList = repOnDiffLists.get(random.nextInt(repOnDiffLists.size()));
+            int placeCount = 1 + random.nextInt(3);
+            AutoStorPoolSelectorConfig config = config(
+                placeCount,
+                repOnDiffList,
+                null,
+                Collections.emptyList()
+            );
+
+            assertThat(select(config))
+                .as("replicas on different %s, place count %d", repOnDiffList, placeCount)
+                .containsExactlyElementsOf(scanReplicasOnDifferent(config));
+        }
+    }
+
+    @Test
+    public void regexFollowsNewResourceDefinitions() throws Exception
+    {
+        createNodes(3);
+        AutoStorPoolSelectorConfig config = config(2, Collections.emptyList(), "^new", Collections.emptyList());
+        assertThat(select(config)).containsExactly(nodes.get(2), nodes.get(1));
+
+        createRscDfn("new-rsc", Collections.singleton(nodes.get(2)));
+
+        assertThat(select(config)).containsExactly(nodes.get(1), nodes.get(0));
+    }
+
+    @Test
+    public void doNotPlaceWithIgnoresHiddenResourceDefinitions() throws Exception
+    {
+        createNodes(2);
+        ResourceDefinition rscDfn = createRscDfn("hidden", Collections.singleton(nodes.get(1)));
+        when(rscDfn.streamResource(any())).thenThrow(new AccessDeniedException("no view access"));
+
+        AutoStorPoolSelectorConfig config = config(
+            2,
+            Collections.emptyList(),
+            null,
+            Collections.singletonList("hidden")
+        );
+        assertThat(select(config)).containsExactly(nodes.get(1), nodes.get(0));
+    }
+
+    @Test
+    public void replicasOnDifferentFollowsPropChanges() throws Exception
+    {
+        createNodes(2);
+        setProp(nodes.get(0), RACK_KEY, "1");
+        setProp(nodes.get(1), RACK_KEY, "1");
+        AutoStorPoolSelectorConfig config = config(
+            2,
+            Collections.singletonList(RACK_KEY),
+            null,
+            Collections.emptyList()
+        );
+        assertThat(select(config)).isEmpty();
+
+        setProp(nodes.get(1), RACK_KEY, "2");
+
+        assertThat(select(config)).containsExactly(nodes.get(0), nodes.get(1));
+    }
+
+    @Test
+    public void replicasOnSameFollowsPropChanges() throws Exception
+    {
+        createNodes(3);
+        setProp(nodes.get(0), RACK_KEY, "1");
+        setProp(nodes.get(1), RACK_KEY, "2");
+        setProp(nodes.get(2), RACK_KEY, "2");
+        AutoStorPoolSelectorConfig config = new AutoStorPoolSelectorConfig(
+            2,
+            Collections.emptyList(),
+            Collections.singletonList(RACK_KEY),
+            null,
+            Collections.emptyList(),
+            null,
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+        assertThat(select(config)).containsExactly(nodes.get(2), nodes.get(1));
+
+        setProp(nodes.get(1), RACK_KEY, "1");
+        setProp(nodes.get(0), RACK_KEY, "2");
+
+        assertThat(select(config)).containsExactly(nodes.get(2), nodes.get(0));
+    }
+
+    private List<Node> select(AutoStorPoolSelectorConfig config)
+    {
+        Map<StorPoolName, List<Node>> availableStorPools = new HashMap<>();
+        availableStorPools.put(storPoolName, new ArrayList<>(nodes));
+
+        List<Candidate> candidates = selector.getCandidateList(
+            availableStorPools,
+            config,
+            (ignoredStorPoolName, ignoredAccCtx) -> Comparator.comparingInt(nodeScores::get)
+        );
+        return candidates.isEmpty() ? Collections.emptyList() : candidates.get(0).getNodes();
+    }
+
+    /**
+     * Checks every resource of every node against the names given by the configuration
+     */
+    private List<Node> scanDoNotPlaceWith(AutoStorPoolSelectorConfig config)
+    {
+        Set<String> excludedRscNames = config.getNotPlaceWithRscList().stream()
+            .map(rscName -> rscName.toUpperCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        if (config.getNotPlaceWithRscRegex() != null)
+        {
+            Pattern rscRegexPattern = Pattern.compile(
+                config.getNotPlaceWithRscRegex(),
+                Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+            );
+            for (ResourceName rscName : rscDfnMap.keySet())
+            {
+                if (rscRegexPattern.matcher(rscName.value).find())
+                {
+                    excludedRscNames.add(rscName.value);
+                }
+            }
+        }
+
+        List<Node> expected = nodes.stream()
+            .filter(node -> Collections.disjoint(rscNamesByNode.get(node), excludedRscNames))
+            .sorted(Comparator.comparingInt((Node node) -> nodeScores.get(node)).reversed())
+            .collect(Collectors.toList());
+        return trim(expected, config.getPlaceCount());
+    }
+
+    /**
+     * Compares every candidate node with all previously selected nodes
+     */
+    private List<Node> scanReplicasOnDifferent(AutoStorPoolSelectorConfig config) throws Exception
+    {
+        List<Node> selected = new ArrayList<>();
+        for (Node candidateNode : nodes)
+        {
+            for (String propFilterEntry : config.getReplicasOnDifferentList())
+            {
+                String[] propFilter = propFilterEntry.split("=", 2);
+                String propFilterKey = propFilter[0];
+                String propFilterVal = propFilter.length > 1 ? propFilter[1] : null;
+                String nodePropVal = nodeProps.get(candidateNode).getProp(propFilterKey);
+
+                boolean hasNodePropVal = false;
+                Node nodeToRemove = null;
+                for (Node filteredNode : selected)
+                {
+                    hasNodePropVal = nodeProps.get(filteredNode).getProp(propFilterKey).equals(nodePropVal);
+                    if (hasNodePropVal)
+                    {
+                        if (nodeScores.get(candidateNode) > nodeScores.get(filteredNode))
+                        {
+                            nodeToRemove = filteredNode;
+                        }
+                        break;
+                    }
+                }
+
+                if (nodePropVal == null ||
+                    selected.remove(nodeToRemove) ||
+                    propFilterVal != null && !propFilterVal.equals(nodePropVal) ||
+                    propFilterVal == null && !hasNodePropVal
+                )
+                {
+                    selected.add(candidateNode);
+                }
+            }
+        }
+        return trim(selected, config.getPlaceCount());
+    }
+
+    private static List<Node> trim(List<Node> nodeList, int placeCount)
+    {
+        return nodeList.size() >= placeCount ? nodeList.subList(0, placeCount) : Collections.emptyList();
+    }
+
+    private AutoStorPoolSelectorConfig config(
+        int placeCount,
+        List<String> replicasOnDifferentList,
+        String notPlaceWithRscRegex,
+        List<String> notPlaceWithRscList
+    )
+    {
+        return new AutoStorPoolSelectorConfig(
+            placeCount,
+            replicasOnDifferentList,
+            Collections.emptyList(),
+            notPlaceWithRscRegex,
+            notPlaceWithRscList,
+            null,
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+    }
+
+    private void createNodes(int count) throws Exception
+    {
+        // later nodes are preferred by the node selection strategy
+        for (int idx = 0; idx < count; ++idx)
+        {
+            StorPool storPool = mock(StorPool.class);
+            when(storPool.getDeviceProviderKind()).thenReturn(DeviceProviderKind.LVM);
+            Peer peer = mock(Peer.class);
+            when(peer.getExtToolsManager()).thenReturn(mock(ExtToolsManager.class));
+            Props props = propsFactory.getInstance("TESTNODE" + idx);
+
+            Node node = mock(Node.class);
+            when(node.getProps(any())).thenReturn(props);
+            when(node.getStorPool(any(), any())).thenReturn(storPool);
+            when(node.getPeer(any())).thenReturn(peer);
+
+            nodes.add(node);
+            nodeScores.put(node, idx);
+            nodeProps.put(node, props);
+            rscNamesByNode.put(node, new HashSet<>());
+        }
+    }
+
+    private ResourceDefinition createRscDfn(String rscNameStr, Set<Node> rscNodes) throws Exception
+    {
+        ResourceName rscName = new ResourceName(rscNameStr);
+        List<Resource> rscs = new ArrayList<>();
+        for (Node node : rscNodes)
+        {
+            Resource rsc = mock(Resource.class);
+            when(rsc.getNode()).thenReturn(node);
+            rscs.add(rsc);
+            rscNamesByNode.get(node).add(rscName.value);
+        }
+
+        ResourceDefinition rscDfn = mock(ResourceDefinition.class);
+        when(rscDfn.getName()).thenReturn(rscName);
+        when(rscDfn.streamResource(any())).thenAnswer(ignored -> rscs.stream());
+        rscDfnMap.put(rscName, rscDfn);
+        transMgr.commit();
+        return rscDfn;
+    }
+
+    private void setProp(Node node, String key, String value) throws Exception
+    {
+        nodeProps.get(node).setProp(key, value);
+        transMgr.commit();
+    }
+}
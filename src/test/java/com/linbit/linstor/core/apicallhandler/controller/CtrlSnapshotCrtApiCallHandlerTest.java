@@ -0,0 +1,37 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CtrlSnapshotCrtApiCallHandlerTest
+{
+    @Test
+    public void distinctRscNamesKeepsFirstOccurrence()
+    {
+        assertThat(
+            CtrlSnapshotCrtApiCallHandler.distinctRscNames(
+                Arrays.asList("rsc2", "rsc1", "RSC2", "rsc3", "rsc1")
+            )
+        ).containsExactly("rsc2", "rsc1", "rsc3");
+    }
+
+    @Test
+    public void distinctRscNamesWithoutDuplicates()
+    {
+        assertThat(
+            CtrlSnapshotCrtApiCallHandler.distinctRscNames(Arrays.asList("rsc3", "rsc1", "rsc2"))
+        ).containsExactly("rsc3", "rsc1", "rsc2");
+    }
+
+    @Test(expected = ApiRcException.class)
+    public void distinctRscNamesRejectsInvalidName()
+    {
+        CtrlSnapshotCrtApiCallHandler.distinctRscNames(Collections.singletonList("invalid name"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.linbit.linstor.core.apicallhandler.controller.helpers;
+
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ResourceListFieldsTest
+{
+    @Test
+    public void noFieldsSelectAll()
+    {
+        ResourceListFields fields = ResourceListFields.parse(Collections.emptyList());
+
+        assertTrue(fields.has(ResourceListFields.PROPS));
+        assertTrue(fields.hasVolumeField(ResourceListFields.VLM_LAYER_DATA_LIST));
+        assertTrue(fields.needsVolumeAllocated());
+        assertTrue(fields.needsSatelliteStates());
+    }
+
+    @Test
+    public void selectsRequestedFields()
+    {
+        ResourceListFields fields = ResourceListFields.parse(
+            Arrays.asList("name,node_name", "volumes.device_path")
+        );
+
+        assertTrue(fields.has(ResourceListFields.NAME));
+        assertTrue(fields.has(ResourceListFields.NODE_NAME));
+        assertTrue(fields.has(ResourceListFields.VOLUMES));
+        assertFalse(fields.has(ResourceListFields.PROPS));
+        assertFalse(fields.has(ResourceListFields.LAYER_OBJECT));
+        assertTrue(fields.hasVolumeField(ResourceListFields.VLM_DEVICE_PATH));
+        assertFalse(fields.hasVolumeField(ResourceListFields.VLM_LAYER_DATA_LIST));
+        assertFalse(fields.needsVolumeAllocated());
+        assertFalse(fields.needsSatelliteStates());
+    }
+
+    @Test
+    public void withoutVolumes()
+    {
+        ResourceListFields fields = ResourceListFields.ALL.withoutVolumes();
+
+        assertTrue(fields.has(ResourceListFields.STATE));
+        assertFalse(fields.has(ResourceListFields.VOLUMES));
+        assertFalse(fields.hasVolumeField(ResourceListFields.VLM_DEVICE_PATH));
+    }
+
+    @Test(expected = ApiRcException.class)
+    public void rejectsUnknownFields()
+    {
+        ResourceListFields.parse(Collections.singletonList("volumes.unknown"));
+    }
+}
@@ -0,0 +1,262 @@
+package com.linbit.linstor.core.apicallhandler.controller.internal;
+
+import com.linbit.linstor.api.ApiCallRc;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
+import com.linbit.linstor.api.protobuf.internal.IntFullSyncResponse;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.Snapshot;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.DummySecurityInitializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.Signal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CtrlFullSyncApiCallHandlerTest
+{
+    private static final long FULL_SYNC_ID = 42;
+    private static final byte[] MESSAGE = new byte[] {42};
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long TIMEOUT_MILLIS = TIMEOUT.toMillis();
+    private static final String SEND_FULL_SYNC_SCOPE = "Send full sync";
+
+    private static final AccessContext SYS_CTX = DummySecurityInitializer.getSystemAccessContext();
+
+    private ScopeRunner scopeRunner;
+    private CtrlStltSerializerBuilder builder;
+    private CtrlStltSerializer serializer;
+
+    @Before
+    public void setUp()
+    {
+        scopeRunner = mock(ScopeRunner.class);
+        when(scopeRunner.fluxInTransactionlessScope(anyString(), any(), any())).thenAnswer(
+            invocation -> runScope(invocation.getArgument(2))
+        );
+
+        builder = mock(CtrlStltSerializerBuilder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(MESSAGE);
+        serializer = mock(CtrlStltSerializer.class);
+        when(serializer.headerlessBuilder()).thenReturn(builder);
+        when(serializer.onewayBuilder(anyString())).thenReturn(builder);
+        when(serializer.apiCallBuilder(anyString(), any())).thenReturn(builder);
+    }
+
+    @Test
+    public void chunkedFullSyncSendsSnapshotsWithLastChunk()
+        throws Exception
+    {
+        Snapshot endedSnapshot = mock(Snapshot.class);
+        Snapshot snapshot = mock(Snapshot.class);
+        Node node = mockNode(250);
+        Peer peer = node.getPeer(SYS_CTX);
+        // the first snapshot ends while the resource chunks are sent
+        when(node.getInProgressSnapshots(SYS_CTX)).thenReturn(
+            Arrays.asList(endedSnapshot, snapshot),
+            Collections.singletonList(snapshot)
+        );
+
+        createHandler(2).sendFullSync(node, FULL_SYNC_ID, false, null).blockLast(TIMEOUT);
+
+        ArgumentCaptor<Collection<Resource>> firstRscs = collectionCaptor();
+        ArgumentCaptor<Set<Snapshot>> firstSnapshots = setCaptor();
+        verify(builder).fullSync(
+            any(), any(), firstRscs.capture(), firstSnapshots.capture(), eq(FULL_SYNC_ID), anyLong(), eq(2)
+        );
+        assertThat(firstRscs.getValue()).hasSize(100);
+        assertThat(firstSnapshots.getValue()).isEmpty();
+
+        ArgumentCaptor<Collection<Resource>> chunkRscs = collectionCaptor();
+        ArgumentCaptor<Collection<Snapshot>> chunkSnapshots = collectionCaptor();
+        verify(builder, times(2)).fullSyncRscChunk(chunkRscs.capture(), chunkSnapshots.capture(), eq(FULL_SYNC_ID));
+        assertThat(chunkRscs.getAllValues().get(0)).hasSize(100);
+        assertThat(chunkSnapshots.getAllValues().get(0)).isEmpty();
+        assertThat(chunkRscs.getAllValues().get(1)).hasSize(50);
+        assertThat(chunkSnapshots.getAllValues().get(1)).containsExactly(snapshot);
+
+        verify(peer, times(3)).sendMessage(MESSAGE);
+        verify(peer, never()).closeConnection(true);
+    }
+
+    @Test
+    public void singleMessageFullSyncSendsSnapshots()
+        throws Exception
+    {
+        Snapshot snapshot = mock(Snapshot.class);
+        Node node = mockNode(10);
+        when(node.getInProgressSnapshots(SYS_CTX)).thenReturn(Collections.singletonList(snapshot));
+
+        createHandler(2).sendFullSync(node, FULL_SYNC_ID, false, null).blockLast(TIMEOUT);
+
+        ArgumentCaptor<Set<Snapshot>> snapshots = setCaptor();
+        verify(builder).fullSync(
+            any(), any(), anyCollection(), snapshots.capture(), eq(FULL_SYNC_ID), anyLong(), eq(0)
+        );
+        assertThat(snapshots.getValue()).containsExactly(snapshot);
+        verify(builder, never()).fullSyncRscChunk(any(), any(), anyLong());
+        verify(node.getPeer(SYS_CTX)).sendMessage(MESSAGE);
+    }
+
+    @Test
+    public void failedChunkClosesConnection()
+        throws Exception
+    {
+        Node node = mockNode(150);
+        when(builder.fullSyncRscChunk(any(), any(), anyLong())).thenThrow(new RuntimeException("test"));
+
+        createHandler(2).sendFullSync(node, FULL_SYNC_ID, false, null).blockLast(TIMEOUT);
+
+        verify(node.getPeer(SYS_CTX)).closeConnection(true);
+    }
+
+    @Test
+    public void fullSyncsAreAdmittedInTurns()
+        throws Exception
+    {
+        List<MonoProcessor<Void>> gates = new CopyOnWriteArrayList<>();
+        when(scopeRunner.fluxInTransactionlessScope(eq(SEND_FULL_SYNC_SCOPE), any(), any())).thenAnswer(
+            invocation ->
+            {
+                MonoProcessor<Void> gate = MonoProcessor.create();
+                gates.add(gate);
+                return gate.thenMany(runScope(invocation.getArgument(2)));
+            }
+        );
+        CtrlFullSyncApiCallHandler handler = createHandler(1);
+
+        MonoProcessor<List<Signal<ApiCallRc>>> firstResult = handler
+            .sendFullSync(mockNode(1), FULL_SYNC_ID, false, null)
+            .materialize()
+            .collectList()
+            .toProcessor();
+        MonoProcessor<List<Signal<ApiCallRc>>> secondResult = handler
+            .sendFullSync(mockNode(1), FULL_SYNC_ID, false, null)
+            .materialize()
+            .collectList()
+            .toProcessor();
+
+        // the second full sync waits until the first one is done
+        verify(scopeRunner, timeout(TIMEOUT_MILLIS).times(1))
+            .fluxInTransactionlessScope(eq(SEND_FULL_SYNC_SCOPE), any(), any());
+        verify(scopeRunner, after(200).times(1))
+            .fluxInTransactionlessScope(eq(SEND_FULL_SYNC_SCOPE), any(), any());
+
+        // a failed full sync releases its slot as well
+        gates.get(0).onError(new RuntimeException("test"));
+        verify(scopeRunner, timeout(TIMEOUT_MILLIS).times(2))
+            .fluxInTransactionlessScope(eq(SEND_FULL_SYNC_SCOPE), any(), any());
+        gates.get(1).onComplete();
+
+        List<Signal<ApiCallRc>> signals = new ArrayList<>();
+        signals.addAll(firstResult.block(TIMEOUT));
+        signals.addAll(secondResult.block(TIMEOUT));
+        assertThat(signals).filteredOn(Signal::isOnError).hasSize(1);
+        assertThat(signals).filteredOn(Signal::isOnComplete).hasSize(1);
+    }
+
+    private CtrlFullSyncApiCallHandler createHandler(int maxConcurrentFullSyncs)
+    {
+        return new CtrlFullSyncApiCallHandler(
+            mock(ErrorReporter.class),
+            SYS_CTX,
+            scopeRunner,
+            serializer,
+            new ReentrantReadWriteLock(),
+            new ReentrantReadWriteLock(),
+            new ReentrantReadWriteLock(),
+            mock(IntFullSyncResponse.class),
+            maxConcurrentFullSyncs
+        );
+    }
+
+    private Node mockNode(int rscCount)
+        throws Exception
+    {
+        Peer peer = mock(Peer.class);
+        when(peer.getSerializerLock()).thenReturn(new ReentrantReadWriteLock());
+        when(peer.getFullSyncId()).thenReturn(FULL_SYNC_ID);
+
+        List<Resource> rscs = new ArrayList<>();
+        for (int idx = 0; idx < rscCount; ++idx)
+        {
+            Resource rsc = mock(Resource.class);
+            ResourceDefinition rscDfn = mock(ResourceDefinition.class);
+            when(rscDfn.iterateResource(SYS_CTX)).thenAnswer(ignored -> Collections.singletonList(rsc).iterator());
+            when(rsc.getDefinition()).thenReturn(rscDfn);
+            rscs.add(rsc);
+        }
+
+        Node node = mock(Node.class);
+        when(node.getName()).thenReturn(new NodeName("TestNode"));
+        when(node.getPeer(SYS_CTX)).thenReturn(peer);
+        when(node.streamResources(SYS_CTX)).thenAnswer(ignored -> rscs.stream());
+        when(node.streamStorPools(SYS_CTX)).thenAnswer(ignored -> Collections.emptyList().stream());
+        when(node.getInProgressSnapshots(SYS_CTX)).thenReturn(Collections.emptyList());
+        return node;
+    }
+
+    private static <T> Flux<T> runScope(Callable<Flux<T>> scope)
+    {
+        return Flux.defer(() ->
+        {
+            Flux<T> flux;
+            try
+            {
+                flux = scope.call();
+            }
+            catch (Exception exc)
+            {
+                flux = Flux.error(exc);
+            }
+            return flux;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<Collection<T>> collectionCaptor()
+    {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<Set<T>> setCaptor()
+    {
+        return ArgumentCaptor.forClass(Set.class);
+    }
+}
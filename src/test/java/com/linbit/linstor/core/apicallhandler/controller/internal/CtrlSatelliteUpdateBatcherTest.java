@@ -0,0 +1,343 @@
+package com.linbit.linstor.core.apicallhandler.controller.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.netcom.PeerNotConnectedException;
+import com.linbit.linstor.proto.common.ApiCallResponseOuterClass.ApiCallResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedBatchReplyOuterClass.MsgIntChangedBatchReply;
+import com.linbit.utils.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CtrlSatelliteUpdateBatcherTest
+{
+    private static final byte[] BATCH_MESSAGE = new byte[] {42};
+    private static final int MAX_BATCH_SIZE = 500;
+    // long enough that the tests flush the pending batches themselves
+    private static final long BATCH_WINDOW_MS = 60_000;
+
+    private Peer peer;
+    private CtrlStltSerializerBuilder builder;
+    private CtrlStltSerializer serializer;
+    private CtrlSatelliteUpdateBatcher batcher;
+
+    @Before
+    public void setUp()
+    {
+        peer = mock(Peer.class);
+        builder = mock(CtrlStltSerializerBuilder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(BATCH_MESSAGE);
+        serializer = mock(CtrlStltSerializer.class);
+        when(serializer.headerlessBuilder()).thenReturn(builder);
+
+        batcher = new CtrlSatelliteUpdateBatcher(serializer, mock(ErrorReporter.class), BATCH_WINDOW_MS);
+    }
+
+    @Test
+    public void answersAreDispatchedByEntryIdx()
+        throws Exception
+    {
+        when(peer.apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any())).thenReturn(Flux.just(
+            answer(1, ApiConsts.MASK_INFO, "answer 1"),
+            answer(0, ApiConsts.MASK_INFO, "answer 0"),
+            complete(0),
+            answer(2, ApiConsts.MASK_ERROR, "error 2"),
+            complete(1)
+        ));
+
+        List<RecordedCall> calls = new ArrayList<>();
+        coalesced(() ->
+        {
+            for (int idx = 0; idx < 3; ++idx)
+            {
+                calls.add(call(InternalApiConsts.API_CHANGED_RSC, new byte[] {(byte) idx}));
+            }
+        });
+
+        ArgumentCaptor<List<Pair<String, byte[]>>> changes = listCaptor();
+        verify(builder).changedBatch(changes.capture());
+        assertThat(changes.getValue()).hasSize(3);
+        for (int idx = 0; idx < 3; ++idx)
+        {
+            assertThat(changes.getValue().get(idx).objA).isEqualTo(InternalApiConsts.API_CHANGED_RSC);
+            assertThat(changes.getValue().get(idx).objB).containsExactly((byte) idx);
+        }
+
+        assertThat(calls.get(0).messages).containsExactly("answer 0");
+        assertThat(calls.get(0).completed).isTrue();
+        assertThat(calls.get(1).messages).containsExactly("answer 1");
+        assertThat(calls.get(1).completed).isTrue();
+        assertThat(calls.get(2).messages).isEmpty();
+        assertThat(calls.get(2).error).isInstanceOf(ApiRcException.class);
+    }
+
+    @Test
+    public void singleCallIsSentImmediately()
+    {
+        byte[] data = new byte[] {1};
+        when(peer.apiCall(InternalApiConsts.API_CHANGED_NODE, data)).thenReturn(Flux.empty());
+
+        call(InternalApiConsts.API_CHANGED_NODE, data);
+
+        verify(peer).apiCall(InternalApiConsts.API_CHANGED_NODE, data);
+        verify(peer, never()).apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any());
+    }
+
+    @Test
+    public void callsWithinBatchWindowAreBatched()
+    {
+        when(peer.apiCall(any(), any())).thenReturn(Flux.never());
+
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {0});
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {1});
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {2});
+
+        verify(peer).apiCall(eq(InternalApiConsts.API_CHANGED_RSC), any());
+        verify(peer, never()).apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any());
+
+        batcher.flush(peer);
+
+        ArgumentCaptor<List<Pair<String, byte[]>>> changes = listCaptor();
+        verify(builder).changedBatch(changes.capture());
+        assertThat(changes.getValue()).hasSize(2);
+        assertThat(changes.getValue().get(0).objB).containsExactly((byte) 1);
+        assertThat(changes.getValue().get(1).objB).containsExactly((byte) 2);
+        verify(peer).apiCall(InternalApiConsts.API_CHANGED_BATCH, BATCH_MESSAGE);
+    }
+
+    @Test
+    public void fullBatchIsSentImmediately()
+    {
+        when(peer.apiCall(any(), any())).thenReturn(Flux.never());
+
+        // opens the batch window
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {0});
+        for (int idx = 0; idx < MAX_BATCH_SIZE; ++idx)
+        {
+            call(InternalApiConsts.API_CHANGED_RSC, new byte[] {1});
+        }
+
+        ArgumentCaptor<List<Pair<String, byte[]>>> changes = listCaptor();
+        verify(builder).changedBatch(changes.capture());
+        assertThat(changes.getValue()).hasSize(MAX_BATCH_SIZE);
+        verify(peer).apiCall(InternalApiConsts.API_CHANGED_BATCH, BATCH_MESSAGE);
+
+        // the next call opens a new batch window
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {1});
+        verify(peer, times(1)).apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any());
+    }
+
+    @Test
+    public void callAfterFullBatchDoesNotOvertakeIt()
+        throws Exception
+    {
+        List<String> sentCalls = Collections.synchronizedList(new ArrayList<>());
+        Thread[] laterCallThread = new Thread[1];
+        when(peer.apiCall(eq(InternalApiConsts.API_CHANGED_RSC), any())).thenAnswer(ignored ->
+        {
+            sentCalls.add(InternalApiConsts.API_CHANGED_RSC);
+            return Flux.never();
+        });
+        when(peer.apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any())).thenAnswer(ignored ->
+        {
+            // a call that is enqueued while the full batch is being sent must wait for it
+            laterCallThread[0] = new Thread(() -> call(InternalApiConsts.API_CHANGED_RSC, new byte[] {2}));
+            laterCallThread[0].start();
+            Thread.sleep(100);
+            sentCalls.add(InternalApiConsts.API_CHANGED_BATCH);
+            return Flux.never();
+        });
+
+        // opens the batch window
+        call(InternalApiConsts.API_CHANGED_RSC, new byte[] {0});
+        for (int idx = 0; idx < MAX_BATCH_SIZE; ++idx)
+        {
+            call(InternalApiConsts.API_CHANGED_RSC, new byte[] {1});
+        }
+        laterCallThread[0].join();
+
+        assertThat(sentCalls).containsExactly(
+            InternalApiConsts.API_CHANGED_RSC,
+            InternalApiConsts.API_CHANGED_BATCH,
+            InternalApiConsts.API_CHANGED_RSC
+        );
+    }
+
+    @Test
+    public void peerDisconnectFailsAllEntries()
+    {
+        when(peer.apiCall(eq(InternalApiConsts.API_CHANGED_BATCH), any()))
+            .thenReturn(Flux.error(new PeerNotConnectedException()));
+
+        List<RecordedCall> calls = new ArrayList<>();
+        coalesced(() ->
+        {
+            for (int idx = 0; idx < 3; ++idx)
+            {
+                calls.add(call(InternalApiConsts.API_CHANGED_STOR_POOL, new byte[] {(byte) idx}));
+            }
+        });
+
+        for (RecordedCall call : calls)
+        {
+            assertThat(call.error).isInstanceOf(PeerNotConnectedException.class);
+        }
+    }
+
+    @Test
+    public void coalescedCallsAreSentAsOneBatchPerPeer()
+    {
+        // the batch window elapses while the calls are subscribed
+        CtrlSatelliteUpdateBatcher shortWindowBatcher = new CtrlSatelliteUpdateBatcher(
+            serializer,
+            mock(ErrorReporter.class),
+            1
+        );
+        Peer otherPeer = mock(Peer.class);
+        when(peer.apiCall(any(), any())).thenReturn(Flux.never());
+        when(otherPeer.apiCall(any(), any())).thenReturn(Flux.never());
+
+        shortWindowBatcher
+            .coalesce(
+                Flux.merge(
+                    shortWindowBatcher.apiCall(peer, InternalApiConsts.API_CHANGED_RSC, new byte[] {0}),
+                    shortWindowBatcher.apiCall(otherPeer, InternalApiConsts.API_CHANGED_RSC, new byte[] {0}),
+                    Flux.defer(() ->
+                    {
+                        Mono.delay(Duration.ofMillis(100)).block();
+                        return Flux.empty();
+                    }),
+                    shortWindowBatcher.apiCall(peer, InternalApiConsts.API_CHANGED_RSC, new byte[] {1}),
+                    shortWindowBatcher.apiCall(otherPeer, InternalApiConsts.API_CHANGED_RSC, new byte[] {1})
+                )
+            )
+            .subscribe();
+
+        ArgumentCaptor<List<Pair<String, byte[]>>> changes = listCaptor();
+        verify(builder, times(2)).changedBatch(changes.capture());
+        for (List<Pair<String, byte[]>> batchChanges : changes.getAllValues())
+        {
+            assertThat(batchChanges).hasSize(2);
+        }
+        verify(peer).apiCall(InternalApiConsts.API_CHANGED_BATCH, BATCH_MESSAGE);
+        verify(otherPeer).apiCall(InternalApiConsts.API_CHANGED_BATCH, BATCH_MESSAGE);
+        verify(peer, never()).apiCall(eq(InternalApiConsts.API_CHANGED_RSC), any());
+        verify(otherPeer, never()).apiCall(eq(InternalApiConsts.API_CHANGED_RSC), any());
+    }
+
+    @Test
+    public void flushWithoutPendingBatch()
+    {
+        batcher.flush(peer);
+
+        verify(peer, never()).apiCall(any(), any());
+        verify(builder, never()).changedBatch(anyList());
+    }
+
+    /**
+     * Enqueues the calls within a coalesce subscription, which sends them as one batch afterwards
+     */
+    private void coalesced(Runnable enqueueCalls)
+    {
+        batcher
+            .coalesce(Flux.defer(() ->
+            {
+                enqueueCalls.run();
+                return Flux.empty();
+            }))
+            .subscribe();
+    }
+
+    private RecordedCall call(String apiCallName, byte[] data)
+    {
+        RecordedCall call = new RecordedCall();
+        batcher.apiCall(peer, apiCallName, data)
+            .subscribe(
+                answer -> call.messages.add(parseMessage(answer)),
+                exc -> call.error = exc,
+                () -> call.completed = true
+            );
+        return call;
+    }
+
+    private static String parseMessage(ByteArrayInputStream answer)
+    {
+        try
+        {
+            return ApiCallResponse.parseDelimitedFrom(answer).getMessage();
+        }
+        catch (IOException exc)
+        {
+            throw new RuntimeException(exc);
+        }
+    }
+
+    private static ByteArrayInputStream answer(int entryIdx, long retCode, String message)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgIntChangedBatchReply.newBuilder()
+            .setEntryIdx(entryIdx)
+            .build()
+            .writeDelimitedTo(out);
+        ApiCallResponse.newBuilder()
+            .setRetCode(retCode)
+            .setMessage(message)
+            .build()
+            .writeDelimitedTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static ByteArrayInputStream complete(int entryIdx)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgIntChangedBatchReply.newBuilder()
+            .setEntryIdx(entryIdx)
+            .setComplete(true)
+            .build()
+            .writeDelimitedTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Pair<String, byte[]>>> listCaptor()
+    {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static class RecordedCall
+    {
+        final List<String> messages = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+    }
+}
@@ -0,0 +1,228 @@
+package com.linbit.linstor.drbdstate;
+
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.event.LinstorTriggerableEvent;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.common.ConnectionStateEvent;
+import com.linbit.linstor.event.common.ResourceStateEvent;
+import com.linbit.linstor.event.common.UsageState;
+import com.linbit.linstor.event.common.VolumeDiskStateEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DrbdEventPublisherTest
+{
+    private static final int RSC_COUNT = 8;
+    private static final int CHANGES_PER_RSC = 50;
+    // long enough that the tests flush the pending events themselves
+    private static final long COALESCE_WINDOW_MS = 60_000;
+
+    private LinstorTriggerableEvent<UsageState> rscStateEvent;
+    private ResourceStateEvent resourceStateEvent;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        rscStateEvent = mock(LinstorTriggerableEvent.class);
+        resourceStateEvent = mock(ResourceStateEvent.class);
+        when(resourceStateEvent.get()).thenReturn(rscStateEvent);
+    }
+
+    @Test
+    public void concurrentChangesArePublishedOncePerResource()
+        throws Exception
+    {
+        DrbdEventPublisher publisher = publisher(COALESCE_WINDOW_MS);
+        openWindow(publisher);
+
+        List<DrbdResource> resources = new ArrayList<>();
+        for (int idx = 0; idx < RSC_COUNT; ++idx)
+        {
+            resources.add(resource("rsc" + idx));
+        }
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int idx = 0; idx < RSC_COUNT; ++idx)
+        {
+            DrbdResource resource = resources.get(idx);
+            // even resources end up primary, odd ones secondary
+            boolean endsPrimary = idx % 2 == 0;
+            Thread thread = new Thread(() ->
+            {
+                awaitLatch(startLatch);
+                for (int change = 0; change < CHANGES_PER_RSC; ++change)
+                {
+                    boolean primary = (change % 2 == 0) != endsPrimary;
+                    changeRole(publisher, resource, primary ? DrbdResource.Role.PRIMARY : DrbdResource.Role.SECONDARY);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        // only the change that opened the window was published so far
+        verify(rscStateEvent, times(1)).triggerEvent(any(), any());
+
+        publisher.shutdown();
+
+        ArgumentCaptor<ObjectIdentifier> objIds = ArgumentCaptor.forClass(ObjectIdentifier.class);
+        ArgumentCaptor<UsageState> usageStates = ArgumentCaptor.forClass(UsageState.class);
+        verify(rscStateEvent, times(RSC_COUNT + 1)).triggerEvent(objIds.capture(), usageStates.capture());
+
+        Map<ResourceName, UsageState> publishedStates = new HashMap<>();
+        for (int callIdx = 1; callIdx <= RSC_COUNT; ++callIdx)
+        {
+            publishedStates.put(
+                objIds.getAllValues().get(callIdx).getResourceName(),
+                usageStates.getAllValues().get(callIdx)
+            );
+        }
+        assertThat(publishedStates).hasSize(RSC_COUNT);
+        for (int idx = 0; idx < RSC_COUNT; ++idx)
+        {
+            UsageState usageState = publishedStates.get(resources.get(idx).getResName());
+            assertThat(usageState.getInUse()).isEqualTo(idx % 2 == 0);
+        }
+    }
+
+    @Test
+    public void destroyedResourceOnlyClosesStream()
+    {
+        DrbdEventPublisher publisher = publisher(COALESCE_WINDOW_MS);
+        DrbdResource openerResource = openWindow(publisher);
+        DrbdResource resource = resource("rsc");
+        DrbdResource otherResource = resource("otherRsc");
+
+        publisher.resourceCreated(resource);
+        publisher.resourceCreated(otherResource);
+        changeRole(publisher, resource, DrbdResource.Role.PRIMARY);
+        publisher.resourceDestroyed(resource);
+
+        publisher.shutdown();
+
+        verify(rscStateEvent).closeStream(ObjectIdentifier.resourceDefinition(resource.getResName()));
+        ArgumentCaptor<ObjectIdentifier> objIds = ArgumentCaptor.forClass(ObjectIdentifier.class);
+        verify(rscStateEvent, times(2)).triggerEvent(objIds.capture(), any());
+        assertThat(objIds.getAllValues().get(0).getResourceName()).isEqualTo(openerResource.getResName());
+        assertThat(objIds.getAllValues().get(1).getResourceName()).isEqualTo(otherResource.getResName());
+    }
+
+    @Test
+    public void valueAfterCloseIsPublishedAfterClose()
+    {
+        DrbdEventPublisher publisher = publisher(COALESCE_WINDOW_MS);
+        openWindow(publisher);
+        DrbdResource resource = resource("rsc");
+        ObjectIdentifier objId = ObjectIdentifier.resourceDefinition(resource.getResName());
+
+        publisher.resourceCreated(resource);
+        publisher.resourceDestroyed(resource);
+        changeRole(publisher, resource, DrbdResource.Role.SECONDARY);
+        changeRole(publisher, resource, DrbdResource.Role.PRIMARY);
+
+        publisher.shutdown();
+
+        InOrder inOrder = inOrder(rscStateEvent);
+        inOrder.verify(rscStateEvent).closeStream(objId);
+        ArgumentCaptor<UsageState> usageStates = ArgumentCaptor.forClass(UsageState.class);
+        inOrder.verify(rscStateEvent).triggerEvent(eq(objId), usageStates.capture());
+        assertThat(usageStates.getValue().getInUse()).isTrue();
+    }
+
+    @Test
+    public void firstChangeIsPublishedImmediately()
+    {
+        DrbdEventPublisher publisher = publisher(COALESCE_WINDOW_MS);
+        DrbdResource resource = resource("rsc");
+
+        changeRole(publisher, resource, DrbdResource.Role.PRIMARY);
+        verify(rscStateEvent).triggerEvent(eq(ObjectIdentifier.resourceDefinition(resource.getResName())), any());
+    }
+
+    @Test
+    public void changesArePublishedAfterWindow()
+    {
+        DrbdEventPublisher publisher = publisher(10);
+        DrbdResource resource = resource("rsc");
+
+        changeRole(publisher, resource, DrbdResource.Role.PRIMARY);
+        changeRole(publisher, resource, DrbdResource.Role.SECONDARY);
+        verify(rscStateEvent, timeout(10_000).times(2)).triggerEvent(
+            eq(ObjectIdentifier.resourceDefinition(resource.getResName())),
+            any()
+        );
+    }
+
+    /**
+     * Publishes a change of a separate resource, so that the following changes are coalesced
+     */
+    private DrbdResource openWindow(DrbdEventPublisher publisher)
+    {
+        DrbdResource openerResource = resource("opener");
+        changeRole(publisher, openerResource, DrbdResource.Role.SECONDARY);
+        return openerResource;
+    }
+
+    private DrbdEventPublisher publisher(long coalesceWindowMs)
+    {
+        return new DrbdEventPublisher(
+            mock(DrbdEventService.class),
+            resourceStateEvent,
+            mock(VolumeDiskStateEvent.class),
+            mock(ConnectionStateEvent.class),
+            coalesceWindowMs
+        );
+    }
+
+    private static DrbdResource resource(String rscName)
+    {
+        DrbdResource resource = new DrbdResource(rscName);
+        resource.setKnownByLinstor(true);
+        return resource;
+    }
+
+    private static void changeRole(DrbdEventPublisher publisher, DrbdResource resource, DrbdResource.Role role)
+    {
+        DrbdResource.Role previous = resource.resRole;
+        resource.resRole = role;
+        publisher.roleChanged(resource, previous, role);
+    }
+
+    private static void awaitLatch(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException exc)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
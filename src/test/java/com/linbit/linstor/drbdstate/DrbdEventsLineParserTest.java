@@ -0,0 +1,116 @@
+package com.linbit.linstor.drbdstate;
+
+import com.linbit.linstor.drbdstate.DrbdEventsLineParser.Action;
+import com.linbit.linstor.drbdstate.DrbdEventsLineParser.EventKey;
+import com.linbit.linstor.drbdstate.DrbdEventsLineParser.ObjectType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DrbdEventsLineParserTest
+{
+    private DrbdEventsLineParser parser;
+
+    @Before
+    public void setUp()
+    {
+        parser = new DrbdEventsLineParser();
+    }
+
+    @Test
+    public void parsesKnownKeys() throws Exception
+    {
+        assertTrue(parser.parse(
+            "change peer-device name:rsc1 peer-node-id:1 conn-name:node2 volume:0 " +
+                "replication:SyncTarget peer-disk:UpToDate peer-client:no done:12.50"
+        ));
+
+        assertEquals(Action.CHANGE, parser.getAction());
+        assertEquals(ObjectType.PEER_VOLUME, parser.getObjectType());
+        assertEquals("rsc1", parser.getValue(EventKey.RES_NAME));
+        assertEquals("1", parser.getValue(EventKey.PEER_NODE_ID));
+        assertEquals("node2", parser.getValue(EventKey.CONN_NAME));
+        assertEquals("0", parser.getValue(EventKey.VOL_NR));
+        assertEquals("SyncTarget", parser.getValue(EventKey.REPLICATION));
+        assertEquals("12.50", parser.getValue(EventKey.DONE));
+
+        Map<String, String> props = parser.getProps();
+        assertEquals("UpToDate", props.get(DrbdVolume.PROP_KEY_PEER_DISK));
+        assertEquals("rsc1", props.get(DrbdResource.PROP_KEY_RES_NAME));
+        // Keys that are not evaluated by the state tracker are skipped
+        assertNull(props.get("peer-client"));
+        assertEquals(7, props.size());
+    }
+
+    @Test
+    public void valuesOfPreviousLineAreCleared() throws Exception
+    {
+        parser.parse("change resource name:rsc1 role:Primary suspended:no");
+        parser.parse("change resource name:rsc1 role:Secondary");
+
+        assertEquals("Secondary", parser.getValue(EventKey.ROLE));
+        assertNull(parser.getValue(EventKey.SUSPENDED));
+    }
+
+    @Test
+    public void unchangedValuesAreReused() throws Exception
+    {
+        parser.parse("change peer-device name:rsc1 peer-node-id:1 conn-name:node2 volume:0 done:10.00");
+        String rscName = parser.getValue(EventKey.RES_NAME);
+        String done = parser.getValue(EventKey.DONE);
+
+        parser.parse("change peer-device name:rsc1 peer-node-id:1 conn-name:node2 volume:0 done:20.00");
+
+        assertSame(rscName, parser.getValue(EventKey.RES_NAME));
+        assertNotSame(done, parser.getValue(EventKey.DONE));
+        assertEquals("20.00", parser.getValue(EventKey.DONE));
+    }
+
+    @Test
+    public void parsesBytes() throws Exception
+    {
+        byte[] data = "exists device name:rsc2 volume:1 minor:1001 disk:UpToDate client:no\n"
+            .getBytes(StandardCharsets.UTF_8);
+        assertTrue(parser.parse(data, 0, data.length));
+
+        assertEquals(Action.EXISTS, parser.getAction());
+        assertEquals(ObjectType.VOLUME, parser.getObjectType());
+        assertEquals("1001", parser.getValue(EventKey.MINOR));
+        // The trailing line break is not part of the last value
+        assertEquals("no", parser.getValue(EventKey.CLIENT));
+    }
+
+    @Test
+    public void unknownActionAndObjectType() throws Exception
+    {
+        parser.parse("call helper name:rsc1 helper:before-resync-target");
+        assertEquals(Action.OTHER, parser.getAction());
+        assertEquals(ObjectType.OTHER, parser.getObjectType());
+
+        parser.parse("exists -");
+        assertEquals(Action.EXISTS, parser.getAction());
+        assertEquals(ObjectType.END_OF_INIT, parser.getObjectType());
+    }
+
+    @Test
+    public void emptyLine() throws Exception
+    {
+        assertFalse(parser.parse(""));
+    }
+
+    @Test(expected = EventsSourceException.class)
+    public void missingObjectType() throws Exception
+    {
+        parser.parse("change");
+    }
+}
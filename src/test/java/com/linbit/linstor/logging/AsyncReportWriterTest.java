@@ -0,0 +1,69 @@
+package com.linbit.linstor.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class AsyncReportWriterTest
+{
+    private static final int WRITE_COUNT = 4;
+
+    @Test(timeout = 10000)
+    public void fullQueueKeepsSubmissionOrder() throws Exception
+    {
+        AsyncReportWriter writer = new AsyncReportWriter(1);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        List<Integer> writeOrder = Collections.synchronizedList(new ArrayList<>());
+
+        writer.submit(() ->
+        {
+            awaitUninterruptibly(writerBlocked);
+            writeOrder.add(0);
+        });
+        Thread submitter = new Thread(() ->
+        {
+            for (int writeNr = 1; writeNr < WRITE_COUNT; ++writeNr)
+            {
+                int nr = writeNr;
+                writer.submit(() -> writeOrder.add(nr));
+            }
+        });
+        submitter.start();
+
+        // the queue only holds one write, so the submitter has to wait for the blocked writer
+        while (submitter.getState() != Thread.State.WAITING)
+        {
+            Thread.sleep(1);
+        }
+        writerBlocked.countDown();
+        submitter.join();
+        while (writeOrder.size() < WRITE_COUNT)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), writeOrder);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch)
+    {
+        boolean done = false;
+        while (!done)
+        {
+            try
+            {
+                latch.await();
+                done = true;
+            }
+            catch (InterruptedException ignored)
+            {
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.linbit.linstor.logging;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ErrorReportAggregatorTest
+{
+    @Test
+    public void sameErrorWithDifferentNumbersHasSameFingerprint()
+    {
+        assertEquals(
+            "Volume # of resource res# not found (uuid #)",
+            ErrorReportAggregator.messageTemplate(
+                "Volume 0 of resource res12 not found (uuid 5b9a15b7-0000-4000-8000-00000000a1b2)"
+            )
+        );
+
+        Throwable[] errors = new Throwable[3];
+        for (int idx = 0; idx < errors.length; ++idx)
+        {
+            errors[idx] = idx < 2 ?
+                new IllegalStateException("Minor number " + (1000 + idx) + " in use") :
+                new IllegalArgumentException("Minor number " + (1000 + idx) + " in use");
+        }
+        // the first two errors only differ in the minor number
+        assertEquals(ErrorReportAggregator.fingerprint(errors[0]), ErrorReportAggregator.fingerprint(errors[1]));
+        assertNotEquals(ErrorReportAggregator.fingerprint(errors[0]), ErrorReportAggregator.fingerprint(errors[2]));
+    }
+
+    @Test
+    public void aggregatesOccurrencesWithinWindow()
+    {
+        ErrorReportAggregator aggregator = new ErrorReportAggregator();
+        assertNull(aggregator.addOccurrence("fp", 1000));
+        aggregator.addReport("fp", "A-000000", "java.lang.IllegalStateException", "msg #", 1000);
+
+        ErrorReportAggregator.Aggregate aggregate = aggregator.addOccurrence("fp", 2000);
+        assertNotNull(aggregate);
+        assertEquals("A-000000", aggregate.reportId);
+        assertNotNull(aggregator.addOccurrence("fp", 3000));
+
+        List<ErrorReportFingerprint> fingerprints = aggregator.getFingerprints("node1");
+        assertEquals(1, fingerprints.size());
+        assertEquals(3, fingerprints.get(0).getOccurrences());
+        assertEquals(1000, fingerprints.get(0).getFirstTime().getTime());
+        assertEquals(3000, fingerprints.get(0).getLastTime().getTime());
+
+        // a new report is written once the window has passed
+        assertNull(aggregator.addOccurrence("fp", 1000 + ErrorReportAggregator.AGGREGATION_WINDOW_MS));
+    }
+}
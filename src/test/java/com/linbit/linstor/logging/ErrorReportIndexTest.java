@@ -0,0 +1,128 @@
+package com.linbit.linstor.logging;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ErrorReportIndexTest
+{
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path logDir;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        logDir = testFolder.newFolder().toPath();
+    }
+
+    @Test
+    public void findsRangesInTimeOrder()
+    {
+        ErrorReportIndex index = ErrorReportIndex.forDirectory(logDir);
+        index.add("A-000001", 3000, "node1", "SATELLITE", "java.lang.IllegalStateException");
+        index.add("A-000000", 1000, "node1", "SATELLITE", "java.lang.NullPointerException");
+        index.add("B-000000", 2000, "node1", "SATELLITE", "java.lang.NullPointerException");
+
+        assertEquals(
+            Arrays.asList("A-000000", "B-000000", "A-000001"),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 0))
+        );
+        assertEquals(
+            Arrays.asList("B-000000"),
+            ids(index.find(Optional.of(new Date(1000)), Optional.of(new Date(3000)), Collections.emptySet(), 0))
+        );
+        assertEquals(
+            Arrays.asList("A-000000", "A-000001"),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.singleton("A-"), 0))
+        );
+        assertEquals(
+            Arrays.asList("A-000000", "B-000000"),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 2))
+        );
+
+        index.remove("B-000000");
+        assertEquals(
+            Arrays.asList("A-000000", "A-000001"),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 0))
+        );
+    }
+
+    @Test
+    public void addsReportsWithoutEntry() throws Exception
+    {
+        Files.createFile(logDir.resolve(StdErrorReporter.RPT_PREFIX + "C-000000" + StdErrorReporter.RPT_SUFFIX));
+
+        ErrorReportIndex index = ErrorReportIndex.forDirectory(logDir);
+
+        assertEquals(
+            Arrays.asList("C-000000"),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 0))
+        );
+    }
+
+    @Test
+    public void dropsReportsDeletedAfterLoading() throws Exception
+    {
+        Path reportFile = logDir.resolve(StdErrorReporter.RPT_PREFIX + "D-000000" + StdErrorReporter.RPT_SUFFIX);
+        Files.createFile(reportFile);
+
+        ErrorReportIndex index = ErrorReportIndex.forDirectory(logDir);
+        Files.delete(reportFile);
+        index.reconcile();
+
+        assertEquals(
+            Collections.emptyList(),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 0))
+        );
+    }
+
+    @Test
+    public void listingReconcilesWhenReportIsMissing() throws Exception
+    {
+        Path reportFile0 = logDir.resolve(StdErrorReporter.RPT_PREFIX + "E-000000" + StdErrorReporter.RPT_SUFFIX);
+        Path reportFile1 = logDir.resolve(StdErrorReporter.RPT_PREFIX + "E-000001" + StdErrorReporter.RPT_SUFFIX);
+        Files.createFile(reportFile0);
+        Files.createFile(reportFile1);
+
+        ErrorReportIndex index = ErrorReportIndex.forDirectory(logDir);
+        Files.delete(reportFile0);
+        Files.delete(reportFile1);
+
+        assertEquals(
+            Collections.emptySet(),
+            StdErrorReporter.listReports(
+                "node1",
+                logDir,
+                true,
+                Optional.empty(),
+                Optional.empty(),
+                Collections.emptySet(),
+                1
+            )
+        );
+        // the report that was not listed was dropped as well
+        assertEquals(
+            Collections.emptyList(),
+            ids(index.find(Optional.empty(), Optional.empty(), Collections.emptySet(), 0))
+        );
+    }
+
+    private static List<String> ids(List<ErrorReportIndex.Entry> entries)
+    {
+        return entries.stream().map(entry -> entry.id).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package com.linbit.linstor.netcom;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MessageCompressorTest
+{
+    @Test
+    public void compressedDataRoundTrips() throws Exception
+    {
+        byte[] data = new byte[MessageCompressor.COMPRESSION_THRESHOLD * 4];
+        for (int idx = 0; idx < data.length; ++idx)
+        {
+            data[idx] = (byte) (idx % 31);
+        }
+
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] compressed = compressor.compress(data);
+        assertNotNull(compressed);
+        assertTrue(compressed.length < data.length);
+        assertArrayEquals(data, compressor.decompress(compressed, data.length));
+
+        assertEquals(1, compressor.getCompressedMsgCount());
+        assertEquals(1, compressor.getDecompressedMsgCount());
+        assertTrue(compressor.getCompressionRatio() > 1.0);
+    }
+
+    @Test
+    public void incompressibleDataIsNotCompressed()
+    {
+        byte[] data = new byte[MessageCompressor.COMPRESSION_THRESHOLD];
+        new Random(42).nextBytes(data);
+
+        MessageCompressor compressor = new MessageCompressor();
+        assertNull(compressor.compress(data));
+        assertEquals(0, compressor.getCompressedMsgCount());
+        assertEquals(1.0, compressor.getCompressionRatio(), 0.0);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedDataIsRejected() throws Exception
+    {
+        byte[] data = new byte[MessageCompressor.COMPRESSION_THRESHOLD];
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] compressed = compressor.compress(data);
+        compressor.decompress(Arrays.copyOf(compressed, compressed.length / 2), data.length);
+    }
+
+    @Test(expected = IOException.class)
+    public void dataAboveMaxSizeIsRejected() throws Exception
+    {
+        byte[] data = new byte[MessageCompressor.COMPRESSION_THRESHOLD * 4];
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] compressed = compressor.compress(data);
+        compressor.decompress(compressed, data.length - 1);
+    }
+}
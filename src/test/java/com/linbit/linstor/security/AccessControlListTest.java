@@ -5,6 +5,7 @@ import static com.linbit.linstor.security.AccessType.CONTROL;
 import static com.linbit.linstor.security.AccessType.USE;
 import static com.linbit.linstor.security.AccessType.VIEW;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import com.linbit.ImplementationError;
@@ -158,6 +159,25 @@ public class AccessControlListTest
         }
     }
 
+    @Test
+    public void testEntriesOfRolesWithSameName() throws Exception
+    {
+        AccessControlList acl = new AccessControlList();
+        Role otherRole = new Role(new RoleName("OtherRole"));
+        acl.addEntry(userRole, CHANGE);
+        acl.addEntry(otherRole, VIEW);
+
+        // e.g. after the roles were reloaded from the database
+        Role reloadedUserRole = new Role(new RoleName(userRole.name.displayValue));
+        assertEquals(CHANGE, acl.getEntry(reloadedUserRole));
+        assertEquals(2, acl.getEntries().size());
+
+        assertEquals(CHANGE, acl.delEntry(reloadedUserRole).access);
+        assertNull(acl.getEntry(userRole));
+        assertEquals(VIEW, acl.getEntry(otherRole));
+        assertEquals(1, acl.getEntries().size());
+    }
+
     private class AclIteration
     {
         public AccessContext accCtx;
@@ -0,0 +1,90 @@
+package com.linbit.linstor.security;
+
+import com.linbit.linstor.transaction.TransactionObjectFactory;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccessDecisionCacheTest
+{
+    private AccessContext rootCtx;
+    private AccessContext userCtx;
+    private Role userRole;
+    private ObjectProtection objProt;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        AccessContext sysCtx = new AccessContext(
+            new Identity(new IdentityName("SYSTEM")),
+            new Role(new RoleName("SYSTEM")),
+            new SecurityType(new SecTypeName("SYSTEM")),
+            new PrivilegeSet(Privilege.PRIV_SYS_ALL)
+        );
+        rootCtx = sysCtx.clone();
+        rootCtx.privEffective.enablePrivileges(Privilege.PRIVILEGE_LIST);
+        SecurityLevel.set(rootCtx, SecurityLevel.RBAC, null, null);
+
+        userRole = new Role(new RoleName("UserRole"));
+        userCtx = new AccessContext(
+            new Identity(new IdentityName("User")),
+            userRole,
+            new SecurityType(new SecTypeName("UserSecType")),
+            new PrivilegeSet()
+        );
+
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        objProt = new ObjectProtection(rootCtx, null, null, new TransactionObjectFactory(() -> transMgr), null);
+        objProt.restoreAclEntry(userRole, AccessType.CHANGE);
+    }
+
+    @Test
+    public void grantedAccessIsCachedUntilAclChanges() throws Exception
+    {
+        try (AccessDecisionCache cache = AccessDecisionCache.open())
+        {
+            assertSame(cache, AccessDecisionCache.getActive());
+
+            objProt.requireAccess(userCtx, AccessType.CHANGE);
+            assertTrue(cache.isGranted(userCtx, objProt, AccessType.CHANGE));
+            assertTrue(cache.isGranted(userCtx, objProt, AccessType.VIEW));
+            assertFalse(cache.isGranted(userCtx, objProt, AccessType.CONTROL));
+            assertFalse(cache.isGranted(rootCtx, objProt, AccessType.VIEW));
+
+            objProt.getAcl().addEntry(userRole, AccessType.VIEW);
+            assertFalse(cache.isGranted(userCtx, objProt, AccessType.VIEW));
+            try
+            {
+                objProt.requireAccess(userCtx, AccessType.CHANGE);
+                fail("Access granted by the previous access control entry");
+            }
+            catch (AccessDeniedException expected)
+            {
+                // expected
+            }
+        }
+        assertNull(AccessDecisionCache.getActive());
+    }
+
+    @Test
+    public void nestedCacheRestoresOuterCache()
+    {
+        try (AccessDecisionCache outerCache = AccessDecisionCache.open())
+        {
+            try (AccessDecisionCache innerCache = AccessDecisionCache.open())
+            {
+                assertSame(innerCache, AccessDecisionCache.getActive());
+            }
+            assertSame(outerCache, AccessDecisionCache.getActive());
+        }
+        assertNull(AccessDecisionCache.getActive());
+    }
+}
@@ -0,0 +1,82 @@
+package com.linbit.linstor.storage.layer.adapter.drbd;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AdjustedResFileDigestsTest
+{
+    private static final String RSC_NAME = "rsc";
+    private static final byte[] RES_FILE_CONTENT = "resource rsc { }\n".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private Path commonConfFile;
+    private AdjustedResFileDigests adjustedResFileDigests;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        commonConfFile = tmpFolder.getRoot().toPath().resolve("linstor_common.conf");
+        adjustedResFileDigests = new AdjustedResFileDigests(commonConfFile);
+    }
+
+    @Test
+    public void unchangedResFileIsNotAdjustedAgain() throws Exception
+    {
+        writeCommonConf("100M");
+        adjustedResFileDigests.adjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT));
+
+        assertTrue(adjustedResFileDigests.isAdjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT)));
+    }
+
+    @Test
+    public void changedControllerDrbdOptionAdjustsAgain() throws Exception
+    {
+        writeCommonConf("100M");
+        adjustedResFileDigests.adjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT));
+
+        // the controller's DRBD options changed, the .res file itself did not
+        writeCommonConf("200M");
+
+        assertFalse(adjustedResFileDigests.isAdjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT)));
+    }
+
+    @Test
+    public void missingCommonConf() throws Exception
+    {
+        adjustedResFileDigests.adjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT));
+        assertTrue(adjustedResFileDigests.isAdjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT)));
+
+        writeCommonConf("100M");
+        assertFalse(adjustedResFileDigests.isAdjusted(RSC_NAME, adjustedResFileDigests.digest(RES_FILE_CONTENT)));
+    }
+
+    @Test
+    public void forgottenResourceIsAdjustedAgain() throws Exception
+    {
+        byte[] digest = adjustedResFileDigests.digest(RES_FILE_CONTENT);
+        adjustedResFileDigests.adjusted(RSC_NAME, digest);
+        adjustedResFileDigests.forget(RSC_NAME);
+
+        assertFalse(adjustedResFileDigests.isAdjusted(RSC_NAME, digest));
+    }
+
+    private void writeCommonConf(String cMaxRate) throws Exception
+    {
+        Files.write(
+            commonConfFile,
+            ("common {\n    disk {\n        c-max-rate " + cMaxRate + ";\n    }\n}\n")
+                .getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
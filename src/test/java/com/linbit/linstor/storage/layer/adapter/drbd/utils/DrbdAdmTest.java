@@ -0,0 +1,138 @@
+package com.linbit.linstor.storage.layer.adapter.drbd.utils;
+
+import com.linbit.ChildProcessTimeoutException;
+import com.linbit.extproc.ExtCmdFactory;
+import com.linbit.extproc.utils.TestExtCmd;
+import com.linbit.extproc.utils.TestExtCmd.Command;
+import com.linbit.extproc.utils.TestExtCmd.TestOutputData;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.types.MinorNumber;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmDfnData;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Uses {@link TestExtCmd} as a fake DRBD kernel module, verifying that the common state transitions
+ * are issued as plain drbdsetup calls instead of going through drbdadm.
+ *
+ * Only the issued command lines are checked, the throughput of both paths is compared by DrbdAdmBenchmark
+ * in the benchmark project.
+ */
+public class DrbdAdmTest
+{
+    private static final String RSC_NAME = "rsc";
+
+    private TestExtCmd testExtCmd;
+    private DrbdAdm drbdAdm;
+    private DrbdRscData<Resource> drbdRscData;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception
+    {
+        testExtCmd = new PipeTestExtCmd();
+        ExtCmdFactory extCmdFactory = mock(ExtCmdFactory.class);
+        when(extCmdFactory.create()).thenReturn(testExtCmd);
+        drbdAdm = new DrbdAdm(extCmdFactory);
+
+        drbdRscData = mock(DrbdRscData.class);
+        when(drbdRscData.getSuffixedResourceName()).thenReturn(RSC_NAME);
+
+        Map<VolumeNumber, DrbdVlmData<Resource>> vlmMap = new TreeMap<>();
+        vlmMap.put(new VolumeNumber(0), mockVlm(1000));
+        vlmMap.put(new VolumeNumber(1), mockVlm(1001));
+        when(drbdRscData.getVlmLayerObjects()).thenReturn(vlmMap);
+    }
+
+    @Test
+    public void secondaryUsesDrbdSetup() throws Exception
+    {
+        expect(DrbdAdm.DRBDSETUP_UTIL, "secondary", RSC_NAME);
+
+        drbdAdm.secondary(drbdRscData);
+
+        assertAllCalled();
+    }
+
+    @Test
+    public void suspendIoUsesDrbdSetupPerMinor() throws Exception
+    {
+        expect(DrbdAdm.DRBDSETUP_UTIL, "suspend-io", "1000");
+        expect(DrbdAdm.DRBDSETUP_UTIL, "suspend-io", "1001");
+
+        drbdAdm.suspendIo(drbdRscData);
+
+        assertAllCalled();
+    }
+
+    @Test
+    public void resumeIoUsesDrbdSetupPerMinor() throws Exception
+    {
+        expect(DrbdAdm.DRBDSETUP_UTIL, "resume-io", "1000");
+        expect(DrbdAdm.DRBDSETUP_UTIL, "resume-io", "1001");
+
+        drbdAdm.resumeIo(drbdRscData);
+
+        assertAllCalled();
+    }
+
+    @Test
+    public void adjustFallsBackToDrbdAdm() throws Exception
+    {
+        expect(DrbdAdm.DRBDADM_UTIL, "-vvv", "adjust", RSC_NAME);
+
+        drbdAdm.adjust(drbdRscData, false, false, false);
+
+        assertAllCalled();
+    }
+
+    @SuppressWarnings("unchecked")
+    private DrbdVlmData<Resource> mockVlm(int minor) throws Exception
+    {
+        DrbdVlmDfnData<Resource> drbdVlmDfnData = mock(DrbdVlmDfnData.class);
+        when(drbdVlmDfnData.getMinorNr()).thenReturn(new MinorNumber(minor));
+
+        DrbdVlmData<Resource> drbdVlmData = mock(DrbdVlmData.class);
+        when(drbdVlmData.getVlmDfnLayerObject()).thenReturn(drbdVlmDfnData);
+        return drbdVlmData;
+    }
+
+    private void expect(String... command)
+    {
+        testExtCmd.setExpectedBehavior(new Command(command), new TestOutputData(command, "", "", 0));
+    }
+
+    private void assertAllCalled()
+    {
+        HashSet<Command> uncalledCommands = testExtCmd.getUncalledCommands();
+        assertTrue("Uncalled commands: " + uncalledCommands, uncalledCommands.isEmpty());
+    }
+
+    /**
+     * DrbdAdm runs all of its commands with stdin redirected from /dev/null, which is irrelevant for
+     * the expected behaviors
+     */
+    private static class PipeTestExtCmd extends TestExtCmd
+    {
+        @Override
+        public OutputData pipeExec(Redirect stdinRedirect, String... command)
+            throws IOException, ChildProcessTimeoutException
+        {
+            return exec(command);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.linbit.linstor.storage.layer.provider;
+
+import com.linbit.extproc.ExtCmdFactory;
+import com.linbit.extproc.utils.TestExtCmd;
+import com.linbit.extproc.utils.TestExtCmd.Command;
+import com.linbit.extproc.utils.TestExtCmd.TestOutputData;
+import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.linstor.storage.StorageException;
+import com.linbit.utils.ExceptionThrowingSupplier;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Uses {@link TestExtCmd} instead of wipefs and a temporary file as the device to wipe. Wipes are held in the
+ * queue by a device path supplier that blocks the background wipe thread.
+ */
+public class WipeHandlerTest
+{
+    private static final long DEVICE_SIZE = 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private TestExtCmd testExtCmd;
+    private ExtCmdFactory extCmdFactory;
+    private WipeHandler wipeHandler;
+    private String devicePath;
+
+    private CountDownLatch wipeThreadBlocked;
+    private CountDownLatch wipeThreadReleased;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        testExtCmd = new TestExtCmd();
+        extCmdFactory = mock(ExtCmdFactory.class);
+        when(extCmdFactory.create()).thenReturn(testExtCmd);
+        wipeHandler = new WipeHandler(extCmdFactory, new StderrErrorReporter("LINSTOR-UNITTESTS"));
+
+        File device = testFolder.newFile();
+        try (RandomAccessFile deviceFile = new RandomAccessFile(device, "rw"))
+        {
+            deviceFile.setLength(DEVICE_SIZE);
+        }
+        devicePath = device.getAbsolutePath();
+
+        wipeThreadBlocked = new CountDownLatch(1);
+        wipeThreadReleased = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        wipeThreadReleased.countDown();
+        wipeHandler.shutdown();
+        wipeHandler.awaitShutdown(10000);
+    }
+
+    @Test(timeout = 10000)
+    public void wipesAndNotifies() throws Exception
+    {
+        expectWipeFs(0);
+        List<String> notified = Collections.synchronizedList(new ArrayList<>());
+        wipeHandler.start();
+
+        wipeHandler.asyncWipe("vlm", () -> devicePath, notified::add);
+        awaitWipeDone("vlm");
+
+        assertEquals(Collections.singletonList(devicePath), notified);
+        assertTrue(testExtCmd.getUncalledCommands().isEmpty());
+    }
+
+    @Test(timeout = 10000)
+    public void fullQueueWipesSynchronously() throws Exception
+    {
+        expectWipeFs(0);
+        wipeHandler.start();
+        blockWipeThread();
+        for (int idx = 0; idx < WipeHandler.MAX_PENDING_WIPES; ++idx)
+        {
+            wipeHandler.asyncWipe("queued" + idx, () -> null, ignored -> { });
+        }
+
+        List<Thread> notifyingThreads = new ArrayList<>();
+        wipeHandler.asyncWipe(
+            "overflow",
+            () -> devicePath,
+            ignored -> notifyingThreads.add(Thread.currentThread())
+        );
+
+        assertEquals(Collections.singletonList(Thread.currentThread()), notifyingThreads);
+        assertFalse(wipeHandler.isWipePending("overflow"));
+        assertTrue(wipeHandler.isWipePending("queued0"));
+    }
+
+    @Test(timeout = 10000)
+    public void duplicateKeyIsOnlyWipedOnce() throws Exception
+    {
+        wipeHandler.start();
+        blockWipeThread();
+        AtomicInteger firstSupplied = new AtomicInteger();
+        AtomicInteger secondSupplied = new AtomicInteger();
+
+        wipeHandler.asyncWipe("vlm", countingNullSupplier(firstSupplied), ignored -> { });
+        wipeHandler.asyncWipe("vlm", countingNullSupplier(secondSupplied), ignored -> { });
+        wipeThreadReleased.countDown();
+        awaitWipeDone("vlm");
+
+        assertEquals(1, firstSupplied.get());
+        assertEquals(0, secondSupplied.get());
+    }
+
+    @Test(timeout = 10000)
+    public void missingDeviceIsSkipped() throws Exception
+    {
+        AtomicInteger notified = new AtomicInteger();
+        wipeHandler.start();
+
+        wipeHandler.asyncWipe("vlm", () -> null, ignored -> notified.incrementAndGet());
+        awaitWipeDone("vlm");
+
+        assertEquals(0, notified.get());
+        verify(extCmdFactory, never()).create();
+    }
+
+    @Test(timeout = 10000)
+    public void failedWipeStillNotifies() throws Exception
+    {
+        expectWipeFs(1);
+        List<String> notified = Collections.synchronizedList(new ArrayList<>());
+        wipeHandler.start();
+
+        wipeHandler.asyncWipe("vlm", () -> devicePath, notified::add);
+        awaitWipeDone("vlm");
+
+        assertEquals(Collections.singletonList(devicePath), notified);
+    }
+
+    @Test(timeout = 10000)
+    public void failedSynchronousWipeStillNotifies() throws Exception
+    {
+        expectWipeFs(1);
+        List<String> notified = new ArrayList<>();
+
+        // not started, wiped synchronously
+        wipeHandler.asyncWipe("vlm", () -> devicePath, notified::add);
+
+        assertEquals(Collections.singletonList(devicePath), notified);
+        assertFalse(wipeHandler.isWipePending("vlm"));
+    }
+
+    @Test(timeout = 10000)
+    public void shutdownReleasesPendingKeys() throws Exception
+    {
+        wipeHandler.start();
+        blockWipeThread();
+        AtomicInteger supplied = new AtomicInteger();
+        wipeHandler.asyncWipe("pending", countingNullSupplier(supplied), ignored -> { });
+        assertTrue(wipeHandler.isWipePending("pending"));
+
+        // interrupts the blocked wipe thread
+        wipeHandler.shutdown();
+        wipeHandler.awaitShutdown(10000);
+
+        assertFalse(wipeHandler.isWipePending("blocker"));
+        assertFalse(wipeHandler.isWipePending("pending"));
+        assertEquals(0, supplied.get());
+    }
+
+    private void expectWipeFs(int exitCode)
+    {
+        String[] command = {"wipefs", "-a", "-f", devicePath};
+        testExtCmd.setExpectedBehavior(new Command(command), new TestOutputData(command, "", "", exitCode));
+    }
+
+    /**
+     * Queues a wipe whose device path supplier blocks the wipe thread until {@link #wipeThreadReleased} is
+     * counted down or the wipe thread is interrupted, and waits until the wipe thread took it from the queue
+     */
+    private void blockWipeThread() throws Exception
+    {
+        wipeHandler.asyncWipe(
+            "blocker",
+            () ->
+            {
+                wipeThreadBlocked.countDown();
+                try
+                {
+                    wipeThreadReleased.await();
+                }
+                catch (InterruptedException ignored)
+                {
+                    // shutdown
+                }
+                return null;
+            },
+            ignored -> { }
+        );
+        wipeThreadBlocked.await();
+    }
+
+    private void awaitWipeDone(String wipeKey) throws Exception
+    {
+        while (wipeHandler.isWipePending(wipeKey))
+        {
+            Thread.sleep(1);
+        }
+    }
+
+    private static ExceptionThrowingSupplier<String, StorageException> countingNullSupplier(AtomicInteger counter)
+    {
+        return () ->
+        {
+            counter.incrementAndGet();
+            return null;
+        };
+    }
+}
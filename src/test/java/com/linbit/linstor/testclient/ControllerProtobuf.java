@@ -263,7 +263,8 @@ public class ControllerProtobuf extends ProtobufIO
                 resources,
                 snapshots,
                 timestamp,
-                updateId
+                updateId,
+                0
             )
             .build()
         );